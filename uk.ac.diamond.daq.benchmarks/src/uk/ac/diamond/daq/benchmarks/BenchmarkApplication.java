@@ -0,0 +1,78 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.benchmarks;
+
+import org.eclipse.equinox.app.IApplication;
+import org.eclipse.equinox.app.IApplicationContext;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the startup benchmarks inside the OSGi framework, as the code under test needs the workspace and the
+ * configuration services. Launch the {@code uk.ac.diamond.daq.benchmarks.application} application with the same
+ * {@code -data} workspace (and {@code -Dgda.*} overrides) a server would use. Any JMH command line options can be
+ * given as program arguments, e.g. {@code -p config=1000,10000} or {@code ObjectFactoryBenchmark}.
+ * <p>
+ * Results are written as JSON to {@value #DEFAULT_RESULT_FILE} unless {@code -rff} is given. Forking is disabled
+ * since a forked JVM would not be running in OSGi.
+ */
+public class BenchmarkApplication implements IApplication {
+
+	private static final Logger logger = LoggerFactory.getLogger(BenchmarkApplication.class);
+
+	private static final String DEFAULT_RESULT_FILE = "startup-benchmarks.json";
+
+	@Override
+	public Object start(IApplicationContext context) throws Exception {
+		final String[] args = (String[]) context.getArguments().get(IApplicationContext.APPLICATION_ARGS);
+		final CommandLineOptions commandLine = new CommandLineOptions(args == null ? new String[0] : args);
+		final ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine).forks(0);
+		if (commandLine.getIncludes().isEmpty()) {
+			options.include(getClass().getPackage().getName() + ".");
+		}
+		if (!commandLine.getResult().hasValue()) {
+			options.result(DEFAULT_RESULT_FILE);
+		}
+		if (!commandLine.getResultFormat().hasValue()) {
+			options.resultFormat(ResultFormatType.JSON);
+		}
+
+		// JMH loads the generated benchmark classes through the context class loader
+		final Thread thread = Thread.currentThread();
+		final ClassLoader contextClassLoader = thread.getContextClassLoader();
+		thread.setContextClassLoader(getClass().getClassLoader());
+		try {
+			new Runner(options.build()).run();
+		} finally {
+			thread.setContextClassLoader(contextClassLoader);
+		}
+		logger.info("Benchmark results written to {}", commandLine.getResult().orElse(DEFAULT_RESULT_FILE));
+		return IApplication.EXIT_OK;
+	}
+
+	@Override
+	public void stop() {
+		// Benchmarks run to completion
+	}
+}
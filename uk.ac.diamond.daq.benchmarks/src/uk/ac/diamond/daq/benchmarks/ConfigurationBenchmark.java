@@ -0,0 +1,144 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.benchmarks;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.ac.diamond.daq.server.configuration.ConfigurationDefaults;
+import uk.ac.diamond.daq.server.configuration.commands.ServerCommand;
+import uk.ac.diamond.daq.server.configuration.properties.GdaPropertyService;
+import uk.ac.diamond.daq.server.configuration.services.BasicConfigurationService;
+
+/**
+ * The work done before any objects are created: resolving the config locations and loading the properties.
+ * <p>
+ * {@link ConfigurationDefaults} resolves its values when the class is initialised and {@link
+ * ConfigurationDefaults#initialise()} only runs once, so after the first call both cost nothing. {@link #startUp()}
+ * measures them as a server pays for them, by loading the configuration classes afresh for each invocation. The other
+ * benchmarks measure what is repeated once they have been resolved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ConfigurationBenchmark {
+
+	private static final String CONFIGURATION_PACKAGE = "uk.ac.diamond.daq.server.configuration.";
+
+	@Setup
+	public void setUp() {
+		ConfigurationDefaults.initialise();
+	}
+
+	/**
+	 * Load the configuration as the server does at startup: resolve the {@link ConfigurationDefaults}, set the system
+	 * properties and load the LocalProperties, build the object server commands and load the instance properties.
+	 * Forking is disabled inside OSGi (see {@link BenchmarkApplication}), so each invocation uses a new class loader for
+	 * the configuration bundle's classes instead of a new JVM. The system properties set by the first invocation are
+	 * kept, so later ones take the values from them rather than from the defaults, which costs the same.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@Warmup(iterations = 1)
+	@Measurement(iterations = 10)
+	public Object startUp() throws Exception {
+		final ClassLoader loader = new FreshClassLoader(ConfigurationDefaults.class.getClassLoader());
+		final Class<?> configurationService = loader.loadClass(BasicConfigurationService.class.getName());
+		final Object service = configurationService.getConstructor().newInstance();
+		configurationService.getMethod("loadConfiguration").invoke(service);
+		final Class<?> propertyService = loader.loadClass(GdaPropertyService.class.getName());
+		propertyService.getMethod("activate").invoke(propertyService.getConstructor().newInstance());
+		return configurationService.getMethod("getObjectServerCommands").invoke(service);
+	}
+
+	/**
+	 * Build the object server commands from the resolved profiles and Spring XML paths
+	 */
+	@Benchmark
+	public List<ServerCommand> loadConfiguration() {
+		final BasicConfigurationService service = new BasicConfigurationService();
+		service.loadConfiguration();
+		return service.getObjectServerCommands();
+	}
+
+	/**
+	 * Load the instance java properties file and everything it includes
+	 */
+	@Benchmark
+	public GdaPropertyService loadProperties() throws Exception {
+		final GdaPropertyService service = new GdaPropertyService();
+		service.activate();
+		return service;
+	}
+
+	/**
+	 * Defines its own copy of each class of the configuration bundle, so their static state starts again, and leaves
+	 * everything else to the bundle's class loader
+	 */
+	private static class FreshClassLoader extends ClassLoader {
+
+		FreshClassLoader(ClassLoader bundleLoader) {
+			super(bundleLoader);
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if (!name.startsWith(CONFIGURATION_PACKAGE)) {
+				return super.loadClass(name, resolve);
+			}
+			synchronized (getClassLoadingLock(name)) {
+				Class<?> loaded = findLoadedClass(name);
+				if (loaded == null) {
+					loaded = define(name);
+				}
+				if (resolve) {
+					resolveClass(loaded);
+				}
+				return loaded;
+			}
+		}
+
+		private Class<?> define(String name) throws ClassNotFoundException {
+			try (InputStream stream = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+				if (stream == null) {
+					throw new ClassNotFoundException(name);
+				}
+				final byte[] bytes = stream.readAllBytes();
+				return defineClass(name, bytes, 0, bytes.length);
+			} catch (IOException e) {
+				throw new ClassNotFoundException(name, e);
+			}
+		}
+	}
+}
@@ -0,0 +1,98 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.benchmarks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import uk.ac.diamond.daq.server.configuration.ConfigurationDefaults;
+
+/**
+ * The Spring configurations the benchmarks run against: either the example-config the server is started with by
+ * default, or a synthetic configuration of a given number of beans.
+ * <p>
+ * Synthetic configurations are made of {@code DummyMotor}/{@code ScannableMotor} pairs, the commonest pattern in
+ * beamline configs, so every other bean has a reference to resolve and is configured after its dependency.
+ */
+final class Configurations {
+
+	/** Benchmark parameter value selecting the example-config */
+	static final String EXAMPLE = "example";
+
+	private Configurations() {
+		// static access only
+	}
+
+	/**
+	 * Get the Spring XML files for a configuration, creating them if it is synthetic
+	 *
+	 * @param config
+	 *            {@link #EXAMPLE} or the number of beans in a synthetic configuration
+	 * @param directory
+	 *            where to write a synthetic configuration
+	 * @return the XML files
+	 * @throws IOException
+	 *             if the synthetic configuration cannot be written
+	 */
+	static String[] springXmlFiles(String config, Path directory) throws IOException {
+		ConfigurationDefaults.initialise();
+		if (EXAMPLE.equals(config)) {
+			return new String[] { ConfigurationDefaults.APP_SPRING_XML_FILE_PATHS.toString().split(",")[0] };
+		}
+		return new String[] { writeSynthetic(Integer.parseInt(config), directory).toString() };
+	}
+
+	private static Path writeSynthetic(int beans, Path directory) throws IOException {
+		final Path file = directory.resolve(String.format("synthetic-%d.xml", beans));
+		try (Writer writer = Files.newBufferedWriter(file, UTF_8)) {
+			writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+			writer.write("<beans xmlns=\"http://www.springframework.org/schema/beans\"\n");
+			writer.write("\txmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n");
+			writer.write("\txsi:schemaLocation=\"http://www.springframework.org/schema/beans\n");
+			writer.write("\t\thttp://www.springframework.org/schema/beans/spring-beans.xsd\">\n\n");
+			for (int i = 0; i < beans / 2; i++) {
+				final String name = String.format("synthetic%05d", i);
+				writer.write(String.format("\t<bean id=\"%s_motor\" class=\"gda.device.motor.DummyMotor\">%n", name));
+				writer.write(String.format("\t\t<property name=\"name\" value=\"%s_motor\" />%n", name));
+				writer.write("\t</bean>\n");
+				writer.write(String.format("\t<bean id=\"%s\" class=\"gda.device.scannable.ScannableMotor\">%n", name));
+				writer.write(String.format("\t\t<property name=\"name\" value=\"%s\" />%n", name));
+				writer.write(String.format("\t\t<property name=\"motor\" ref=\"%s_motor\" />%n", name));
+				writer.write("\t</bean>\n");
+			}
+			writer.write("\n</beans>\n");
+		}
+		return file;
+	}
+
+	static void delete(Path directory) throws IOException {
+		try (Stream<Path> paths = Files.walk(directory)) {
+			for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+				Files.delete(path);
+			}
+		}
+	}
+}
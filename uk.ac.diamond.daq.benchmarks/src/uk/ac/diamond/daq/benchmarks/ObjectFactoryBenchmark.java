@@ -0,0 +1,106 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.benchmarks;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import gda.factory.FactoryException;
+import gda.factory.Finder;
+import gda.spring.context.SpringContext;
+
+/**
+ * The stages of {@link uk.ac.diamond.daq.server.configuration.commands.ObjectFactoryCommand#execute()} after the
+ * objects are created: registering them with the {@link Finder}, writing the Jython findables module and configuring
+ * them. Only the synthetic configurations are used, since configuring the example-config repeatedly in one JVM
+ * would start its servers more than once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class ObjectFactoryBenchmark {
+
+	@Param({ "1000", "5000", "10000" })
+	public String config;
+
+	private Path directory;
+	private String[] xmlFiles;
+	private SpringContext context;
+
+	@Setup(Level.Trial)
+	public void setUpConfig() throws IOException {
+		directory = Files.createTempDirectory("gda-benchmark");
+		xmlFiles = Configurations.springXmlFiles(config, directory);
+	}
+
+	@Setup(Level.Invocation)
+	public void createContext() {
+		context = new SpringContext(xmlFiles);
+		Finder.addFactory(context.asFactory());
+	}
+
+	@TearDown(Level.Invocation)
+	public void removeContext() {
+		Finder.removeAllFactories();
+		context.close();
+		context = null;
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDownConfig() throws IOException {
+		Configurations.delete(directory);
+	}
+
+	/**
+	 * Write the gdaserver module that lets scripts import the findables
+	 */
+	@Benchmark
+	public Optional<File> writeJythonModule() {
+		return Finder.writeFindablesJythonModule();
+	}
+
+	/**
+	 * Configure every object
+	 */
+	@Benchmark
+	public SpringContext configure() throws FactoryException {
+		context.configure();
+		return context;
+	}
+}
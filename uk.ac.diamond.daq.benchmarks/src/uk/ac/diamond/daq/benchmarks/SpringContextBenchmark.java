@@ -0,0 +1,103 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.benchmarks;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.springframework.core.io.FileSystemResourceLoader;
+
+import gda.spring.context.SpringContext;
+
+/**
+ * Reading the Spring XML and creating the objects, the first two stages of
+ * {@link uk.ac.diamond.daq.server.configuration.commands.ObjectFactoryCommand}. Nothing is configured, so this is
+ * safe to run against the example-config as well as the synthetic configurations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class SpringContextBenchmark {
+
+	@Param({ Configurations.EXAMPLE, "1000", "5000", "10000" })
+	public String config;
+
+	private Path directory;
+	private String[] xmlFiles;
+	private SpringContext context;
+
+	@Setup
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("gda-benchmark");
+		xmlFiles = Configurations.springXmlFiles(config, directory);
+	}
+
+	@TearDown(Level.Invocation)
+	public void closeContext() {
+		if (context != null) {
+			context.close();
+			context = null;
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		Configurations.delete(directory);
+	}
+
+	/**
+	 * Parse the XML into bean definitions, as done to detect changes on reload
+	 */
+	@Benchmark
+	public DefaultListableBeanFactory readDefinitions() {
+		final DefaultListableBeanFactory definitions = new DefaultListableBeanFactory();
+		final XmlBeanDefinitionReader reader = new XmlBeanDefinitionReader(definitions);
+		reader.setResourceLoader(new FileSystemResourceLoader());
+		reader.loadBeanDefinitions(xmlFiles);
+		return definitions;
+	}
+
+	/**
+	 * Parse the XML and instantiate every bean
+	 */
+	@Benchmark
+	public SpringContext createContext() {
+		context = new SpringContext(xmlFiles);
+		return context;
+	}
+}
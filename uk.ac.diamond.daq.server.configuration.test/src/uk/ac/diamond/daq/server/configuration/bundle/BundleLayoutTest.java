@@ -0,0 +1,70 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.server.configuration.bundle;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BundleLayoutTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testPruningKeepsTheCurrentAndPreviousExtractions() throws IOException {
+		final Path cache = folder.getRoot().toPath();
+		final Path archive = cache.resolve("i12.bundle");
+		final Path oldest = extraction(cache, "i12.bundle-100-1", true, Duration.ofDays(3));
+		final Path previous = extraction(cache, "i12.bundle-100-2", true, Duration.ofDays(2));
+		final Path current = extraction(cache, "i12.bundle-100-3", true, Duration.ZERO);
+		final Path staleStaging = extraction(cache, "i12.bundle-100-2.123456", false, Duration.ofDays(2));
+		final Path activeStaging = extraction(cache, "i12.bundle-100-4.654321", false, Duration.ZERO);
+		final Path otherArchive = extraction(cache, "i12-test.bundle-100-1", true, Duration.ofDays(3));
+
+		BundleLayout.pruneCache(archive, current);
+
+		assertFalse(Files.exists(oldest));
+		assertTrue(Files.exists(previous));
+		assertTrue(Files.exists(current));
+		assertFalse(Files.exists(staleStaging));
+		assertTrue(Files.exists(activeStaging));
+		assertTrue(Files.exists(otherArchive));
+	}
+
+	private static Path extraction(Path cache, String name, boolean complete, Duration age) throws IOException {
+		final Path directory = Files.createDirectories(cache.resolve(name).resolve("instance"));
+		Files.write(directory.resolve("server.xml"), new byte[] { 1 });
+		if (complete) {
+			Files.createFile(cache.resolve(name).resolve(".complete"));
+		}
+		Files.setLastModifiedTime(cache.resolve(name), FileTime.from(Instant.now().minus(age)));
+		return cache.resolve(name);
+	}
+}
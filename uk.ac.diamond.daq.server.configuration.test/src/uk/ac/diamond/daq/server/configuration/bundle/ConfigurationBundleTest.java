@@ -0,0 +1,158 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.server.configuration.bundle;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Properties;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ConfigurationBundleTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Path config;
+	private Path archive;
+	private Properties manifest;
+
+	@Before
+	public void createConfig() throws IOException {
+		config = folder.newFolder("config").toPath();
+		write(config.resolve("servers/main/live/server.xml"), "<beans/>");
+		write(config.resolve("properties/live/live_instance_java.properties"), "gda.mode=live\nname=échantillon\n");
+		write(config.resolve("scripts/localStation.py"), "print 'hello'\n");
+		write(config.resolve("scripts/empty.py"), "");
+		write(config.resolve(".git/HEAD"), "ref: refs/heads/master\n");
+		archive = folder.getRoot().toPath().resolve("i12.bundle");
+		manifest = new Properties();
+		manifest.setProperty("mode", "live");
+		manifest.setProperty("profiles", "main");
+		manifest.setProperty("spring.main", "instance/servers/main/live/server.xml");
+	}
+
+	@Test
+	public void testWrittenBundleReadsBackTheSameEntries() throws IOException {
+		new ConfigurationBundleWriter().setManifest(manifest).addTree("instance", config).write(archive);
+
+		final ConfigurationBundle bundle = ConfigurationBundle.open(archive);
+		assertEquals(new LinkedHashSet<>(Arrays.asList(ConfigurationBundle.MANIFEST_ENTRY,
+				"instance/properties/live/live_instance_java.properties", "instance/scripts/empty.py",
+				"instance/scripts/localStation.py", "instance/servers/main/live/server.xml")), bundle.getEntryNames());
+		assertFalse(bundle.contains("instance/.git/HEAD"));
+		for (String name : Arrays.asList("properties/live/live_instance_java.properties", "scripts/empty.py",
+				"scripts/localStation.py", "servers/main/live/server.xml")) {
+			assertArrayEquals(name, Files.readAllBytes(config.resolve(name)), bytes(bundle.read("instance/" + name)));
+		}
+		assertEquals(manifest, bundle.getManifest());
+	}
+
+	@Test
+	public void testExtractedBundleMatchesTheTree() throws IOException {
+		new ConfigurationBundleWriter().setManifest(manifest).addTree("instance", config).write(archive);
+
+		final Path extracted = folder.newFolder("extracted").toPath();
+		ConfigurationBundle.open(archive).extractTo(extracted);
+		for (String name : Arrays.asList("properties/live/live_instance_java.properties", "scripts/empty.py",
+				"scripts/localStation.py", "servers/main/live/server.xml")) {
+			assertArrayEquals(name, Files.readAllBytes(config.resolve(name)),
+					Files.readAllBytes(extracted.resolve("instance").resolve(name)));
+		}
+		assertTrue(Files.exists(extracted.resolve(ConfigurationBundle.MANIFEST_ENTRY)));
+		assertFalse(Files.exists(extracted.resolve("instance/.git")));
+	}
+
+	@Test
+	public void testRewritingReplacesTheBundle() throws IOException {
+		new ConfigurationBundleWriter().setManifest(manifest).addTree("instance", config).write(archive);
+		manifest.setProperty("mode", "dummy");
+		new ConfigurationBundleWriter().setManifest(manifest)
+				.addFile("one.xml", config.resolve("servers/main/live/server.xml"))
+				.write(archive);
+
+		final ConfigurationBundle bundle = ConfigurationBundle.open(archive);
+		assertEquals(new LinkedHashSet<>(Arrays.asList(ConfigurationBundle.MANIFEST_ENTRY, "one.xml")),
+				bundle.getEntryNames());
+		assertEquals("dummy", bundle.getManifest().getProperty("mode"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testManifestEntryNameIsReserved() {
+		new ConfigurationBundleWriter().addFile(ConfigurationBundle.MANIFEST_ENTRY, config.resolve("scripts/empty.py"));
+	}
+
+	@Test
+	public void testFileWithoutMagicIsRejected() throws IOException {
+		write(archive, "not a configuration bundle, just some text long enough to hold a header and trailer");
+		try {
+			ConfigurationBundle.open(archive);
+			fail("Opened a file that is not a bundle");
+		} catch (IOException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("not a configuration bundle"));
+		}
+	}
+
+	@Test
+	public void testCorruptIndexIsRejected() throws IOException {
+		new ConfigurationBundleWriter().setManifest(manifest).addTree("instance", config).write(archive);
+		final byte[] bytes = Files.readAllBytes(archive);
+		// Point the index past the trailer
+		final int trailer = bytes.length - ConfigurationBundle.TRAILER_SIZE;
+		ByteBuffer.wrap(bytes).putLong(trailer, bytes.length);
+		Files.write(archive, bytes);
+		try {
+			ConfigurationBundle.open(archive);
+			fail("Opened a bundle with a corrupt index");
+		} catch (IOException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("corrupt index"));
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testTruncatedFileIsRejected() throws IOException {
+		write(archive, "GDA");
+		ConfigurationBundle.open(archive);
+	}
+
+	private static void write(Path file, String content) throws IOException {
+		Files.createDirectories(file.getParent());
+		Files.write(file, content.getBytes(UTF_8));
+	}
+
+	private static byte[] bytes(ByteBuffer buffer) {
+		final byte[] bytes = new byte[buffer.remaining()];
+		buffer.get(bytes);
+		return bytes;
+	}
+}
@@ -0,0 +1,98 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package uk.ac.diamond.daq.server.configuration.commands;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+
+public class BeanDefinitionDiffTest {
+
+	@Test
+	public void testIdenticalDefinitionsHaveNoDifferences() {
+		final BeanDefinitionDiff diff = BeanDefinitionDiff.between(definitions("1", "${motor.speed}"),
+				definitions("1", "${motor.speed}"));
+		assertTrue(diff.isEmpty());
+		assertTrue(diff.getAffected().isEmpty());
+	}
+
+	@Test
+	public void testChangedBeanAffectsItsDependantsTransitively() {
+		final BeanDefinitionDiff diff = BeanDefinitionDiff.between(definitions("1", "${motor.speed}"),
+				definitions("2", "${motor.speed}"));
+		assertEquals(Collections.singleton("motor"), diff.getChanged());
+		assertEquals(names("motor", "stage", "table"), diff.getAffected());
+	}
+
+	@Test
+	public void testPlaceholdersAreComparedUnresolved() {
+		final BeanDefinitionDiff diff = BeanDefinitionDiff.between(definitions("1", "${motor.speed}"),
+				definitions("1", "${motor.fastSpeed}"));
+		assertEquals(Collections.singleton("motor"), diff.getChanged());
+	}
+
+	@Test
+	public void testAddedAndRemovedBeans() {
+		final DefaultListableBeanFactory live = definitions("1", "${motor.speed}");
+		live.registerBeanDefinition("old", bean("x", null));
+		final DefaultListableBeanFactory incoming = definitions("1", "${motor.speed}");
+		incoming.registerBeanDefinition("new", bean("x", null));
+
+		final BeanDefinitionDiff diff = BeanDefinitionDiff.between(live, incoming);
+		assertEquals(Collections.singleton("new"), diff.getAdded());
+		assertEquals(Collections.singleton("old"), diff.getRemoved());
+		assertEquals(names("new", "old"), diff.getAffected());
+	}
+
+	/** motor, stage referencing motor, table referencing stage and an unrelated bean */
+	private static DefaultListableBeanFactory definitions(String motorValue, String motorSpeed) {
+		final DefaultListableBeanFactory definitions = new DefaultListableBeanFactory();
+		final GenericBeanDefinition motor = bean(motorValue, null);
+		motor.getPropertyValues().add("speed", motorSpeed);
+		definitions.registerBeanDefinition("motor", motor);
+		definitions.registerBeanDefinition("stage", bean("1", "motor"));
+		definitions.registerBeanDefinition("table", bean("1", "stage"));
+		definitions.registerBeanDefinition("unrelated", bean("1", null));
+		return definitions;
+	}
+
+	private static GenericBeanDefinition bean(String value, String reference) {
+		final GenericBeanDefinition definition = new GenericBeanDefinition();
+		definition.setBeanClassName("gda.device.DummyDevice");
+		definition.getPropertyValues().add("value", value);
+		if (reference != null) {
+			definition.getPropertyValues().add("dependency", new RuntimeBeanReference(reference));
+		}
+		return definition;
+	}
+
+	private static Set<String> names(String... names) {
+		return new HashSet<>(Arrays.asList(names));
+	}
+}
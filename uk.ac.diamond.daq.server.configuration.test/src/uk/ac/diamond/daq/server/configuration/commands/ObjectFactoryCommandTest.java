@@ -0,0 +1,363 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package uk.ac.diamond.daq.server.configuration.commands;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.io.FileSystemResourceLoader;
+
+import gda.factory.FactoryBase;
+import gda.factory.FactoryException;
+import gda.factory.Findable;
+import gda.factory.FindableConfigurableBase;
+
+public class ObjectFactoryCommandTest {
+
+	/** Every object created, in order, so objects of failed reloads can be checked */
+	private static final List<TestObject> created = new ArrayList<>();
+	/** Ports held by configured objects, which like a serial port allow only one at a time */
+	private static final Set<String> heldPorts = new HashSet<>();
+
+	public static class TestObject extends FindableConfigurableBase implements DisposableBean {
+		private String value;
+		private TestObject dependency;
+		private Connection connection;
+		private String port;
+		private boolean failConfigure;
+		private int destroyed;
+
+		public TestObject() {
+			created.add(this);
+		}
+
+		@Override
+		public void configure() throws FactoryException {
+			if (failConfigure) {
+				throw new FactoryException(getName() + " failed to configure");
+			}
+			if (port != null && !heldPorts.add(port)) {
+				throw new FactoryException(getName() + " cannot open " + port + " as it is already open");
+			}
+			setConfigured(true);
+		}
+
+		@Override
+		public void destroy() {
+			destroyed++;
+			if (isConfigured() && port != null) {
+				heldPorts.remove(port);
+			}
+		}
+
+		public void setValue(String value) {
+			this.value = value;
+		}
+
+		public void setDependency(TestObject dependency) {
+			this.dependency = dependency;
+		}
+
+		public void setFailConfigure(boolean failConfigure) {
+			this.failConfigure = failConfigure;
+		}
+
+		public void setConnection(Connection connection) {
+			this.connection = connection;
+		}
+
+		public void setPort(String port) {
+			this.port = port;
+		}
+	}
+
+	/** A bean that is not a Finder object, shared by the objects that use it */
+	public static class Connection {
+		private static int instances;
+
+		public Connection() {
+			instances++;
+		}
+	}
+
+	/** Serves the objects created at startup */
+	private static class MapFactory extends FactoryBase {
+		private final Map<String, Findable> findables;
+
+		MapFactory(Map<String, Findable> findables) {
+			this.findables = findables;
+			setName("test");
+		}
+
+		@Override
+		public void addFindable(Findable findable) {
+			findables.put(findable.getName(), findable);
+		}
+
+		@Override
+		public List<Findable> getFindables() {
+			return new ArrayList<>(findables.values());
+		}
+
+		@Override
+		public List<String> getFindableNames() {
+			return new ArrayList<>(findables.keySet());
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <T extends Findable> T getFindable(String name) throws FactoryException {
+			return (T) findables.get(name);
+		}
+
+		@Override
+		public boolean containsExportableObjects() {
+			return false;
+		}
+
+		@Override
+		public boolean isLocal() {
+			return true;
+		}
+	}
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File xml;
+	private ReloadableFactory factory;
+	private ObjectFactoryCommand command;
+	private final List<Map<String, Findable>> published = new ArrayList<>();
+
+	@Before
+	public void setUp() throws Exception {
+		created.clear();
+		heldPorts.clear();
+		xml = new File(folder.getRoot(), "objects.xml");
+		write(bean("motor", "1", null, false), bean("stage", "1", "motor", false), bean("other", "1", null, false));
+		start();
+	}
+
+	/** Create the objects in the XML as at server startup */
+	private void start() throws FactoryException {
+		final GenericApplicationContext context = new GenericApplicationContext();
+		final XmlBeanDefinitionReader reader = new XmlBeanDefinitionReader(context);
+		reader.setResourceLoader(new FileSystemResourceLoader());
+		reader.loadBeanDefinitions(xml.getAbsolutePath());
+		context.refresh();
+		for (TestObject object : context.getBeansOfType(TestObject.class).values()) {
+			object.configure();
+		}
+		factory = new ReloadableFactory(new MapFactory(new LinkedHashMap<>(context.getBeansOfType(Findable.class))));
+		command = new ObjectFactoryCommand(factory, context.getBeansOfType(Object.class), xml.getAbsolutePath()) {
+			@Override
+			void publish(Map<String, Findable> findables) {
+				published.add(findables);
+			}
+		};
+	}
+
+	@Test
+	public void testNothingIsReloadedIfNothingHasChanged() throws Exception {
+		assertEquals(Collections.emptySet(), command.reload());
+		assertTrue(published.isEmpty());
+	}
+
+	@Test
+	public void testChangedObjectAndItsDependantsAreReplaced() throws Exception {
+		final TestObject motor = find("motor");
+		final TestObject stage = find("stage");
+		final TestObject other = find("other");
+		write(bean("motor", "2", null, false), bean("stage", "1", "motor", false), bean("other", "1", null, false));
+
+		assertEquals(new HashSet<>(Arrays.asList("motor", "stage")), command.reload());
+
+		final TestObject newMotor = find("motor");
+		final TestObject newStage = find("stage");
+		assertEquals("2", newMotor.value);
+		assertTrue(newMotor.isConfigured());
+		assertSame(newMotor, newStage.dependency);
+		assertSame(other, find("other"));
+		assertEquals(1, motor.destroyed);
+		assertEquals(1, stage.destroyed);
+		assertEquals(0, other.destroyed);
+		assertEquals(1, published.size());
+	}
+
+	@Test
+	public void testFailedReloadLeavesReplacedObjectsUnavailableUntilReloaded() throws Exception {
+		final TestObject motor = find("motor");
+		final TestObject stage = find("stage");
+		final TestObject other = find("other");
+		final int before = created.size();
+		write(bean("motor", "2", null, true), bean("stage", "1", "motor", false), bean("other", "1", null, false));
+
+		try {
+			command.reload();
+			fail("Reload should fail when an object fails to configure");
+		} catch (FactoryException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("unavailable"));
+		}
+
+		// The old objects were closed before the new ones were made, and the new ones are closed again
+		assertNull(find("motor"));
+		assertNull(find("stage"));
+		assertEquals(1, motor.destroyed);
+		assertEquals(1, stage.destroyed);
+		for (TestObject discarded : created.subList(before, created.size())) {
+			assertEquals(discarded.getName(), 1, discarded.destroyed);
+		}
+		assertSame(other, find("other"));
+		assertEquals(0, other.destroyed);
+		assertTrue(published.isEmpty());
+
+		// Going back to the original definitions changes nothing, but still brings the objects back
+		write(bean("motor", "1", null, false), bean("stage", "1", "motor", false), bean("other", "1", null, false));
+		assertEquals(new HashSet<>(Arrays.asList("motor", "stage")), command.reload());
+		final TestObject newMotor = find("motor");
+		assertEquals("1", newMotor.value);
+		assertTrue(newMotor.isConfigured());
+		assertSame(newMotor, this.<TestObject> find("stage").dependency);
+		assertEquals(1, motor.destroyed);
+		assertEquals(Collections.emptySet(), command.reload());
+	}
+
+	@Test
+	public void testOldObjectIsClosedBeforeItsReplacementOpensTheSamePort() throws Exception {
+		write(port(bean("motor", "1", null, false), "/dev/ttyS0"), bean("stage", "1", "motor", false));
+		start();
+		final TestObject motor = find("motor");
+		write(port(bean("motor", "2", null, false), "/dev/ttyS0"), bean("stage", "1", "motor", false));
+
+		command.reload();
+
+		final TestObject newMotor = find("motor");
+		assertEquals("2", newMotor.value);
+		assertTrue(newMotor.isConfigured());
+		assertEquals(1, motor.destroyed);
+		assertEquals(Collections.singleton("/dev/ttyS0"), heldPorts);
+	}
+
+	@Test
+	public void testUnchangedBeanNotInTheFinderIsShared() throws Exception {
+		final String connection = String.format("\t<bean id=\"connection\" class=\"%s\" />\n", Connection.class.getName());
+		write(connection, connect(bean("motor", "1", null, false)), bean("stage", "1", "motor", false));
+		start();
+		final TestObject motor = find("motor");
+		final int instances = Connection.instances;
+		write(connection, connect(bean("motor", "2", null, false)), bean("stage", "1", "motor", false));
+
+		assertEquals(new HashSet<>(Arrays.asList("motor", "stage")), command.reload());
+
+		final TestObject newMotor = find("motor");
+		assertEquals("2", newMotor.value);
+		assertSame(motor.connection, newMotor.connection);
+		assertEquals(instances, Connection.instances);
+	}
+
+	@Test
+	public void testReloadedObjectsAreDestroyedOnceWhenReplacedAgain() throws Exception {
+		write(bean("motor", "2", null, false), bean("stage", "1", "motor", false), bean("other", "1", null, false));
+		command.reload();
+		final TestObject reloaded = find("motor");
+		final TestObject reloadedStage = find("stage");
+
+		write(bean("motor", "3", null, false), bean("stage", "1", "motor", false), bean("other", "1", null, false));
+		command.reload();
+
+		assertNotSame(reloaded, find("motor"));
+		assertEquals(1, reloaded.destroyed);
+		assertEquals(1, reloadedStage.destroyed);
+	}
+
+	@Test
+	public void testRemovedObjectIsGone() throws Exception {
+		final TestObject other = find("other");
+		write(bean("motor", "1", null, false), bean("stage", "1", "motor", false));
+
+		assertEquals(Collections.singleton("other"), command.reload());
+
+		assertNull(factory.getFindable("other"));
+		assertEquals(1, other.destroyed);
+	}
+
+	private <T extends Findable> T find(String name) throws FactoryException {
+		return factory.getFindable(name);
+	}
+
+	private void write(String... beans) throws IOException {
+		final StringBuilder contents = new StringBuilder();
+		contents.append("<beans xmlns=\"http://www.springframework.org/schema/beans\"\n");
+		contents.append("\txmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n");
+		contents.append("\txsi:schemaLocation=\"http://www.springframework.org/schema/beans ");
+		contents.append("http://www.springframework.org/schema/beans/spring-beans.xsd\">\n");
+		Arrays.stream(beans).forEach(contents::append);
+		contents.append("</beans>\n");
+		Files.write(xml.toPath(), contents.toString().getBytes());
+	}
+
+	/** Add a port, which only one object may have open at a time, to a bean */
+	private static String port(String bean, String port) {
+		return bean.replace("\t</bean>", String.format("\t\t<property name=\"port\" value=\"%s\" />\n\t</bean>", port));
+	}
+
+	/** Add a reference to the shared connection to a bean */
+	private static String connect(String bean) {
+		return bean.replace("\t</bean>", "\t\t<property name=\"connection\" ref=\"connection\" />\n\t</bean>");
+	}
+
+	private static String bean(String name, String value, String dependency, boolean failConfigure) {
+		final StringBuilder bean = new StringBuilder();
+		bean.append(String.format("\t<bean id=\"%s\" class=\"%s\">\n", name, TestObject.class.getName()));
+		bean.append(String.format("\t\t<property name=\"name\" value=\"%s\" />\n", name));
+		bean.append(String.format("\t\t<property name=\"value\" value=\"%s\" />\n", value));
+		if (dependency != null) {
+			bean.append(String.format("\t\t<property name=\"dependency\" ref=\"%s\" />\n", dependency));
+		}
+		if (failConfigure) {
+			bean.append("\t\t<property name=\"failConfigure\" value=\"true\" />\n");
+		}
+		bean.append("\t</bean>\n");
+		return bean.toString();
+	}
+}
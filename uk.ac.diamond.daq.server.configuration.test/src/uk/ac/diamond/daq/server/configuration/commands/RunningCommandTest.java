@@ -0,0 +1,177 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.server.configuration.commands;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import gda.factory.FactoryException;
+
+public class RunningCommandTest {
+
+	private static final ServerCommand COMMAND = new ServerCommand() {
+		@Override
+		public void execute() {
+			// Only used for its name
+		}
+
+		@Override
+		public String toString() {
+			return "test";
+		}
+	};
+
+	/** Records what is published, with the progress as text */
+	private static final class Recorder implements Flow.Subscriber<CommandProgress> {
+		private final List<String> stages = new CopyOnWriteArrayList<>();
+		private final CompletableFuture<Void> closed = new CompletableFuture<>();
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			subscription.request(Long.MAX_VALUE);
+		}
+
+		@Override
+		public void onNext(CommandProgress item) {
+			stages.add(item.getStage());
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			closed.completeExceptionally(throwable);
+		}
+
+		@Override
+		public void onComplete() {
+			closed.complete(null);
+		}
+	}
+
+	@Test
+	public void testCompletesAndPublishesEachStage() throws Exception {
+		final CountDownLatch subscribed = new CountDownLatch(1);
+		final Recorder recorder = new Recorder();
+		final RunningCommand running = RunningCommand.start(COMMAND, progress -> {
+			await(subscribed);
+			progress.accept(new CommandProgress("test", "Configuring", 1, 2, "motor"));
+		});
+		running.getProgress().subscribe(recorder);
+		subscribed.countDown();
+
+		running.getCompletion().toCompletableFuture().get(5, SECONDS);
+		recorder.closed.get(5, SECONDS);
+		assertTrue(running.isDone());
+		assertEquals("Complete", running.getLatestProgress().getStage());
+		// Starting may be published before the subscriber is registered
+		assertEquals("[Configuring, Complete]",
+				recorder.stages.stream().filter(stage -> !stage.equals("Starting")).collect(Collectors.toList()).toString());
+	}
+
+	@Test
+	public void testFailureCompletesExceptionallyAndClosesProgress() throws Exception {
+		final FactoryException failure = new FactoryException("motor failed to configure");
+		final Recorder recorder = new Recorder();
+		final CountDownLatch subscribed = new CountDownLatch(1);
+		final RunningCommand running = RunningCommand.start(COMMAND, progress -> {
+			await(subscribed);
+			throw failure;
+		});
+		running.getProgress().subscribe(recorder);
+		subscribed.countDown();
+
+		assertSame(failure, causeOf(running.getCompletion().toCompletableFuture()));
+		assertSame(failure, causeOf(recorder.closed));
+	}
+
+	@Test
+	public void testErrorStillCompletesTheCommand() throws Exception {
+		final NoClassDefFoundError error = new NoClassDefFoundError("gda/device/Missing");
+		final RunningCommand running = RunningCommand.start(COMMAND, progress -> {
+			throw error;
+		});
+		assertSame(error, causeOf(running.getCompletion().toCompletableFuture()));
+		assertTrue(running.isDone());
+	}
+
+	@Test
+	public void testCancelInterruptsTheCommandAndFailsStraightAway() throws Exception {
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch interrupted = new CountDownLatch(1);
+		final RunningCommand running = RunningCommand.start(COMMAND, progress -> {
+			progress.accept(new CommandProgress("test", "Configuring", 0, 1, "slow"));
+			started.countDown();
+			try {
+				Thread.sleep(60_000);
+			} catch (InterruptedException e) {
+				interrupted.countDown();
+			}
+		});
+		await(started);
+		running.cancel();
+
+		final Throwable cause = causeOf(running.getCompletion().toCompletableFuture());
+		assertTrue(cause.toString(), cause instanceof CancellationException);
+		assertTrue(cause.getMessage(), cause.getMessage().contains("Configuring 0/1 (slow)"));
+		assertTrue("Command thread was not interrupted", interrupted.await(5, SECONDS));
+	}
+
+	@Test
+	public void testProgressText() {
+		assertEquals("test: Starting", CommandProgress.stage(COMMAND, "Starting").toString());
+		assertEquals("test: Configuring 3/10 (motor)", new CommandProgress("test", "Configuring", 3, 10, "motor").toString());
+		assertEquals("test: Configured 10/10", new CommandProgress("test", "Configured", 10, 10, null).toString());
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			if (!latch.await(5, SECONDS)) {
+				fail("Timed out waiting in the command");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static Throwable causeOf(CompletableFuture<?> future) throws InterruptedException, TimeoutException {
+		try {
+			future.get(5, SECONDS);
+		} catch (ExecutionException e) {
+			return e.getCause();
+		} catch (CancellationException e) {
+			return e;
+		}
+		fail("Completed normally");
+		return null;
+	}
+}
@@ -25,6 +25,7 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -42,6 +43,7 @@ import com.google.common.base.CaseFormat;
 
 import gda.configuration.properties.LocalProperties;
 import gda.util.logging.LoggingUtils;
+import uk.ac.diamond.daq.server.configuration.bundle.BundleLayout;
 
 /**
  * Default settings to be used when not running the product from one of the scripts
@@ -152,6 +154,9 @@ public enum ConfigurationDefaults {
 
 	private static final Logger logger = LoggerFactory.getLogger(ConfigurationDefaults.class);
 
+	/** Layout in which APP_INSTANCE_CONFIG is a single archive (see {@link BundleLayout}) rather than a directory */
+	public static final String BUNDLE_LAYOUT = "BUNDLE";
+
 	private static boolean initialised = false;
 
 	private final String value;
@@ -172,6 +177,9 @@ public enum ConfigurationDefaults {
 	 */
 	public static synchronized void initialise() {
 		if (!initialised) {
+			if (BUNDLE_LAYOUT.equals(LAYOUT.value)) {
+				applyBundleLayout();
+			}
 			final String[] basicArgs = concat(standardBasicArgs(), OBJECT_SERVER_VM_ARGS, String.class);
 			final String[] optionalArgs = concat(OPTIONAL_VM_ARGS, "-Djava.awt.headless=true");
 			final String[] vmArgs =  concat(basicArgs, optionalArgs, String.class);
@@ -193,6 +201,28 @@ public enum ConfigurationDefaults {
 		}
 	}
 
+	/**
+	 * Extract the configuration bundle and point the config system properties at the local copy. These are set
+	 * before the defaults are applied so they take precedence over the values derived from the workspace.
+	 */
+	private static void applyBundleLayout() {
+		final Path archive = Paths.get(APP_INSTANCE_CONFIG.value);
+		try {
+			BundleLayout.prepare(archive).getSystemProperties().forEach(System::setProperty);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Unable to load configuration bundle " + archive, e);
+		}
+	}
+
+	/**
+	 * @return the root java properties file for this server, from the extracted archive when using the BUNDLE layout
+	 */
+	public static String getPropertiesFile() {
+		return BundleLayout.get()
+				.map(BundleLayout::getPropertiesFile)
+				.orElse(APP_PROPERTIES_FILE.value);
+	}
+
 	// utility methods to handle the defaulting of value that might be set by environment variables/system properties
 
 	private static String getEnvVarWithDefault(final ConfigurationDefaults instance) {
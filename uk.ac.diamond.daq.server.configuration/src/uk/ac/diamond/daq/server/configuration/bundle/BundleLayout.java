@@ -0,0 +1,282 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.server.configuration.bundle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The configuration of a server started from a {@link ConfigurationBundle} (the BUNDLE layout).
+ * <p>
+ * The bundle is read once, from wherever it is deployed (typically a network filesystem), and extracted to a local
+ * cache directory. Spring, LocalProperties and Jython then read the local copy so none of their file accesses go
+ * back over the network. The cache directory is keyed on the size and modification time of the archive, so
+ * restarting a server with an unchanged bundle skips the extraction. When a new version is extracted, older
+ * extractions of the same archive are deleted, apart from the most recent in case a server is still running from it.
+ * <p>
+ * The bundle manifest uses the following keys, with paths relative to the root of the bundle:
+ * <ul>
+ * <li>{@code mode} - the GDA mode the bundle was resolved for</li>
+ * <li>{@code profiles} - comma separated list of object server profiles</li>
+ * <li>{@code spring.<profile>} - comma separated Spring XML files for each profile</li>
+ * <li>{@code properties.file} - the root java properties file</li>
+ * <li>{@code instance.dir}, {@code group.dir}, {@code facility.dir}, {@code core.dir} - the config trees</li>
+ * <li>{@code jca.file} - optional JCALibrary properties file</li>
+ * </ul>
+ * Jython script directories need no key of their own: the script paths in the Spring XML are relative to the config
+ * trees, which are pointed at the extracted copy.
+ */
+public final class BundleLayout {
+
+	private static final Logger logger = LoggerFactory.getLogger(BundleLayout.class);
+
+	/** System property overriding where bundles are extracted */
+	public static final String CACHE_DIRECTORY_PROPERTY = "gda.config.bundle.cache";
+
+	private static final String COMPLETE_MARKER = ".complete";
+	/** Earlier extractions of an archive kept when a new one is made */
+	private static final int PREVIOUS_EXTRACTIONS_KEPT = 1;
+	/** Age after which an incomplete extraction left by a server that died is deleted */
+	private static final Duration STALE_STAGING_AGE = Duration.ofDays(1);
+
+	private static BundleLayout instance;
+
+	private final Path archive;
+	private final Path root;
+	private final Properties manifest;
+
+	private BundleLayout(Path archive, Path root, Properties manifest) {
+		this.archive = archive;
+		this.root = root;
+		this.manifest = manifest;
+	}
+
+	/**
+	 * Map and extract the given bundle, unless it has already been prepared. Safe to call more than once.
+	 *
+	 * @param archive
+	 *            the configuration bundle
+	 * @return the extracted configuration
+	 * @throws IOException
+	 *             if the bundle cannot be read or extracted
+	 */
+	public static synchronized BundleLayout prepare(Path archive) throws IOException {
+		if (instance == null) {
+			final long start = System.currentTimeMillis();
+			final Path cache = cacheDirectoryFor(archive);
+			final Properties manifest;
+			if (Files.exists(cache.resolve(COMPLETE_MARKER))) {
+				logger.info("Using configuration previously extracted from {} in {}", archive, cache);
+				manifest = new Properties();
+				try (InputStream stream = Files.newInputStream(cache.resolve(ConfigurationBundle.MANIFEST_ENTRY))) {
+					manifest.load(stream);
+				}
+			} else {
+				final ConfigurationBundle bundle = ConfigurationBundle.open(archive);
+				manifest = bundle.getManifest();
+				extract(bundle, cache);
+				logger.info("Extracted {} to {}", bundle, cache);
+				pruneCache(archive, cache);
+			}
+			instance = new BundleLayout(archive, cache, manifest);
+			logger.info("Configuration bundle prepared in {} ms", System.currentTimeMillis() - start);
+		}
+		return instance;
+	}
+
+	/**
+	 * @return the prepared bundle layout or empty if this server is not using one
+	 */
+	public static synchronized Optional<BundleLayout> get() {
+		return Optional.ofNullable(instance);
+	}
+
+	private static Path cacheDirectoryFor(Path archive) throws IOException {
+		final String defaultCache = Paths.get(System.getProperty("java.io.tmpdir"),
+				"gda-config-bundle-" + System.getProperty("user.name")).toString();
+		final Path cacheRoot = Paths.get(System.getProperty(CACHE_DIRECTORY_PROPERTY, defaultCache));
+		final String key = String.format("%s-%x-%x", archive.getFileName(), Files.size(archive),
+				Files.getLastModifiedTime(archive).toMillis());
+		return cacheRoot.resolve(key);
+	}
+
+	/**
+	 * Extract to a sibling directory then move it into place, so a failed extraction is never mistaken for a
+	 * complete one
+	 */
+	private static void extract(ConfigurationBundle bundle, Path cache) throws IOException {
+		Files.createDirectories(cache.getParent());
+		final Path staging = Files.createTempDirectory(cache.getParent(), cache.getFileName() + ".");
+		try {
+			bundle.extractTo(staging);
+			Files.createFile(staging.resolve(COMPLETE_MARKER));
+			if (Files.exists(cache)) {
+				deleteRecursively(cache);
+			}
+			Files.move(staging, cache, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			if (Files.exists(staging)) {
+				deleteRecursively(staging);
+			}
+		}
+	}
+
+	/**
+	 * Delete the older extractions of an archive, and any extraction of it left incomplete long ago. Failures are
+	 * only logged as they do not stop the server starting.
+	 */
+	static void pruneCache(Path archive, Path current) {
+		// The key of cacheDirectoryFor, followed by the random suffix for a staging directory
+		final Pattern extraction = Pattern
+				.compile(Pattern.quote(archive.getFileName().toString()) + "-[0-9a-f]+-[0-9a-f]+(\\..*)?");
+		final Instant staleBefore = Instant.now().minus(STALE_STAGING_AGE);
+		try (Stream<Path> siblings = Files.list(current.getParent())) {
+			final List<Path> previous = siblings
+					.filter(path -> !path.equals(current))
+					.filter(path -> extraction.matcher(path.getFileName().toString()).matches())
+					.filter(Files::isDirectory)
+					.sorted(Comparator.comparing(BundleLayout::lastModified).reversed())
+					.collect(Collectors.toList());
+			int kept = 0;
+			for (Path path : previous) {
+				if (Files.exists(path.resolve(COMPLETE_MARKER))) {
+					if (kept++ < PREVIOUS_EXTRACTIONS_KEPT) {
+						continue;
+					}
+				} else if (lastModified(path).toInstant().isAfter(staleBefore)) {
+					// May be another server extracting the same archive
+					continue;
+				}
+				logger.info("Deleting old configuration bundle extraction {}", path);
+				deleteRecursively(path);
+			}
+		} catch (IOException | RuntimeException e) {
+			logger.warn("Unable to delete old extractions of {} from {}", archive, current.getParent(), e);
+		}
+	}
+
+	private static FileTime lastModified(Path path) {
+		try {
+			return Files.getLastModifiedTime(path);
+		} catch (IOException e) {
+			return FileTime.fromMillis(0);
+		}
+	}
+
+	private static void deleteRecursively(Path directory) throws IOException {
+		try (Stream<Path> paths = Files.walk(directory)) {
+			for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+				Files.delete(path);
+			}
+		}
+	}
+
+	public Path getArchive() {
+		return archive;
+	}
+
+	/**
+	 * @return the local directory the bundle has been extracted to
+	 */
+	public Path getRoot() {
+		return root;
+	}
+
+	public String getMode() {
+		return getRequired("mode");
+	}
+
+	public String[] getProfiles() {
+		return getRequired("profiles").split(",");
+	}
+
+	/**
+	 * @param profile
+	 *            one of the {@link #getProfiles() profiles}
+	 * @return the absolute paths of the extracted Spring XML files for the profile
+	 */
+	public String[] getSpringXmlFiles(String profile) {
+		return Arrays.stream(getRequired("spring." + profile).split(","))
+				.map(this::resolve)
+				.toArray(String[]::new);
+	}
+
+	public String getPropertiesFile() {
+		return resolve(getRequired("properties.file"));
+	}
+
+	/**
+	 * The system properties pointing GDA at the extracted configuration. These take the place of the values
+	 * ConfigurationDefaults would otherwise derive from the workspace.
+	 *
+	 * @return map of system property name to value
+	 */
+	public Map<String, String> getSystemProperties() {
+		final Map<String, String> properties = new LinkedHashMap<>();
+		final String instanceDir = resolve(getRequired("instance.dir"));
+		properties.put("gda.config", instanceDir);
+		properties.put("gda.instance.dir", instanceDir);
+		properties.put("gda.mode", getMode());
+		properties.put("gda.propertiesFile", getPropertiesFile());
+		putIfPresent(properties, "gda.group.dir", "group.dir");
+		putIfPresent(properties, "gda.facility.dir", "facility.dir");
+		putIfPresent(properties, "gda.core.dir", "core.dir");
+		putIfPresent(properties, "gov.aps.jca.JCALibrary.properties", "jca.file");
+		return properties;
+	}
+
+	private void putIfPresent(Map<String, String> properties, String systemProperty, String key) {
+		final String value = manifest.getProperty(key);
+		if (value != null) {
+			properties.put(systemProperty, resolve(value));
+		}
+	}
+
+	private String getRequired(String key) {
+		final String value = manifest.getProperty(key);
+		if (value == null || value.isEmpty()) {
+			throw new IllegalStateException(String.format("Configuration bundle %s has no '%s' in its manifest", archive, key));
+		}
+		return value.trim();
+	}
+
+	private String resolve(String relative) {
+		return root.resolve(relative.trim()).toString();
+	}
+}
@@ -0,0 +1,229 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.server.configuration.bundle;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Read-only view of a configuration bundle: a single archive holding the whole resolved configuration of a beamline
+ * (Spring XML, properties and Jython scripts) so that it can be read with one sequential read instead of walking
+ * the config trees file by file.
+ * <p>
+ * The archive is memory-mapped and has a central index at the end of the file, in the same spirit as a zip file:
+ *
+ * <pre>
+ * header   magic (long), version (int)
+ * data     raw (uncompressed) entry contents, back to back
+ * index    per entry: name length (short), UTF-8 name, offset (long), length (int)
+ * trailer  index offset (long), entry count (int), magic (long)
+ * </pre>
+ *
+ * Entries are stored uncompressed so that each one is a plain slice of the mapped file. Archives are created by
+ * {@link ConfigurationBundleWriter}.
+ */
+public final class ConfigurationBundle {
+
+	/** "GDACFGB1" */
+	static final long MAGIC = 0x4744414346474231L;
+	static final int VERSION = 1;
+	static final int HEADER_SIZE = Long.BYTES + Integer.BYTES;
+	static final int TRAILER_SIZE = Long.BYTES + Integer.BYTES + Long.BYTES;
+
+	/** Entry holding the {@link Properties} describing the contents of the bundle */
+	public static final String MANIFEST_ENTRY = "bundle.properties";
+
+	private final Path path;
+	private final ByteBuffer buffer;
+	private final Map<String, Entry> index;
+
+	private ConfigurationBundle(Path path, ByteBuffer buffer, Map<String, Entry> index) {
+		this.path = path;
+		this.buffer = buffer;
+		this.index = index;
+	}
+
+	/**
+	 * Map the given archive into memory and read its index
+	 *
+	 * @param path
+	 *            location of the archive
+	 * @return the opened bundle
+	 * @throws IOException
+	 *             if the file cannot be read or is not a valid configuration bundle
+	 */
+	public static ConfigurationBundle open(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			final long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException(String.format("Configuration bundle %s is too large (%d bytes)", path, size));
+			}
+			if (size < HEADER_SIZE + TRAILER_SIZE) {
+				throw new IOException("Configuration bundle " + path + " is truncated");
+			}
+			// The mapping remains valid once the channel is closed
+			final MappedByteBuffer mapped = channel.map(MapMode.READ_ONLY, 0, size);
+			// Fault the whole file in with one sequential read rather than a page at a time
+			mapped.load();
+			return new ConfigurationBundle(path, mapped, readIndex(path, mapped));
+		}
+	}
+
+	private static Map<String, Entry> readIndex(Path path, ByteBuffer buffer) throws IOException {
+		if (buffer.getLong(0) != MAGIC) {
+			throw new IOException(path + " is not a configuration bundle");
+		}
+		final int version = buffer.getInt(Long.BYTES);
+		if (version != VERSION) {
+			throw new IOException(String.format("Unsupported configuration bundle version %d in %s", version, path));
+		}
+		final int trailer = buffer.limit() - TRAILER_SIZE;
+		final long indexOffset = buffer.getLong(trailer);
+		final int count = buffer.getInt(trailer + Long.BYTES);
+		if (buffer.getLong(trailer + Long.BYTES + Integer.BYTES) != MAGIC
+				|| indexOffset < HEADER_SIZE || indexOffset > trailer || count < 0) {
+			throw new IOException("Configuration bundle " + path + " has a corrupt index");
+		}
+
+		final ByteBuffer indexBuffer = buffer.duplicate();
+		indexBuffer.limit(trailer).position((int) indexOffset);
+		final Map<String, Entry> entries = new LinkedHashMap<>(count * 2);
+		try {
+			for (int i = 0; i < count; i++) {
+				final byte[] name = new byte[Short.toUnsignedInt(indexBuffer.getShort())];
+				indexBuffer.get(name);
+				final long offset = indexBuffer.getLong();
+				final int length = indexBuffer.getInt();
+				if (offset < HEADER_SIZE || length < 0 || offset + length > indexOffset) {
+					throw new IOException("Configuration bundle " + path + " has an entry outside the data region");
+				}
+				entries.put(new String(name, UTF_8), new Entry((int) offset, length));
+			}
+		} catch (RuntimeException e) {
+			throw new IOException("Configuration bundle " + path + " has a corrupt index", e);
+		}
+		return Collections.unmodifiableMap(entries);
+	}
+
+	public Path getPath() {
+		return path;
+	}
+
+	/**
+	 * @return the names of all entries, in the order they are stored
+	 */
+	public Set<String> getEntryNames() {
+		return index.keySet();
+	}
+
+	public boolean contains(String name) {
+		return index.containsKey(name);
+	}
+
+	/**
+	 * Get the content of an entry without copying it
+	 *
+	 * @param name
+	 *            the entry name, using '/' as separator
+	 * @return a read-only buffer positioned at the start of the entry
+	 * @throws IllegalArgumentException
+	 *             if there is no such entry
+	 */
+	public ByteBuffer read(String name) {
+		final Entry entry = index.get(name);
+		if (entry == null) {
+			throw new IllegalArgumentException(String.format("No entry '%s' in configuration bundle %s", name, path));
+		}
+		final ByteBuffer slice = buffer.asReadOnlyBuffer();
+		slice.limit(entry.offset + entry.length).position(entry.offset);
+		return slice.slice();
+	}
+
+	/**
+	 * @return the properties stored in the {@link #MANIFEST_ENTRY}
+	 * @throws IOException
+	 *             if the bundle has no manifest or it cannot be parsed
+	 */
+	public Properties getManifest() throws IOException {
+		if (!contains(MANIFEST_ENTRY)) {
+			throw new IOException("Configuration bundle " + path + " has no " + MANIFEST_ENTRY);
+		}
+		final ByteBuffer content = read(MANIFEST_ENTRY);
+		final byte[] bytes = new byte[content.remaining()];
+		content.get(bytes);
+		final Properties manifest = new Properties();
+		manifest.load(new ByteArrayInputStream(bytes));
+		return manifest;
+	}
+
+	/**
+	 * Write every entry of the bundle out under the given directory
+	 *
+	 * @param directory
+	 *            the root to extract to, created if necessary
+	 * @throws IOException
+	 *             if an entry cannot be written or would escape the target directory
+	 */
+	public void extractTo(Path directory) throws IOException {
+		final Path root = directory.toAbsolutePath().normalize();
+		for (String name : index.keySet()) {
+			final Path target = root.resolve(name).normalize();
+			if (!target.startsWith(root) || target.equals(root)) {
+				throw new IOException(String.format("Entry '%s' in %s is outside the extraction directory", name, path));
+			}
+			Files.createDirectories(target.getParent());
+			try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+					StandardOpenOption.TRUNCATE_EXISTING)) {
+				final ByteBuffer content = read(name);
+				while (content.hasRemaining()) {
+					out.write(content);
+				}
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return String.format("ConfigurationBundle(%s, %d entries)", path, index.size());
+	}
+
+	private static final class Entry {
+		private final int offset;
+		private final int length;
+
+		private Entry(int offset, int length) {
+			this.offset = offset;
+			this.length = length;
+		}
+	}
+}
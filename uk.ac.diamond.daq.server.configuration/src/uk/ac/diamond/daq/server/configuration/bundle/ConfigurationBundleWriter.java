@@ -0,0 +1,206 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.server.configuration.bundle;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static uk.ac.diamond.daq.server.configuration.bundle.ConfigurationBundle.MAGIC;
+import static uk.ac.diamond.daq.server.configuration.bundle.ConfigurationBundle.MANIFEST_ENTRY;
+import static uk.ac.diamond.daq.server.configuration.bundle.ConfigurationBundle.VERSION;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Builds a {@link ConfigurationBundle} from config trees on disk. Intended to be run as part of deployment, from
+ * the command line:
+ *
+ * <pre>
+ * ConfigurationBundleWriter &lt;output&gt; &lt;manifest.properties&gt; &lt;prefix&gt;=&lt;directory&gt; ...
+ * </pre>
+ *
+ * where each directory is stored under its prefix, e.g. {@code instance=/dls_sw/i12/software/gda/config}. The
+ * manifest paths are relative to the root of the bundle (see {@link BundleLayout} for the keys it uses).
+ */
+public class ConfigurationBundleWriter {
+
+	private final Map<String, Path> files = new TreeMap<>();
+	private Properties manifest;
+
+	/**
+	 * Add every file below a directory, skipping version control metadata
+	 *
+	 * @param prefix
+	 *            the entry name prefix the tree is stored under
+	 * @param root
+	 *            the directory to add
+	 * @return this writer
+	 * @throws IOException
+	 *             if the directory cannot be walked
+	 */
+	public ConfigurationBundleWriter addTree(String prefix, Path root) throws IOException {
+		try (Stream<Path> paths = Files.walk(root)) {
+			paths.filter(Files::isRegularFile)
+				.filter(file -> !isVersionControlled(root.relativize(file)))
+				.forEach(file -> addFile(entryName(prefix, root.relativize(file)), file));
+		}
+		return this;
+	}
+
+	public ConfigurationBundleWriter addFile(String name, Path file) {
+		if (name.equals(MANIFEST_ENTRY)) {
+			throw new IllegalArgumentException(MANIFEST_ENTRY + " is reserved for the manifest");
+		}
+		files.put(name, file);
+		return this;
+	}
+
+	public ConfigurationBundleWriter setManifest(Properties manifest) {
+		this.manifest = manifest;
+		return this;
+	}
+
+	/**
+	 * Write the bundle. The file is written alongside the output and moved into place once complete so a server
+	 * starting concurrently never maps a partial archive.
+	 *
+	 * @param output
+	 *            the archive to create or replace
+	 * @throws IOException
+	 *             if any of the inputs cannot be read or the output cannot be written
+	 */
+	public void write(Path output) throws IOException {
+		if (manifest == null) {
+			throw new IllegalStateException("No manifest has been set");
+		}
+		final Path absolute = output.toAbsolutePath();
+		final Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+		try {
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+				writeTo(channel);
+			}
+			Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	private void writeTo(FileChannel channel) throws IOException {
+		final ByteBuffer header = ByteBuffer.allocate(ConfigurationBundle.HEADER_SIZE).putLong(MAGIC).putInt(VERSION);
+		writeFully(channel, header.flip());
+
+		final List<IndexEntry> index = new ArrayList<>(files.size() + 1);
+		index.add(writeEntry(channel, MANIFEST_ENTRY, manifestBytes()));
+		for (Map.Entry<String, Path> file : files.entrySet()) {
+			index.add(writeEntry(channel, file.getKey(), Files.readAllBytes(file.getValue())));
+		}
+
+		final long indexOffset = channel.position();
+		for (IndexEntry entry : index) {
+			final ByteBuffer record = ByteBuffer.allocate(Short.BYTES + entry.name.length + Long.BYTES + Integer.BYTES);
+			record.putShort((short) entry.name.length).put(entry.name).putLong(entry.offset).putInt(entry.length);
+			writeFully(channel, record.flip());
+		}
+
+		final ByteBuffer trailer = ByteBuffer.allocate(ConfigurationBundle.TRAILER_SIZE);
+		trailer.putLong(indexOffset).putInt(index.size()).putLong(MAGIC);
+		writeFully(channel, trailer.flip());
+	}
+
+	private IndexEntry writeEntry(FileChannel channel, String name, byte[] content) throws IOException {
+		final byte[] encodedName = name.getBytes(UTF_8);
+		if (encodedName.length > 0xFFFF) {
+			throw new IOException("Entry name too long: " + name);
+		}
+		final long offset = channel.position();
+		writeFully(channel, ByteBuffer.wrap(content));
+		return new IndexEntry(encodedName, offset, content.length);
+	}
+
+	private byte[] manifestBytes() throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		manifest.store(bytes, "GDA configuration bundle");
+		return bytes.toByteArray();
+	}
+
+	private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	private static boolean isVersionControlled(Path relative) {
+		for (Path element : relative) {
+			if (element.toString().equals(".git")) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static String entryName(String prefix, Path relative) {
+		final String name = relative.toString().replace(relative.getFileSystem().getSeparator(), "/");
+		return prefix.isEmpty() ? name : prefix + "/" + name;
+	}
+
+	private static final class IndexEntry {
+		private final byte[] name;
+		private final long offset;
+		private final int length;
+
+		private IndexEntry(byte[] name, long offset, int length) {
+			this.name = name;
+			this.offset = offset;
+			this.length = length;
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 3) {
+			System.err.println("Usage: ConfigurationBundleWriter <output> <manifest.properties> <prefix>=<directory> ...");
+			System.exit(1);
+		}
+		final Properties manifest = new Properties();
+		try (InputStream stream = Files.newInputStream(Paths.get(args[1]))) {
+			manifest.load(stream);
+		}
+		final ConfigurationBundleWriter writer = new ConfigurationBundleWriter().setManifest(manifest);
+		for (int i = 2; i < args.length; i++) {
+			final String[] tree = args[i].split("=", 2);
+			if (tree.length != 2) {
+				throw new IllegalArgumentException("Expected <prefix>=<directory> but got " + args[i]);
+			}
+			writer.addTree(tree[0], Paths.get(tree[1]));
+		}
+		writer.write(Paths.get(args[0]));
+	}
+}
@@ -0,0 +1,186 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.server.configuration.commands;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.ConstructorArgumentValues.ValueHolder;
+import org.springframework.beans.factory.config.RuntimeBeanNameReference;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+/**
+ * The differences between two sets of raw (unresolved) bean definitions read from the same Spring XML files, and
+ * the beans that have to be recreated as a result.
+ */
+final class BeanDefinitionDiff {
+
+	private final Set<String> added = new LinkedHashSet<>();
+	private final Set<String> removed = new LinkedHashSet<>();
+	private final Set<String> changed = new LinkedHashSet<>();
+
+	private final Map<String, Set<String>> liveReferences;
+	private final Map<String, Set<String>> incomingReferences;
+
+	private BeanDefinitionDiff(DefaultListableBeanFactory live, DefaultListableBeanFactory incoming) {
+		final Set<String> liveNames = new HashSet<>(Arrays.asList(live.getBeanDefinitionNames()));
+		for (String name : incoming.getBeanDefinitionNames()) {
+			if (!liveNames.contains(name)) {
+				added.add(name);
+			} else if (!Objects.equals(live.getBeanDefinition(name), incoming.getBeanDefinition(name))) {
+				// AbstractBeanDefinition equality compares the class, property values, constructor args etc.
+				changed.add(name);
+			}
+		}
+		liveNames.removeAll(Arrays.asList(incoming.getBeanDefinitionNames()));
+		removed.addAll(liveNames);
+
+		liveReferences = references(live);
+		incomingReferences = references(incoming);
+	}
+
+	static BeanDefinitionDiff between(DefaultListableBeanFactory live, DefaultListableBeanFactory incoming) {
+		return new BeanDefinitionDiff(live, incoming);
+	}
+
+	boolean isEmpty() {
+		return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+	}
+
+	Set<String> getAdded() {
+		return Collections.unmodifiableSet(added);
+	}
+
+	Set<String> getRemoved() {
+		return Collections.unmodifiableSet(removed);
+	}
+
+	Set<String> getChanged() {
+		return Collections.unmodifiableSet(changed);
+	}
+
+	/**
+	 * @return the names of the beans referenced by each bean in the new definitions
+	 */
+	Map<String, Set<String>> getIncomingReferences() {
+		return incomingReferences;
+	}
+
+	/**
+	 * Every bean touched by the change: those added, removed or changed plus, transitively, every bean that
+	 * depends on one of them in either the old or the new definitions.
+	 *
+	 * @return the affected bean names
+	 */
+	Set<String> getAffected() {
+		final Map<String, Set<String>> dependants = new HashMap<>();
+		invert(liveReferences, dependants);
+		invert(incomingReferences, dependants);
+
+		final Set<String> affected = new LinkedHashSet<>();
+		final Deque<String> pending = new ArrayDeque<>();
+		pending.addAll(added);
+		pending.addAll(removed);
+		pending.addAll(changed);
+		while (!pending.isEmpty()) {
+			final String name = pending.pop();
+			if (affected.add(name)) {
+				pending.addAll(dependants.getOrDefault(name, Collections.emptySet()));
+			}
+		}
+		return affected;
+	}
+
+	private static void invert(Map<String, Set<String>> references, Map<String, Set<String>> dependants) {
+		references.forEach((bean, referenced) -> referenced
+				.forEach(reference -> dependants.computeIfAbsent(reference, r -> new HashSet<>()).add(bean)));
+	}
+
+	private static Map<String, Set<String>> references(DefaultListableBeanFactory definitions) {
+		final Map<String, Set<String>> references = new HashMap<>();
+		for (String name : definitions.getBeanDefinitionNames()) {
+			final Set<String> referenced = new HashSet<>();
+			collect(definitions.getBeanDefinition(name), referenced);
+			references.put(name, referenced);
+		}
+		return references;
+	}
+
+	private static void collect(BeanDefinition definition, Set<String> referenced) {
+		addIfNotNull(referenced, definition.getParentName());
+		addIfNotNull(referenced, definition.getFactoryBeanName());
+		if (definition.getDependsOn() != null) {
+			referenced.addAll(Arrays.asList(definition.getDependsOn()));
+		}
+		for (PropertyValue value : definition.getPropertyValues().getPropertyValueList()) {
+			collect(value.getValue(), referenced);
+		}
+		for (ValueHolder holder : definition.getConstructorArgumentValues().getIndexedArgumentValues().values()) {
+			collect(holder.getValue(), referenced);
+		}
+		for (ValueHolder holder : definition.getConstructorArgumentValues().getGenericArgumentValues()) {
+			collect(holder.getValue(), referenced);
+		}
+	}
+
+	private static void collect(Object value, Set<String> referenced) {
+		if (value instanceof RuntimeBeanReference) {
+			referenced.add(((RuntimeBeanReference) value).getBeanName());
+		} else if (value instanceof RuntimeBeanNameReference) {
+			referenced.add(((RuntimeBeanNameReference) value).getBeanName());
+		} else if (value instanceof BeanDefinitionHolder) {
+			collect(((BeanDefinitionHolder) value).getBeanDefinition(), referenced);
+		} else if (value instanceof BeanDefinition) {
+			collect((BeanDefinition) value, referenced);
+		} else if (value instanceof Collection) {
+			((Collection<?>) value).forEach(element -> collect(element, referenced));
+		} else if (value instanceof Map) {
+			((Map<?, ?>) value).forEach((key, element) -> {
+				collect(key, referenced);
+				collect(element, referenced);
+			});
+		} else if (value instanceof Object[]) {
+			Arrays.stream((Object[]) value).forEach(element -> collect(element, referenced));
+		}
+	}
+
+	private static void addIfNotNull(Set<String> names, String name) {
+		if (name != null) {
+			names.add(name);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return String.format("BeanDefinitionDiff(added=%s, removed=%s, changed=%s)", added, removed, changed);
+	}
+}
@@ -0,0 +1,82 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.diamond.daq.server.configuration.commands;
+
+/**
+ * Snapshot of how far a {@link ServerCommand} has got, as published by {@link RunningCommand#getProgress()}
+ */
+public final class CommandProgress {
+
+	private final String command;
+	private final String stage;
+	private final int configured;
+	private final int total;
+	private final String current;
+
+	public CommandProgress(String command, String stage, int configured, int total, String current) {
+		this.command = command;
+		this.stage = stage;
+		this.configured = configured;
+		this.total = total;
+		this.current = current;
+	}
+
+	static CommandProgress stage(ServerCommand command, String stage) {
+		return new CommandProgress(command.toString(), stage, 0, 0, null);
+	}
+
+	public String getCommand() {
+		return command;
+	}
+
+	/**
+	 * @return what the command is doing e.g. "Configuring"
+	 */
+	public String getStage() {
+		return stage;
+	}
+
+	/**
+	 * @return the number of beans configured so far
+	 */
+	public int getConfigured() {
+		return configured;
+	}
+
+	/**
+	 * @return the number of beans to configure, or 0 if not yet known
+	 */
+	public int getTotal() {
+		return total;
+	}
+
+	/**
+	 * @return the name of the bean being configured, or null if not configuring
+	 */
+	public String getCurrent() {
+		return current;
+	}
+
+	@Override
+	public String toString() {
+		if (total == 0) {
+			return String.format("%s: %s", command, stage);
+		}
+		return String.format("%s: %s %d/%d%s", command, stage, configured, total, current == null ? "" : " (" + current + ")");
+	}
+}
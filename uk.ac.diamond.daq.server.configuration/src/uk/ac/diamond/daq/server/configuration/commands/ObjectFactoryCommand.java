@@ -17,11 +17,45 @@
  */
 package uk.ac.diamond.daq.server.configuration.commands;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toList;
+
 import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.io.FileSystemResourceLoader;
 
+import gda.device.Device;
+import gda.device.DeviceException;
+import gda.factory.Configurable;
 import gda.factory.FactoryException;
+import gda.factory.Findable;
 import gda.factory.Finder;
+import gda.jython.IJythonNamespace;
+import gda.jython.InterfaceProvider;
 import gda.jython.JythonServer;
 import gda.jython.ScriptPaths;
 import gda.jython.ScriptProject;
@@ -29,22 +63,339 @@ import gda.jython.ScriptProjectType;
 import gda.spring.context.SpringContext;
 
 public class ObjectFactoryCommand implements ServerCommand {
+	private static final Logger logger = LoggerFactory.getLogger(ObjectFactoryCommand.class);
+
+	private static final long PROGRESS_SAMPLE_INTERVAL_MS = 250;
 
 	private final String[] xmlFiles;
 
+	/** The raw bean definitions the running objects were created from, used to work out what a reload changes */
+	private DefaultListableBeanFactory definitions;
+	private ReloadableFactory factory;
+	/** The beans created at startup that have not been replaced, so reloads can share them */
+	private Map<String, Object> startupBeans = new HashMap<>();
+	/** The contexts created by reloads, by the name of each bean of theirs still in use */
+	private final Map<String, GenericApplicationContext> owners = new HashMap<>();
+	/** Beans closed by a reload that then failed, recreated by the next reload whatever it changes */
+	private final Set<String> unavailable = new LinkedHashSet<>();
+
 	public ObjectFactoryCommand(String... xmlFiles) {
 		this.xmlFiles = xmlFiles;
 	}
 
+	/**
+	 * A command whose objects have already been created and are served by the given factory, as after
+	 * {@link #execute()}
+	 *
+	 * @param startupBeans
+	 *            every bean created at startup, Finder objects or not, by name
+	 */
+	ObjectFactoryCommand(ReloadableFactory factory, Map<String, Object> startupBeans, String... xmlFiles)
+			throws FactoryException {
+		this(xmlFiles);
+		this.factory = factory;
+		this.startupBeans = new HashMap<>(startupBeans);
+		definitions = readDefinitions();
+	}
+
 	@Override
 	public void execute() throws FactoryException {
+		execute(progress -> {});
+	}
+
+	@Override
+	public RunningCommand executeAsync() {
+		return RunningCommand.start(this, this::execute);
+	}
+
+	private synchronized void execute(Consumer<CommandProgress> progress) throws FactoryException {
+		progress.accept(CommandProgress.stage(this, "Creating objects"));
+		definitions = readDefinitions();
 		SpringContext context = new SpringContext(xmlFiles);
+		factory = new ReloadableFactory(context.asFactory());
+		startupBeans = new HashMap<>(context.getBeansOfType(Object.class));
 		// Can't use SpringObjectFactory#registerFactory here as the jythonModule may be
 		// required by some of the configure methods
-		Finder.addFactory(context.asFactory());
+		Finder.addFactory(factory);
+		progress.accept(CommandProgress.stage(this, "Writing Jython findables module"));
 		Optional<File> gdaserver = Finder.writeFindablesJythonModule();
 		gdaserver.ifPresent(this::addScriptProject);
-		context.configure();
+
+		// SpringContext configures everything in one call so sample how far it has got
+		final List<Findable> configurables = factory.getFindables().stream()
+				.filter(Configurable.class::isInstance)
+				.collect(toList());
+		final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "configure-progress");
+			thread.setDaemon(true);
+			return thread;
+		});
+		sampler.scheduleWithFixedDelay(() -> progress.accept(configureProgress(configurables)),
+				0, PROGRESS_SAMPLE_INTERVAL_MS, MILLISECONDS);
+		try {
+			context.configure();
+		} finally {
+			sampler.shutdownNow();
+		}
+		progress.accept(new CommandProgress(toString(), "Configured", configurables.size(), configurables.size(), null));
+	}
+
+	private CommandProgress configureProgress(List<Findable> configurables) {
+		int configured = 0;
+		String current = null;
+		try {
+			for (Findable findable : configurables) {
+				if (((Configurable) findable).isConfigured()) {
+					configured++;
+				} else if (current == null) {
+					current = findable.getName();
+				}
+			}
+		} catch (RuntimeException e) {
+			logger.debug("Error sampling configure progress", e);
+		}
+		return new CommandProgress(toString(), "Configuring", configured, configurables.size(), current);
+	}
+
+	/**
+	 * Re-read the Spring XML files and recreate only the beans whose definitions have changed since the last
+	 * execute or reload, together with everything that depends on them. Unchanged objects, whether or not the
+	 * {@link Finder} can see them, are shared with the new ones, so devices that have not been edited stay connected.
+	 * Changes are detected on the unresolved definitions so editing a property file that a bean uses through a
+	 * placeholder does not count as a change.
+	 * <p>
+	 * The old objects are taken out of the Finder and closed first, dependants before what they depend on, so a new
+	 * object can take over a serial port or a connection that allows only one client. The new ones are then created,
+	 * configured and put in the Finder and the Jython namespace, and the findables Jython module is rewritten. If a
+	 * new object fails, those already created are closed again and the objects being replaced stay unavailable until
+	 * a later reload recreates them, whether or not it changes anything else.
+	 * <p>
+	 * The context each reload creates is kept until none of its objects are still in use, and closed then so the
+	 * objects get their destroy callbacks.
+	 *
+	 * @return the names of the beans that were recreated or removed
+	 * @throws FactoryException
+	 *             if the new definitions cannot be read or one of the new objects fails to configure
+	 */
+	public synchronized Set<String> reload() throws FactoryException {
+		if (factory == null) {
+			throw new IllegalStateException("Cannot reload " + this + " before it has been executed");
+		}
+		final long start = System.currentTimeMillis();
+		final DefaultListableBeanFactory incoming = readDefinitions();
+		final BeanDefinitionDiff diff = BeanDefinitionDiff.between(definitions, incoming);
+		if (diff.isEmpty() && unavailable.isEmpty()) {
+			logger.info("No bean definitions have changed in {}", this);
+			return Collections.emptySet();
+		}
+		logger.info("Reloading {}: {}{}", this, diff, unavailable.isEmpty() ? "" : " and recreating " + unavailable);
+
+		final Set<String> affected = new LinkedHashSet<>(diff.getAffected());
+		affected.addAll(unavailable);
+		tearDown(affected);
+
+		final Set<String> created = new LinkedHashSet<>();
+		final GenericApplicationContext context = createContext(incoming, diff.getIncomingReferences(), affected, created);
+		final Map<String, Findable> findables;
+		try {
+			findables = configure(context, created);
+		} catch (FactoryException | RuntimeException e) {
+			discard(context, created);
+			throw new FactoryException(String.format("Reload of %s failed - %s unavailable until reloaded again",
+					this, unavailable), e);
+		}
+
+		final Set<String> gone = new LinkedHashSet<>(affected);
+		gone.removeAll(findables.keySet());
+		factory.replace(findables, gone);
+		definitions = incoming;
+		unavailable.clear();
+		final List<String> owned = created.stream()
+				.filter(name -> !isProcessor(context, name) && context.getDefaultListableBeanFactory().containsSingleton(name))
+				.collect(toList());
+		if (owned.isEmpty()) {
+			context.close();
+		} else {
+			owned.forEach(name -> owners.put(name, context));
+		}
+
+		publish(findables);
+		logger.info("Reloaded {} beans from {} in {} ms", affected.size(), this, System.currentTimeMillis() - start);
+		return affected;
+	}
+
+	/**
+	 * Make reloaded objects visible to scripts
+	 */
+	void publish(Map<String, Findable> findables) {
+		Finder.writeFindablesJythonModule();
+		placeInJythonNamespace(findables);
+	}
+
+	private DefaultListableBeanFactory readDefinitions() throws FactoryException {
+		final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		final XmlBeanDefinitionReader reader = new XmlBeanDefinitionReader(beanFactory);
+		reader.setResourceLoader(new FileSystemResourceLoader());
+		try {
+			reader.loadBeanDefinitions(xmlFiles);
+		} catch (BeansException e) {
+			throw new FactoryException("Unable to read bean definitions for " + this, e);
+		}
+		return beanFactory;
+	}
+
+	/**
+	 * Build a context holding only the beans to recreate. Whatever they reference is shared from the running beans
+	 * unless it is being recreated too.
+	 */
+	private GenericApplicationContext createContext(DefaultListableBeanFactory incoming,
+			Map<String, Set<String>> references, Set<String> affected, Set<String> created) throws FactoryException {
+		affected.stream().filter(incoming::containsBeanDefinition).forEach(created::add);
+		// Placeholder configurers etc. are needed for the recreated definitions to resolve
+		created.addAll(Arrays.asList(incoming.getBeanNamesForType(BeanFactoryPostProcessor.class, true, false)));
+		created.addAll(Arrays.asList(incoming.getBeanNamesForType(BeanPostProcessor.class, true, false)));
+
+		final Map<String, Object> reused = new HashMap<>();
+		final Deque<String> pending = new ArrayDeque<>(created);
+		while (!pending.isEmpty()) {
+			for (String reference : references.getOrDefault(pending.pop(), Collections.emptySet())) {
+				if (created.contains(reference) || reused.containsKey(reference)) {
+					continue;
+				}
+				final Object live = affected.contains(reference) ? null : findLive(reference);
+				final boolean defined = incoming.containsBeanDefinition(reference);
+				if (live != null && !(defined && incoming.getBeanDefinition(reference).isAbstract())) {
+					reused.put(reference, live);
+				} else if (defined) {
+					// Abstract parents, and beans only created inside other beans' definitions
+					created.add(reference);
+					pending.push(reference);
+				}
+			}
+		}
+
+		final GenericApplicationContext context = new GenericApplicationContext();
+		final DefaultListableBeanFactory beanFactory = context.getDefaultListableBeanFactory();
+		created.forEach(name -> beanFactory.registerBeanDefinition(name, incoming.getBeanDefinition(name)));
+		reused.forEach(beanFactory::registerSingleton);
+		try {
+			context.refresh();
+		} catch (BeansException e) {
+			throw new FactoryException("Unable to create reloaded beans for " + this, e);
+		}
+		logger.debug("Recreating {} and reusing {}", created, reused.keySet());
+		return context;
+	}
+
+	private Map<String, Findable> configure(GenericApplicationContext context, Set<String> created) throws FactoryException {
+		final Map<String, Findable> findables = new LinkedHashMap<>();
+		for (String name : created) {
+			if (context.getBeanFactory().getBeanDefinition(name).isAbstract()) {
+				continue;
+			}
+			final Object bean = context.getBean(name);
+			if (bean instanceof Configurable) {
+				((Configurable) bean).configure();
+			}
+			if (bean instanceof Findable) {
+				findables.put(name, (Findable) bean);
+			}
+		}
+		return findables;
+	}
+
+	/**
+	 * @return the running bean of that name, whether or not it is a Finder object, or null if there is none
+	 */
+	private Object findLive(String name) {
+		final GenericApplicationContext owner = owners.get(name);
+		if (owner != null) {
+			return owner.getDefaultListableBeanFactory().getSingleton(name);
+		}
+		try {
+			final Findable findable = factory.getFindable(name);
+			if (findable != null) {
+				return findable;
+			}
+		} catch (FactoryException e) {
+			logger.debug("{} is not available from the Finder", name, e);
+		}
+		return startupBeans.get(name);
+	}
+
+	private static boolean isProcessor(GenericApplicationContext context, String name) {
+		final Object bean = context.getDefaultListableBeanFactory().getSingleton(name);
+		return bean instanceof BeanFactoryPostProcessor || bean instanceof BeanPostProcessor;
+	}
+
+	/**
+	 * Take the running beans about to be recreated or removed out of the Finder and close them, dependants first.
+	 * They count as unavailable until a reload succeeds.
+	 */
+	private void tearDown(Set<String> affected) {
+		final Map<String, Object> live = new LinkedHashMap<>();
+		for (String name : affected) {
+			final Object bean = definitions.containsBeanDefinition(name) ? findLive(name) : null;
+			if (bean != null) {
+				live.put(name, bean);
+			}
+		}
+		factory.replace(Collections.emptyMap(), live.keySet());
+		unavailable.addAll(live.keySet());
+		final List<String> names = new ArrayList<>(live.keySet());
+		// The affected beans are listed from what changed outwards to what depends on it
+		Collections.reverse(names);
+		names.forEach(name -> tearDown(name, live.get(name)));
+	}
+
+	/**
+	 * Close a bean that is being replaced. Beans from an earlier reload are destroyed through the context that
+	 * created them, which is closed once none of its beans are left.
+	 */
+	private void tearDown(String name, Object live) {
+		startupBeans.remove(name);
+		final GenericApplicationContext owner = owners.remove(name);
+		try {
+			if (live instanceof Device) {
+				((Device) live).close();
+			}
+			if (owner != null) {
+				owner.getDefaultListableBeanFactory().destroySingleton(name);
+			} else if (live instanceof DisposableBean && !(live instanceof Device)) {
+				((DisposableBean) live).destroy();
+			}
+		} catch (DeviceException e) {
+			logger.error("Error closing {} for reload", name, e);
+		} catch (Exception e) {
+			logger.error("Error destroying {} for reload", name, e);
+		}
+		if (owner != null && !owners.containsValue(owner)) {
+			owner.close();
+		}
+	}
+
+	/**
+	 * Close the objects of a reload that failed
+	 */
+	private void discard(GenericApplicationContext context, Set<String> created) {
+		for (String name : created) {
+			final Object bean = context.getDefaultListableBeanFactory().getSingleton(name);
+			if (bean instanceof Device) {
+				try {
+					((Device) bean).close();
+				} catch (DeviceException e) {
+					logger.error("Error closing {} after failed reload", name, e);
+				}
+			}
+		}
+		context.close();
+	}
+
+	private void placeInJythonNamespace(Map<String, Findable> findables) {
+		final IJythonNamespace namespace = InterfaceProvider.getJythonNamespace();
+		if (namespace != null) {
+			findables.forEach(namespace::placeInJythonNamespace);
+		}
 	}
 
 	private void addScriptProject(File file) {
@@ -0,0 +1,115 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.server.configuration.commands;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import gda.factory.Factory;
+import gda.factory.FactoryBase;
+import gda.factory.FactoryException;
+import gda.factory.Findable;
+
+/**
+ * The factory registered with the {@link gda.factory.Finder} for an {@link ObjectFactoryCommand}. Lookups go to the
+ * Spring context created at startup except for findables that have since been reloaded or removed, so a reload
+ * can swap individual objects without the Finder having to forget the whole context.
+ */
+class ReloadableFactory extends FactoryBase {
+
+	private final Factory delegate;
+	private final Map<String, Findable> reloaded = new ConcurrentHashMap<>();
+	private final Set<String> removed = ConcurrentHashMap.newKeySet();
+
+	ReloadableFactory(Factory delegate) {
+		this.delegate = delegate;
+		setName(delegate.getName());
+	}
+
+	/**
+	 * Replace findables with their reloaded versions
+	 *
+	 * @param findables
+	 *            the new objects by name
+	 * @param removedNames
+	 *            findables that no longer exist in the configuration
+	 */
+	void replace(Map<String, Findable> findables, Collection<String> removedNames) {
+		removedNames.forEach(reloaded::remove);
+		removed.addAll(removedNames);
+		removed.removeAll(findables.keySet());
+		reloaded.putAll(findables);
+	}
+
+	@Override
+	public void addFindable(Findable findable) {
+		delegate.addFindable(findable);
+	}
+
+	@Override
+	public List<Findable> getFindables() {
+		final List<Findable> findables = new ArrayList<>(reloaded.values());
+		for (Findable findable : delegate.getFindables()) {
+			if (!isOverridden(findable.getName())) {
+				findables.add(findable);
+			}
+		}
+		return findables;
+	}
+
+	@Override
+	public List<String> getFindableNames() {
+		final Set<String> names = new LinkedHashSet<>(delegate.getFindableNames());
+		names.removeAll(removed);
+		names.addAll(reloaded.keySet());
+		return new ArrayList<>(names);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T extends Findable> T getFindable(String name) throws FactoryException {
+		if (removed.contains(name)) {
+			return null;
+		}
+		final Findable findable = reloaded.get(name);
+		if (findable != null) {
+			return (T) findable;
+		}
+		return delegate.getFindable(name);
+	}
+
+	@Override
+	public boolean containsExportableObjects() {
+		return delegate.containsExportableObjects();
+	}
+
+	@Override
+	public boolean isLocal() {
+		return delegate.isLocal();
+	}
+
+	private boolean isOverridden(String name) {
+		return removed.contains(name) || reloaded.containsKey(name);
+	}
+}
@@ -0,0 +1,137 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.diamond.daq.server.configuration.commands;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.Consumer;
+
+import gda.factory.FactoryException;
+
+/**
+ * A {@link ServerCommand} executing on its own thread. Completion is signalled through {@link #getCompletion()}
+ * and progress is published to subscribers of {@link #getProgress()}. Progress is offered rather than submitted
+ * so a slow subscriber misses intermediate updates instead of holding up the command.
+ */
+public final class RunningCommand {
+
+	/** The work done by a command, reporting progress to the given consumer */
+	@FunctionalInterface
+	public interface Body {
+		void run(Consumer<CommandProgress> progress) throws FactoryException;
+	}
+
+	private final ServerCommand command;
+	private final CompletableFuture<Void> completion = new CompletableFuture<>();
+	private final SubmissionPublisher<CommandProgress> publisher = new SubmissionPublisher<>();
+	private final Thread thread;
+	private volatile CommandProgress latest;
+
+	private RunningCommand(ServerCommand command, Body body) {
+		this.command = command;
+		this.latest = CommandProgress.stage(command, "Waiting to start");
+		thread = new Thread(() -> run(body), "server-command");
+		thread.setDaemon(true);
+	}
+
+	/**
+	 * Start executing a command on a new thread
+	 *
+	 * @param command
+	 *            the command, used in progress reports
+	 * @param body
+	 *            the work to do
+	 * @return the running command
+	 */
+	public static RunningCommand start(ServerCommand command, Body body) {
+		final RunningCommand running = new RunningCommand(command, body);
+		running.thread.start();
+		return running;
+	}
+
+	private void run(Body body) {
+		report(CommandProgress.stage(command, "Starting"));
+		try {
+			body.run(this::report);
+			report(CommandProgress.stage(command, "Complete"));
+			completion.complete(null);
+			publisher.close();
+		} catch (Exception e) {
+			fail(e);
+		} catch (Error e) {
+			// Still fail the command so nothing waits on it forever, then let the thread die with it
+			fail(e);
+			throw e;
+		}
+	}
+
+	private void fail(Throwable cause) {
+		completion.completeExceptionally(cause);
+		publisher.closeExceptionally(cause);
+	}
+
+	private void report(CommandProgress progress) {
+		latest = progress;
+		if (!publisher.isClosed()) {
+			try {
+				publisher.offer(progress, (subscriber, dropped) -> false);
+			} catch (IllegalStateException e) {
+				// Closed by cancel() since the check, nobody is listening any more
+			}
+		}
+	}
+
+	public CompletionStage<Void> getCompletion() {
+		return completion;
+	}
+
+	public Flow.Publisher<CommandProgress> getProgress() {
+		return publisher;
+	}
+
+	/**
+	 * @return the most recent progress report, for callers that poll rather than subscribe
+	 */
+	public CommandProgress getLatestProgress() {
+		return latest;
+	}
+
+	public boolean isDone() {
+		return completion.isDone();
+	}
+
+	/**
+	 * Stop waiting for the command. The executing thread is interrupted, which unblocks device calls that honour
+	 * interruption, and the completion fails with a {@link CancellationException} straight away.
+	 */
+	public void cancel() {
+		final CancellationException cancelled = new CancellationException(command + " was cancelled at " + latest);
+		// Fail first, so a command that returns as soon as it is interrupted cannot complete normally instead
+		completion.completeExceptionally(cancelled);
+		publisher.closeExceptionally(cancelled);
+		thread.interrupt();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("RunningCommand(%s)", latest);
+	}
+}
@@ -22,4 +22,14 @@ import gda.factory.FactoryException;
 public interface ServerCommand {
 
 	void execute() throws FactoryException;
+
+	/**
+	 * Execute this command on a separate thread. The default only reports when the command starts and finishes;
+	 * implementations that can say more should override this.
+	 *
+	 * @return the running command, to wait on, cancel or follow the progress of
+	 */
+	default RunningCommand executeAsync() {
+		return RunningCommand.start(this, progress -> execute());
+	}
 }
@@ -0,0 +1,92 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.server.configuration.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.ac.diamond.daq.server.configuration.ConfigurationDefaults;
+import uk.ac.diamond.daq.server.configuration.IGDAConfigurationService;
+import uk.ac.diamond.daq.server.configuration.bundle.BundleLayout;
+import uk.ac.diamond.daq.server.configuration.commands.ObjectFactoryCommand;
+import uk.ac.diamond.daq.server.configuration.commands.ServerCommand;
+
+/**
+ * Configuration service for beamlines deployed as a single pre-built configuration bundle. The properties, Spring
+ * XML and Jython scripts are all read from the archive named by the config root in beamlineLayouts.cfg (see
+ * {@link BundleLayout}) instead of from the individual files in the config trees.
+ */
+@Component(name = "BundleConfigurationService", immediate = true, property = "configuration.layout=BUNDLE")
+public class BundleConfigurationService implements IGDAConfigurationService {
+	private static final Logger logger = LoggerFactory.getLogger(BundleConfigurationService.class);
+
+	private final List<ServerCommand> objectServerCommands = new ArrayList<>();
+	private String instanceConfigRoot;
+
+	@Override
+	public void loadConfiguration() {
+		// Extracts the bundle as part of the initialisation
+		ConfigurationDefaults.initialise();
+		final BundleLayout layout = getLayout();
+		for (String profile : layout.getProfiles()) {
+			objectServerCommands.add(new ObjectFactoryCommand(layout.getSpringXmlFiles(profile)));
+		}
+		logger.info("Loaded configuration for profiles {} from {}", String.join(",", layout.getProfiles()), layout.getArchive());
+	}
+
+	private BundleLayout getLayout() {
+		return BundleLayout.get().orElseThrow(() -> new IllegalStateException(
+				"Configuration bundle has not been loaded - is the configuration layout set to BUNDLE?"));
+	}
+
+	@Override
+	public String getMode() {
+		return getLayout().getMode();
+	}
+
+	@Override
+	public String[] getProfiles() {
+		return getLayout().getProfiles();
+	}
+
+	@Override
+	public List<ServerCommand> getObjectServerCommands() {
+		return objectServerCommands;
+	}
+
+	@Override
+	public void setInstanceConfigRoot(String path) {
+		instanceConfigRoot = path;
+	}
+
+	@Override
+	public String getInstanceConfigRoot() {
+		return instanceConfigRoot;
+	}
+
+	@Activate
+	protected void activate() {
+		System.out.println("Starting Bundle Configuration Service");
+	}
+}
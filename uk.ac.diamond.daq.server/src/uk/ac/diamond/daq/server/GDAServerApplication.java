@@ -18,6 +18,7 @@
 
 package uk.ac.diamond.daq.server;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 import java.io.BufferedReader;
@@ -30,8 +31,11 @@ import java.net.Socket;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.equinox.app.IApplication;
 import org.eclipse.equinox.app.IApplicationContext;
@@ -51,6 +55,7 @@ import gda.util.logging.LogbackUtils;
 import uk.ac.diamond.daq.api.messaging.MessagingService;
 import uk.ac.diamond.daq.concurrent.Async;
 import uk.ac.diamond.daq.server.configuration.IGDAConfigurationService;
+import uk.ac.diamond.daq.server.configuration.commands.RunningCommand;
 import uk.ac.diamond.daq.server.configuration.commands.ServerCommand;
 import uk.ac.diamond.daq.services.PropertyService;
 import uk.ac.gda.core.GDACoreActivator;
@@ -62,6 +67,14 @@ public class GDAServerApplication implements IApplication {
 
 	private static final Logger logger = LoggerFactory.getLogger(GDAServerApplication.class);
 
+	/** Status port command returning the progress of server startup */
+	private static final String STARTUP_PROGRESS_COMMAND = "startup";
+	/** Overall limit on startup in seconds, 0 for no limit */
+	private static final String STARTUP_TIMEOUT_PROPERTY = "gda.server.startupTimeout";
+	/** Whether to open the status port at the start of startup so progress can be requested */
+	private static final String STATUS_PORT_STARTUP_PROGRESS_PROPERTY = "gda.server.statusPort.startupProgress";
+	private static final long PROGRESS_LOG_INTERVAL_MS = 10_000;
+
 	private static IGDAConfigurationService configurationService;
 
 	private final CountDownLatch shutdownLatch = new CountDownLatch(1);
@@ -69,6 +82,9 @@ public class GDAServerApplication implements IApplication {
 	private ServerSocket statusPort;
 	private BeamlineHealthMonitor beamlineHealthMonitor;
 
+	private volatile boolean started;
+	private volatile RunningCommand startingCommand;
+
 	/**
 	 * Application start method invoked when it is launched. Loads the required configuration via  the external OSGI configuration service.
 	 * Starts the 4 (or more) servers and then execution waits for the shutdown hook trigger, multiple object Servers may be started.
@@ -90,14 +106,22 @@ public class GDAServerApplication implements IApplication {
 
 		try {
 			checkActiveMq();
+			if (getPropertyService().getAsBoolean(STATUS_PORT_STARTUP_PROGRESS_PROPERTY, false)) {
+				openStatusPort();
+			}
+			final int timeout = getPropertyService().getAsInt(STARTUP_TIMEOUT_PROPERTY, 0);
+			final long deadline = timeout > 0 ? System.currentTimeMillis() + SECONDS.toMillis(timeout) : 0;
 			for (ServerCommand command : configurationService.getObjectServerCommands()) {
-				command.execute();
+				startingCommand = command.executeAsync();
+				awaitCommand(startingCommand, deadline, timeout);
 				logger.info("Server started");
 			}
+			started = true;
 			// Also make it obvious in the IDE Console.
 			System.out.println("================================================================================");
 			System.out.println("Server started");
 			System.out.println("================================================================================");
+			beamlineHealthMonitor = Finder.findOptionalSingleton(BeamlineHealthMonitor.class).orElse(null);
 			openStatusPort();
 			awaitShutdown();
 			logger.info("GDA server application ended");
@@ -111,6 +135,43 @@ public class GDAServerApplication implements IApplication {
 		return IApplication.EXIT_OK;
 	}
 
+	/**
+	 * Wait for a command to complete, logging its progress periodically, and cancel it if the startup deadline
+	 * passes first.
+	 *
+	 * @param command
+	 *            the running command
+	 * @param deadline
+	 *            the time by which startup must have completed, or 0 for no limit
+	 * @param timeout
+	 *            the configured timeout in seconds, for reporting
+	 * @throws Exception
+	 *             the exception the command failed with, or a {@link TimeoutException} if it was cancelled
+	 */
+	private void awaitCommand(RunningCommand command, long deadline, int timeout) throws Exception {
+		final CompletableFuture<Void> completion = command.getCompletion().toCompletableFuture();
+		while (true) {
+			long wait = PROGRESS_LOG_INTERVAL_MS;
+			if (deadline > 0) {
+				final long remaining = deadline - System.currentTimeMillis();
+				if (remaining <= 0) {
+					command.cancel();
+					throw new TimeoutException(String.format("Server startup did not complete within %d s - stopped at %s",
+							timeout, command.getLatestProgress()));
+				}
+				wait = Math.min(wait, remaining);
+			}
+			try {
+				completion.get(wait, MILLISECONDS);
+				return;
+			} catch (TimeoutException e) {
+				logger.info("Starting {}", command.getLatestProgress());
+			} catch (ExecutionException e) {
+				throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+			}
+		}
+	}
+
 	private void checkActiveMq() {
 		if (GDACoreActivator.getService(MessagingService.class).isEmpty()) {
 			throw new IllegalStateException("No MessagingService is available - is ActiveMQ running?");
@@ -135,7 +196,10 @@ public class GDAServerApplication implements IApplication {
 	 * @Since GDA 9.7
 	 */
 	private void openStatusPort() {
-		beamlineHealthMonitor = Finder.findOptionalSingleton(BeamlineHealthMonitor.class).orElse(null);
+		if (statusPort != null) {
+			// Already opened at the start of startup to report progress
+			return;
+		}
 		// TODO Here use the PropertyService for now but once backed by sys properties will not be needed.
 		var serverPort = getPropertyService().getAsInt("gda.server.statusPort", 19999);
 		try {
@@ -167,6 +231,14 @@ public class GDAServerApplication implements IApplication {
 		}
 	}
 
+	private Object getStartupProgress() {
+		final RunningCommand command = startingCommand;
+		if (started) {
+			return "Started";
+		}
+		return command == null ? "Loading configuration" : command.getLatestProgress();
+	}
+
 	private synchronized BeamlineHealthResult getBeamlineState() {
 		return beamlineHealthMonitor.getState();
 	}
@@ -249,10 +321,15 @@ public class GDAServerApplication implements IApplication {
 						final BufferedReader in = new BufferedReader(new InputStreamReader(clientSocket.getInputStream()))) {
 					String inputLine;
 					while ((inputLine = in.readLine()) != null) {
-						if (inputLine.equalsIgnoreCase(BeamlineHealthResult.COMMAND)) {
+						if (inputLine.equalsIgnoreCase(STARTUP_PROGRESS_COMMAND)) {
+							out.println(new ObjectMapper().writeValueAsString(getStartupProgress()));
+						} else if (inputLine.equalsIgnoreCase(BeamlineHealthResult.COMMAND)) {
 							// Beamline health status requested
 							final BeamlineHealthResult beamlineHealthResult;
-							if (beamlineHealthMonitor == null) {
+							if (!started) {
+								beamlineHealthResult = new BeamlineHealthResult(BeamlineHealthState.WARNING,
+										"Server is starting - " + getStartupProgress(), Collections.emptyList());
+							} else if (beamlineHealthMonitor == null) {
 								final String message = "No beamlineHealthMonitor found - server state cannot be determined";
 								logger.warn(message);
 								beamlineHealthResult = new BeamlineHealthResult(BeamlineHealthState.WARNING, message, Collections.emptyList());
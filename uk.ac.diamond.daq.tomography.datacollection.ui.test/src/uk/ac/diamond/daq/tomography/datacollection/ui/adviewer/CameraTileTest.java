@@ -0,0 +1,54 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.adviewer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.FrameTimings;
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.TestFrames;
+
+public class CameraTileTest {
+
+	@Test
+	public void testStatusShowsLatencyAndFrameRate() {
+		final FrameTimings.Summary summary = TestFrames.timings(10, 10, 10, 200);
+		final String status = CameraTile.statusText(summary, false);
+
+		assertEquals(summary.toStatus(), status);
+		assertTrue(status, status.matches("p50 \\d+ ms  p99 \\d+ ms  [\\d.]+ fps"));
+	}
+
+	@Test
+	public void testStatusSaysWhenTheViewIsStatic() {
+		final FrameTimings.Summary summary = TestFrames.timings(10);
+
+		assertEquals(summary.toStatus() + "  Static", CameraTile.statusText(summary, true));
+	}
+
+	@Test
+	public void testStatusOfATileWithNoFrames() {
+		final FrameTimings.Summary summary = TestFrames.timings();
+
+		assertEquals(0, summary.getFramesDisplayed());
+		assertTrue(CameraTile.statusText(summary, false).endsWith(" 0.0 fps"));
+	}
+}
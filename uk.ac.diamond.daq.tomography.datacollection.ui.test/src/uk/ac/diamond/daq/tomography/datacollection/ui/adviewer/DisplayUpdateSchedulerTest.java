@@ -0,0 +1,216 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.adviewer;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class DisplayUpdateSchedulerTest {
+
+	private final FakeUiThread ui = new FakeUiThread();
+	private long now = 1_000_000;
+	private final DisplayUpdateScheduler scheduler = new DisplayUpdateScheduler(ui, () -> now);
+	private final List<String> ran = Collections.synchronizedList(new ArrayList<>());
+
+	@Test
+	public void testUpdatesPostedTogetherRunInOneBatch() {
+		scheduler.post("a", () -> ran.add("a"));
+		scheduler.post("b", () -> ran.add("b"));
+		scheduler.post("c", () -> ran.add("c"));
+
+		assertEquals(1, ui.async.size());
+		ui.runAll();
+		assertEquals(asList("a", "b", "c"), ran);
+	}
+
+	@Test
+	public void testLaterUpdateReplacesOneForTheSameKey() {
+		scheduler.post("label", () -> ran.add("first"));
+		scheduler.post("other", () -> ran.add("other"));
+		scheduler.post("label", () -> ran.add("second"));
+		ui.runAll();
+
+		// In the order the keys were first posted
+		assertEquals(asList("second", "other"), ran);
+	}
+
+	@Test
+	public void testCancelledUpdateDoesNotRun() {
+		scheduler.post("a", () -> ran.add("a"));
+		scheduler.post("b", () -> ran.add("b"));
+		scheduler.cancel("a");
+		ui.runAll();
+
+		assertEquals(asList("b"), ran);
+	}
+
+	@Test
+	public void testBatchesAreAtLeastAFrameApart() {
+		scheduler.post("a", () -> ran.add("a"));
+		ui.runAll();
+
+		now += 5;
+		scheduler.post("a", () -> ran.add("a again"));
+		ui.runAsync();
+		assertEquals(asList("a"), ran);
+		assertEquals(asList(11), ui.timerDelays);
+
+		now += 11;
+		ui.runAll();
+		assertEquals(asList("a", "a again"), ran);
+
+		// Straight away once a frame has gone by
+		now += 20;
+		scheduler.post("a", () -> ran.add("later"));
+		ui.runAsync();
+		assertEquals(asList("a", "a again", "later"), ran);
+		assertEquals(1, ui.timerDelays.size());
+	}
+
+	@Test
+	public void testUpdatesPostedWhileRunningGoInTheNextBatch() {
+		scheduler.post("a", () -> {
+			ran.add("a");
+			scheduler.post("b", () -> ran.add("b"));
+		});
+		ui.runAsync();
+		assertEquals(asList("a"), ran);
+		assertEquals(asList(16), ui.timerDelays);
+
+		now += 20;
+		ui.runAll();
+		assertEquals(asList("a", "b"), ran);
+	}
+
+	@Test
+	public void testFailedUpdateDoesNotStopTheRest() {
+		scheduler.post("a", () -> {
+			throw new IllegalStateException("Widget is disposed");
+		});
+		scheduler.post("b", () -> ran.add("b"));
+		ui.runAll();
+
+		assertEquals(asList("b"), ran);
+	}
+
+	@Test
+	public void testNothingIsRunOnADisposedDisplay() {
+		ui.disposed = true;
+		scheduler.post("a", () -> ran.add("a"));
+
+		assertTrue(ui.async.isEmpty());
+	}
+
+	@Test
+	public void testUpdatesFromManyThreadsEachRunOnce() throws Exception {
+		final int threads = 8;
+		final int updates = 1000;
+		final ExecutorService posters = Executors.newFixedThreadPool(threads);
+		final CountDownLatch done = new CountDownLatch(threads);
+		try {
+			for (int thread = 0; thread < threads; thread++) {
+				final int poster = thread;
+				posters.execute(() -> {
+					for (int i = 0; i < updates; i++) {
+						final String key = poster + ":" + i;
+						scheduler.post(key, () -> ran.add(key));
+						if (i % 100 == 0) {
+							// The UI thread draining part way through
+							synchronized (ui) {
+								ui.runAll();
+							}
+						}
+					}
+					done.countDown();
+				});
+			}
+			assertTrue(done.await(30, TimeUnit.SECONDS));
+		} finally {
+			posters.shutdownNow();
+		}
+		now += 20;
+		ui.runAll();
+
+		assertEquals(threads * updates, ran.size());
+		assertEquals(threads * updates, ran.stream().distinct().count());
+	}
+
+	/** Queues what would be run on the UI thread until the test runs it */
+	private static final class FakeUiThread implements DisplayUpdateScheduler.UiThread {
+		private final Deque<Runnable> async = new ArrayDeque<>();
+		private final Deque<Runnable> timers = new ArrayDeque<>();
+		private final List<Integer> timerDelays = new ArrayList<>();
+		private volatile boolean disposed;
+
+		@Override
+		public synchronized void asyncExec(Runnable runnable) {
+			async.add(runnable);
+		}
+
+		@Override
+		public synchronized void timerExec(int milliseconds, Runnable runnable) {
+			timerDelays.add(milliseconds);
+			timers.add(runnable);
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return disposed;
+		}
+
+		/**
+		 * Run what has been queued with asyncExec, not timers
+		 */
+		void runAsync() {
+			Runnable runnable;
+			while ((runnable = poll(async)) != null) {
+				runnable.run();
+			}
+		}
+
+		/**
+		 * Run everything queued, timers as though they were due, until nothing is left
+		 */
+		void runAll() {
+			runAsync();
+			Runnable runnable;
+			while ((runnable = poll(timers)) != null) {
+				runnable.run();
+				runAsync();
+			}
+		}
+
+		private synchronized Runnable poll(Deque<Runnable> queue) {
+			return queue.poll();
+		}
+	}
+}
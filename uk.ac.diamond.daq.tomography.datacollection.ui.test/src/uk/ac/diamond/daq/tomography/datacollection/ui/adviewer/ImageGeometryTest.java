@@ -0,0 +1,114 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.adviewer;
+
+import static org.junit.Assert.assertEquals;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.junit.Test;
+
+public class ImageGeometryTest {
+
+	private static final double TOLERANCE = 1e-9;
+
+	/** Displayed at half the size of the camera image, with 100 pixels/mm i.e. 10 microns per camera pixel */
+	private final ImageGeometry geometry = new ImageGeometry(500, 400, 1000, 800, 100, 100);
+
+	@Test
+	public void testDisplayAndImageCoordinatesMapBothWays() {
+		assertEquals(1000, geometry.toImageX(0), TOLERANCE);
+		assertEquals(800, geometry.toImageY(0), TOLERANCE);
+		assertEquals(0, geometry.toImageX(500), TOLERANCE);
+		assertEquals(123.5, geometry.toDisplayX(geometry.toImageX(123.5)), TOLERANCE);
+		assertEquals(321.25, geometry.toDisplayY(geometry.toImageY(321.25)), TOLERANCE);
+	}
+
+	@Test
+	public void testRegionIsReflectedIntoTheImage() {
+		final Rectangle region = geometry.toImage(new Rectangle(100, 50, 200, 100));
+		assertEquals(400, region.x);
+		assertEquals(500, region.y);
+		assertEquals(400, region.width);
+		assertEquals(200, region.height);
+	}
+
+	@Test
+	public void testDragIsScaledToTheCameraImage() {
+		// 10 display pixels are 20 camera pixels
+		assertEquals(200, geometry.dragToCentringMoveX(10), TOLERANCE);
+		assertEquals(-200, geometry.dragToCentringMoveY(10), TOLERANCE);
+		assertEquals(20, geometry.getMicronsPerDisplayPixelX(), TOLERANCE);
+		assertEquals(20, geometry.getMicronsPerDisplayPixelY(), TOLERANCE);
+	}
+
+	@Test
+	public void testClickMovesThePointOntoTheRotationAxis() {
+		// The axis at camera x 600 is at display x 200, so a point clicked 30 display pixels left of it moves right
+		assertEquals(600, geometry.toCentringMoveX(170, 600), TOLERANCE);
+		assertEquals(0, geometry.toCentringMoveX(200, 600), TOLERANCE);
+		// The middle of the camera image is at display y 200, so a point clicked 50 display pixels below it moves up
+		assertEquals(1000, geometry.toCentringMoveY(250), TOLERANCE);
+		assertEquals(0, geometry.toCentringMoveY(200), TOLERANCE);
+	}
+
+	@Test
+	public void testClickMatchesDraggingTheSameDistance() {
+		final ImageGeometry unequal = new ImageGeometry(640, 480, 2048, 1536, 250, 400);
+		for (double x = 0; x < 640; x += 37.5) {
+			final double axis = 800;
+			assertEquals(unequal.dragToCentringMoveX(unequal.toDisplayX(axis) - x), unequal.toCentringMoveX(x, axis),
+					TOLERANCE);
+			// The same as the camera pixels to the axis times the camera scale
+			assertEquals((unequal.toImageX(x) - axis) * 1000 / 250, unequal.toCentringMoveX(x, axis), TOLERANCE);
+		}
+		for (double y = 0; y < 480; y += 37.5) {
+			assertEquals((768 - unequal.toImageY(y)) * 1000 / 400, unequal.toCentringMoveY(y), TOLERANCE);
+		}
+	}
+
+	@Test
+	public void testDriftIsUndoneByDraggingItBack() {
+		// Drifting 5 display pixels right and 3 down is undone by the moves for dragging 5 left and 3 up
+		assertEquals(-100, geometry.driftToCentringMoveX(5), TOLERANCE);
+		assertEquals(60, geometry.driftToCentringMoveY(3), TOLERANCE);
+		assertEquals(geometry.dragToCentringMoveX(-5), geometry.driftToCentringMoveX(5), TOLERANCE);
+		assertEquals(geometry.dragToCentringMoveY(-3), geometry.driftToCentringMoveY(3), TOLERANCE);
+	}
+
+	@Test
+	public void testClicksOnPvaAndMjpegFramesOfTheSameSpotAgree() {
+		// The PVA plugin gives the full 2048x1536 detector frame, the MJPEG stream the same field of view at 640x480
+		final ImageGeometry mjpeg = new ImageGeometry(640, 480, 2048, 1536, 250, 400);
+		final ImageGeometry pva = new ImageGeometry(2048, 1536, 2048, 1536, 250, 400);
+		final double axis = 800;
+		for (double x = 0; x < 640; x += 37.5) {
+			final double y = x * 0.75;
+			final double pvaX = x * 3.2;
+			final double pvaY = y * 3.2;
+			assertEquals(mjpeg.toImageX(x), pva.toImageX(pvaX), TOLERANCE);
+			assertEquals(mjpeg.toImageY(y), pva.toImageY(pvaY), TOLERANCE);
+			assertEquals(mjpeg.toCentringMoveX(x, axis), pva.toCentringMoveX(pvaX, axis), TOLERANCE);
+			assertEquals(mjpeg.toCentringMoveY(y), pva.toCentringMoveY(pvaY), TOLERANCE);
+			assertEquals(mjpeg.toDisplayX(axis) * 3.2, pva.toDisplayX(axis), TOLERANCE);
+		}
+		// Dragging the same distance on screen is a smaller distance on the finer frame
+		assertEquals(mjpeg.dragToCentringMoveX(10), pva.dragToCentringMoveX(32), TOLERANCE);
+	}
+}
@@ -0,0 +1,85 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.adviewer;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+public class TiledCameraViewConfigurationTest {
+
+	private final TiledCameraViewConfiguration configuration = new TiledCameraViewConfiguration();
+
+	@Test
+	public void testTilesMakeANearlySquareGrid() {
+		final int[] expected = { 1, 1, 2, 2, 2, 3, 3, 3, 3, 3, 4 };
+		for (int cameras = 0; cameras < expected.length; cameras++) {
+			configuration.setAdControllers(cameras(cameras));
+			assertEquals(cameras + " cameras", expected[cameras], configuration.getColumnCount());
+		}
+	}
+
+	@Test
+	public void testConfiguredColumnsAreUsed() {
+		configuration.setAdControllers(cameras(4));
+		configuration.setColumns(4);
+		assertEquals(4, configuration.getColumnCount());
+
+		configuration.setColumns(1);
+		assertEquals(1, configuration.getColumnCount());
+	}
+
+	@Test
+	public void testValidConfigurationIsAccepted() throws Exception {
+		configuration.setAdControllers(cameras(2));
+		configuration.afterPropertiesSet();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNoCamerasAreRejected() throws Exception {
+		configuration.setAdControllers(Collections.emptyList());
+		configuration.afterPropertiesSet();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNoWorkersAreRejected() throws Exception {
+		configuration.setAdControllers(cameras(2));
+		configuration.setWorkerThreads(0);
+		configuration.afterPropertiesSet();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNoFrameRateIsRejected() throws Exception {
+		configuration.setAdControllers(cameras(2));
+		configuration.setMaxFrameRatePerTile(0);
+		configuration.afterPropertiesSet();
+	}
+
+	private static List<DataCollectionADControllerImpl> cameras(int count) {
+		final List<DataCollectionADControllerImpl> cameras = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			cameras.add(new DataCollectionADControllerImpl());
+		}
+		return cameras;
+	}
+}
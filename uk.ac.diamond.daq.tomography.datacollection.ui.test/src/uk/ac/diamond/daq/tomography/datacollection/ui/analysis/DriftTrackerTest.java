@@ -0,0 +1,151 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.swt.graphics.Rectangle;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.TestFrames;
+
+public class DriftTrackerTest {
+
+	private static final int WIDTH = 640;
+	private static final int HEIGHT = 480;
+	private static final Rectangle FEATURE = new Rectangle(250, 180, 128, 96);
+
+	private final DriftTracker tracker = new DriftTracker();
+	private final List<DriftTracker.Sample> samples = new ArrayList<>();
+	private long sequence;
+
+	@Before
+	public void setUp() {
+		tracker.addListener(samples::add);
+		tracker.lock(FEATURE);
+		show(0, 0);
+		assertTrue(tracker.isLocked());
+		assertTrue(samples.isEmpty());
+	}
+
+	@Test
+	public void testUnmovedSampleHasNoDrift() {
+		final DriftTracker.Sample sample = show(0, 0);
+		assertFalse(sample.isLost());
+		assertEquals(0, sample.getDriftX(), 0.01);
+		assertEquals(0, sample.getDriftY(), 0.01);
+		assertEquals(1, sample.getScore(), 1e-6);
+	}
+
+	@Test
+	public void testWholePixelDriftIsFound() {
+		final DriftTracker.Sample sample = show(17, -9);
+		assertFalse(sample.isLost());
+		assertEquals(17, sample.getDriftX(), 0.05);
+		assertEquals(-9, sample.getDriftY(), 0.05);
+		assertTrue("Score " + sample.getScore(), sample.getScore() > 0.95);
+	}
+
+	@Test
+	public void testDriftIsFoundToAFractionOfAPixel() {
+		for (double fraction = 0.25; fraction < 1; fraction += 0.25) {
+			final DriftTracker.Sample sample = show(3 + fraction, -2 - fraction);
+			assertEquals(3 + fraction, sample.getDriftX(), 0.1);
+			assertEquals(-2 - fraction, sample.getDriftY(), 0.1);
+		}
+	}
+
+	@Test
+	public void testDriftIsFollowedBeyondTheSearchMarginOverSeveralFrames() {
+		// Each step is within the 48 pixel margin around where it was last found, though the total is not
+		for (int step = 1; step <= 4; step++) {
+			show(25 * step, 12 * step);
+		}
+		final DriftTracker.Sample sample = samples.get(samples.size() - 1);
+		assertFalse(sample.isLost());
+		assertEquals(100, sample.getDriftX(), 0.1);
+		assertEquals(48, sample.getDriftY(), 0.1);
+	}
+
+	@Test
+	public void testFeatureIsLostWhenItDisappearsAndFoundAgainWhenItReturns() {
+		show(6, 4);
+		tracker.handleFrame(TestFrames.frame(++sequence, TestFrames.greyscale(WIDTH, HEIGHT, (x, y) -> 128)));
+		final DriftTracker.Sample lost = samples.get(samples.size() - 1);
+		assertTrue(lost.isLost());
+		// The drift reported while lost is where it was last found
+		assertEquals(6, lost.getDriftX(), 0.1);
+		assertEquals(4, lost.getDriftY(), 0.1);
+
+		final DriftTracker.Sample found = show(8, 5);
+		assertFalse(found.isLost());
+		assertEquals(8, found.getDriftX(), 0.1);
+	}
+
+	@Test
+	public void testTrackingStopsWhenTheFrameSizeChanges() {
+		tracker.handleFrame(
+				TestFrames.frame(++sequence, TestFrames.greyscale(WIDTH / 2, HEIGHT / 2, DriftTrackerTest::texture)));
+		assertFalse(tracker.isLocked());
+	}
+
+	@Test
+	public void testRegionTooSmallIsNotTracked() {
+		tracker.lock(new Rectangle(10, 10, 8, 8));
+		show(0, 0);
+		assertFalse(tracker.isLocked());
+	}
+
+	@Test
+	public void testHistoryKeepsEachSample() {
+		show(1, 0);
+		show(2, 0);
+		final double[][] history = tracker.getHistory();
+		assertEquals(2, history[0].length);
+		assertEquals(2, history[1][1], 0.1);
+	}
+
+	/**
+	 * Show a frame of the sample moved right and down by the given distances
+	 *
+	 * @return the sample reported for it
+	 */
+	private DriftTracker.Sample show(double dx, double dy) {
+		final int reported = samples.size();
+		tracker.handleFrame(TestFrames.frame(++sequence,
+				TestFrames.greyscale(WIDTH, HEIGHT, (x, y) -> texture(x - dx, y - dy))));
+		return samples.size() > reported ? samples.get(samples.size() - 1) : null;
+	}
+
+	/**
+	 * Continuous, so a shift of part of a pixel is sampled faithfully. Broad features, which are not repeated within
+	 * the search margin, are found by the coarse pass and fine detail sharpens the peak for the sub-pixel fit.
+	 */
+	private static double texture(double x, double y) {
+		return 128 + 45 * Math.sin(x * 0.07) * Math.cos(y * 0.05) + 30 * Math.sin((x + 2 * y) * 0.031)
+				+ 20 * Math.cos(x * 0.2 + y * 0.13) + 12 * Math.sin(x * 0.9 + y * 0.35) + 12 * Math.cos(x * 0.45 - y * 0.8);
+	}
+}
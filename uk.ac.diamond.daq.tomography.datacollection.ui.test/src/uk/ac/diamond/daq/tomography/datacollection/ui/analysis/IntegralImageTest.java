@@ -0,0 +1,175 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class IntegralImageTest {
+
+	private static final int WIDTH = 37;
+	private static final int HEIGHT = 23;
+
+	private final IntegralImage image = new IntegralImage();
+	private final Random random = new Random(7);
+
+	@Test
+	public void testRegionsInsideTheFrameMatchAScan() {
+		final byte[] pixels = noise(WIDTH, HEIGHT);
+		image.build(1, pixels, WIDTH, HEIGHT);
+		for (int i = 0; i < 500; i++) {
+			final int x = random.nextInt(WIDTH);
+			final int y = random.nextInt(HEIGHT);
+			assertMatchesScan(pixels, WIDTH, HEIGHT, x, y, 1 + random.nextInt(WIDTH - x),
+					1 + random.nextInt(HEIGHT - y));
+		}
+	}
+
+	@Test
+	public void testWholeFrameMatchesAScan() {
+		final byte[] pixels = noise(WIDTH, HEIGHT);
+		image.build(1, pixels, WIDTH, HEIGHT);
+		assertMatchesScan(pixels, WIDTH, HEIGHT, 0, 0, WIDTH, HEIGHT);
+	}
+
+	@Test
+	public void testRegionsPastTheEdgesAreClipped() {
+		final byte[] pixels = noise(WIDTH, HEIGHT);
+		image.build(1, pixels, WIDTH, HEIGHT);
+		assertMatchesScan(pixels, WIDTH, HEIGHT, -5, -5, 10, 10);
+		assertMatchesScan(pixels, WIDTH, HEIGHT, WIDTH - 3, HEIGHT - 4, 10, 10);
+		assertMatchesScan(pixels, WIDTH, HEIGHT, -10, 5, WIDTH + 20, 3);
+		assertMatchesScan(pixels, WIDTH, HEIGHT, -1, -1, WIDTH + 2, HEIGHT + 2);
+		for (int i = 0; i < 500; i++) {
+			assertMatchesScan(pixels, WIDTH, HEIGHT, random.nextInt(WIDTH + 20) - 10, random.nextInt(HEIGHT + 20) - 10,
+					random.nextInt(WIDTH + 20), random.nextInt(HEIGHT + 20));
+		}
+	}
+
+	@Test
+	public void testEmptyRegionsHaveNoValues() {
+		final byte[] pixels = noise(WIDTH, HEIGHT);
+		image.build(1, pixels, WIDTH, HEIGHT);
+		assertEmpty(image.measure("zero width", 5, 5, 0, 10));
+		assertEmpty(image.measure("zero height", 5, 5, 10, 0));
+		assertEmpty(image.measure("left of the frame", -20, 5, 10, 10));
+		assertEmpty(image.measure("below the frame", 5, HEIGHT, 10, 10));
+		assertEmpty(image.measure("negative width", 10, 5, -5, 10));
+		assertEmpty(image.measure("negative height", 5, 10, 10, -5));
+	}
+
+	@Test
+	public void testTablesAreRebuiltForEachFrame() {
+		assertTrue(image.isEmpty());
+		final byte[] first = noise(WIDTH, HEIGHT);
+		image.build(1, first, WIDTH, HEIGHT);
+		assertFalse(image.isEmpty());
+
+		// In place for the same size, then turned on its side, which needs tables as big but laid out differently
+		final byte[] second = noise(WIDTH, HEIGHT);
+		image.build(2, second, WIDTH, HEIGHT);
+		assertMatchesScan(second, WIDTH, HEIGHT, 0, 0, WIDTH, HEIGHT);
+		assertEquals(2, image.measure("roi", 0, 0, 1, 1).getSequence());
+
+		final byte[] third = noise(HEIGHT, WIDTH);
+		image.build(3, third, HEIGHT, WIDTH);
+		assertMatchesScan(third, HEIGHT, WIDTH, 0, 0, HEIGHT, WIDTH);
+		assertMatchesScan(third, HEIGHT, WIDTH, 10, 20, 30, 30);
+	}
+
+	@Test
+	public void testBrightFrameDoesNotOverflow() {
+		final int width = 2000;
+		final int height = 1500;
+		final byte[] pixels = new byte[width * height];
+		Arrays.fill(pixels, (byte) 255);
+		image.build(1, pixels, width, height);
+
+		final RoiValues values = image.measure("roi", 0, 0, width, height);
+		assertEquals(255L * width * height, values.getSum());
+		assertEquals(255, values.getMean(), 0);
+		assertEquals(0, values.getStandardDeviation(), 1e-6);
+	}
+
+	private void assertMatchesScan(byte[] pixels, int width, int height, int x, int y, int regionWidth,
+			int regionHeight) {
+		final String region = String.format("%d,%d %dx%d", x, y, regionWidth, regionHeight);
+		final RoiValues values = image.measure("roi", x, y, regionWidth, regionHeight);
+
+		final int x0 = Math.max(0, x);
+		final int y0 = Math.max(0, y);
+		final int x1 = Math.min(width, x + regionWidth);
+		final int y1 = Math.min(height, y + regionHeight);
+		if (x1 <= x0 || y1 <= y0) {
+			assertEmpty(values);
+			return;
+		}
+		long sum = 0;
+		int min = 255;
+		int max = 0;
+		for (int row = y0; row < y1; row++) {
+			for (int column = x0; column < x1; column++) {
+				final int value = pixels[row * width + column] & 0xff;
+				sum += value;
+				min = Math.min(min, value);
+				max = Math.max(max, value);
+			}
+		}
+		final int count = (x1 - x0) * (y1 - y0);
+		final double mean = (double) sum / count;
+		double squares = 0;
+		for (int row = y0; row < y1; row++) {
+			for (int column = x0; column < x1; column++) {
+				final double difference = (pixels[row * width + column] & 0xff) - mean;
+				squares += difference * difference;
+			}
+		}
+
+		assertEquals(region, x0, values.getX());
+		assertEquals(region, y0, values.getY());
+		assertEquals(region, x1 - x0, values.getWidth());
+		assertEquals(region, y1 - y0, values.getHeight());
+		assertEquals(region, sum, values.getSum());
+		assertEquals(region, mean, values.getMean(), 1e-9);
+		assertEquals(region, Math.sqrt(squares / count), values.getStandardDeviation(), 1e-6);
+		assertEquals(region, min, values.getMin());
+		assertEquals(region, max, values.getMax());
+	}
+
+	private static void assertEmpty(RoiValues values) {
+		assertEquals(values.getName(), 0, values.getWidth() * values.getHeight());
+		assertEquals(values.getName(), 0, values.getSum());
+		assertEquals(values.getName(), 0, values.getMean(), 0);
+		assertEquals(values.getName(), 0, values.getStandardDeviation(), 0);
+		assertEquals(values.getName(), 0, values.getMin());
+		assertEquals(values.getName(), 0, values.getMax());
+	}
+
+	private byte[] noise(int width, int height) {
+		final byte[] pixels = new byte[width * height];
+		random.nextBytes(pixels);
+		return pixels;
+	}
+}
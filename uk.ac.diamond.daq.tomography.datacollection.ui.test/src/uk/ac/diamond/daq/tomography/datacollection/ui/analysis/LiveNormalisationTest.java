@@ -0,0 +1,221 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+import org.eclipse.swt.graphics.ImageData;
+import org.junit.Test;
+
+import uk.ac.diamond.daq.tomography.datacollection.ui.analysis.LiveNormalisation.Reference;
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.TestFrames;
+
+public class LiveNormalisationTest {
+
+	private static final int WIDTH = 64;
+	private static final int HEIGHT = 48;
+	private static final int REFERENCE_FRAMES = 10;
+
+	private final LiveNormalisation normalisation = new LiveNormalisation();
+	private long sequence;
+
+	@Test
+	public void testReferencesAreAveragedOverTenFrames() {
+		normalisation.capture(Reference.DARK);
+		for (int i = 0; i < REFERENCE_FRAMES - 1; i++) {
+			show(WIDTH, HEIGHT, LiveNormalisationTest::dark);
+			assertTrue(normalisation.isCapturing());
+		}
+		show(WIDTH, HEIGHT, LiveNormalisationTest::dark);
+		assertFalse(normalisation.isCapturing());
+		assertFalse(normalisation.hasReferences());
+
+		capture(Reference.FLAT, WIDTH, HEIGHT, LiveNormalisationTest::flat);
+		assertTrue(normalisation.hasReferences());
+	}
+
+	@Test
+	public void testNothingIsShownWithoutReferences() {
+		normalisation.setEnabled(true);
+		capture(Reference.DARK, WIDTH, HEIGHT, LiveNormalisationTest::dark);
+		show(WIDTH, HEIGHT, sample(x -> 0.5));
+
+		assertNull(normalisation.takeLatest());
+	}
+
+	@Test
+	public void testNothingIsShownUntilEnabled() {
+		captureReferences();
+		show(WIDTH, HEIGHT, sample(x -> 0.5));
+		assertNull(normalisation.takeLatest());
+
+		normalisation.setEnabled(true);
+		show(WIDTH, HEIGHT, sample(x -> 0.5));
+		assertNotNull(normalisation.takeLatest());
+	}
+
+	@Test
+	public void testUnevenBeamAndDarkCurrentAreRemoved() {
+		captureReferences();
+		normalisation.setEnabled(true);
+		// The sample lets through more to the right, whatever the beam and dark current in that row
+		show(WIDTH, HEIGHT, sample(x -> x / (WIDTH - 1)));
+
+		final ImageData image = normalisation.takeLatest();
+		assertEquals(WIDTH, image.width);
+		assertEquals(HEIGHT, image.height);
+		for (int x = 0; x < WIDTH; x++) {
+			final int top = level(image, x, 0);
+			for (int y = 1; y < HEIGHT; y++) {
+				assertEquals("column " + x + " row " + y, top, level(image, x, y), 3);
+			}
+			if (x > 0) {
+				assertTrue("column " + x, top >= level(image, x - 1, 0));
+			}
+		}
+		// Stretched to the full range, to within the contrast histogram's bins
+		assertEquals(0, level(image, 0, 0), 2);
+		assertEquals(255, level(image, WIDTH - 1, 0), 2);
+	}
+
+	@Test
+	public void testPixelsWithoutBeamAreBlack() {
+		capture(Reference.DARK, WIDTH, HEIGHT, LiveNormalisationTest::dark);
+		// No beam reaches the first column
+		capture(Reference.FLAT, WIDTH, HEIGHT, (x, y) -> x < 1 ? dark(x, y) : flat(x, y));
+		normalisation.setEnabled(true);
+		show(WIDTH, HEIGHT, (x, y) -> x < 1 ? 255 : sample(column -> 0.2 + column / WIDTH * 0.6).applyAsDouble(x, y));
+
+		final ImageData image = normalisation.takeLatest();
+		for (int y = 0; y < HEIGHT; y++) {
+			assertEquals(0, level(image, 0, y));
+			assertTrue(level(image, WIDTH - 1, y) > 0);
+		}
+	}
+
+	@Test
+	public void testReferenceOfAnotherSizeReplacesBoth() {
+		captureReferences();
+		capture(Reference.FLAT, WIDTH / 2, HEIGHT / 2, LiveNormalisationTest::flat);
+		assertFalse(normalisation.hasReferences());
+
+		capture(Reference.DARK, WIDTH / 2, HEIGHT / 2, LiveNormalisationTest::dark);
+		assertTrue(normalisation.hasReferences());
+	}
+
+	@Test
+	public void testFramesOfAnotherSizeAreNotNormalised() {
+		captureReferences();
+		normalisation.setEnabled(true);
+		show(WIDTH / 2, HEIGHT / 2, (x, y) -> 100);
+
+		assertNull(normalisation.takeLatest());
+	}
+
+	@Test
+	public void testOnlyTheNewestFrameIsKept() {
+		captureReferences();
+		normalisation.setEnabled(true);
+		for (int i = 0; i < 10; i++) {
+			show(WIDTH, HEIGHT, sample(x -> 0.1));
+		}
+		// Brighter than the rest of the frame on the left
+		show(WIDTH, HEIGHT, sample(x -> x < WIDTH / 2 ? 0.9 : 0.1));
+
+		final ImageData image = normalisation.takeLatest();
+		assertTrue(level(image, 0, 0) > level(image, WIDTH - 1, 0));
+		assertNull(normalisation.takeLatest());
+	}
+
+	@Test
+	public void testFramesAreSkippedWhileEveryImageIsInUse() {
+		captureReferences();
+		normalisation.setEnabled(true);
+		final ImageData[] held = new ImageData[3];
+		for (int i = 0; i < held.length; i++) {
+			show(WIDTH, HEIGHT, sample(x -> 0.5));
+			held[i] = normalisation.takeLatest();
+			assertNotNull(held[i]);
+		}
+		show(WIDTH, HEIGHT, sample(x -> 0.5));
+		assertNull(normalisation.takeLatest());
+
+		normalisation.release(held[0]);
+		show(WIDTH, HEIGHT, sample(x -> 0.5));
+		assertSame(held[0], normalisation.takeLatest());
+	}
+
+	@Test
+	public void testDisablingDropsTheWaitingFrame() {
+		captureReferences();
+		normalisation.setEnabled(true);
+		show(WIDTH, HEIGHT, sample(x -> 0.5));
+		normalisation.setEnabled(false);
+
+		assertNull(normalisation.takeLatest());
+	}
+
+	private void captureReferences() {
+		capture(Reference.DARK, WIDTH, HEIGHT, LiveNormalisationTest::dark);
+		capture(Reference.FLAT, WIDTH, HEIGHT, LiveNormalisationTest::flat);
+	}
+
+	private void capture(Reference reference, int width, int height, DoubleBinaryOperator brightness) {
+		normalisation.capture(reference);
+		for (int i = 0; i < REFERENCE_FRAMES; i++) {
+			show(width, height, brightness);
+		}
+		assertFalse(normalisation.isCapturing());
+	}
+
+	private void show(int width, int height, DoubleBinaryOperator brightness) {
+		normalisation.handleFrame(TestFrames.frame(++sequence, TestFrames.greyscale(width, height, brightness)));
+	}
+
+	/** Dark current that differs from row to row */
+	private static double dark(double x, double y) {
+		return 10 + (int) y % 5;
+	}
+
+	/** A beam brighter in some rows than others */
+	private static double flat(double x, double y) {
+		return 120 + 40 * ((int) y % 3);
+	}
+
+	/**
+	 * @param transmission
+	 *            the fraction of the beam let through in each column
+	 * @return a sample in the beam
+	 */
+	private static DoubleBinaryOperator sample(DoubleUnaryOperator transmission) {
+		return (x, y) -> dark(x, y) + transmission.applyAsDouble(Math.floor(x)) * (flat(x, y) - dark(x, y));
+	}
+
+	private static int level(ImageData image, int x, int y) {
+		return image.data[y * image.bytesPerLine + x] & 0xff;
+	}
+}
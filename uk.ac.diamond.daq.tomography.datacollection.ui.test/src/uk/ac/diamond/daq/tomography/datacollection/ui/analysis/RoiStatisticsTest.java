@@ -0,0 +1,118 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleBinaryOperator;
+
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.Rectangle;
+import org.junit.Test;
+
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.TestFrames;
+
+public class RoiStatisticsTest {
+
+	private static final int WIDTH = 64;
+	private static final int HEIGHT = 48;
+
+	private final RoiStatistics statistics = new RoiStatistics();
+	private final List<Map<String, RoiValues>> heard = new ArrayList<>();
+	private long sequence;
+
+	@Test
+	public void testRegionsAreMeasuredOnEachFrame() {
+		statistics.addListener(heard::add);
+		statistics.setRoi("left", new Rectangle(0, 0, 32, 48));
+		statistics.setRoi("right", new Rectangle(32, 0, 32, 48));
+		// Each pixel is its column
+		show((x, y) -> Math.floor(x));
+
+		final RoiValues left = statistics.getLatest("left");
+		assertEquals(sequence, left.getSequence());
+		assertEquals(15.5, left.getMean(), 1e-9);
+		assertEquals(0, left.getMin());
+		assertEquals(31, left.getMax());
+		assertEquals(48L * (31 * 32 / 2), left.getSum());
+		assertEquals(47.5, statistics.getLatest("right").getMean(), 1e-9);
+		assertEquals(1, heard.size());
+		assertEquals(statistics.getLatest(), heard.get(0));
+	}
+
+	@Test
+	public void testAnyRectangleCanBeMeasuredOnTheLastFrame() {
+		statistics.setRoi("all", new Rectangle(0, 0, WIDTH, HEIGHT));
+		show((x, y) -> Math.floor(y));
+
+		final RoiValues row = statistics.measure("dragged", new Rectangle(-10, 10, WIDTH + 20, 1));
+		assertEquals(0, row.getX());
+		assertEquals(WIDTH, row.getWidth());
+		assertEquals(10, row.getMean(), 0);
+		assertEquals(0, row.getStandardDeviation(), 1e-6);
+
+		final RoiValues outside = statistics.measure("outside", new Rectangle(WIDTH, 0, 10, 10));
+		assertEquals(0, outside.getWidth() * outside.getHeight());
+		assertEquals(0, outside.getSum());
+	}
+
+	@Test
+	public void testNothingIsMeasuredWithoutRegions() {
+		show((x, y) -> 100);
+		assertTrue(statistics.getLatest().isEmpty());
+		assertNull(statistics.measure("roi", new Rectangle(0, 0, 10, 10)));
+	}
+
+	@Test
+	public void testClearedRegionsForgetTheLastFrame() {
+		statistics.setRoi("roi", new Rectangle(0, 0, 10, 10));
+		show((x, y) -> 100);
+		statistics.clearRois();
+
+		assertTrue(statistics.getRois().isEmpty());
+		assertTrue(statistics.getLatest().isEmpty());
+		assertNull(statistics.measure("roi", new Rectangle(0, 0, 10, 10)));
+	}
+
+	@Test
+	public void testMovedRegionIsMeasuredWhereItIsNow() {
+		statistics.setRoi("roi", new Rectangle(0, 0, 10, 10));
+		show((x, y) -> x < 32 ? 10 : 200);
+		assertEquals(10, statistics.getLatest("roi").getMean(), 0);
+
+		statistics.setRoi("roi", new Rectangle(40, 0, 10, 10));
+		show((x, y) -> x < 32 ? 10 : 200);
+		assertEquals(200, statistics.getLatest("roi").getMean(), 0);
+
+		statistics.removeRoi("roi");
+		statistics.setRoi("other", new Rectangle(0, 0, 1, 1));
+		show((x, y) -> 0);
+		assertNull(statistics.getLatest("roi"));
+	}
+
+	private void show(DoubleBinaryOperator brightness) {
+		final ImageData image = TestFrames.greyscale(WIDTH, HEIGHT, brightness);
+		statistics.handleFrame(TestFrames.frame(++sequence, image));
+	}
+}
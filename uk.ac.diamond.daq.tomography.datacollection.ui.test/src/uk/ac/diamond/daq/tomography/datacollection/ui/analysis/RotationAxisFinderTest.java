@@ -0,0 +1,138 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.analysis;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.DoubleBinaryOperator;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class RotationAxisFinderTest {
+
+	private static final int WIDTH = 1000;
+	private static final int HEIGHT = 400;
+
+	/** x, y, radius and brightness of each grain */
+	private static final double[][] GRAINS = new double[300][];
+
+	static {
+		final Random random = new Random(39);
+		for (int i = 0; i < GRAINS.length; i++) {
+			GRAINS[i] = new double[] { 150 + 700 * random.nextDouble(), HEIGHT * random.nextDouble(),
+					1.5 + 12 * random.nextDouble() * random.nextDouble(), 20 + 60 * random.nextDouble() };
+		}
+	}
+
+	private static ForkJoinPool pool;
+	private static RotationAxisFinder finder;
+
+	@BeforeClass
+	public static void createFinder() {
+		pool = new ForkJoinPool(4);
+		finder = new RotationAxisFinder(pool);
+	}
+
+	@AfterClass
+	public static void shutDownPool() {
+		pool.shutdownNow();
+	}
+
+	@Test
+	public void testCentredAxisIsFound() {
+		final RotationAxisEstimate estimate = findAxis(RotationAxisFinderTest::sample, (WIDTH - 1) / 2.0);
+		assertEquals((WIDTH - 1) / 2.0, estimate.getAxisX(), 0.1);
+		assertEquals(0, estimate.getShift(), 0.2);
+	}
+
+	@Test
+	public void testOffCentreAxisIsFoundToAFractionOfAPixel() {
+		for (double axis : new double[] { 430.25, 487.5, 512.75, 561.4 }) {
+			final RotationAxisEstimate estimate = findAxis(RotationAxisFinderTest::sample, axis);
+			assertEquals("Axis at " + axis, axis, estimate.getAxisX(), 0.1);
+		}
+	}
+
+	@Test
+	public void testUnrelatedProjectionsHaveLowConfidence() {
+		final RotationAxisEstimate pair = findAxis(RotationAxisFinderTest::sample, 512.5);
+		final RotationAxisEstimate unrelated = finder.find(projection(RotationAxisFinderTest::sample),
+				projection((x, y) -> sample(y * 2.5, x / 2.5)), WIDTH, HEIGHT);
+		assertTrue("Confidence of a true pair " + pair.getConfidence(), pair.getConfidence() > 0.1);
+		assertTrue("Confidence of unrelated images " + unrelated.getConfidence(), unrelated.getConfidence() < 0.05);
+	}
+
+	@Test
+	public void testFullSizePairIsFastEnoughToRunOnDemand() {
+		findAxis(RotationAxisFinderTest::sample, 500);
+		long fastest = Long.MAX_VALUE;
+		for (int i = 0; i < 5; i++) {
+			fastest = Math.min(fastest, findAxis(RotationAxisFinderTest::sample, 500).getElapsedNanos());
+		}
+		// About 50 ms on a workstation, with room for a busy build machine
+		assertTrue("Took " + NANOSECONDS.toMillis(fastest) + " ms", fastest < MILLISECONDS.toNanos(250));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testProjectionsOfDifferentSizesAreRejected() {
+		finder.find(new byte[WIDTH * HEIGHT], new byte[WIDTH * (HEIGHT - 1)], WIDTH, HEIGHT);
+	}
+
+	/**
+	 * Project a sample turning about the given axis: the 180° projection is the 0° one mirrored about the axis
+	 */
+	private static RotationAxisEstimate findAxis(DoubleBinaryOperator sample, double axis) {
+		return finder.find(projection(sample), projection((x, y) -> sample.applyAsDouble(2 * axis - x, y)), WIDTH,
+				HEIGHT);
+	}
+
+	private static byte[] projection(DoubleBinaryOperator sample) {
+		final byte[] pixels = new byte[WIDTH * HEIGHT];
+		for (int y = 0; y < HEIGHT; y++) {
+			for (int x = 0; x < WIDTH; x++) {
+				pixels[y * WIDTH + x] = (byte) Math.max(0, Math.min(255, Math.round(sample.applyAsDouble(x, y))));
+			}
+		}
+		return pixels;
+	}
+
+	/**
+	 * A projection of grains of different sizes scattered at random, the same each run. Continuous, so a shift of
+	 * part of a pixel is sampled faithfully, and not periodic, so only the true shift lines the projections up.
+	 */
+	private static double sample(double x, double y) {
+		double value = 60;
+		for (double[] grain : GRAINS) {
+			final double dx = x - grain[0];
+			final double dy = y - grain[1];
+			final double reach = 5 * grain[2];
+			if (Math.abs(dx) < reach && Math.abs(dy) < reach) {
+				value += grain[3] * Math.exp(-(dx * dx + dy * dy) / (2 * grain[2] * grain[2]));
+			}
+		}
+		return value;
+	}
+}
@@ -0,0 +1,156 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.analysis;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class StatisticsEngineTest {
+
+	private static final int SATURATION = 250;
+
+	/**
+	 * Frames from one pixel to 12 stripes of 64K pixels, including a stripe per row and more stripes than rows
+	 */
+	private static final int[][] SIZES = { { 1, 1 }, { 100, 100 }, { 256, 256 }, { 300, 300 }, { 1000, 1001 },
+			{ 1024, 768 }, { 4096, 64 }, { 65536, 3 }, { 131072, 2 } };
+
+	private static final int[] PARALLELISMS = { 1, 2, 3, 8 };
+
+	private final List<ForkJoinPool> pools = new ArrayList<>();
+	private final Random random = new Random(42);
+	private long sequence;
+
+	@After
+	public void tearDown() {
+		pools.forEach(ForkJoinPool::shutdownNow);
+	}
+
+	@Test
+	public void testEveryFrameSizeAndPoolSizeMatchesASerialCount() {
+		for (int parallelism : PARALLELISMS) {
+			final StatisticsEngine engine = new StatisticsEngine(pool(parallelism), SATURATION);
+			for (int[] size : SIZES) {
+				assertMatchesSerial(parallelism + " threads, " + size[0] + "x" + size[1], engine, size[0], size[1]);
+			}
+		}
+	}
+
+	@Test
+	public void testStaleStripeCountsAreNotAddedWhenThereAreFewerStripes() {
+		final StatisticsEngine engine = new StatisticsEngine(pool(8), SATURATION);
+		// 12 stripes, then 3 leaving 9 with counts from the first frame, then 1 and back up
+		assertMatchesSerial("12 stripes", engine, 1024, 768);
+		assertMatchesSerial("3 stripes", engine, 65536, 3);
+		assertMatchesSerial("1 stripe", engine, 100, 100);
+		assertMatchesSerial("3 stripes again", engine, 65536, 3);
+		assertMatchesSerial("12 stripes again", engine, 1024, 768);
+	}
+
+	@Test
+	public void testStripeCountsGrowWithTheFrame() {
+		final StatisticsEngine engine = new StatisticsEngine(pool(8), SATURATION);
+		assertMatchesSerial("1 stripe", engine, 100, 100);
+		assertMatchesSerial("4 stripes", engine, 4096, 64);
+		assertMatchesSerial("12 stripes", engine, 1024, 768);
+	}
+
+	@Test
+	public void testSingleStripeFrameInsideAndOutsideThePool() {
+		// Frames under 64K pixels are one stripe, counted without forking
+		final ForkJoinPool pool = pool(1);
+		final StatisticsEngine engine = new StatisticsEngine(pool, SATURATION);
+		pool.submit(() -> assertMatchesSerial("inside the pool", engine, 200, 200)).join();
+		assertMatchesSerial("outside the pool", engine, 200, 200);
+	}
+
+	@Test
+	public void testWorkerUsesItsOwnPool() {
+		final ForkJoinPool other = pool(3);
+		final StatisticsEngine engine = new StatisticsEngine(pool(2), SATURATION);
+		other.submit(() -> assertMatchesSerial("from another pool", engine, 1024, 768)).join();
+	}
+
+	@Test
+	public void testUniformFrameHasNoSpread() {
+		final StatisticsEngine engine = new StatisticsEngine(pool(4), SATURATION);
+		final byte[] pixels = new byte[1024 * 768];
+		Arrays.fill(pixels, (byte) 255);
+
+		final FrameStatistics statistics = engine.compute(7, pixels, 1024, 768);
+		assertEquals(7, statistics.getSequence());
+		assertEquals(pixels.length, statistics.getHistogram()[255]);
+		assertEquals(255, statistics.getMin());
+		assertEquals(255, statistics.getMax());
+		assertEquals(255, statistics.getMean(), 0);
+		assertEquals(0, statistics.getStandardDeviation(), 0);
+		assertEquals(pixels.length, statistics.getSaturated());
+	}
+
+	private ForkJoinPool pool(int parallelism) {
+		final ForkJoinPool pool = new ForkJoinPool(parallelism);
+		pools.add(pool);
+		return pool;
+	}
+
+	private void assertMatchesSerial(String message, StatisticsEngine engine, int width, int height) {
+		final byte[] pixels = new byte[width * height];
+		random.nextBytes(pixels);
+		final FrameStatistics statistics = engine.compute(++sequence, pixels, width, height);
+
+		final int[] histogram = new int[StatisticsEngine.LEVELS];
+		int min = 255;
+		int max = 0;
+		double sum = 0;
+		long saturated = 0;
+		for (byte pixel : pixels) {
+			final int level = pixel & 0xff;
+			histogram[level]++;
+			min = Math.min(min, level);
+			max = Math.max(max, level);
+			sum += level;
+			if (level >= SATURATION) {
+				saturated++;
+			}
+		}
+		final double mean = sum / pixels.length;
+		double squares = 0;
+		for (byte pixel : pixels) {
+			squares += ((pixel & 0xff) - mean) * ((pixel & 0xff) - mean);
+		}
+
+		assertEquals(message, sequence, statistics.getSequence());
+		assertArrayEquals(message, histogram, statistics.getHistogram());
+		assertEquals(message, pixels.length, statistics.getCount());
+		assertEquals(message, min, statistics.getMin());
+		assertEquals(message, max, statistics.getMax());
+		assertEquals(message, mean, statistics.getMean(), 1e-9);
+		assertEquals(message, Math.sqrt(squares / pixels.length), statistics.getStandardDeviation(), 1e-6);
+		assertEquals(message, saturated, statistics.getSaturated());
+	}
+}
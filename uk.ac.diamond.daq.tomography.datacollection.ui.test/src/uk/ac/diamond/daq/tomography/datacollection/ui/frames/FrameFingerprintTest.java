@@ -0,0 +1,79 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.frames;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.eclipse.swt.graphics.ImageData;
+import org.junit.Test;
+
+public class FrameFingerprintTest {
+
+	private static final int WIDTH = 1024;
+	private static final int HEIGHT = 768;
+	private static final double TOLERANCE = 5;
+
+	@Test
+	public void testIdenticalFramesDoNotDiffer() {
+		final ImageData frame = frame(0, 0, 0, new Random(1), 0);
+		assertEquals(0, FrameFingerprint.of(frame).differenceFrom(FrameFingerprint.of(frame)), 0);
+	}
+
+	@Test
+	public void testNoiseIsWithinTolerance() {
+		final double difference = FrameFingerprint.of(frame(100, 100, 40, new Random(1), 3))
+				.differenceFrom(FrameFingerprint.of(frame(100, 100, 40, new Random(2), 3)));
+		assertTrue("Noise gave " + difference, difference <= TOLERANCE);
+	}
+
+	@Test
+	public void testSmallObjectMovingIsAChange() {
+		// A 40 pixel feature moving by its own size changes only a few blocks of the grid
+		final double difference = FrameFingerprint.of(frame(100, 100, 40, new Random(1), 0))
+				.differenceFrom(FrameFingerprint.of(frame(140, 100, 40, new Random(1), 0)));
+		assertTrue("Moving feature gave " + difference, difference > TOLERANCE);
+	}
+
+	@Test
+	public void testFramesOfDifferentSizesDiffer() {
+		final ImageData small = new ImageData(WIDTH / 2, HEIGHT / 2, 8, Greyscale.PALETTE);
+		assertEquals(Double.POSITIVE_INFINITY,
+				FrameFingerprint.of(small).differenceFrom(FrameFingerprint.of(frame(0, 0, 0, new Random(1), 0))), 0);
+	}
+
+	/**
+	 * @return a dark frame with a bright square, plus noise of up to the given number of levels either way
+	 */
+	private static ImageData frame(int squareX, int squareY, int squareSize, Random random, int noise) {
+		final ImageData image = new ImageData(WIDTH, HEIGHT, 8, Greyscale.PALETTE);
+		for (int y = 0; y < HEIGHT; y++) {
+			for (int x = 0; x < WIDTH; x++) {
+				final boolean inSquare = x >= squareX && x < squareX + squareSize && y >= squareY
+						&& y < squareY + squareSize;
+				final int level = (inSquare ? 200 : 50) + (noise == 0 ? 0 : random.nextInt(2 * noise + 1) - noise);
+				image.data[y * image.bytesPerLine + x] = (byte) level;
+			}
+		}
+		return image;
+	}
+}
@@ -0,0 +1,90 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.frames;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class FrameRateGovernorTest {
+
+	private static final long MS = MILLISECONDS.toNanos(1);
+
+	private final FrameRateGovernor governor = new FrameRateGovernor(1, 10);
+
+	@Test
+	public void testFirstFrameIsAdmittedWhateverTheClock() {
+		// System.nanoTime() has an arbitrary origin so may be negative or near zero
+		assertTrue(new FrameRateGovernor(1, 10).admit(Long.MIN_VALUE / 2));
+		assertTrue(new FrameRateGovernor(1, 10).admit(-5 * MS));
+		assertTrue(new FrameRateGovernor(1, 10).admit(0));
+		assertTrue(new FrameRateGovernor(1, 10).admit(5 * MS));
+	}
+
+	@Test
+	public void testFramesSoonerThanTheRateAllowsAreDropped() {
+		final long start = -1000 * MS;
+		assertTrue(governor.admit(start));
+		assertFalse(governor.admit(start + 50 * MS));
+		assertTrue(governor.admit(start + 100 * MS));
+		assertFalse(governor.admit(start + 199 * MS));
+		assertTrue(governor.admit(start + 200 * MS));
+	}
+
+	@Test
+	public void testNothingIsAdmittedWhilePaused() {
+		governor.setPaused(true);
+		assertFalse(governor.admit(0));
+		governor.setPaused(false);
+		assertTrue(governor.admit(MS));
+	}
+
+	@Test
+	public void testRateIsCutWhenFramesCostMoreThanTheInterval() {
+		final long now = System.nanoTime() + 1000 * MS;
+		governor.recordCost(150 * MS, now);
+		assertEquals(7.5, governor.getRate(), 1e-9);
+		assertEquals(150, governor.getAverageCostMillis(), 1e-9);
+	}
+
+	@Test
+	public void testRateNeverGoesBelowTheMinimum() {
+		long now = System.nanoTime();
+		for (int i = 0; i < 20; i++) {
+			now += 1000 * MS;
+			governor.recordCost(5000 * MS, now);
+		}
+		assertEquals(1, governor.getRate(), 1e-9);
+	}
+
+	@Test
+	public void testRateRecoversWhenFramesAreCheap() {
+		long now = System.nanoTime() + 1000 * MS;
+		governor.recordCost(150 * MS, now);
+		for (int i = 0; i < 10; i++) {
+			now += 1000 * MS;
+			governor.recordCost(MS, now);
+		}
+		assertEquals(10, governor.getRate(), 1e-9);
+	}
+}
@@ -0,0 +1,208 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.frames;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.eclipse.swt.graphics.ImageData;
+import org.junit.Test;
+
+public class FrameRecorderTest {
+
+	private static final long HOUR_MILLIS = 3_600_000;
+
+	private long sequence;
+	private long arrival;
+
+	@Test
+	public void testRawFramesAreReadBackAsRecorded() {
+		final FrameRecorder recorder = new FrameRecorder(10_000, 10, HOUR_MILLIS, false);
+		final ImageData first = noise(10, 10, 1);
+		final ImageData second = noise(20, 5, 2);
+		record(recorder, first);
+		record(recorder, second);
+
+		assertEquals(2, recorder.getFrameCount());
+		assertSameImage(first, recorder.getFrame(0));
+		assertSameImage(second, recorder.getFrame(1));
+	}
+
+	@Test
+	public void testCompressedFramesInflateToWhatWasRecorded() {
+		final FrameRecorder recorder = new FrameRecorder(1000, 100, HOUR_MILLIS, true);
+		for (int i = 0; i < 30; i++) {
+			record(recorder, gradient(10, 10, i));
+		}
+
+		// 30 frames of 100 bytes only fit in 1000 bytes if they were deflated
+		assertEquals(30, recorder.getFrameCount());
+		for (int i = 0; i < 30; i++) {
+			assertSameImage(gradient(10, 10, i), recorder.getFrame(i));
+		}
+	}
+
+	@Test
+	public void testFramesThatDoNotCompressAreStoredRaw() {
+		final FrameRecorder recorder = new FrameRecorder(1000, 100, HOUR_MILLIS, true);
+		for (int i = 0; i < 12; i++) {
+			record(recorder, noise(10, 10, i));
+		}
+
+		assertEquals(10, recorder.getFrameCount());
+		for (int i = 0; i < 10; i++) {
+			assertSameImage(noise(10, 10, i + 2), recorder.getFrame(i));
+		}
+	}
+
+	@Test
+	public void testOldestFramesAreOverwrittenWhenTheBufferWrapsAround() {
+		final FrameRecorder recorder = new FrameRecorder(350, 100, HOUR_MILLIS, false);
+		for (int i = 0; i < 8; i++) {
+			record(recorder, noise(10, 10, i));
+		}
+
+		// Three fit, the rest of the buffer is too short for a fourth
+		assertEquals(3, recorder.getFrameCount());
+		for (int i = 0; i < 3; i++) {
+			assertSameImage(noise(10, 10, i + 5), recorder.getFrame(i));
+		}
+	}
+
+	@Test
+	public void testFrameLargerThanTheSpaceLeftEvictsUntilItFits() {
+		final FrameRecorder recorder = new FrameRecorder(350, 100, HOUR_MILLIS, false);
+		for (int i = 0; i < 3; i++) {
+			record(recorder, noise(10, 10, i));
+		}
+		// 50 bytes are left at the end, so the 150 byte frame goes at the start once two frames have gone from there
+		final ImageData large = noise(15, 10, 3);
+		record(recorder, large);
+
+		assertEquals(2, recorder.getFrameCount());
+		assertSameImage(noise(10, 10, 2), recorder.getFrame(0));
+		assertSameImage(large, recorder.getFrame(1));
+
+		// The 50 bytes between it and the third frame are too few for the next, so the third frame goes too
+		record(recorder, noise(10, 10, 4));
+		assertEquals(2, recorder.getFrameCount());
+		assertSameImage(large, recorder.getFrame(0));
+		assertSameImage(noise(10, 10, 4), recorder.getFrame(1));
+	}
+
+	@Test
+	public void testFrameLargerThanTheBufferIsNotRecorded() {
+		final FrameRecorder recorder = new FrameRecorder(350, 100, HOUR_MILLIS, false);
+		record(recorder, noise(10, 10, 0));
+		record(recorder, noise(20, 20, 1));
+
+		assertEquals(1, recorder.getFrameCount());
+		assertSameImage(noise(10, 10, 0), recorder.getFrame(0));
+	}
+
+	@Test
+	public void testOnlyTheMaximumNumberOfFramesIsKept() {
+		final FrameRecorder recorder = new FrameRecorder(10_000, 4, HOUR_MILLIS, false);
+		for (int i = 0; i < 11; i++) {
+			record(recorder, noise(10, 10, i));
+		}
+
+		assertEquals(4, recorder.getFrameCount());
+		for (int i = 0; i < 4; i++) {
+			assertSameImage(noise(10, 10, i + 7), recorder.getFrame(i));
+		}
+	}
+
+	@Test
+	public void testFramesOlderThanTheMaximumAgeAreEvicted() {
+		final FrameRecorder recorder = new FrameRecorder(10_000, 100, 1000, false);
+		record(recorder, noise(10, 10, 0));
+		arrival += MILLISECONDS.toNanos(500);
+		record(recorder, noise(10, 10, 1));
+		arrival += MILLISECONDS.toNanos(700);
+		record(recorder, noise(10, 10, 2));
+
+		// The first frame is 1.2 s older than the newest, the second 0.7 s
+		assertEquals(2, recorder.getFrameCount());
+		assertSameImage(noise(10, 10, 1), recorder.getFrame(0));
+		assertSameImage(noise(10, 10, 2), recorder.getFrame(1));
+	}
+
+	@Test
+	public void testPausedRecorderIgnoresFrames() {
+		final FrameRecorder recorder = new FrameRecorder(10_000, 100, HOUR_MILLIS, false);
+		record(recorder, noise(10, 10, 0));
+		recorder.setPaused(true);
+		record(recorder, noise(10, 10, 1));
+		recorder.setPaused(false);
+		record(recorder, noise(10, 10, 2));
+
+		assertEquals(2, recorder.getFrameCount());
+		assertSameImage(noise(10, 10, 2), recorder.getFrame(1));
+	}
+
+	@Test
+	public void testRecordingStartsAgainAfterRelease() {
+		final FrameRecorder recorder = new FrameRecorder(350, 100, HOUR_MILLIS, false);
+		for (int i = 0; i < 5; i++) {
+			record(recorder, noise(10, 10, i));
+		}
+		recorder.release();
+		assertEquals(0, recorder.getFrameCount());
+
+		record(recorder, noise(10, 10, 5));
+		assertEquals(1, recorder.getFrameCount());
+		assertSameImage(noise(10, 10, 5), recorder.getFrame(0));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testFramesPastTheNewestCannotBeRead() {
+		final FrameRecorder recorder = new FrameRecorder(10_000, 100, HOUR_MILLIS, false);
+		record(recorder, noise(10, 10, 0));
+		recorder.getFrame(1);
+	}
+
+	private void record(FrameRecorder recorder, ImageData image) {
+		recorder.handleFrame(new Frame(++sequence, arrival, image, null));
+	}
+
+	private static void assertSameImage(ImageData expected, ImageData actual) {
+		assertEquals(expected.width, actual.width);
+		assertEquals(expected.height, actual.height);
+		assertArrayEquals(expected.data, actual.data);
+	}
+
+	/**
+	 * @return an image that does not deflate, different for each seed
+	 */
+	private static ImageData noise(int width, int height, long seed) {
+		final Random random = new Random(seed);
+		return TestFrames.greyscale(width, height, (x, y) -> random.nextInt(256));
+	}
+
+	/**
+	 * @return an image that deflates well, different for each offset
+	 */
+	private static ImageData gradient(int width, int height, int offset) {
+		return TestFrames.greyscale(width, height, (x, y) -> (Math.floor(x) + offset) % 256);
+	}
+}
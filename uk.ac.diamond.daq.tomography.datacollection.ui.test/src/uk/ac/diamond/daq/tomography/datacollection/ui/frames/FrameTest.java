@@ -0,0 +1,80 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.frames;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.eclipse.swt.graphics.ImageData;
+import org.junit.Test;
+
+public class FrameTest {
+
+	@Test
+	public void testPlainGreyscaleFrameIsItsOwnLuminance() {
+		final ImageData image = greyscale(64, 48);
+		assertSame(image.data, new Frame(1, 0, image, null).getLuminance());
+	}
+
+	@Test
+	public void testPyramidIsBuiltDownToTheDisplaySize() {
+		final Frame frame = new Frame(1, 0, greyscale(800, 600), null);
+		frame.setDisplaySize(200, 150);
+		final FramePyramid pyramid = frame.getPyramid();
+		assertEquals(3, pyramid.getLevelCount());
+		assertEquals(200, frame.getDisplayImage().width);
+		assertEquals(150, frame.getDisplayImage().height);
+	}
+
+	@Test
+	public void testPyramidIsBuiltOnceAndShared() {
+		final Frame frame = new Frame(1, 0, greyscale(800, 600), null);
+		frame.setDisplaySize(200, 150);
+		assertSame(frame.getPyramid(), frame.getPyramid());
+		assertSame(frame.getPyramid().getSmallest(), frame.getDisplayImage());
+	}
+
+	@Test
+	public void testDisplayImageIsNotBuiltWhenAskedFor() {
+		final Frame frame = new Frame(1, 0, greyscale(800, 600), null);
+		frame.setDisplaySize(200, 150);
+		assertNull(frame.getDisplayImage());
+		assertNull(frame.getBuiltPyramid());
+		final FramePyramid pyramid = frame.getPyramid();
+		assertSame(pyramid, frame.getBuiltPyramid());
+		assertSame(pyramid.getSmallest(), frame.getDisplayImage());
+	}
+
+	@Test
+	public void testWithoutDisplaySizeOnlyTheFullFrameIsKept() {
+		final Frame frame = new Frame(1, 0, greyscale(800, 600), null);
+		assertEquals(1, frame.getPyramid().getLevelCount());
+		assertSame(frame.getLuminance(), frame.getDisplayImage().data);
+	}
+
+	private static ImageData greyscale(int width, int height) {
+		final byte[] data = new byte[width * height];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) (i % width);
+		}
+		return new ImageData(width, height, 8, Greyscale.PALETTE, 1, data);
+	}
+}
@@ -0,0 +1,113 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.frames;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+	/** Longest duration in microseconds tracked, 2^26 - 1 */
+	private static final long LONGEST_TRACKED = (1L << 26) - 1;
+	/** Start of the last bucket, which also takes everything longer */
+	private static final long LAST_BUCKET_START = 63L << 20;
+
+	@Test
+	public void testShortDurationsHaveABucketEach() {
+		for (long micros = 0; micros < 64; micros++) {
+			assertEquals(micros, LatencyHistogram.bucket(micros));
+			assertEquals(micros, LatencyHistogram.upperBound((int) micros));
+		}
+	}
+
+	@Test
+	public void testBucketsAreContiguousAndBoundedByTheirUpperBound() {
+		int previous = LatencyHistogram.bucket(0);
+		for (long micros = 1; micros < LAST_BUCKET_START; micros += 1 + micros / 1000) {
+			final int bucket = LatencyHistogram.bucket(micros);
+			assertTrue("Bucket of " + micros + " goes backwards", bucket >= previous);
+			final long upper = LatencyHistogram.upperBound(bucket);
+			assertTrue("Upper bound " + upper + " below " + micros, upper >= micros);
+			assertEquals("Upper bound of the bucket of " + micros, bucket, LatencyHistogram.bucket(upper));
+			assertEquals("Bucket after the upper bound of " + micros, bucket + 1, LatencyHistogram.bucket(upper + 1));
+			assertTrue("Upper bound " + upper + " too far above " + micros, upper - micros <= micros / 32);
+			previous = bucket;
+		}
+	}
+
+	@Test
+	public void testPowersOfTwoStartBuckets() {
+		for (int exponent = 6; exponent <= 25; exponent++) {
+			final long power = 1L << exponent;
+			assertEquals(LatencyHistogram.bucket(power - 1) + 1, LatencyHistogram.bucket(power));
+		}
+	}
+
+	@Test
+	public void testDurationsTooLongToTrackShareTheLastBucket() {
+		final int last = LatencyHistogram.bucket(LAST_BUCKET_START);
+		assertEquals(last - 1, LatencyHistogram.bucket(LAST_BUCKET_START - 1));
+		assertEquals(last, LatencyHistogram.bucket(LONGEST_TRACKED));
+		assertEquals(last, LatencyHistogram.bucket(LONGEST_TRACKED + 1));
+		assertEquals(last, LatencyHistogram.bucket(Long.MAX_VALUE));
+		assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBound(last));
+	}
+
+	@Test
+	public void testPercentilesAreUpperBoundsCappedAtTheMaximum() {
+		final LatencyHistogram histogram = new LatencyHistogram();
+		for (int micros = 1; micros <= 100; micros++) {
+			histogram.record(MICROSECONDS.toNanos(micros * 1000));
+		}
+		assertEquals(100, histogram.getCount());
+		assertEquals(50.5, histogram.getMeanMillis(), 1e-9);
+		assertEquals(100, histogram.getMaxMillis(), 1e-9);
+		// 50 ms is in the bucket 49152 to 50175 µs
+		assertEquals(50.175, histogram.getPercentileMillis(50), 1e-9);
+		assertEquals(100, histogram.getPercentileMillis(100), 1e-9);
+		// 1 ms is in the bucket 992 to 1007 µs
+		assertEquals(1.007, histogram.getPercentileMillis(0), 1e-9);
+	}
+
+	@Test
+	public void testPercentileOfADurationTooLongToTrackIsTheMaximum() {
+		final LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(SECONDS.toNanos(100));
+		assertEquals(100_000, histogram.getPercentileMillis(99), 1e-9);
+	}
+
+	@Test
+	public void testAddAndReset() {
+		final LatencyHistogram a = new LatencyHistogram();
+		final LatencyHistogram b = new LatencyHistogram();
+		a.record(MICROSECONDS.toNanos(10));
+		b.record(MICROSECONDS.toNanos(30));
+		a.add(b);
+		assertEquals(2, a.getCount());
+		assertEquals(0.02, a.getMeanMillis(), 1e-9);
+		assertEquals(0.03, a.getMaxMillis(), 1e-9);
+		a.reset();
+		assertEquals(0, a.getCount());
+		assertEquals(0, a.getPercentileMillis(50), 0);
+	}
+}
@@ -0,0 +1,234 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.frames;
+
+import static hdf.hdf5lib.HDF5Constants.H5F_ACC_RDONLY;
+import static hdf.hdf5lib.HDF5Constants.H5P_DEFAULT;
+import static hdf.hdf5lib.HDF5Constants.H5S_ALL;
+import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_INT64;
+import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_UINT8;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.eclipse.swt.graphics.ImageData;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import hdf.hdf5lib.H5;
+import hdf.hdf5lib.exceptions.HDF5Exception;
+
+public class NexusFrameExportTest {
+
+	private static final int WIDTH = 12;
+	private static final int HEIGHT = 8;
+	private static final long HOUR_MILLIS = 3_600_000;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private long sequence;
+
+	@Test
+	public void testFramesAreWrittenAcrossSeveralBatches() throws Exception {
+		// Two full batches of 32 and part of a third
+		final FrameRecorder recorder = record(75);
+		final File file = folder.newFile("frames.nxs");
+
+		final int written = new NexusFrameExport(file, 0).write(recorder, 0, 75);
+
+		assertEquals(75, written);
+		assertFramesInFile(file, recorder, 0, 75);
+	}
+
+	@Test
+	public void testDeflatedFramesReadBackAsRecorded() throws Exception {
+		final FrameRecorder recorder = record(40);
+		final File file = folder.newFile("frames.nxs");
+
+		assertEquals(40, new NexusFrameExport(file, 6).write(recorder, 0, 40));
+		assertFramesInFile(file, recorder, 0, 40);
+	}
+
+	@Test
+	public void testOnlyTheFramesAskedForAreWritten() throws Exception {
+		final FrameRecorder recorder = record(50);
+		final File file = folder.newFile("frames.nxs");
+
+		assertEquals(35, new NexusFrameExport(file, 0).write(recorder, 10, 45));
+		assertFramesInFile(file, recorder, 10, 45);
+	}
+
+	@Test
+	public void testFramesOfAnotherSizeAreSkipped() throws Exception {
+		final FrameRecorder recorder = new FrameRecorder(1_000_000, 100, HOUR_MILLIS, false);
+		for (int i = 0; i < 40; i++) {
+			// The view was resized for frames 10 to 19
+			final boolean resized = i >= 10 && i < 20;
+			recorder.handleFrame(new Frame(++sequence, System.nanoTime(),
+					noise(resized ? WIDTH * 2 : WIDTH, resized ? HEIGHT * 2 : HEIGHT, i), null));
+		}
+		final File file = folder.newFile("frames.nxs");
+
+		assertEquals(30, new NexusFrameExport(file, 0).write(recorder, 0, 40));
+
+		final byte[][] frames = readFrames(file);
+		final long[] timestamps = readTimestamps(file);
+		assertEquals(30, frames.length);
+		assertEquals(30, timestamps.length);
+		int row = 0;
+		for (int i = 0; i < 40; i++) {
+			if (i < 10 || i >= 20) {
+				assertArrayEquals("frame " + i, recorder.getFrame(i).data, frames[row]);
+				assertEquals("frame " + i, recorder.getTimestamp(i), timestamps[row]);
+				row++;
+			}
+		}
+	}
+
+	@Test
+	public void testFileIsDeletedWhenTheExportFails() throws Exception {
+		final FrameRecorder recorder = new FrameRecorder(1_000_000, 100, HOUR_MILLIS, false) {
+			@Override
+			public synchronized ImageData getFrame(int index) {
+				// Partway through the second batch, after the first has been written
+				if (index == 40) {
+					throw new IllegalStateException("Recorded frame " + index + " is corrupt");
+				}
+				return super.getFrame(index);
+			}
+		};
+		record(recorder, 50);
+		final File file = new File(folder.getRoot(), "frames.nxs");
+
+		try {
+			new NexusFrameExport(file, 0).write(recorder, 0, 50);
+			fail("Export of a corrupt frame should fail");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		assertFalse(file.exists());
+	}
+
+	@Test
+	public void testFileIsDeletedWhenItCannotBeWritten() throws Exception {
+		final FrameRecorder recorder = record(5);
+		final File file = new File(new File(folder.getRoot(), "missing"), "frames.nxs");
+
+		try {
+			new NexusFrameExport(file, 0).write(recorder, 0, 5);
+			fail("Export to a missing directory should fail");
+		} catch (IOException e) {
+			// expected
+		}
+		assertFalse(file.exists());
+	}
+
+	private FrameRecorder record(int frames) {
+		return record(new FrameRecorder(1_000_000, 100, HOUR_MILLIS, false), frames);
+	}
+
+	private FrameRecorder record(FrameRecorder recorder, int frames) {
+		for (int i = 0; i < frames; i++) {
+			recorder.handleFrame(new Frame(++sequence, System.nanoTime(), noise(WIDTH, HEIGHT, i), null));
+		}
+		return recorder;
+	}
+
+	private static void assertFramesInFile(File file, FrameRecorder recorder, int from, int to) throws HDF5Exception {
+		final byte[][] frames = readFrames(file);
+		final long[] timestamps = readTimestamps(file);
+		assertEquals(to - from, frames.length);
+		assertEquals(to - from, timestamps.length);
+		for (int i = from; i < to; i++) {
+			assertArrayEquals("frame " + i, recorder.getFrame(i).data, frames[i - from]);
+			assertEquals("frame " + i, recorder.getTimestamp(i), timestamps[i - from]);
+		}
+	}
+
+	/**
+	 * @return the rows of the frames dataset, checking each is {@value #WIDTH}x{@value #HEIGHT}
+	 */
+	private static byte[][] readFrames(File file) throws HDF5Exception {
+		final long fileId = H5.H5Fopen(file.getPath(), H5F_ACC_RDONLY, H5P_DEFAULT);
+		try {
+			final long dataset = H5.H5Dopen(fileId, "/entry/data/data", H5P_DEFAULT);
+			try {
+				final long[] dimensions = dimensions(dataset, 3);
+				assertEquals(HEIGHT, dimensions[1]);
+				assertEquals(WIDTH, dimensions[2]);
+				final int frameBytes = WIDTH * HEIGHT;
+				final byte[] pixels = new byte[(int) dimensions[0] * frameBytes];
+				H5.H5Dread(dataset, H5T_NATIVE_UINT8, H5S_ALL, H5S_ALL, H5P_DEFAULT, pixels);
+				final byte[][] frames = new byte[(int) dimensions[0]][];
+				for (int i = 0; i < frames.length; i++) {
+					frames[i] = Arrays.copyOfRange(pixels, i * frameBytes, (i + 1) * frameBytes);
+				}
+				return frames;
+			} finally {
+				H5.H5Dclose(dataset);
+			}
+		} finally {
+			H5.H5Fclose(fileId);
+		}
+	}
+
+	private static long[] readTimestamps(File file) throws HDF5Exception {
+		final long fileId = H5.H5Fopen(file.getPath(), H5F_ACC_RDONLY, H5P_DEFAULT);
+		try {
+			final long dataset = H5.H5Dopen(fileId, "/entry/data/timestamp", H5P_DEFAULT);
+			try {
+				final long[] timestamps = new long[(int) dimensions(dataset, 1)[0]];
+				H5.H5Dread(dataset, H5T_NATIVE_INT64, H5S_ALL, H5S_ALL, H5P_DEFAULT, timestamps);
+				return timestamps;
+			} finally {
+				H5.H5Dclose(dataset);
+			}
+		} finally {
+			H5.H5Fclose(fileId);
+		}
+	}
+
+	private static long[] dimensions(long dataset, int rank) throws HDF5Exception {
+		final long space = H5.H5Dget_space(dataset);
+		try {
+			assertEquals(rank, H5.H5Sget_simple_extent_ndims(space));
+			final long[] dimensions = new long[rank];
+			H5.H5Sget_simple_extent_dims(space, dimensions, null);
+			return dimensions;
+		} finally {
+			H5.H5Sclose(space);
+		}
+	}
+
+	/**
+	 * @return an image different for each seed
+	 */
+	private static ImageData noise(int width, int height, long seed) {
+		final Random random = new Random(seed);
+		return TestFrames.greyscale(width, height, (x, y) -> random.nextInt(256));
+	}
+}
@@ -0,0 +1,185 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.frames;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import org.eclipse.swt.graphics.ImageData;
+import org.epics.pvdata.factory.FieldFactory;
+import org.epics.pvdata.factory.PVDataFactory;
+import org.epics.pvdata.pv.FieldCreate;
+import org.epics.pvdata.pv.PVByteArray;
+import org.epics.pvdata.pv.PVDataCreate;
+import org.epics.pvdata.pv.PVInt;
+import org.epics.pvdata.pv.PVScalarArray;
+import org.epics.pvdata.pv.PVShortArray;
+import org.epics.pvdata.pv.PVStructure;
+import org.epics.pvdata.pv.PVStructureArray;
+import org.epics.pvdata.pv.PVUnion;
+import org.epics.pvdata.pv.ScalarType;
+import org.epics.pvdata.pv.Structure;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Feeds NTNDArray structures built in the test through {@link PvaImageSource} in place of a PVA server
+ */
+public class PvaImageSourceTest {
+
+	private static final FieldCreate FIELDS = FieldFactory.getFieldCreate();
+	private static final PVDataCreate DATA = PVDataFactory.getPVDataCreate();
+
+	/** Takes every frame and gives the images back once copied, as if the pipeline had dropped them */
+	private static class CapturingPipeline extends FramePipeline {
+		private final List<ImageData> images = new ArrayList<>();
+		private final List<byte[]> pixels = new ArrayList<>();
+		private boolean recycle = true;
+
+		CapturingPipeline() {
+			super(null, Runnable::run);
+		}
+
+		@Override
+		long arrive(long receivedNanos) {
+			return images.size() + 1L;
+		}
+
+		@Override
+		void submit(long frameNumber, ImageData image, long receivedNanos, Consumer<ImageData> unused) {
+			images.add(image);
+			pixels.add(image.data.clone());
+			if (recycle) {
+				unused.accept(image);
+			}
+		}
+	}
+
+	private CapturingPipeline pipeline;
+
+	@Before
+	public void setUp() {
+		pipeline = new CapturingPipeline();
+	}
+
+	@Test
+	public void testUnsignedBytesAreShownAsTheyAre() {
+		final PvaImageSource source = new PvaImageSource("TEST:PVA", pipeline, Runnable::run);
+		source.receive(ntndArray(3, 2, bytes(ScalarType.pvUByte, 0, 1, 127, 128, 200, 255)));
+
+		assertEquals(1, pipeline.images.size());
+		assertEquals(3, pipeline.images.get(0).width);
+		assertEquals(2, pipeline.images.get(0).height);
+		assertLevels(pipeline.pixels.get(0), 0, 1, 127, 128, 200, 255);
+	}
+
+	@Test
+	public void testFramesAreScaledThroughTheSameWindow() {
+		final PvaImageSource source = new PvaImageSource("TEST:PVA", pipeline, Runnable::run);
+		source.setDisplayRange(0, 4095);
+		source.receive(ntndArray(2, 2, shorts(ScalarType.pvUShort, 0, 1000, 2048, 4095)));
+		source.receive(ntndArray(2, 2, shorts(ScalarType.pvUShort, 0, 1000, 1000, 8000)));
+
+		// The same raw value gives the same level whatever else is in the frame
+		assertLevels(pipeline.pixels.get(0), 0, 62, 128, 255);
+		assertLevels(pipeline.pixels.get(1), 0, 62, 62, 255);
+	}
+
+	@Test
+	public void testFullRangeOfSignedShorts() {
+		final PvaImageSource source = new PvaImageSource("TEST:PVA", pipeline, Runnable::run);
+		source.receive(ntndArray(3, 1, shorts(ScalarType.pvShort, Short.MIN_VALUE, 0, Short.MAX_VALUE)));
+
+		assertLevels(pipeline.pixels.get(0), 0, 128, 255);
+	}
+
+	@Test
+	public void testImagesDroppedByThePipelineAreReused() {
+		final PvaImageSource source = new PvaImageSource("TEST:PVA", pipeline, Runnable::run);
+		source.receive(ntndArray(2, 1, bytes(ScalarType.pvUByte, 1, 2)));
+		source.receive(ntndArray(2, 1, bytes(ScalarType.pvUByte, 3, 4)));
+
+		assertSame(pipeline.images.get(0), pipeline.images.get(1));
+		assertLevels(pipeline.pixels.get(1), 3, 4);
+	}
+
+	@Test
+	public void testStoppingGivesPendingFramesBackToThePool() {
+		// Conversions are never run, so received frames stay pending
+		final List<Runnable> tasks = new ArrayList<>();
+		final Executor idle = tasks::add;
+		final PvaImageSource source = new PvaImageSource("TEST:PVA", pipeline, idle);
+		final int pooled = source.getFreeFrames();
+		for (int i = 0; i < 2 * pooled; i++) {
+			source.receive(ntndArray(2, 1, bytes(ScalarType.pvUByte, i, i)));
+		}
+		assertEquals(pooled - 1, source.getFreeFrames());
+
+		source.stop();
+		assertEquals(pooled, source.getFreeFrames());
+	}
+
+	private static void assertLevels(byte[] pixels, int... expected) {
+		assertEquals(expected.length, pixels.length);
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals("pixel " + i, expected[i], pixels[i] & 0xff);
+		}
+	}
+
+	private static PVScalarArray bytes(ScalarType type, int... values) {
+		final PVByteArray array = (PVByteArray) DATA.createPVScalarArray(type);
+		final byte[] data = new byte[values.length];
+		for (int i = 0; i < values.length; i++) {
+			data[i] = (byte) values[i];
+		}
+		array.put(0, data.length, data, 0);
+		return array;
+	}
+
+	private static PVScalarArray shorts(ScalarType type, int... values) {
+		final PVShortArray array = (PVShortArray) DATA.createPVScalarArray(type);
+		final short[] data = new short[values.length];
+		for (int i = 0; i < values.length; i++) {
+			data[i] = (short) values[i];
+		}
+		array.put(0, data.length, data, 0);
+		return array;
+	}
+
+	private static PVStructure ntndArray(int width, int height, PVScalarArray array) {
+		final Structure dimension = FIELDS.createFieldBuilder().add("size", ScalarType.pvInt).createStructure();
+		final Structure structure = FIELDS.createFieldBuilder()
+				.add("value", FIELDS.createVariantUnion())
+				.addArray("dimension", dimension)
+				.createStructure();
+		final PVStructure ntndArray = DATA.createPVStructure(structure);
+		ntndArray.getSubField(PVUnion.class, "value").set(array);
+		final PVStructure[] sizes = { DATA.createPVStructure(dimension), DATA.createPVStructure(dimension) };
+		sizes[0].getSubField(PVInt.class, "size").put(width);
+		sizes[1].getSubField(PVInt.class, "size").put(height);
+		ntndArray.getSubField(PVStructureArray.class, "dimension").put(0, sizes.length, sizes, 0);
+		return ntndArray;
+	}
+}
@@ -0,0 +1,74 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.frames;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.function.DoubleBinaryOperator;
+
+import org.eclipse.swt.graphics.ImageData;
+
+/**
+ * Frames for tests of the classes that handle them outside this package
+ */
+public final class TestFrames {
+
+	private TestFrames() {
+	}
+
+	/**
+	 * @return a frame as the pipeline would pass it to listeners
+	 */
+	public static Frame frame(long sequence, ImageData image) {
+		return new Frame(sequence, System.nanoTime(), image, null);
+	}
+
+	/**
+	 * @param brightness
+	 *            the brightness at each point, from 0 to 255, sampled at the middle of each pixel
+	 * @return an 8 bit greyscale image
+	 */
+	public static ImageData greyscale(int width, int height, DoubleBinaryOperator brightness) {
+		final byte[] data = new byte[width * height];
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				final long value = Math.round(brightness.applyAsDouble(x + 0.5, y + 0.5));
+				data[y * width + x] = (byte) Math.max(0, Math.min(255, value));
+			}
+		}
+		return new ImageData(width, height, 8, Greyscale.PALETTE, 1, data);
+	}
+
+	/**
+	 * @param latenciesMillis
+	 *            the time from arrival to painting of each frame, which arrive 100 ms apart
+	 * @return the timings of an interval in which frames were painted with those latencies
+	 */
+	public static FrameTimings.Summary timings(long... latenciesMillis) {
+		final FrameTimings timings = new FrameTimings();
+		long arrival = System.nanoTime();
+		for (long latency : latenciesMillis) {
+			timings.frameArrived(arrival);
+			timings.framePainted(arrival, arrival + MILLISECONDS.toNanos(latency));
+			arrival += MILLISECONDS.toNanos(100);
+		}
+		return timings.takeInterval();
+	}
+}
@@ -0,0 +1,93 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.motion;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.function.DoubleUnaryOperator;
+
+import org.junit.Test;
+
+public class AutoFocusTest {
+
+	@Test
+	public void testPeakOfParabolaBetweenPoints() {
+		final AutoFocus.Result result = fit(-1, 1, 11, x -> 100 - 50 * (x - 0.13) * (x - 0.13));
+		assertFalse(result.isAtEdge());
+		assertEquals(0.13, result.getPosition(), 1e-9);
+		assertEquals(100, result.getValue(), 1e-9);
+	}
+
+	@Test
+	public void testPeakFromPointsInDescendingOrder() {
+		final AutoFocus.Result result = fit(2, -2, 9, x -> 10 - (x + 0.4) * (x + 0.4));
+		assertEquals(-0.4, result.getPosition(), 1e-9);
+	}
+
+	@Test
+	public void testOnlyPointsAroundTheHighestAreFitted() {
+		// Far from the peak the metric flattens out, which a parabola through every point would not follow
+		final AutoFocus.Result result = fit(-5, 5, 21, x -> Math.abs(x - 1.1) < 1.2 ? 50 - 20 * (x - 1.1) * (x - 1.1) : 20);
+		assertEquals(1.1, result.getPosition(), 1e-9);
+	}
+
+	@Test
+	public void testHighestAtEitherEndIsAtEdge() {
+		final AutoFocus.Result first = fit(0, 1, 6, x -> -x);
+		assertTrue(first.isAtEdge());
+		assertEquals(0, first.getPosition(), 0);
+
+		final AutoFocus.Result last = fit(0, 1, 6, x -> x);
+		assertTrue(last.isAtEdge());
+		assertEquals(1, last.getPosition(), 1e-12);
+	}
+
+	@Test
+	public void testPeakOfLopsidedPointsIsKeptWithinThem() {
+		// Falling steeply on one side and barely on the other pulls the fitted peak towards the flat side
+		final double[] positions = { 0, 1, 2, 3, 4 };
+		final double[] values = { -100, -50, 1, 0.9999, 0.9998 };
+		final AutoFocus.Result result = AutoFocus.fitPeak(positions, values);
+		assertFalse(result.isAtEdge());
+		assertTrue(result.getPosition() > 2 && result.getPosition() <= 4);
+	}
+
+	@Test
+	public void testPointsCurvingUpGiveTheHighestPoint() {
+		// The highest point is a spike between two others, so the fitted parabola opens upwards and has no peak
+		final AutoFocus.Result result = AutoFocus.fitPeak(new double[] { 0, 1, 2, 3, 4, 5, 6 },
+				new double[] { 0, 5, 1, 6, 1, 5, 0 });
+		assertFalse(result.isAtEdge());
+		assertEquals(3, result.getPosition(), 0);
+		assertEquals(6, result.getValue(), 0);
+	}
+
+	private static AutoFocus.Result fit(double from, double to, int points, DoubleUnaryOperator metric) {
+		final double[] positions = new double[points];
+		final double[] values = new double[points];
+		for (int i = 0; i < points; i++) {
+			positions[i] = from + (to - from) * i / (points - 1);
+			values[i] = metric.applyAsDouble(positions[i]);
+		}
+		return AutoFocus.fitPeak(positions, values);
+	}
+}
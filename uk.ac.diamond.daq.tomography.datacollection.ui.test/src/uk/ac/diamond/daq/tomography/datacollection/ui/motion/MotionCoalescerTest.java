@@ -0,0 +1,245 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.motion;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.DAYS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import gda.device.DeviceException;
+import gda.device.scannable.ScannableBase;
+
+public class MotionCoalescerTest {
+
+	private static final long INTERVAL = 100;
+
+	private final FakeMotor motor = new FakeMotor();
+	private final ManualExecutor executor = new ManualExecutor();
+	private long now = 1_000_000;
+	private final MotionCoalescer coalescer = new MotionCoalescer(motor, executor, INTERVAL, () -> now);
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testRequestsBeforeTheMoveIsSentAreMergedIntoOne() {
+		motor.position = 10;
+		coalescer.moveBy(1);
+		coalescer.moveBy(2);
+		coalescer.moveBy(0.5);
+
+		assertEquals(1, executor.pending());
+		executor.runNext();
+
+		assertEquals(asList(13.5), motor.moves);
+		assertEquals(13.5, coalescer.getTarget(), 0);
+		assertEquals(2, coalescer.getCoalesced());
+	}
+
+	@Test
+	public void testZeroAndNaNAreIgnored() {
+		coalescer.moveBy(0);
+		coalescer.moveBy(Double.NaN);
+
+		assertEquals(0, executor.pending());
+	}
+
+	@Test
+	public void testMovesAreSentNoMoreOftenThanTheInterval() {
+		coalescer.moveBy(1);
+		executor.runNext();
+
+		now += 30;
+		coalescer.moveBy(1);
+		now += 200;
+		coalescer.moveBy(1);
+		executor.runNext();
+		coalescer.moveBy(1);
+
+		// Straight away at first, then the rest of the interval after each move sent
+		assertEquals(asList(0L, 70L, 100L), executor.delays);
+	}
+
+	@Test
+	public void testRequestsWhileInFlightAreRelativeToTheTarget() {
+		motor.position = 10;
+		coalescer.moveBy(1);
+		executor.runNext();
+
+		// The readback has not caught up with the first move
+		now += 500;
+		coalescer.moveBy(1);
+		executor.runNext();
+
+		assertEquals(asList(11.0, 12.0), motor.moves);
+		assertEquals(12, coalescer.getTarget(), 0);
+	}
+
+	@Test
+	public void testPositionIsReadAgainTwoSecondsAfterTheLastMove() {
+		motor.position = 10;
+		coalescer.moveBy(1);
+		executor.runNext();
+
+		// Moved elsewhere once the first move had finished
+		motor.position = 20;
+		now += 1999;
+		coalescer.moveBy(1);
+		executor.runNext();
+		now += 2000;
+		coalescer.moveBy(1);
+		executor.runNext();
+
+		assertEquals(asList(11.0, 12.0, 21.0), motor.moves);
+	}
+
+	@Test
+	public void testMoveWaitsForTheMotorToStop() {
+		motor.position = 10;
+		motor.busy = true;
+		coalescer.moveBy(1);
+		executor.runNext();
+
+		// Tried again an interval later, taking in requests made meanwhile
+		assertEquals(emptyList(), motor.moves);
+		assertEquals(1, executor.pending());
+		assertEquals(INTERVAL, (long) executor.delays.get(1));
+		coalescer.moveBy(2);
+		executor.runNext();
+		assertEquals(emptyList(), motor.moves);
+
+		motor.busy = false;
+		executor.runNext();
+		assertEquals(asList(13.0), motor.moves);
+		assertEquals(0, executor.pending());
+		assertEquals(1, coalescer.getCoalesced());
+	}
+
+	@Test
+	public void testCancelledRequestsAreNotSent() {
+		motor.position = 10;
+		coalescer.moveBy(1);
+		coalescer.cancelPending();
+		assertEquals(0, executor.pending());
+
+		coalescer.moveBy(2);
+		executor.runNext();
+		assertEquals(asList(12.0), motor.moves);
+	}
+
+	@Test
+	public void testFailedMoveForgetsTheTarget() {
+		motor.position = 10;
+		coalescer.moveBy(1);
+		executor.runNext();
+
+		motor.failure = new DeviceException("Motor fault");
+		now += 500;
+		coalescer.moveBy(1);
+		executor.runNext();
+		assertNull(coalescer.getTarget());
+
+		// The next request reads the position rather than building on the failed move
+		motor.failure = null;
+		coalescer.moveBy(1);
+		executor.runNext();
+		assertEquals(asList(11.0, 11.0), motor.moves);
+	}
+
+	/** A motor that stays where it is put by the test, recording the moves it is asked to make */
+	private static final class FakeMotor extends ScannableBase {
+		private double position;
+		private boolean busy;
+		private DeviceException failure;
+		private final List<Double> moves = new ArrayList<>();
+
+		FakeMotor() {
+			setName("motor");
+		}
+
+		@Override
+		public Object getPosition() {
+			return position;
+		}
+
+		@Override
+		public void asynchronousMoveTo(Object target) throws DeviceException {
+			if (failure != null) {
+				throw failure;
+			}
+			moves.add((Double) target);
+		}
+
+		@Override
+		public boolean isBusy() {
+			return busy;
+		}
+	}
+
+	/** Runs scheduled tasks only when the test says, remembering the delay each was scheduled with */
+	private static final class ManualExecutor extends ScheduledThreadPoolExecutor {
+		private final Deque<RunnableScheduledFuture<?>> tasks = new ArrayDeque<>();
+		private final List<Long> delays = new ArrayList<>();
+
+		ManualExecutor() {
+			super(1);
+		}
+
+		@Override
+		public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+			delays.add(unit.toMillis(delay));
+			final RunnableScheduledFuture<?> task = (RunnableScheduledFuture<?>) super.schedule(command, 1, DAYS);
+			tasks.add(task);
+			return task;
+		}
+
+		/**
+		 * Run the oldest task that has not been cancelled, as the executor would once its delay was up
+		 */
+		void runNext() {
+			tasks.removeIf(RunnableScheduledFuture::isCancelled);
+			final RunnableScheduledFuture<?> task = tasks.poll();
+			assertNotNull("Nothing scheduled", task);
+			remove(task);
+			task.run();
+		}
+
+		int pending() {
+			tasks.removeIf(RunnableScheduledFuture::isCancelled);
+			return tasks.size();
+		}
+	}
+}
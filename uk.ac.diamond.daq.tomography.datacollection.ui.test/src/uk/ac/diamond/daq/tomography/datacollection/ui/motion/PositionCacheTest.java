@@ -0,0 +1,193 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.motion;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import gda.device.DeviceException;
+import gda.device.scannable.ScannableBase;
+import gda.device.scannable.ScannablePositionChangeEvent;
+
+public class PositionCacheTest {
+
+	private static final long HOUR_MILLIS = 3_600_000;
+
+	private final FakeScannable motor = new FakeScannable();
+	private final BlockingQueue<CachedPosition> heard = new LinkedBlockingQueue<>();
+	private PositionCache cache = new PositionCache(HOUR_MILLIS);
+
+	@After
+	public void tearDown() {
+		motor.releaseBackgroundReads();
+		cache.dispose();
+	}
+
+	@Test
+	public void testPositionIsReadOnTheCallingThreadUntilOneIsCached() throws Exception {
+		motor.holdBackgroundReads();
+		cache.track(motor);
+		assertNull(cache.get(motor));
+
+		assertArrayEquals(new double[] { 5 }, cache.getPositionArray(motor), 0);
+		// and kept for the next caller
+		assertEquals(5.0, cache.get(motor).getPosition());
+	}
+
+	@Test
+	public void testScannableNotTrackedIsReadButNotCached() throws Exception {
+		assertArrayEquals(new double[] { 5 }, cache.getPositionArray(motor), 0);
+		assertNull(cache.get(motor));
+	}
+
+	@Test(expected = DeviceException.class)
+	public void testNonNumericPositionCannotBeReadAsNumbers() throws Exception {
+		motor.position = "In";
+		cache.getPositionArray(motor);
+	}
+
+	@Test(expected = DeviceException.class)
+	public void testFailedReadIsPassedOnWhenNothingIsCached() throws Exception {
+		motor.holdBackgroundReads();
+		cache.track(motor);
+		motor.failure = new DeviceException("Timed out");
+		cache.getPositionArray(motor);
+	}
+
+	@Test
+	public void testPositionChangeEventsUpdateTheCacheAndListeners() throws Exception {
+		motor.holdBackgroundReads();
+		cache.addListener(motor, heard::add);
+		motor.notifyIObservers(motor, new ScannablePositionChangeEvent(7.0));
+
+		assertEquals(7.0, cache.get(motor).getPosition());
+		assertEquals(7.0, heard.poll().getPosition());
+		assertArrayEquals(new double[] { 7 }, cache.getPositionArray(motor), 0);
+		assertEquals(0, motor.reads.get());
+	}
+
+	@Test
+	public void testListenerIsToldTheCurrentPositionStraightAway() {
+		motor.holdBackgroundReads();
+		cache.track(motor);
+		motor.notifyIObservers(motor, new ScannablePositionChangeEvent(3.0));
+
+		cache.addListener(motor, heard::add);
+		assertEquals(3.0, heard.poll().getPosition());
+	}
+
+	@Test
+	public void testOtherEventsCauseARead() throws Exception {
+		cache.addListener(motor, heard::add);
+		assertEquals(5.0, next().getPosition());
+
+		motor.position = 6.0;
+		motor.notifyIObservers(motor, "Moving");
+		assertEquals(6.0, next().getPosition());
+	}
+
+	@Test
+	public void testStalePositionIsReadAgain() throws Exception {
+		cache.dispose();
+		cache = new PositionCache(50);
+		cache.addListener(motor, heard::add);
+		assertEquals(5.0, next().getPosition());
+
+		motor.position = 6.0;
+		CachedPosition position;
+		do {
+			position = next();
+		} while (!position.getPosition().equals(6.0));
+		assertTrue(motor.reads.get() >= 2);
+	}
+
+	@Test
+	public void testDisposedCacheStopsObserving() {
+		motor.holdBackgroundReads();
+		cache.addListener(motor, heard::add);
+		cache.dispose();
+
+		motor.notifyIObservers(motor, new ScannablePositionChangeEvent(7.0));
+		assertNull(heard.poll());
+		assertNull(cache.get(motor));
+	}
+
+	private CachedPosition next() throws InterruptedException {
+		final CachedPosition position = heard.poll(5, SECONDS);
+		assertNotNull("No position heard", position);
+		return position;
+	}
+
+	/**
+	 * A scannable read from the test thread straight away and from other threads once the test lets them
+	 */
+	private static final class FakeScannable extends ScannableBase {
+		private final Thread testThread = Thread.currentThread();
+		private volatile CountDownLatch backgroundReads = new CountDownLatch(0);
+		private volatile Object position = 5.0;
+		private volatile DeviceException failure;
+		private final AtomicInteger reads = new AtomicInteger();
+
+		FakeScannable() {
+			setName("motor");
+		}
+
+		void holdBackgroundReads() {
+			backgroundReads = new CountDownLatch(1);
+		}
+
+		void releaseBackgroundReads() {
+			backgroundReads.countDown();
+		}
+
+		@Override
+		public Object getPosition() throws DeviceException {
+			if (Thread.currentThread() != testThread) {
+				try {
+					backgroundReads.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new DeviceException("Interrupted reading " + getName());
+				}
+			}
+			if (failure != null) {
+				throw failure;
+			}
+			reads.incrementAndGet();
+			return position;
+		}
+
+		@Override
+		public boolean isBusy() {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,96 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.views;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.ui.IWorkbenchPart;
+import org.eclipse.ui.IWorkbenchPartReference;
+import org.junit.Test;
+
+public class PauseWhileHiddenTest {
+
+	private final IWorkbenchPart view = fake(IWorkbenchPart.class, null);
+	private final List<Boolean> paused = new ArrayList<>();
+	private final PauseWhileHidden listener = new PauseWhileHidden(view, paused::add);
+
+	@Test
+	public void testViewIsPausedWhileHidden() {
+		listener.partHidden(reference(view));
+		listener.partVisible(reference(view));
+		listener.partHidden(reference(view));
+
+		assertEquals(asList(true, false, true), paused);
+	}
+
+	@Test
+	public void testOtherViewsAreIgnored() {
+		final IWorkbenchPart other = fake(IWorkbenchPart.class, null);
+		listener.partHidden(reference(other));
+		listener.partVisible(reference(other));
+		// A reference to a view not yet created has no part
+		listener.partHidden(reference(null));
+
+		assertTrue(paused.isEmpty());
+	}
+
+	@Test
+	public void testOtherEventsDoNotPause() {
+		final IWorkbenchPartReference reference = reference(view);
+		listener.partOpened(reference);
+		listener.partActivated(reference);
+		listener.partBroughtToTop(reference);
+		listener.partDeactivated(reference);
+		listener.partInputChanged(reference);
+		listener.partClosed(reference);
+
+		assertTrue(paused.isEmpty());
+	}
+
+	private static IWorkbenchPartReference reference(IWorkbenchPart part) {
+		return fake(IWorkbenchPartReference.class, part);
+	}
+
+	/**
+	 * @return an implementation of an interface whose getPart method returns the part given and whose other methods
+	 *         do nothing
+	 */
+	private static <T> T fake(Class<T> type, IWorkbenchPart part) {
+		final InvocationHandler handler = (proxy, method, args) -> {
+			switch (method.getName()) {
+			case "getPart":
+				return part;
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			default:
+				return null;
+			}
+		};
+		return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler));
+	}
+}
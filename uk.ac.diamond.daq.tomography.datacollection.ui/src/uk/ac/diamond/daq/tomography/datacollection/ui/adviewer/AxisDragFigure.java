@@ -18,6 +18,7 @@
 
 package uk.ac.diamond.daq.tomography.datacollection.ui.adviewer;
 
+import org.eclipse.draw2d.Graphics;
 import org.eclipse.draw2d.ImageFigure;
 import org.eclipse.draw2d.LayoutManager;
 import org.eclipse.draw2d.MouseEvent;
@@ -30,11 +31,16 @@ import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.KeyEvent;
 import org.eclipse.swt.events.KeyListener;
+import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.widgets.Canvas;
 
 public class AxisDragFigure extends ImageFigure implements MouseListener, MouseMotionListener, KeyListener {
 
+	private static final int GHOST_ALPHA = 0x80;
+
 	private Point location;
+	private Dimension frameSize;
+	private DragOverlayRenderer ghost;
 	private DataCollectionMJPegViewInitialiser mjPegViewInitialiser;
 	private Canvas canvas;
 	private boolean x_axis;
@@ -55,9 +61,45 @@ public class AxisDragFigure extends ImageFigure implements MouseListener, MouseM
 		removeMouseListener(this);
 		removeMouseMotionListener(this);
 		canvas.removeKeyListener(this);
-		if (getImage() != null) {
-			getImage().dispose();
+	}
+
+	/**
+	 * Show a (possibly reduced resolution) frame, stretched to the size of the full frame it was taken from. The
+	 * image is owned by the renderer, which is asked for it each time the figure is painted, so the figure only has
+	 * to be repainted when the renderer has a new frame.
+	 *
+	 * @param ghost
+	 *            the renderer holding the frame to show, or null for none
+	 * @param frameSize
+	 *            the size of the full frame on the canvas
+	 */
+	public void setGhost(DragOverlayRenderer ghost, Dimension frameSize) {
+		final boolean resized = !frameSize.equals(this.frameSize);
+		this.frameSize = frameSize;
+		if (ghost != this.ghost) {
+			this.ghost = ghost;
+			repaint();
+		}
+		if (resized) {
+			revalidate();
+		}
+	}
+
+	@Override
+	public Dimension getPreferredSize(int wHint, int hHint) {
+		return frameSize != null ? frameSize.getCopy() : super.getPreferredSize(wHint, hHint);
+	}
+
+	@Override
+	protected void paintFigure(Graphics graphics) {
+		final Image image = ghost != null ? ghost.getImage() : null;
+		if (image == null || frameSize == null) {
+			return;
 		}
+		final org.eclipse.swt.graphics.Rectangle source = image.getBounds();
+		final Rectangle area = getClientArea();
+		graphics.setAlpha(GHOST_ALPHA);
+		graphics.drawImage(image, 0, 0, source.width, source.height, area.x, area.y, frameSize.width, frameSize.height);
 	}
 
 	@Override
@@ -129,6 +171,7 @@ public class AxisDragFigure extends ImageFigure implements MouseListener, MouseM
 		layoutMgr.setConstraint(this, bounds);
 		this.translate(x_axis ? offset.width : 0, x_axis ? 0 : offset.height);
 		updateMgr.addDirtyRegion(getParent(), bounds);
+		mjPegViewInitialiser.handleAxisDragging(x_axis, x_axis ? bounds.x : bounds.y);
 		me.consume();
 	}
 }
@@ -0,0 +1,156 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.adviewer;
+
+import java.util.concurrent.Executor;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.jface.layout.GridDataFactory;
+import org.eclipse.jface.layout.GridLayoutFactory;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.ControlListener;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Label;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.FramePipeline;
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.FrameTimings;
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.PvaImageSource;
+import uk.ac.gda.epics.adviewer.composites.MJPeg;
+
+/**
+ * One camera of the tiled camera view: its name, the frame rate and latency, and the live image.
+ * <p>
+ * Frames go through a {@link FramePipeline} limited to a maximum frame rate and running on workers shared with the
+ * other tiles. If the camera has a PVA image PV the frames come from there, are converted on the shared workers and
+ * only the frames the pipeline keeps are drawn, reduced to the size of the tile. Otherwise the MJPEG stream is shown
+ * as decoded by the widget, which decodes and paints every frame on the UI thread at the camera rate, and the
+ * pipeline only measures it; the frame rate limit and the shared workers do not reduce that cost.
+ */
+public class CameraTile extends Composite {
+	private static final Logger logger = LoggerFactory.getLogger(CameraTile.class);
+
+	private static final int STATUS_REFRESH_MS = 1000;
+
+	private final DataCollectionADControllerImpl adController;
+	private final MJPeg mJPeg;
+	private final FramePipeline framePipeline;
+	private final Label statusField;
+	private final Runnable statusRefresh = this::refreshStatus;
+	private LiveImageFigure pvaFigure;
+	private PvaImageSource pvaSource;
+	private volatile boolean staticView;
+
+	/**
+	 * @param workers
+	 *            the threads shared by every tile
+	 * @param maxFrameRate
+	 *            the highest frame rate processed for this tile
+	 */
+	public CameraTile(Composite parent, DataCollectionADControllerImpl adController, Executor workers,
+			double maxFrameRate) throws Exception {
+		super(parent, SWT.NONE);
+		this.adController = adController;
+		GridLayoutFactory.fillDefaults().numColumns(2).spacing(5, 1).applyTo(this);
+
+		final Label nameField = new Label(this, SWT.NONE);
+		nameField.setText(adController.getDetectorName());
+		GridDataFactory.fillDefaults().align(SWT.LEFT, SWT.CENTER).applyTo(nameField);
+		statusField = new Label(this, SWT.NONE);
+		GridDataFactory.fillDefaults().align(SWT.FILL, SWT.CENTER).grab(true, false).applyTo(statusField);
+
+		final Composite cameraView = new Composite(this, SWT.NONE);
+		cameraView.setLayout(new FillLayout(SWT.HORIZONTAL));
+		GridDataFactory.fillDefaults().grab(true, true).span(2, 1).applyTo(cameraView);
+		mJPeg = new MJPeg(cameraView, SWT.BORDER);
+		mJPeg.showLeft(false);
+
+		framePipeline = new FramePipeline(getDisplay(), workers);
+		framePipeline.setMaxFrameRate(maxFrameRate);
+		framePipeline.addStaticListener(isStatic -> staticView = isStatic);
+		mJPeg.getCanvas().addPaintListener(e -> framePipeline.viewPainted());
+		mJPeg.getCanvas().addControlListener(ControlListener.controlResizedAdapter(e -> {
+			final Point size = mJPeg.getCanvas().getSize();
+			framePipeline.setDisplaySize(size.x, size.y);
+		}));
+
+		if (adController.getPvaImagePv() != null) {
+			// The MJPEG stream is not started, so the only frames decoded are those from the PV
+			pvaFigure = new LiveImageFigure(getDisplay());
+			mJPeg.getTopFigure().add(pvaFigure, new Rectangle(0, 0, -1, -1), 0);
+			framePipeline.setBuildPyramids(true);
+			framePipeline.addUIListener(frame -> pvaFigure.showFrom(frame.getBuiltPyramid(), frame.getWidth(), frame.getHeight()));
+			pvaSource = adController.createPvaImageSource(framePipeline, workers);
+			pvaSource.start();
+		} else {
+			mJPeg.setADController(adController);
+			mJPeg.addNewImageListener(framePipeline::submit);
+		}
+
+		getDisplay().timerExec(STATUS_REFRESH_MS, statusRefresh);
+
+		addDisposeListener(e -> {
+			getDisplay().timerExec(-1, statusRefresh);
+			if (pvaSource != null) {
+				pvaSource.stop();
+			}
+			logger.debug("{} tile frame timings over {}", adController.getDetectorName(), framePipeline.getTimings().getTotal());
+			framePipeline.dispose();
+			if (pvaFigure != null) {
+				pvaFigure.dispose();
+			}
+		});
+	}
+
+	private void refreshStatus() {
+		if (statusField.isDisposed()) {
+			return;
+		}
+		final FrameTimings.Summary summary = framePipeline.getTimings().takeInterval();
+		statusField.setText(statusText(summary, staticView));
+		statusField.setToolTipText(summary.toString());
+		getDisplay().timerExec(STATUS_REFRESH_MS, statusRefresh);
+	}
+
+	/**
+	 * @return the line shown next to the camera name: latency and frame rate, and whether the view is static
+	 */
+	static String statusText(FrameTimings.Summary summary, boolean staticView) {
+		return staticView ? summary.toStatus() + "  Static" : summary.toStatus();
+	}
+
+	/**
+	 * Stop or restart processing frames, e.g. while the view is hidden
+	 */
+	public void setPaused(boolean paused) {
+		framePipeline.setPaused(paused);
+	}
+
+	public DataCollectionADControllerImpl getADController() {
+		return adController;
+	}
+
+	public FramePipeline getFramePipeline() {
+		return framePipeline;
+	}
+}
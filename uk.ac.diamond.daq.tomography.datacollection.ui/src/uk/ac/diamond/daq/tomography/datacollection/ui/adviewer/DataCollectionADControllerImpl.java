@@ -18,6 +18,12 @@
 
 package uk.ac.diamond.daq.tomography.datacollection.ui.adviewer;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
@@ -27,12 +33,26 @@ import gda.device.Scannable;
 import gda.device.displayscaleprovider.DisplayScaleProvider;
 import gda.jython.InterfaceProvider;
 import gda.rcp.views.CompositeFactory;
+import uk.ac.diamond.daq.tomography.datacollection.ui.analysis.DriftTracker;
+import uk.ac.diamond.daq.tomography.datacollection.ui.analysis.FocusMetric;
+import uk.ac.diamond.daq.tomography.datacollection.ui.analysis.LiveSinogram;
+import uk.ac.diamond.daq.tomography.datacollection.ui.analysis.LiveStatistics;
+import uk.ac.diamond.daq.tomography.datacollection.ui.analysis.RoiStatistics;
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.FramePipeline;
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.FrameRecorder;
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.PvaImageSource;
+import uk.ac.diamond.daq.tomography.datacollection.ui.motion.CachedPosition;
+import uk.ac.diamond.daq.tomography.datacollection.ui.motion.PositionCache;
 import uk.ac.gda.epics.adviewer.ADControllerImpl;
 
 public class DataCollectionADControllerImpl extends  ADControllerImpl implements InitializingBean {
 
 	private static final Logger logger = LoggerFactory.getLogger(DataCollectionADControllerImpl.class);
 
+	/** Cached positions older than this are read again in the background */
+	private static final long POSITION_MAX_AGE_MS = 5000;
+	private static final int BYTES_PER_MB = 1024 * 1024;
+
 	private int cameraImageWidthMax;
 	private int cameraImageHeightMax;
 
@@ -43,14 +63,37 @@ public class DataCollectionADControllerImpl extends  ADControllerImpl implements
 	private String showNormalisedImageCmd;
 	private String histogramPlotId;
 	private String imagePlotId;
+	private String pvaImagePv;
+	private Integer pvaDisplayMin;
+	private Integer pvaDisplayMax;
 
 	private DisplayScaleProvider cameraScaleProvider;
 
 	private Scannable sampleCentringXMotor;
 	private Scannable sampleCentringYMotor;
+	private Scannable focusScannable;
+	private double autoFocusRange = 1.0;
+	private int autoFocusSteps = 11;
+	private double driftRecentreThresholdMicrons = 5;
+	private double driftRecentreMaxMoveMicrons = 50;
+	private long driftRecentreIntervalMillis = 5000;
 
 	private CompositeFactory stagesCompositeFactory;
 
+	private PositionCache positionCache;
+	private LiveStatistics liveStatistics;
+	private RoiStatistics roiStatistics;
+	private LiveSinogram liveSinogram;
+	private FocusMetric focusMetric;
+	private DriftTracker driftTracker;
+
+	private int recorderBufferMB = 128;
+	private int recorderMaxFrames = 600;
+	private long recorderMaxAgeMillis = 10000;
+	private boolean recorderCompressed = true;
+	private int recorderExportDeflateLevel = 1;
+	private FrameRecorder frameRecorder;
+
 	public DataCollectionADControllerImpl() {
 		super();
 		super.setServiceName(ADViewerConstants.AD_CONTROLLER_SERVICE_NAME);
@@ -185,6 +228,54 @@ public class DataCollectionADControllerImpl extends  ADControllerImpl implements
 		this.imagePlotId = imagePlotId;
 	}
 
+	/**
+	 * @return the NTNDArray PV of the areaDetector PVA plugin, or null if the camera has none
+	 */
+	public String getPvaImagePv() {
+		return pvaImagePv;
+	}
+
+	public void setPvaImagePv(String pvaImagePv) {
+		this.pvaImagePv = pvaImagePv;
+	}
+
+	/**
+	 * @return the raw value shown as black in frames from the PVA plugin, or null for the bottom of the range of the
+	 *         data type
+	 */
+	public Integer getPvaDisplayMin() {
+		return pvaDisplayMin;
+	}
+
+	public void setPvaDisplayMin(Integer pvaDisplayMin) {
+		this.pvaDisplayMin = pvaDisplayMin;
+	}
+
+	/**
+	 * @return the raw value shown as white in frames from the PVA plugin, or null for the top of the range of the data
+	 *         type, e.g. 4095 for a 12 bit camera read out as 16 bits
+	 */
+	public Integer getPvaDisplayMax() {
+		return pvaDisplayMax;
+	}
+
+	public void setPvaDisplayMax(Integer pvaDisplayMax) {
+		this.pvaDisplayMax = pvaDisplayMax;
+	}
+
+	/**
+	 * @return a source of frames from {@link #getPvaImagePv()} scaled with the configured display range, not yet
+	 *         started
+	 */
+	public PvaImageSource createPvaImageSource(FramePipeline pipeline, Executor workers) {
+		final PvaImageSource source = new PvaImageSource(pvaImagePv, pipeline, workers);
+		if (pvaDisplayMin != null || pvaDisplayMax != null) {
+			source.setDisplayRange(pvaDisplayMin == null ? 0 : pvaDisplayMin,
+					pvaDisplayMax == null ? 0xffff : pvaDisplayMax);
+		}
+		return source;
+	}
+
 	public DisplayScaleProvider getCameraScaleProvider() {
 		return cameraScaleProvider;
 	}
@@ -209,6 +300,244 @@ public class DataCollectionADControllerImpl extends  ADControllerImpl implements
 		this.sampleCentringYMotor = sampleCentringYMotor;
 	}
 
+	public Scannable getFocusScannable() {
+		return focusScannable;
+	}
+
+	/**
+	 * @param focusScannable
+	 *            the motor moving the camera focus, which auto-focus steps through a range
+	 */
+	public void setFocusScannable(Scannable focusScannable) {
+		this.focusScannable = focusScannable;
+	}
+
+	public double getAutoFocusRange() {
+		return autoFocusRange;
+	}
+
+	/**
+	 * @param autoFocusRange
+	 *            the full width of the coarse auto-focus pass around the current focus, in the units of the focus
+	 *            scannable
+	 */
+	public void setAutoFocusRange(double autoFocusRange) {
+		this.autoFocusRange = autoFocusRange;
+	}
+
+	public int getAutoFocusSteps() {
+		return autoFocusSteps;
+	}
+
+	/**
+	 * @param autoFocusSteps
+	 *            the number of points measured in each auto-focus pass
+	 */
+	public void setAutoFocusSteps(int autoFocusSteps) {
+		this.autoFocusSteps = autoFocusSteps;
+	}
+
+	public double getDriftRecentreThresholdMicrons() {
+		return driftRecentreThresholdMicrons;
+	}
+
+	/**
+	 * @param driftRecentreThresholdMicrons
+	 *            the drift beyond which auto-recentring moves the sample back
+	 */
+	public void setDriftRecentreThresholdMicrons(double driftRecentreThresholdMicrons) {
+		this.driftRecentreThresholdMicrons = driftRecentreThresholdMicrons;
+	}
+
+	public double getDriftRecentreMaxMoveMicrons() {
+		return driftRecentreMaxMoveMicrons;
+	}
+
+	/**
+	 * @param driftRecentreMaxMoveMicrons
+	 *            the largest move of each centring motor made by one auto-recentring
+	 */
+	public void setDriftRecentreMaxMoveMicrons(double driftRecentreMaxMoveMicrons) {
+		this.driftRecentreMaxMoveMicrons = driftRecentreMaxMoveMicrons;
+	}
+
+	public long getDriftRecentreIntervalMillis() {
+		return driftRecentreIntervalMillis;
+	}
+
+	/**
+	 * @param driftRecentreIntervalMillis
+	 *            the shortest time between two auto-recentring moves, so each has settled before the next
+	 */
+	public void setDriftRecentreIntervalMillis(long driftRecentreIntervalMillis) {
+		this.driftRecentreIntervalMillis = driftRecentreIntervalMillis;
+	}
+
+	/**
+	 * @return the cache of the positions of the scannables used by the view, created the first time it is asked for
+	 */
+	public synchronized PositionCache getPositionCache() {
+		if (positionCache == null) {
+			positionCache = new PositionCache(POSITION_MAX_AGE_MS);
+			positionScannables().forEach(positionCache::track);
+		}
+		return positionCache;
+	}
+
+	/**
+	 * Stop the position cache reading, e.g. when the view using it is closed. It is created again if asked for.
+	 */
+	public synchronized void disposePositionCache() {
+		if (positionCache != null) {
+			positionCache.dispose();
+			positionCache = null;
+		}
+	}
+
+	private Stream<Scannable> positionScannables() {
+		return Stream.of(rotationAxisXScannable, cameraXYScannable, sampleCentringXMotor, sampleCentringYMotor, lensEnum,
+				binningXEnum, binningYEnum, focusScannable).filter(Objects::nonNull);
+	}
+
+	/**
+	 * @return the last known position of each scannable used by the view, by name, as a double[] or for positions
+	 *         that are not numeric their text. Scannables whose position is not known yet are left out.
+	 */
+	public Map<String, Object> getCachedPositions() {
+		final PositionCache cache = getPositionCache();
+		final Map<String, Object> positions = new LinkedHashMap<>();
+		positionScannables().forEach(scannable -> {
+			final CachedPosition position = cache.get(scannable);
+			if (position != null) {
+				final double[] values = position.asDoubles();
+				positions.put(scannable.getName(), values != null ? values : String.valueOf(position.getPosition()));
+			}
+		});
+		return positions;
+	}
+
+	/**
+	 * @return the statistics computed from the frames shown in the MJPEG view
+	 */
+	public synchronized LiveStatistics getLiveStatistics() {
+		if (liveStatistics == null) {
+			liveStatistics = new LiveStatistics();
+		}
+		return liveStatistics;
+	}
+
+	/**
+	 * @return the statistics of the regions of interest marked on the MJPEG view. Client code can read the values
+	 *         of each region by name from here.
+	 */
+	public synchronized RoiStatistics getRoiStatistics() {
+		if (roiStatistics == null) {
+			roiStatistics = new RoiStatistics();
+		}
+		return roiStatistics;
+	}
+
+	/**
+	 * @return the sinogram built from the frames shown in the MJPEG view while a scan runs
+	 */
+	public synchronized LiveSinogram getLiveSinogram() {
+		if (liveSinogram == null) {
+			liveSinogram = new LiveSinogram();
+		}
+		return liveSinogram;
+	}
+
+	/**
+	 * @return the sharpness of the frames shown in the MJPEG view, for focusing the camera
+	 */
+	public synchronized FocusMetric getFocusMetric() {
+		if (focusMetric == null) {
+			focusMetric = new FocusMetric();
+		}
+		return focusMetric;
+	}
+
+	/**
+	 * @return the tracker of sample drift in the frames shown in the MJPEG view
+	 */
+	public synchronized DriftTracker getDriftTracker() {
+		if (driftTracker == null) {
+			driftTracker = new DriftTracker();
+		}
+		return driftTracker;
+	}
+
+	/**
+	 * @return the recorder keeping the last few seconds of the MJPEG view, created the first time it is asked for. Its
+	 *         buffer is only allocated once it records a frame.
+	 */
+	public synchronized FrameRecorder getFrameRecorder() {
+		if (frameRecorder == null) {
+			frameRecorder = new FrameRecorder(recorderBufferMB * BYTES_PER_MB, recorderMaxFrames, recorderMaxAgeMillis,
+					recorderCompressed);
+		}
+		return frameRecorder;
+	}
+
+	/**
+	 * Release the frame recorder's buffer, e.g. when the view is closed. A new recorder is created if one
+	 * is asked for again.
+	 */
+	public synchronized void disposeFrameRecorder() {
+		if (frameRecorder != null) {
+			frameRecorder.release();
+			frameRecorder = null;
+		}
+	}
+
+	public int getRecorderBufferMB() {
+		return recorderBufferMB;
+	}
+
+	/**
+	 * @param recorderBufferMB
+	 *            the memory the frame recorder keeps frames in, allocated when the view is first opened
+	 */
+	public void setRecorderBufferMB(int recorderBufferMB) {
+		this.recorderBufferMB = recorderBufferMB;
+	}
+
+	public int getRecorderMaxFrames() {
+		return recorderMaxFrames;
+	}
+
+	public void setRecorderMaxFrames(int recorderMaxFrames) {
+		this.recorderMaxFrames = recorderMaxFrames;
+	}
+
+	public long getRecorderMaxAgeMillis() {
+		return recorderMaxAgeMillis;
+	}
+
+	public void setRecorderMaxAgeMillis(long recorderMaxAgeMillis) {
+		this.recorderMaxAgeMillis = recorderMaxAgeMillis;
+	}
+
+	public boolean isRecorderCompressed() {
+		return recorderCompressed;
+	}
+
+	public void setRecorderCompressed(boolean recorderCompressed) {
+		this.recorderCompressed = recorderCompressed;
+	}
+
+	public int getRecorderExportDeflateLevel() {
+		return recorderExportDeflateLevel;
+	}
+
+	/**
+	 * @param recorderExportDeflateLevel
+	 *            1 to 9 to compress recorded frames exported to NeXus, 0 to write them raw
+	 */
+	public void setRecorderExportDeflateLevel(int recorderExportDeflateLevel) {
+		this.recorderExportDeflateLevel = recorderExportDeflateLevel;
+	}
+
 	public CompositeFactory getStagesCompositeFactory() {
 		return stagesCompositeFactory;
 	}
@@ -18,6 +18,10 @@
 
 package uk.ac.diamond.daq.tomography.datacollection.ui.adviewer;
 
+import java.io.File;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
 import javax.measure.quantity.Length;
 
 import org.eclipse.jface.dialogs.Dialog;
@@ -25,16 +29,22 @@ import org.eclipse.jface.layout.GridDataFactory;
 import org.eclipse.jface.layout.GridLayoutFactory;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.ControlListener;
 import org.eclipse.swt.events.SelectionAdapter;
 import org.eclipse.swt.events.SelectionEvent;
+import org.eclipse.swt.events.SelectionListener;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.layout.FillLayout;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Combo;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.FileDialog;
 import org.eclipse.swt.widgets.Group;
 import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Scale;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,6 +55,14 @@ import gda.rcp.views.StageCompositeFactory;
 import gda.rcp.views.TabCompositeFactory;
 import gda.rcp.views.TabCompositeFactoryImpl;
 import gda.rcp.views.TabFolderCompositeFactory;
+import uk.ac.diamond.daq.tomography.datacollection.ui.analysis.FocusMetric;
+import uk.ac.diamond.daq.tomography.datacollection.ui.analysis.LiveNormalisation;
+import uk.ac.diamond.daq.tomography.datacollection.ui.analysis.LiveSinogram;
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.FramePipeline;
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.FrameTimings;
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.FrameWorkers;
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.PvaImageSource;
+import uk.ac.diamond.daq.tomography.datacollection.ui.motion.PositionCache;
 import uk.ac.gda.client.tomo.TomoClientActivator;
 import uk.ac.gda.epics.adviewer.ADController;
 import uk.ac.gda.epics.adviewer.composites.MJPeg;
@@ -55,20 +73,49 @@ import uk.ac.gda.tomography.scan.editor.ScanParameterDialog;
 public class DataCollectionMJPEGViewComposite extends Composite {
 	private static final Logger logger = LoggerFactory.getLogger(DataCollectionMJPEGViewComposite.class);
 
+	/**
+	 * Threads processing frames from the camera, including the stripes the analysis splits each frame into, leaving
+	 * a processor for the UI
+	 */
+	private static final int FRAME_WORKER_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
+
+	private static final int TIMINGS_REFRESH_MS = 1000;
+
 	private EnumPositionerComposite lensComposite;
 	private EnumPositionerComposite binningXComposite;
 	private EnumPositionerComposite binningYComposite;
+	private DataCollectionADControllerImpl adControllerImpl;
 	private DataCollectionMJPegViewInitialiser mJPegViewInitialiser;
 	private Button btnDragX;
 	private Button btnDragY;
+	private Button btnLiveDrag;
+	private Button btnLiveSinogram;
+	private Button btnReplay;
+	private Scale scaleReplay;
+	private LiveSinogram liveSinogram;
+	private FocusMetric focusMetric;
+	private FocusTrendCanvas focusTrend;
+	private Button btnMeasureFocus;
+	private Button btnAutoFocus;
+	private DriftTrendCanvas driftTrend;
+	private Button btnTrackDrift;
+	private Button btnRecentre;
+	private final Consumer<FocusMetric.Sample> focusListener = this::focusMeasured;
 
 	private Image sinogramImage;
 	private Image normalizedImageImage;
 
 	private MJPeg mJPeg;
+	private ExecutorService frameWorkers;
+	private FramePipeline framePipeline;
+	private DisplayUpdateScheduler updateScheduler;
 
 	private Label statusField;
+	private Label timingsField;
+	private final Runnable timingsRefresh = this::refreshFrameTimings;
 	private Group grpDrag;
+	private Group grpImageSource;
+	private PvaImageSource pvaSource;
 
 	public DataCollectionMJPEGViewComposite(final Composite parent, CompositeFactory configTabsFactory) throws Exception {
 		super(parent, SWT.NONE);
@@ -97,7 +144,7 @@ public class DataCollectionMJPEGViewComposite extends Composite {
 
 		// Scan dialog buttons
 		final Composite scanButtons = new Composite(rhs, SWT.NONE);
-		GridLayoutFactory.fillDefaults().numColumns(2).applyTo(scanButtons);
+		GridLayoutFactory.fillDefaults().numColumns(3).applyTo(scanButtons);
 
 		final Button showNormalisedImage = new Button(scanButtons, SWT.PUSH);
 		showNormalisedImage.setToolTipText("Get Normalised Image");
@@ -127,6 +174,12 @@ public class DataCollectionMJPEGViewComposite extends Composite {
 			}
 		});
 
+		btnLiveSinogram = new Button(scanButtons, SWT.PUSH);
+		btnLiveSinogram.setToolTipText("Show the sinogram of a detector row building up as a scan runs");
+		btnLiveSinogram.setText("Live\nSinogram...");
+		btnLiveSinogram.setEnabled(false);
+		btnLiveSinogram.addSelectionListener(SelectionListener.widgetSelectedAdapter(e -> showLiveSinogramDialog()));
+
 		// Drop-down boxes to configure lens and horizontal/vertical binning
 		final Composite lensConfig = new Composite(rhs, SWT.NONE);
 		GridLayoutFactory.fillDefaults().numColumns(5).applyTo(lensConfig);
@@ -171,20 +224,199 @@ public class DataCollectionMJPEGViewComposite extends Composite {
 			}
 		});
 
+		btnLiveDrag = new Button(grpDrag, SWT.CHECK);
+		btnLiveDrag.setText("Live");
+		btnLiveDrag.setToolTipText("Move the sample while dragging rather than when the drag is released");
+		btnLiveDrag.addSelectionListener(new SelectionAdapter() {
+			@Override
+			public void widgetSelected(SelectionEvent e) {
+				mJPegViewInitialiser.setLiveDrag(btnLiveDrag.getSelection());
+			}
+		});
+
+		// Live flat/dark normalisation
+		final Group grpNormalisation = new Group(rhs, SWT.NONE);
+		grpNormalisation.setText("Live Normalisation");
+		grpNormalisation.setLayout(new FillLayout(SWT.HORIZONTAL));
+
+		final Button btnDark = new Button(grpNormalisation, SWT.NORMAL);
+		btnDark.setText("Dark");
+		btnDark.setToolTipText("Capture the dark reference from the next frames");
+		btnDark.addSelectionListener(SelectionListener.widgetSelectedAdapter(
+				e -> mJPegViewInitialiser.captureNormalisationReference(LiveNormalisation.Reference.DARK)));
+
+		final Button btnFlat = new Button(grpNormalisation, SWT.NORMAL);
+		btnFlat.setText("Flat");
+		btnFlat.setToolTipText("Capture the flat reference from the next frames");
+		btnFlat.addSelectionListener(SelectionListener.widgetSelectedAdapter(
+				e -> mJPegViewInitialiser.captureNormalisationReference(LiveNormalisation.Reference.FLAT)));
+
+		final Button btnShowNormalised = new Button(grpNormalisation, SWT.CHECK);
+		btnShowNormalised.setText("Show");
+		btnShowNormalised.setToolTipText("Show the camera image normalised by the dark and flat references");
+		btnShowNormalised.addSelectionListener(SelectionListener.widgetSelectedAdapter(
+				e -> mJPegViewInitialiser.setShowNormalised(btnShowNormalised.getSelection())));
+
+		// Looking back through the last few seconds of frames
+		final Group grpRecorder = new Group(rhs, SWT.NONE);
+		grpRecorder.setText("Recorder");
+		GridLayoutFactory.fillDefaults().numColumns(3).margins(2, 2).applyTo(grpRecorder);
+		GridDataFactory.fillDefaults().grab(true, false).applyTo(grpRecorder);
+
+		btnReplay = new Button(grpRecorder, SWT.CHECK);
+		btnReplay.setText("Replay");
+		btnReplay.setToolTipText("Stop recording and look back through the recorded frames");
+
+		scaleReplay = new Scale(grpRecorder, SWT.HORIZONTAL);
+		GridDataFactory.fillDefaults().grab(true, false).applyTo(scaleReplay);
+		scaleReplay.setEnabled(false);
+		scaleReplay.addSelectionListener(SelectionListener.widgetSelectedAdapter(
+				e -> mJPegViewInitialiser.showRecordedFrame(scaleReplay.getSelection())));
+
+		final Button btnExport = new Button(grpRecorder, SWT.PUSH);
+		btnExport.setText("Export...");
+		btnExport.setToolTipText("Write the recorded frames up to the one shown to a NeXus file or PNG files");
+		btnExport.setEnabled(false);
+		btnExport.addSelectionListener(SelectionListener.widgetSelectedAdapter(e -> exportRecording()));
+
+		btnReplay.addSelectionListener(SelectionListener.widgetSelectedAdapter(e -> {
+			final boolean replaying = btnReplay.getSelection();
+			final int frames = mJPegViewInitialiser.setReplaying(replaying);
+			scaleReplay.setEnabled(replaying && frames > 0);
+			btnExport.setEnabled(replaying && frames > 0);
+			if (replaying && frames > 0) {
+				scaleReplay.setMaximum(frames - 1);
+				scaleReplay.setPageIncrement(Math.max(1, frames / 10));
+				scaleReplay.setSelection(frames - 1);
+				mJPegViewInitialiser.showRecordedFrame(frames - 1);
+			}
+		}));
+
+		// Sharpness of the image, and focusing on it
+		final Group grpFocus = new Group(rhs, SWT.NONE);
+		grpFocus.setText("Focus");
+		GridLayoutFactory.fillDefaults().numColumns(4).margins(2, 2).applyTo(grpFocus);
+		GridDataFactory.fillDefaults().grab(true, false).applyTo(grpFocus);
+
+		btnMeasureFocus = new Button(grpFocus, SWT.CHECK);
+		btnMeasureFocus.setText("Measure");
+		btnMeasureFocus.setToolTipText("Measure the sharpness of every frame, over the last region of interest marked");
+		btnMeasureFocus.setEnabled(false);
+		btnMeasureFocus.addSelectionListener(SelectionListener.widgetSelectedAdapter(
+				e -> setMeasureFocus(btnMeasureFocus.getSelection())));
+
+		final Combo cmbFocusMethod = new Combo(grpFocus, SWT.READ_ONLY);
+		cmbFocusMethod.setItems("Tenengrad", "Laplacian");
+		cmbFocusMethod.select(0);
+		cmbFocusMethod.setToolTipText("Sobel gradient energy, or variance of the Laplacian");
+		cmbFocusMethod.addSelectionListener(SelectionListener.widgetSelectedAdapter(e -> {
+			if (focusMetric != null) {
+				focusMetric.setMethod(FocusMetric.Method.values()[cmbFocusMethod.getSelectionIndex()]);
+			}
+		}));
+
+		focusTrend = new FocusTrendCanvas(grpFocus);
+		GridDataFactory.fillDefaults().grab(true, false).hint(120, 30).applyTo(focusTrend);
+
+		btnAutoFocus = new Button(grpFocus, SWT.PUSH);
+		btnAutoFocus.setText("Auto");
+		btnAutoFocus.setToolTipText("Step the focus through a range and leave it at the sharpest image");
+		btnAutoFocus.setEnabled(false);
+		btnAutoFocus.addSelectionListener(SelectionListener.widgetSelectedAdapter(e -> {
+			btnAutoFocus.setEnabled(false);
+			mJPegViewInitialiser.autoFocus(() -> {
+				if (!btnAutoFocus.isDisposed()) {
+					btnAutoFocus.setEnabled(true);
+				}
+			});
+		}));
+
+		// Drift of a feature of the sample, and moving it back
+		final Group grpDrift = new Group(rhs, SWT.NONE);
+		grpDrift.setText("Drift");
+		GridLayoutFactory.fillDefaults().numColumns(3).margins(2, 2).applyTo(grpDrift);
+		GridDataFactory.fillDefaults().grab(true, false).applyTo(grpDrift);
+
+		btnTrackDrift = new Button(grpDrift, SWT.CHECK);
+		btnTrackDrift.setText("Track");
+		btnTrackDrift.setToolTipText("Follow the feature in the last region of interest marked");
+		btnTrackDrift.setEnabled(false);
+		btnTrackDrift.addSelectionListener(SelectionListener.widgetSelectedAdapter(e -> {
+			if (!mJPegViewInitialiser.setTrackDrift(btnTrackDrift.getSelection())) {
+				btnTrackDrift.setSelection(false);
+			}
+		}));
+
+		driftTrend = new DriftTrendCanvas(grpDrift);
+		GridDataFactory.fillDefaults().grab(true, false).hint(120, 40).applyTo(driftTrend);
+
+		btnRecentre = new Button(grpDrift, SWT.CHECK);
+		btnRecentre.setText("Recentre");
+		btnRecentre.setToolTipText("Move the sample back with the centring motors when it drifts too far");
+		btnRecentre.setEnabled(false);
+		btnRecentre.addSelectionListener(SelectionListener.widgetSelectedAdapter(
+				e -> mJPegViewInitialiser.setAutoRecentre(btnRecentre.getSelection())));
+
+		// Where the frames come from, shown only if the camera has a PVA plugin
+		grpImageSource = new Group(rhs, SWT.NONE);
+		grpImageSource.setText("Image Source");
+		grpImageSource.setLayout(new FillLayout(SWT.HORIZONTAL));
+		grpImageSource.setVisible(false);
+
+		final Button btnMJPeg = new Button(grpImageSource, SWT.RADIO);
+		btnMJPeg.setText("MJPEG");
+		btnMJPeg.setToolTipText("Frames from the ffmpeg stream");
+		btnMJPeg.setSelection(true);
+
+		final Button btnPva = new Button(grpImageSource, SWT.RADIO);
+		btnPva.setText("PVA");
+		btnPva.setToolTipText("Full bit depth frames from the areaDetector PVA plugin");
+		btnPva.addSelectionListener(SelectionListener.widgetSelectedAdapter(e -> setPvaSource(btnPva.getSelection())));
+
 		//---------------------------------------------------------------------------------------------------------
 		// The bottom part of the view contains camera controls and the image returned by the camera.
 		// Most of the work is done by the MJPeg class
 		//---------------------------------------------------------------------------------------------------------
-		statusField = new Label(this, SWT.NONE);
-		GridDataFactory.fillDefaults().applyTo(statusField);
+		final Composite statusBar = new Composite(this, SWT.NONE);
+		GridDataFactory.fillDefaults().grab(true, false).applyTo(statusBar);
+		GridLayoutFactory.fillDefaults().numColumns(3).applyTo(statusBar);
+
+		statusField = new Label(statusBar, SWT.NONE);
+		GridDataFactory.fillDefaults().grab(true, false).applyTo(statusField);
 		statusField.setForeground(getDisplay().getSystemColor(SWT.COLOR_RED));
 
+		// Shown while the camera image is not changing, when frames are not being redrawn
+		final Label staticIndicator = new Label(statusBar, SWT.NONE);
+		GridDataFactory.fillDefaults().hint(50, SWT.DEFAULT).applyTo(staticIndicator);
+		staticIndicator.setForeground(getDisplay().getSystemColor(SWT.COLOR_DARK_GRAY));
+		staticIndicator.setToolTipText("The camera image is unchanged so frames are not being redrawn");
+
+		// Latency and frame rate over the last second, hidden unless asked for
+		timingsField = new Label(statusBar, SWT.NONE);
+		GridDataFactory.fillDefaults().hint(200, SWT.DEFAULT).exclude(true).applyTo(timingsField);
+		timingsField.setForeground(getDisplay().getSystemColor(SWT.COLOR_DARK_GRAY));
+		timingsField.setVisible(false);
+
 		final Composite cameraView = new Composite(this, SWT.NONE);
 		cameraView.setLayout(new FillLayout(SWT.HORIZONTAL));
 		cameraView.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true, 1, 1));
 		mJPeg = new MJPeg(cameraView, SWT.BORDER);
 		mJPeg.showLeft(true);
 
+		frameWorkers = FrameWorkers.newPool("mjpeg-frames", FRAME_WORKER_THREADS);
+		framePipeline = new FramePipeline(getDisplay(), frameWorkers);
+		updateScheduler = DisplayUpdateScheduler.forDisplay(getDisplay());
+		framePipeline.addStaticListener(staticView -> updateScheduler.post(staticIndicator, () -> {
+			if (!staticIndicator.isDisposed()) {
+				staticIndicator.setText(staticView ? "Static" : "");
+			}
+		}));
+		mJPeg.getCanvas().addPaintListener(e -> framePipeline.viewPainted());
+		mJPeg.getCanvas().addControlListener(ControlListener.controlResizedAdapter(e -> {
+			final Point size = mJPeg.getCanvas().getSize();
+			framePipeline.setDisplaySize(size.x, size.y);
+		}));
+
 		//---------------------------------------------------------------------------------------------------------
 		// Tidy up when this view is closed
 		//---------------------------------------------------------------------------------------------------------
@@ -193,6 +425,20 @@ public class DataCollectionMJPEGViewComposite extends Composite {
 				mJPegViewInitialiser.dispose();
 				mJPegViewInitialiser = null;
 			}
+			if (pvaSource != null) {
+				pvaSource.stop();
+			}
+			if (focusMetric != null) {
+				focusMetric.removeListener(focusListener);
+			}
+			if (adControllerImpl != null) {
+				adControllerImpl.disposePositionCache();
+				adControllerImpl.disposeFrameRecorder();
+			}
+			logger.debug("Camera view frame timings over {}", framePipeline.getTimings().getTotal());
+			framePipeline.dispose();
+			frameWorkers.shutdownNow();
+			updateScheduler.cancel(staticIndicator);
 			if (sinogramImage != null) {
 				sinogramImage.dispose();
 				sinogramImage = null;
@@ -231,6 +477,96 @@ public class DataCollectionMJPEGViewComposite extends Composite {
 		dlg.open();
 	}
 
+	private void setPvaSource(boolean pva) {
+		if (pva) {
+			pvaSource.start();
+		} else {
+			pvaSource.stop();
+		}
+		mJPegViewInitialiser.setPvaSource(pva);
+		updateStatus(pva ? "Showing frames from " + pvaSource : "");
+	}
+
+	/**
+	 * Show or hide the latency and frame rate of the camera view in the status bar, updated every second
+	 */
+	public void setShowFrameTimings(boolean show) {
+		((GridData) timingsField.getLayoutData()).exclude = !show;
+		timingsField.setVisible(show);
+		timingsField.getParent().layout();
+		if (show) {
+			// Start a fresh interval rather than show everything since the line was last shown
+			framePipeline.getTimings().takeInterval();
+			getDisplay().timerExec(TIMINGS_REFRESH_MS, timingsRefresh);
+		} else {
+			getDisplay().timerExec(-1, timingsRefresh);
+		}
+	}
+
+	private void refreshFrameTimings() {
+		if (timingsField.isDisposed() || !timingsField.isVisible()) {
+			return;
+		}
+		final FrameTimings.Summary summary = framePipeline.getTimings().takeInterval();
+		timingsField.setText(summary.toStatus());
+		timingsField.setToolTipText(summary.toString());
+		getDisplay().timerExec(TIMINGS_REFRESH_MS, timingsRefresh);
+	}
+
+	private void setMeasureFocus(boolean measure) {
+		if (measure) {
+			focusMetric.clearHistory();
+			focusMetric.addListener(focusListener);
+		} else {
+			focusMetric.removeListener(focusListener);
+		}
+	}
+
+	private void focusMeasured(FocusMetric.Sample sample) {
+		updateScheduler.post(focusTrend, () -> {
+			if (!focusTrend.isDisposed()) {
+				focusTrend.redraw();
+			}
+		});
+	}
+
+	/**
+	 * Redraw the drift chart
+	 *
+	 * @param micronsPerPixelX
+	 *            size of a frame pixel across on the sample
+	 * @param micronsPerPixelY
+	 *            size of a frame pixel down on the sample
+	 * @param drift
+	 *            the latest drift as text
+	 */
+	public void updateDriftTrend(double micronsPerPixelX, double micronsPerPixelY, String drift) {
+		driftTrend.setScale(micronsPerPixelX, micronsPerPixelY);
+		driftTrend.setToolTipText(drift);
+	}
+
+	private void exportRecording() {
+		final FileDialog dialog = new FileDialog(getShell(), SWT.SAVE);
+		dialog.setText("Export recorded frames");
+		dialog.setFilterExtensions(new String[] { "*.nxs", "*.png" });
+		dialog.setFilterNames(new String[] { "NeXus file (*.nxs)", "PNG file for each frame (*.png)" });
+		dialog.setOverwrite(true);
+		final String path = dialog.open();
+		if (path == null) {
+			return;
+		}
+		final int to = scaleReplay.getSelection() + 1;
+		if (dialog.getFilterIndex() == 1) {
+			mJPegViewInitialiser.exportRecording(0, to, new File(path).getParentFile());
+		} else {
+			mJPegViewInitialiser.exportRecordingToNexus(0, to, new File(path));
+		}
+	}
+
+	private void showLiveSinogramDialog() {
+		new LiveSinogramDialog(getShell(), liveSinogram).open();
+	}
+
 	private Image createImage(final String imageLocation) {
 		final ImageDescriptor desc = TomoClientActivator.getImageDescriptor(imageLocation);
 		if (desc == null) {
@@ -244,11 +580,34 @@ public class DataCollectionMJPEGViewComposite extends Composite {
 		if (!(adController instanceof DataCollectionADControllerImpl)) {
 			throw new IllegalArgumentException("ADController must be of type DataCollectionADControllerImpl");
 		}
-		DataCollectionADControllerImpl adControllerImpl = (DataCollectionADControllerImpl) adController;
+		adControllerImpl = (DataCollectionADControllerImpl) adController;
 		mJPegViewInitialiser = new DataCollectionMJPegViewInitialiser(adControllerImpl, mJPeg, mjPegView, this);
-		lensComposite.setEnumPositioner(adControllerImpl.getLensEnum());
-		binningXComposite.setEnumPositioner(adControllerImpl.getBinningXEnum());
-		binningYComposite.setEnumPositioner(adControllerImpl.getBinningYEnum());
+		final PositionCache positionCache = adControllerImpl.getPositionCache();
+		lensComposite.setEnumPositioner(adControllerImpl.getLensEnum(), positionCache);
+		binningXComposite.setEnumPositioner(adControllerImpl.getBinningXEnum(), positionCache);
+		binningYComposite.setEnumPositioner(adControllerImpl.getBinningYEnum(), positionCache);
+
+		framePipeline.addListener(adControllerImpl.getLiveStatistics());
+		framePipeline.addListener(adControllerImpl.getRoiStatistics());
+		liveSinogram = adControllerImpl.getLiveSinogram();
+		framePipeline.addListener(liveSinogram);
+		framePipeline.addListener(adControllerImpl.getFrameRecorder());
+		focusMetric = adControllerImpl.getFocusMetric();
+		framePipeline.addListener(focusMetric);
+		focusTrend.setMetric(focusMetric);
+		btnMeasureFocus.setEnabled(true);
+		btnAutoFocus.setEnabled(adControllerImpl.getFocusScannable() != null);
+		framePipeline.addListener(adControllerImpl.getDriftTracker());
+		driftTrend.setTracker(adControllerImpl.getDriftTracker());
+		btnTrackDrift.setEnabled(true);
+		btnRecentre.setEnabled(adControllerImpl.getSampleCentringXMotor() != null
+				&& adControllerImpl.getSampleCentringYMotor() != null);
+		btnLiveSinogram.setEnabled(true);
+
+		if (adControllerImpl.getPvaImagePv() != null) {
+			pvaSource = adControllerImpl.createPvaImageSource(framePipeline, frameWorkers);
+			grpImageSource.setVisible(true);
+		}
 
 		if (adControllerImpl.getSampleCentringXMotor() == null) {
 			grpDrag.setVisible(false);
@@ -261,6 +620,10 @@ public class DataCollectionMJPEGViewComposite extends Composite {
 		return mJPeg;
 	}
 
+	public FramePipeline getFramePipeline() {
+		return framePipeline;
+	}
+
 	public void updateStatus(final String status) {
 		statusField.setText(status);
 		statusField.getParent().layout();
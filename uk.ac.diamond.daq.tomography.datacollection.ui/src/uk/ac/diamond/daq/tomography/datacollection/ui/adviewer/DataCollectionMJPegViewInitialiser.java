@@ -18,12 +18,26 @@
 
 package uk.ac.diamond.daq.tomography.datacollection.ui.adviewer;
 
-import org.apache.commons.math.linear.MatrixUtils;
-import org.apache.commons.math.linear.RealVector;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.dawnsci.plotting.api.jreality.tool.IImagePositionEvent;
 import org.eclipse.dawnsci.plotting.api.jreality.tool.ImagePositionListener;
 import org.eclipse.draw2d.Figure;
-import org.eclipse.draw2d.ImageFigure;
 import org.eclipse.draw2d.geometry.Dimension;
 import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.geometry.Rectangle;
@@ -32,9 +46,7 @@ import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.events.SelectionListener;
 import org.eclipse.swt.graphics.Cursor;
-import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.ImageData;
-import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Menu;
 import org.eclipse.swt.widgets.MenuItem;
@@ -43,16 +55,32 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import gda.device.DeviceException;
-import gda.device.Scannable;
+import gda.device.EnumPositioner;
 import gda.device.displayscaleprovider.DisplayScaleProvider;
-import gda.device.scannable.ScannableUtils;
 import gda.observable.IObserver;
+import uk.ac.diamond.daq.tomography.datacollection.ui.analysis.DriftTracker;
+import uk.ac.diamond.daq.tomography.datacollection.ui.analysis.LiveNormalisation;
+import uk.ac.diamond.daq.tomography.datacollection.ui.analysis.RoiStatistics;
+import uk.ac.diamond.daq.tomography.datacollection.ui.analysis.RoiValues;
+import uk.ac.diamond.daq.tomography.datacollection.ui.analysis.RotationAxisEstimate;
+import uk.ac.diamond.daq.tomography.datacollection.ui.analysis.RotationAxisFinder;
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.Frame;
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.FrameListener;
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.FramePipeline;
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.FrameRecorder;
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.NexusFrameExport;
+import uk.ac.diamond.daq.tomography.datacollection.ui.motion.AutoFocus;
+import uk.ac.diamond.daq.tomography.datacollection.ui.motion.MotionCoalescer;
 import uk.ac.gda.epics.adviewer.composites.MJPeg;
 import uk.ac.gda.epics.adviewer.composites.imageviewer.NewImageListener;
 import uk.ac.gda.epics.adviewer.views.MJPegView;
 
 public class DataCollectionMJPegViewInitialiser implements NewImageListener  {
 	private static final Logger logger = LoggerFactory.getLogger(DataCollectionMJPegViewInitialiser.class);
+	/** Minimum time between two moves of each sample centring motor */
+	private static final long CENTRING_MOVE_INTERVAL_MS = 200;
+	/** Correlation peaks lower than this are hardly above those of unrelated images */
+	private static final double MIN_AUTO_CENTRE_CONFIDENCE = 0.05;
 	private DataCollectionADControllerImpl adControllerImpl;
 	private boolean changeRotationAxisX;
 	private boolean changeImageMarker;
@@ -68,6 +96,10 @@ public class DataCollectionMJPegViewInitialiser implements NewImageListener  {
 	private Action imageCenterAction;
 	private Action showImageMarkerAction;
 */	private DataCollectionMJPEGViewComposite mjpegViewComposite;
+	private final FramePipeline framePipeline;
+	private final FrameListener frameDisplayedListener = this::frameDisplayed;
+	private final DragOverlayRenderer dragOverlay;
+	private Frame lastFrame;
 
 	public DataCollectionMJPegViewInitialiser(DataCollectionADControllerImpl adController, MJPeg mJPeg, MJPegView mjPegView, DataCollectionMJPEGViewComposite mjpegViewComposite) {
 		super();
@@ -75,6 +107,24 @@ public class DataCollectionMJPegViewInitialiser implements NewImageListener  {
 		this.mJPeg = mJPeg;
 		// this.mjPegView = mjPegView;
 		this.mjpegViewComposite = mjpegViewComposite;
+		this.framePipeline = mjpegViewComposite.getFramePipeline();
+		framePipeline.addUIListener(frameDisplayedListener);
+		dragOverlay = new DragOverlayRenderer(mJPeg.getCanvas());
+		centringExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "sample-centring-moves");
+			thread.setDaemon(true);
+			return thread;
+		});
+		centringXMotion = new MotionCoalescer(adController.getSampleCentringXMotor(), centringExecutor, CENTRING_MOVE_INTERVAL_MS);
+		centringYMotion = new MotionCoalescer(adController.getSampleCentringYMotor(), centringExecutor, CENTRING_MOVE_INTERVAL_MS);
+		for (EnumPositioner positioner : geometryPositioners()) {
+			positioner.addIObserver(geometryObserver);
+		}
+		roiStatistics = adController.getRoiStatistics();
+		roiStatistics.addListener(roiListener);
+		framePipeline.addListener(normalisation);
+		driftTracker = adController.getDriftTracker();
+		driftTracker.addListener(driftListener);
 
 		Menu rightClickMenu = new Menu(mJPeg.getCanvas());
 		MenuItem setRotationAxisX = new MenuItem(rightClickMenu, SWT.PUSH);
@@ -113,6 +163,38 @@ public class DataCollectionMJPegViewInitialiser implements NewImageListener  {
 			}
 		});
 */
+		MenuItem addRoi = new MenuItem(rightClickMenu, SWT.PUSH);
+		addRoi.setText("Add region of interest");
+		addRoi.addSelectionListener(SelectionListener.widgetSelectedAdapter(event -> handleDragROIBtn()));
+
+		MenuItem clearRois = new MenuItem(rightClickMenu, SWT.PUSH);
+		clearRois.setText("Remove regions of interest");
+		clearRois.addSelectionListener(SelectionListener.widgetSelectedAdapter(event -> clearRois()));
+
+		new MenuItem(rightClickMenu, SWT.SEPARATOR);
+		MenuItem autoCentre0 = new MenuItem(rightClickMenu, SWT.PUSH);
+		autoCentre0.setText("Auto-centre: use this frame as the 0\u00B0 projection");
+		autoCentre0.addSelectionListener(SelectionListener.widgetSelectedAdapter(event -> handleAutoCentre0()));
+
+		MenuItem autoCentre180 = new MenuItem(rightClickMenu, SWT.PUSH);
+		autoCentre180.setText("Auto-centre: use this frame as the 180\u00B0 projection and find the rotation axis");
+		autoCentre180.addSelectionListener(SelectionListener.widgetSelectedAdapter(event -> handleAutoCentre180()));
+
+		new MenuItem(rightClickMenu, SWT.SEPARATOR);
+		MenuItem showTimings = new MenuItem(rightClickMenu, SWT.CHECK);
+		showTimings.setText("Show frame latency");
+		showTimings.addSelectionListener(SelectionListener.widgetSelectedAdapter(
+				event -> mjpegViewComposite.setShowFrameTimings(showTimings.getSelection())));
+
+		MenuItem logTimings = new MenuItem(rightClickMenu, SWT.PUSH);
+		logTimings.setText("Log frame timings");
+		logTimings.addSelectionListener(SelectionListener.widgetSelectedAdapter(event -> logFrameTimings()));
+
+		MenuItem resetTimings = new MenuItem(rightClickMenu, SWT.PUSH);
+		resetTimings.setText("Reset frame timings");
+		resetTimings.addSelectionListener(SelectionListener.widgetSelectedAdapter(
+				event -> framePipeline.getTimings().reset()));
+
 		mJPeg.getCanvas().setMenu(rightClickMenu);
 		mJPeg.addNewImageListener(this);
 		mJPeg.addImagePositionListener(new ImagePositionListener() {
@@ -134,15 +216,7 @@ public class DataCollectionMJPegViewInitialiser implements NewImageListener  {
 					if (changeCentre) {
 						try {
 							final int[] clickCoordinates = event.getImagePosition();
-							final RealVector actualClickPoint = createVectorOf(clickCoordinates[0], clickCoordinates[1]);
-							ImageData imageData = DataCollectionMJPegViewInitialiser.this.mJPeg.getImageData();
-							final RealVector imageDataSize = createVectorOf(imageData.width, imageData.height);
-							final RealVector imageSize = createVectorOf((adControllerImpl).getFfmpegImageInWidth(), adControllerImpl.getFfmpegImageInHeight());
-
-							final RealVector clickPointInImage = actualClickPoint.ebeMultiply(imageSize).ebeDivide(imageDataSize);
-
-							// The image is reflected so we need to subtract from width
-							adControllerImpl.getRotationAxisXScannable().asynchronousMoveTo(imageSize.getEntry(0) - clickPointInImage.getEntry(0));
+							adControllerImpl.getRotationAxisXScannable().asynchronousMoveTo(getGeometry().toImageX(clickCoordinates[0]));
 						} catch (Exception e) {
 							MJPegView.reportErrorToUserAndLog("Error setting rotationAxis", e);
 						}
@@ -161,19 +235,9 @@ public class DataCollectionMJPegViewInitialiser implements NewImageListener  {
 					if (changeCentre) {
 						try {
 							final int[] clickCoordinates = event.getImagePosition();
-							final RealVector actualClickPoint = createVectorOf(clickCoordinates[0], clickCoordinates[1]);
-							ImageData imageData = DataCollectionMJPegViewInitialiser.this.mJPeg.getImageData();
-							final RealVector imageDataSize = createVectorOf(imageData.width, imageData.height);
-							final RealVector imageSize = createVectorOf(adControllerImpl.getFfmpegImageInWidth(), adControllerImpl.getFfmpegImageInHeight());
-
-							final RealVector clickPointInImage = actualClickPoint.ebeMultiply(imageSize).ebeDivide(imageDataSize);
-
-							// The image is reflected so we need to subtract from width
-							// we also want height from the bottom up so subtract from height
-							adControllerImpl.getCameraXYScannable()
-									.asynchronousMoveTo(
-											new double[] { imageSize.getEntry(0) - clickPointInImage.getEntry(0),
-													imageSize.getEntry(1) - clickPointInImage.getEntry(1) });
+							final ImageGeometry geometry = getGeometry();
+							adControllerImpl.getCameraXYScannable().asynchronousMoveTo(
+									new double[] { geometry.toImageX(clickCoordinates[0]), geometry.toImageY(clickCoordinates[1]) });
 						} catch (Exception e) {
 							MJPegView.reportErrorToUserAndLog("Error setting beam centre marker", e);
 						}
@@ -184,36 +248,16 @@ public class DataCollectionMJPegViewInitialiser implements NewImageListener  {
 				} else if (vertMoveOnClickEnabled || horzMoveOnClickEnabled) {
 					try {
 						final int[] clickCoordinates = event.getImagePosition();
-						final RealVector actualClickPoint = createVectorOf(clickCoordinates[0], clickCoordinates[1]);
-						ImageData imageData = DataCollectionMJPegViewInitialiser.this.mJPeg.getImageData();
-						final RealVector imageDataSize = createVectorOf(imageData.width, imageData.height);
-						final RealVector imageSize = createVectorOf(adControllerImpl.getFfmpegImageInWidth(), adControllerImpl.getFfmpegImageInHeight());
-
-						RealVector clickPointInImage = actualClickPoint.ebeMultiply(imageSize).ebeDivide(imageDataSize);
-
-						// correct for left right reflection
-						// beam Centre is measure from bottom whilst clickPoint is from top
-						final RealVector clickPointInImageCorrected = imageSize.subtract(clickPointInImage);
-						double beamCenterX = ScannableUtils.getCurrentPositionArray(adControllerImpl.getRotationAxisXScannable())[0];
-/*						double beamCenterY = ScannableUtils.getCurrentPositionArray(adControllerImpl
-								.getCameraXYScannable())[1];
-						beamCenterX = adControllerImpl.getFfmpegImageInWidth()/2;
-*/						final RealVector beamCenterV = createVectorOf(beamCenterX, imageSize.getEntry(1)/2);
-						final RealVector pixelOffset = beamCenterV.subtract(clickPointInImageCorrected);
-
-						DisplayScaleProvider scale = adControllerImpl.getCameraScaleProvider();
+						final ImageGeometry geometry = getGeometry();
 
 						if (vertMoveOnClickEnabled) {
-							double moveInY = pixelOffset.getEntry(1) / (scale.getPixelsPerMMInY() / 1000.);
-
-							Scannable sampleCentringYMotor = adControllerImpl.getSampleCentringYMotor();
-							sampleCentringYMotor.asynchronousMoveTo(ScannableUtils.getCurrentPositionArray(sampleCentringYMotor)[0] + moveInY);
+							double moveInY = geometry.toCentringMoveY(clickCoordinates[1]);
+							centringMotion(false).moveBy(moveInY);
 						}
 						if (horzMoveOnClickEnabled) {
-							double moveInX = -pixelOffset.getEntry(0) / (scale.getPixelsPerMMInX() / 1000.);
-
-							Scannable sampleCentringXMotor = adControllerImpl.getSampleCentringXMotor();
-							sampleCentringXMotor.asynchronousMoveTo(ScannableUtils.getCurrentPositionArray(sampleCentringXMotor)[0] + moveInX);
+							double beamCenterX = adControllerImpl.getPositionCache().getPositionArray(adControllerImpl.getRotationAxisXScannable())[0];
+							double moveInX = geometry.toCentringMoveX(clickCoordinates[0], beamCenterX);
+							centringMotion(true).moveBy(moveInX);
 						}
 					} catch (Exception e) {
 						MJPegView.reportErrorToUserAndLog("Error processing imageFinished", e);
@@ -498,26 +542,60 @@ public class DataCollectionMJPegViewInitialiser implements NewImageListener  {
 	// private static int widthOffAxisHalf = widthOffAxis / 2;
 	private IObserver rotationAxisObserver;
 	private IObserver cameraXYObserver;
+	private final IObserver geometryObserver = (source, arg) -> invalidateGeometry();
+	private final ScheduledExecutorService centringExecutor;
+	private final MotionCoalescer centringXMotion;
+	private final MotionCoalescer centringYMotion;
+	private boolean liveDragEnabled;
+	private int liveDragSent;
+	private volatile ImageGeometry geometry;
 	// private Action moveOnClickAction;
 	private int lastImageHeight;
 	private int lastImageWidth;
 	private AxisDragFigure axisDragFigure;
 	private ROIDragFigure roiDragFigure;
+	private final List<ROIDragFigure> roiFigures = new ArrayList<>();
+	private int roiCount;
+	private final RoiStatistics roiStatistics;
+	private final RotationAxisFinder rotationAxisFinder = new RotationAxisFinder(ForkJoinPool.commonPool());
+	private Frame autoCentreFrame0;
+	private final LiveNormalisation normalisation = new LiveNormalisation();
+	private LiveImageFigure normalisedFigure;
+	private LiveImageFigure pvaFigure;
+	private LiveImageFigure replayFigure;
+	private volatile boolean pvaSource;
+	/** Releases the hold on every frame taken while a normalisation reference is captured, or null */
+	private Runnable referenceCaptureHold;
+	private final Consumer<Map<String, RoiValues>> roiListener = this::roiValuesReceived;
+	private org.eclipse.swt.graphics.Rectangle lastRoiRegion;
+	private final DriftTracker driftTracker;
+	private final Consumer<DriftTracker.Sample> driftListener = this::driftMeasured;
+	private boolean autoRecentre;
+	private long lastRecentreMillis;
 	// private Point location;
 	private Dimension roiSize = new Dimension(50, 50);
 	private Point roiStart = new Point(10, 10);
 
-	private ImageFigure getAxisDragFigure(boolean x_axis) {
+	private AxisDragFigure getAxisDragFigure(boolean x_axis) {
 		if (axisDragFigure == null) {
 			axisDragFigure = new AxisDragFigure(x_axis, this, mJPeg.getCanvas());
 			mJPeg.getTopFigure().add(axisDragFigure, new Rectangle(0, 0, -1, -1));
+			// The ghost is drawn from each frame's pyramid, which is then built on the workers
+			framePipeline.setBuildPyramids(true);
 		}
 		return axisDragFigure;
 	}
 
+	private void removeAxisDragFigure() {
+		mJPeg.getTopFigure().remove(axisDragFigure);
+		axisDragFigure.stop();
+		axisDragFigure = null;
+		framePipeline.setBuildPyramids(pvaSource);
+	}
+
 	private Figure getAxisROIFigure() {
 		if (roiDragFigure == null) {
-			roiDragFigure = new ROIDragFigure(this, mJPeg.getCanvas());
+			roiDragFigure = new ROIDragFigure("roi" + ++roiCount, this, mJPeg.getCanvas());
 			roiDragFigure.setSize(roiSize);
 			mJPeg.getTopFigure().add(roiDragFigure, new Rectangle(roiStart.x, roiStart.y, roiSize.width, roiSize.height));
 		}
@@ -616,11 +694,68 @@ public class DataCollectionMJPegViewInitialiser implements NewImageListener  {
 		return imageMarkerFigureY;
 	}
 */
-	private static RealVector createVectorOf(double... data) {
-		return MatrixUtils.createRealVector(data);
+	/**
+	 * @return the geometry for the current frame size and camera scale, created again only if either has changed
+	 */
+	private ImageGeometry getGeometry() throws DeviceException {
+		final int displayWidth;
+		final int displayHeight;
+		if (lastImageWidth > 0) {
+			displayWidth = lastImageWidth;
+			displayHeight = lastImageHeight;
+		} else {
+			final ImageData imageData = mJPeg.getImageData();
+			displayWidth = imageData.width;
+			displayHeight = imageData.height;
+		}
+		ImageGeometry current = geometry;
+		if (current == null || !current.isForDisplaySize(displayWidth, displayHeight)) {
+			// The camera image size and scale only change with the lens or binning, which clear the cached geometry
+			final DisplayScaleProvider scale = adControllerImpl.getCameraScaleProvider();
+			current = new ImageGeometry(displayWidth, displayHeight, adControllerImpl.getFfmpegImageInWidth(),
+					adControllerImpl.getFfmpegImageInHeight(), scale.getPixelsPerMMInX(), scale.getPixelsPerMMInY());
+			geometry = current;
+			logger.debug("Using {}", current);
+		}
+		return current;
+	}
+
+	private void invalidateGeometry() {
+		geometry = null;
+	}
+
+	/**
+	 * @return the configured positioners that change the camera image size or scale
+	 */
+	private List<EnumPositioner> geometryPositioners() {
+		return Stream.of(adControllerImpl.getLensEnum(), adControllerImpl.getBinningXEnum(), adControllerImpl.getBinningYEnum())
+				.filter(Objects::nonNull)
+				.collect(Collectors.toList());
 	}
 
 	protected void dispose() {
+		framePipeline.removeUIListener(frameDisplayedListener);
+		dragOverlay.dispose();
+		centringExecutor.shutdownNow();
+		roiStatistics.removeListener(roiListener);
+		driftTracker.removeListener(driftListener);
+		driftTracker.unlock();
+		framePipeline.removeListener(normalisation);
+		normalisation.setEnabled(false);
+		if (normalisedFigure != null) {
+			normalisedFigure.dispose();
+		}
+		if (pvaFigure != null) {
+			pvaFigure.dispose();
+		}
+		if (replayFigure != null) {
+			replayFigure.dispose();
+			adControllerImpl.getFrameRecorder().setPaused(false);
+		}
+		roiStatistics.clearRois();
+		for (EnumPositioner positioner : geometryPositioners()) {
+			positioner.deleteIObserver(geometryObserver);
+		}
 		if (rotationAxisObserver != null) {
 			adControllerImpl.getRotationAxisXScannable().deleteIObserver(rotationAxisObserver);
 			rotationAxisObserver = null;
@@ -631,6 +766,14 @@ public class DataCollectionMJPegViewInitialiser implements NewImageListener  {
 		}
 	}
 
+	/**
+	 * Write the frame timings since the view was opened or the timings were reset to the client log
+	 */
+	private void logFrameTimings() {
+		logger.info("Camera view frame timings over {}", framePipeline.getTimings().getTotal());
+		mjpegViewComposite.updateStatus("Frame timings written to the client log");
+	}
+
 	public void setVertMoveOnClick(boolean selection) {
 		vertMoveOnClickEnabled = selection;
 	}
@@ -641,64 +784,125 @@ public class DataCollectionMJPegViewInitialiser implements NewImageListener  {
 
 	@Override
 	public void handlerNewImageNotification(ImageData lastImage2) throws Exception {
-		if( lastImageWidth != lastImage2.width || lastImageHeight != lastImage2.height){
+		// Only hand the frame over here; everything done per frame runs in the pipeline
+		if (!pvaSource) {
+			framePipeline.submit(lastImage2);
+		}
+	}
+
+	private void frameDisplayed(Frame frame) {
+		lastFrame = frame;
+		if (referenceCaptureHold != null && !normalisation.isCapturing()) {
+			referenceCaptureHold.run();
+			referenceCaptureHold = null;
+			mjpegViewComposite.updateStatus(normalisation.hasReferences() ? "Dark and flat references captured" : "Reference captured");
+		}
+		// Frames processed before the pipeline was told to build pyramids are skipped, not reduced here
+		if (pvaFigure != null && frame.getBuiltPyramid() != null) {
+			pvaFigure.showFrom(frame.getBuiltPyramid(), frame.getWidth(), frame.getHeight());
+		}
+		if (normalisedFigure != null) {
+			final ImageData normalised = normalisation.takeLatest();
+			if (normalised != null) {
+				normalisedFigure.show(normalised);
+				normalisation.release(normalised);
+			}
+		}
+		if (axisDragFigure != null) {
+			// Keep the ghost live while dragging
+			updateAxisDragGhost(axisDragFigure);
+		}
+		if( lastImageWidth != frame.getWidth() || lastImageHeight != frame.getHeight()){
 /*			showRotationAxisFromNonUIThread(rotationAxisAction);
 			showImageMarkerFromNonUIThread(showImageMarkerAction);
 *///			showImageCenterFromNonUIThread(imageCenterAction);
-			lastImageWidth = lastImage2.width;
-			lastImageHeight = lastImage2.height;
+			lastImageWidth = frame.getWidth();
+			lastImageHeight = frame.getHeight();
+			invalidateGeometry();
 		}
 	}
 
 	public void handleDragAxisBtn(boolean x_axis) {
-		ImageFigure fig = getAxisDragFigure(x_axis);
-		ImageData imageData = mJPeg.getImageData();
-		Control canvas = mJPeg.getCanvas();
-		if (imageData != null && !canvas.isDisposed()) {
-			// clone to allow modification of alpha
-			ImageData clone = (ImageData) imageData.clone();
-			clone.alpha = 0x80;
-			Image image = new Image(canvas.getDisplay(), clone);
-			fig.setImage(image);
-		} else {
-			fig.setImage(null);
-		}
+		updateAxisDragGhost(getAxisDragFigure(x_axis));
 		final Cursor cursorWait = new Cursor(Display.getDefault(), SWT.CURSOR_HAND);
 		Display.getDefault().getActiveShell().setCursor(cursorWait);
 	}
 
+	private void updateAxisDragGhost(AxisDragFigure fig) {
+		// A frame shown before the drag started may not have a pyramid, and the ghost then waits for the next frame
+		final ImageData displayImage = lastFrame != null ? lastFrame.getDisplayImage() : null;
+		if (displayImage == null || mJPeg.getCanvas().isDisposed()) {
+			fig.setGhost(null, new Dimension());
+			return;
+		}
+		// Drawn at display resolution and stretched to the frame size when painted
+		final boolean refreshed = dragOverlay.update(displayImage);
+		fig.setGhost(dragOverlay, new Dimension(lastFrame.getWidth(), lastFrame.getHeight()));
+		if (refreshed) {
+			fig.repaint();
+		}
+	}
+
 	public void handleAxisDrag(boolean x_axis, int x) {
 		Display.getDefault().getActiveShell().setCursor(null);
-		mJPeg.getTopFigure().remove(axisDragFigure);
-		axisDragFigure.stop();
-
-		axisDragFigure = null;
+		removeAxisDragFigure();
 		mjpegViewComposite.updateStatus("");
 		Display.getDefault().getActiveShell().setCursor(null);
-		DisplayScaleProvider scale = adControllerImpl.getCameraScaleProvider();
 
-		double move;
+		// With live drag most of the distance has already been sent
+		final int remaining = x - liveDragSent;
+		liveDragSent = 0;
+		moveCentringBy(x_axis, remaining);
+	}
+
+	/**
+	 * Called as the axis drag figure moves. With live drag enabled the sample follows the drag.
+	 *
+	 * @param x_axis
+	 *            true if dragging in x
+	 * @param x
+	 *            the distance dragged so far in pixels of the displayed frame
+	 */
+	public void handleAxisDragging(boolean x_axis, int x) {
+		if (liveDragEnabled) {
+			moveCentringBy(x_axis, x - liveDragSent);
+			liveDragSent = x;
+		}
+	}
+
+	private void moveCentringBy(boolean x_axis, int pixels) {
+		if (pixels == 0) {
+			return;
+		}
 		try {
-			// in y move by -1 * move
-			move = x / ((x_axis ? scale.getPixelsPerMMInX() : -scale.getPixelsPerMMInY()) / 1000.);
-			Scannable sampleCentringMotor = x_axis ? adControllerImpl.getSampleCentringXMotor() : adControllerImpl.getSampleCentringYMotor();
-			sampleCentringMotor.asynchronousMoveTo(ScannableUtils.getCurrentPositionArray(sampleCentringMotor)[0] + move);
+			final ImageGeometry geometry = getGeometry();
+			final double move = x_axis ? geometry.dragToCentringMoveX(pixels) : geometry.dragToCentringMoveY(pixels);
+			centringMotion(x_axis).moveBy(move);
 		} catch (DeviceException e) {
 			logger.error("Error moving axis", e);
 		}
+	}
 
+	private MotionCoalescer centringMotion(boolean x_axis) {
+		return x_axis ? centringXMotion : centringYMotion;
 	}
 
-	public void handleAxisDragCancel(@SuppressWarnings("unused") boolean x_axis) {
-		mJPeg.getTopFigure().remove(axisDragFigure);
-		axisDragFigure.stop();
-		axisDragFigure = null;
+	public void setLiveDrag(boolean selection) {
+		liveDragEnabled = selection;
+	}
+
+	public void handleAxisDragCancel(boolean x_axis) {
+		// Moves already sent during a live drag are kept
+		centringMotion(x_axis).cancelPending();
+		liveDragSent = 0;
+		removeAxisDragFigure();
 		mjpegViewComposite.updateStatus("");
 		Display.getDefault().getActiveShell().setCursor(null);
 	}
 
 	public void handleDragROIBtn() {
 		getAxisROIFigure();
+		mjpegViewComposite.updateStatus("Drag the region to measure - Enter to keep, ESC to cancel.");
 		final Cursor cursorWait = new Cursor(Display.getDefault(), SWT.CURSOR_HAND);
 		Display.getDefault().getActiveShell().setCursor(cursorWait);
 	}
@@ -713,11 +917,358 @@ public class DataCollectionMJPegViewInitialiser implements NewImageListener  {
 
 	public void handleROIDrag() {
 		Display.getDefault().getActiveShell().setCursor(null);
-		mJPeg.getTopFigure().remove(roiDragFigure);
+		// Keep the region on the image and measure it on every frame
 		roiDragFigure.stop();
+		roiStatistics.setRoi(roiDragFigure.getName(), getRoiRegion(roiDragFigure));
+		// Focus on, and track drift of, the region last marked
+		lastRoiRegion = getRoiRegion(roiDragFigure);
+		adControllerImpl.getFocusMetric().setRegion(lastRoiRegion);
+		roiFigures.add(roiDragFigure);
 
 		roiDragFigure = null;
 		mjpegViewComposite.updateStatus("");
 		Display.getDefault().getActiveShell().setCursor(null);
 	}
+
+	/**
+	 * Show the statistics of a region as it is dragged, measured on the last frame
+	 */
+	public void handleROIMoved(ROIDragFigure figure) {
+		final RoiValues values = roiStatistics.measure(figure.getName(), getRoiRegion(figure));
+		mjpegViewComposite.updateStatus(values != null ? values.toString() : "");
+	}
+
+	private org.eclipse.swt.graphics.Rectangle getRoiRegion(ROIDragFigure figure) {
+		final Rectangle constraint = (Rectangle) mJPeg.getTopFigure().getLayoutManager().getConstraint(figure);
+		return new org.eclipse.swt.graphics.Rectangle(constraint.x, constraint.y, constraint.width, constraint.height);
+	}
+
+	private void roiValuesReceived(Map<String, RoiValues> values) {
+		if (values.isEmpty()) {
+			return;
+		}
+		final String status = values.values().stream().map(RoiValues::toString).collect(Collectors.joining("   "));
+		DisplayUpdateScheduler.forDisplay(mJPeg.getDisplay()).post(roiListener, () -> {
+			// Leave the instructions alone while something is being dragged
+			if (axisDragFigure == null && roiDragFigure == null && !mjpegViewComposite.isDisposed()) {
+				mjpegViewComposite.updateStatus(status);
+			}
+		});
+	}
+
+	private void handleAutoCentre0() {
+		autoCentreFrame0 = lastFrame;
+		mjpegViewComposite.updateStatus(lastFrame != null
+				? "Rotate the sample by 180\u00B0 then use the frame as the 180\u00B0 projection"
+				: "No frame received yet");
+	}
+
+	private void handleAutoCentre180() {
+		final Frame at0 = autoCentreFrame0;
+		final Frame at180 = lastFrame;
+		if (at0 == null || at180 == null) {
+			mjpegViewComposite.updateStatus("Choose the 0\u00B0 projection first");
+			return;
+		}
+		if (at0.getWidth() != at180.getWidth() || at0.getHeight() != at180.getHeight()) {
+			mjpegViewComposite.updateStatus("The frame size has changed since the 0\u00B0 projection was chosen");
+			return;
+		}
+		final Job job = new Job("Finding rotation axis") {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				final RotationAxisEstimate estimate = rotationAxisFinder.find(at0.getLuminance(), at180.getLuminance(),
+						at0.getWidth(), at0.getHeight());
+				logger.info("Auto-centring found {}", estimate);
+				mJPeg.getDisplay().asyncExec(() -> proposeRotationAxis(estimate));
+				return Status.OK_STATUS;
+			}
+		};
+		job.schedule();
+	}
+
+	private void proposeRotationAxis(RotationAxisEstimate estimate) {
+		try {
+			final double rotationAxisX = getGeometry().toImageX(estimate.getAxisX());
+			final String warning = estimate.getConfidence() < MIN_AUTO_CENTRE_CONFIDENCE
+					? "\n\nThe projections do not match well; check the sample was rotated by 180\u00B0." : "";
+			final boolean move = MessageDialog.openQuestion(PlatformUI.getWorkbench().getDisplay().getActiveShell(),
+					"Auto-centre",
+					String.format("The rotation axis is at %.1f (confidence %.2f).%s%n%nMove the rotation axis marker there?",
+							rotationAxisX, estimate.getConfidence(), warning));
+			if (move) {
+				adControllerImpl.getRotationAxisXScannable().asynchronousMoveTo(rotationAxisX);
+			}
+		} catch (Exception e) {
+			MJPegView.reportErrorToUserAndLog("Error setting rotation axis", e);
+		}
+	}
+
+	/**
+	 * Average the next few frames into a dark or flat reference for live normalisation
+	 */
+	public void captureNormalisationReference(LiveNormalisation.Reference reference) {
+		normalisation.capture(reference);
+		// Every frame is wanted for the average, however little the scene changes
+		if (referenceCaptureHold == null) {
+			referenceCaptureHold = framePipeline.holdEveryFrame();
+		}
+		mjpegViewComposite.updateStatus("Capturing " + reference.name().toLowerCase() + " reference...");
+	}
+
+	/**
+	 * Show the live frames normalised by the dark and flat references in place of the camera image
+	 */
+	public void setShowNormalised(boolean show) {
+		normalisation.setEnabled(show);
+		if (show && normalisedFigure == null) {
+			normalisedFigure = new LiveImageFigure(mJPeg.getDisplay());
+			// Under the markers but over the frames from the PVA plugin
+			mJPeg.getTopFigure().add(normalisedFigure, new Rectangle(0, 0, -1, -1), pvaFigure == null ? 0 : 1);
+			if (!normalisation.hasReferences()) {
+				mjpegViewComposite.updateStatus("Capture dark and flat references to see the normalised image");
+			}
+		} else if (!show && normalisedFigure != null) {
+			mJPeg.getTopFigure().remove(normalisedFigure);
+			normalisedFigure.dispose();
+			normalisedFigure = null;
+		}
+	}
+
+	/**
+	 * Pause the frame recorder to look back through the frames it holds, or carry on recording. While paused the
+	 * chosen recorded frame is shown in place of the camera image.
+	 *
+	 * @return the number of frames held
+	 */
+	public int setReplaying(boolean replaying) {
+		final FrameRecorder recorder = adControllerImpl.getFrameRecorder();
+		recorder.setPaused(replaying);
+		if (replaying && replayFigure == null) {
+			replayFigure = new LiveImageFigure(mJPeg.getDisplay());
+			// Over any other live image but under the markers
+			final int liveFigures = (pvaFigure == null ? 0 : 1) + (normalisedFigure == null ? 0 : 1);
+			mJPeg.getTopFigure().add(replayFigure, new Rectangle(0, 0, -1, -1), liveFigures);
+		} else if (!replaying && replayFigure != null) {
+			mJPeg.getTopFigure().remove(replayFigure);
+			replayFigure.dispose();
+			replayFigure = null;
+			mjpegViewComposite.updateStatus("");
+		}
+		return recorder.getFrameCount();
+	}
+
+	/**
+	 * Show a frame from the recorder, which must be paused
+	 *
+	 * @param index
+	 *            0 for the oldest frame held
+	 */
+	public void showRecordedFrame(int index) {
+		final FrameRecorder recorder = adControllerImpl.getFrameRecorder();
+		if (replayFigure == null || index >= recorder.getFrameCount()) {
+			return;
+		}
+		final ImageData recorded = recorder.getFrame(index);
+		final int width = lastImageWidth > 0 ? lastImageWidth : recorded.width;
+		final int height = lastImageHeight > 0 ? lastImageHeight : recorded.height;
+		replayFigure.show(recorded, width, height);
+		final long age = System.currentTimeMillis() - recorder.getTimestamp(index);
+		mjpegViewComposite.updateStatus(String.format("Recorded frame %d of %d, %.1f s ago", index + 1,
+				recorder.getFrameCount(), age / 1000.0));
+	}
+
+	/**
+	 * Write the recorded frames to PNG files in the background
+	 */
+	public void exportRecording(int from, int to, File directory) {
+		final FrameRecorder recorder = adControllerImpl.getFrameRecorder();
+		final Job job = new Job("Exporting recorded frames") {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					final int written = recorder.export(from, to, directory);
+					logger.info("Exported {} recorded frames to {}", written, directory);
+					mJPeg.getDisplay().asyncExec(() -> mjpegViewComposite.updateStatus(
+							String.format("Exported %d frames to %s", written, directory)));
+				} catch (IOException e) {
+					mJPeg.getDisplay().asyncExec(() -> MJPegView.reportErrorToUserAndLog("Error exporting recorded frames", e));
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		job.schedule();
+	}
+
+	/**
+	 * Write the recorded frames to a NeXus file in the background, with the motor positions and regions of interest
+	 */
+	public void exportRecordingToNexus(int from, int to, File file) {
+		final FrameRecorder recorder = adControllerImpl.getFrameRecorder();
+		final NexusFrameExport export = new NexusFrameExport(file, adControllerImpl.getRecorderExportDeflateLevel());
+		export.setPositions(adControllerImpl.getCachedPositions());
+		export.setRegions(roiStatistics.getRois(), lastImageWidth);
+		final Job job = new Job("Exporting recorded frames to " + file.getName()) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					final int written = export.write(recorder, from, to);
+					logger.info("Exported {} recorded frames to {}", written, file);
+					mJPeg.getDisplay().asyncExec(() -> mjpegViewComposite.updateStatus(
+							String.format("Exported %d frames to %s", written, file)));
+				} catch (IOException e) {
+					mJPeg.getDisplay().asyncExec(() -> MJPegView.reportErrorToUserAndLog("Error exporting recorded frames", e));
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		job.schedule();
+	}
+
+	/**
+	 * Show the frames the pipeline receives from the areaDetector PVA plugin in place of the MJPEG stream, which is
+	 * then no longer passed to the pipeline.
+	 * <p>
+	 * PVA frames are shown at the full size of the detector, so the MJPEG frames are usually a different size. Click
+	 * positions, regions and drags are in pixels of the frame shown, so the frame size is forgotten until a frame
+	 * from the new source arrives. The regions, the drift lock and the first projection chosen for auto-centring are
+	 * in pixels of the old source, so they are dropped.
+	 */
+	public void setPvaSource(boolean active) {
+		if (active == pvaSource) {
+			return;
+		}
+		pvaSource = active;
+		framePipeline.setBuildPyramids(active || axisDragFigure != null);
+		lastFrame = null;
+		lastImageWidth = 0;
+		lastImageHeight = 0;
+		invalidateGeometry();
+		autoCentreFrame0 = null;
+		driftTracker.unlock();
+		clearRois();
+		if (active && pvaFigure == null) {
+			pvaFigure = new LiveImageFigure(mJPeg.getDisplay());
+			mJPeg.getTopFigure().add(pvaFigure, new Rectangle(0, 0, -1, -1), 0);
+		} else if (!active && pvaFigure != null) {
+			mJPeg.getTopFigure().remove(pvaFigure);
+			pvaFigure.dispose();
+			pvaFigure = null;
+		}
+	}
+
+	/**
+	 * Step the focus scannable through a range around its position and leave it at the sharpest image, in the
+	 * background. Frames are not skipped as unchanged meanwhile.
+	 *
+	 * @param finished
+	 *            called on the UI thread once done
+	 */
+	public void autoFocus(Runnable finished) {
+		final AutoFocus autoFocus = new AutoFocus(adControllerImpl.getFocusScannable(),
+				adControllerImpl.getFocusMetric(), adControllerImpl.getAutoFocusRange(),
+				adControllerImpl.getAutoFocusSteps());
+		mjpegViewComposite.updateStatus("Focusing...");
+		final Runnable everyFrameHold = framePipeline.holdEveryFrame();
+		final Job job = new Job("Auto-focus") {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					final AutoFocus.Result result = autoFocus.run(monitor);
+					logger.info("Auto-focus found {}", result);
+					mJPeg.getDisplay().asyncExec(() -> mjpegViewComposite.updateStatus(result.isAtEdge()
+							? String.format("Sharpest at the end of the range, %.4f: run auto-focus again", result.getPosition())
+							: String.format("Focused at %.4f", result.getPosition())));
+					return Status.OK_STATUS;
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					mJPeg.getDisplay().asyncExec(() -> mjpegViewComposite.updateStatus("Auto-focus cancelled"));
+					return Status.CANCEL_STATUS;
+				} catch (DeviceException | RuntimeException e) {
+					mJPeg.getDisplay().asyncExec(() -> MJPegView.reportErrorToUserAndLog("Error focusing", e));
+					return Status.OK_STATUS;
+				} finally {
+					everyFrameHold.run();
+					mJPeg.getDisplay().asyncExec(finished);
+				}
+			}
+		};
+		job.setUser(true);
+		job.schedule();
+	}
+
+	/**
+	 * Start tracking the drift of the feature in the region of interest last marked, or stop tracking
+	 *
+	 * @return false if there is no region to track
+	 */
+	public boolean setTrackDrift(boolean track) {
+		if (!track) {
+			driftTracker.unlock();
+			mjpegViewComposite.updateStatus("");
+			return true;
+		}
+		if (lastRoiRegion == null) {
+			mjpegViewComposite.updateStatus("Mark a region of interest on the feature to track first");
+			return false;
+		}
+		driftTracker.lock(lastRoiRegion);
+		lastRecentreMillis = System.currentTimeMillis();
+		mjpegViewComposite.updateStatus("Tracking drift of the last region of interest");
+		return true;
+	}
+
+	/**
+	 * Move the sample back with the centring motors whenever the drift goes over the threshold
+	 */
+	public void setAutoRecentre(boolean autoRecentre) {
+		this.autoRecentre = autoRecentre;
+	}
+
+	private void driftMeasured(DriftTracker.Sample sample) {
+		DisplayUpdateScheduler.forDisplay(mJPeg.getDisplay()).post(driftListener, () -> driftUpdated(sample));
+	}
+
+	private void driftUpdated(DriftTracker.Sample sample) {
+		if (mjpegViewComposite.isDisposed()) {
+			return;
+		}
+		final ImageGeometry current;
+		try {
+			current = getGeometry();
+		} catch (DeviceException | RuntimeException e) {
+			logger.debug("No camera scale for drift", e);
+			return;
+		}
+		final double driftX = sample.getDriftX() * current.getMicronsPerDisplayPixelX();
+		final double driftY = sample.getDriftY() * current.getMicronsPerDisplayPixelY();
+		mjpegViewComposite.updateDriftTrend(current.getMicronsPerDisplayPixelX(), current.getMicronsPerDisplayPixelY(),
+				sample.isLost() ? "Drift: feature lost"
+						: String.format("Drift: %.1f \u00B5m right, %.1f \u00B5m down (correlation %.2f)", driftX, driftY,
+								sample.getScore()));
+
+		final long now = System.currentTimeMillis();
+		if (!autoRecentre || sample.isLost() || now - lastRecentreMillis < adControllerImpl.getDriftRecentreIntervalMillis()
+				|| Math.hypot(driftX, driftY) <= adControllerImpl.getDriftRecentreThresholdMicrons()) {
+			return;
+		}
+		final double maxMove = adControllerImpl.getDriftRecentreMaxMoveMicrons();
+		final double moveX = Math.max(-maxMove, Math.min(maxMove, current.driftToCentringMoveX(sample.getDriftX())));
+		final double moveY = Math.max(-maxMove, Math.min(maxMove, current.driftToCentringMoveY(sample.getDriftY())));
+		logger.info("Recentring after drift of {}, {} \u00B5m by moving {}, {}", driftX, driftY, moveX, moveY);
+		centringXMotion.moveBy(moveX);
+		centringYMotion.moveBy(moveY);
+		lastRecentreMillis = now;
+	}
+
+	private void clearRois() {
+		for (ROIDragFigure figure : roiFigures) {
+			mJPeg.getTopFigure().remove(figure);
+		}
+		roiFigures.clear();
+		roiStatistics.clearRois();
+		adControllerImpl.getFocusMetric().setRegion(null);
+		lastRoiRegion = null;
+		mjpegViewComposite.updateStatus("");
+	}
 }
@@ -0,0 +1,167 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.adviewer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.eclipse.swt.widgets.Display;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Batches widget updates posted from device observers so a burst of events costs one pass on the UI thread rather
+ * than one runnable each.
+ * <p>
+ * Each update is posted against a key, usually the widget, and replaces any update for that key that has not run yet.
+ * Pending updates are run together at most once per display frame.
+ */
+public final class DisplayUpdateScheduler {
+	private static final Logger logger = LoggerFactory.getLogger(DisplayUpdateScheduler.class);
+
+	/** About one frame at 60 Hz */
+	private static final long FRAME_MILLIS = 16;
+
+	private static final Map<Display, DisplayUpdateScheduler> schedulers = new ConcurrentHashMap<>();
+
+	private final UiThread display;
+	private final LongSupplier clock;
+	private final Map<Object, Runnable> pending = new LinkedHashMap<>();
+	private boolean scheduled;
+	private long lastDrainMillis;
+
+	private DisplayUpdateScheduler(Display display) {
+		this(new DisplayThread(display), System::currentTimeMillis);
+	}
+
+	/**
+	 * @param display
+	 *            where updates are run
+	 * @param clock
+	 *            the time in milliseconds, for tests to control
+	 */
+	DisplayUpdateScheduler(UiThread display, LongSupplier clock) {
+		this.display = display;
+		this.clock = clock;
+	}
+
+	/**
+	 * @return the scheduler shared by all widgets on the display
+	 */
+	public static DisplayUpdateScheduler forDisplay(Display display) {
+		return schedulers.computeIfAbsent(display, d -> {
+			d.asyncExec(() -> d.disposeExec(() -> schedulers.remove(d)));
+			return new DisplayUpdateScheduler(d);
+		});
+	}
+
+	/**
+	 * Run an update on the UI thread in the next batch. May be called from any thread.
+	 *
+	 * @param key
+	 *            identifies what is updated; a later update with the same key replaces this one if it has not run
+	 * @param update
+	 *            the update to run
+	 */
+	public void post(Object key, Runnable update) {
+		synchronized (pending) {
+			pending.put(key, update);
+			if (scheduled) {
+				return;
+			}
+			scheduled = true;
+		}
+		if (!display.isDisposed()) {
+			display.asyncExec(this::scheduleDrain);
+		}
+	}
+
+	/**
+	 * Drop the update for a key if it has not run yet, e.g. when the widget is disposed
+	 */
+	public void cancel(Object key) {
+		synchronized (pending) {
+			pending.remove(key);
+		}
+	}
+
+	private void scheduleDrain() {
+		final long wait = lastDrainMillis + FRAME_MILLIS - clock.getAsLong();
+		if (wait > 0) {
+			display.timerExec((int) wait, this::drain);
+		} else {
+			drain();
+		}
+	}
+
+	private void drain() {
+		final List<Runnable> updates;
+		synchronized (pending) {
+			updates = new ArrayList<>(pending.values());
+			pending.clear();
+			scheduled = false;
+		}
+		lastDrainMillis = clock.getAsLong();
+		for (Runnable update : updates) {
+			try {
+				update.run();
+			} catch (RuntimeException e) {
+				logger.error("Error updating display", e);
+			}
+		}
+	}
+
+	/**
+	 * The parts of a {@link Display} the scheduler uses, so it can be tested without one
+	 */
+	interface UiThread {
+		void asyncExec(Runnable runnable);
+
+		void timerExec(int milliseconds, Runnable runnable);
+
+		boolean isDisposed();
+	}
+
+	private static final class DisplayThread implements UiThread {
+		private final Display display;
+
+		DisplayThread(Display display) {
+			this.display = display;
+		}
+
+		@Override
+		public void asyncExec(Runnable runnable) {
+			display.asyncExec(runnable);
+		}
+
+		@Override
+		public void timerExec(int milliseconds, Runnable runnable) {
+			display.timerExec(milliseconds, runnable);
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return display.isDisposed();
+		}
+	}
+}
@@ -0,0 +1,110 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.adviewer;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.widgets.Control;
+
+/**
+ * Owns the image shown by {@link AxisDragFigure}, made from the display-resolution frame. The renderer keeps one copy
+ * of the frame's pixels, written over in place while the frame size is unchanged, and one native image made from it.
+ * SWT cannot write pixels into an existing native image, so the native image is only remade when the figure paints a
+ * copy it has not painted before. While a drag follows the live frames the copy is refreshed at most once every
+ * refresh interval, so a drag costs at most one native image every interval however fast the camera and the repaints.
+ * Translucency is applied when the figure paints it.
+ */
+class DragOverlayRenderer {
+
+	/** The ghost only has to show roughly where the sample is, so it is refreshed at up to 10 frames a second */
+	private static final long REFRESH_INTERVAL_NANOS = MILLISECONDS.toNanos(100);
+
+	private final Control canvas;
+	private ImageData pixels;
+	/** The frame last copied into pixels, so the same frame is not copied again */
+	private ImageData copied;
+	private long copiedNanos;
+	private boolean painted = true;
+	private Image ghost;
+
+	DragOverlayRenderer(Control canvas) {
+		this.canvas = canvas;
+	}
+
+	/**
+	 * Copy a frame into the overlay, if it is due to be refreshed. Must be called on the UI thread.
+	 *
+	 * @param displayImage
+	 *            the frame, already reduced to display resolution
+	 * @return true if the overlay has changed and should be repainted
+	 */
+	boolean update(ImageData displayImage) {
+		final long now = System.nanoTime();
+		final boolean sameLayout = pixels != null && hasSameLayout(pixels, displayImage);
+		if (sameLayout && (displayImage == copied || now - copiedNanos < REFRESH_INTERVAL_NANOS)) {
+			return false;
+		}
+		if (sameLayout) {
+			System.arraycopy(displayImage.data, 0, pixels.data, 0, displayImage.data.length);
+		} else {
+			pixels = (ImageData) displayImage.clone();
+		}
+		copied = displayImage;
+		copiedNanos = now;
+		painted = false;
+		return true;
+	}
+
+	private static boolean hasSameLayout(ImageData a, ImageData b) {
+		return a.width == b.width && a.height == b.height && a.depth == b.depth && a.bytesPerLine == b.bytesPerLine
+				&& a.palette == b.palette && a.data.length == b.data.length && b.alphaData == null && b.maskData == null;
+	}
+
+	/**
+	 * Get the image to paint. Must be called on the UI thread, when the figure is painted.
+	 *
+	 * @return the overlay image, remade if the copy has changed since it was last painted, or null if no frame has
+	 *         been copied or the canvas has been disposed
+	 */
+	Image getImage() {
+		if (canvas.isDisposed()) {
+			return null;
+		}
+		if (!painted) {
+			painted = true;
+			if (ghost != null) {
+				ghost.dispose();
+			}
+			ghost = new Image(canvas.getDisplay(), pixels);
+		}
+		return ghost;
+	}
+
+	void dispose() {
+		if (ghost != null) {
+			ghost.dispose();
+			ghost = null;
+		}
+		pixels = null;
+		copied = null;
+		painted = true;
+	}
+}
@@ -0,0 +1,102 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.adviewer;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.PaintEvent;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.widgets.Canvas;
+import org.eclipse.swt.widgets.Composite;
+
+import uk.ac.diamond.daq.tomography.datacollection.ui.analysis.DriftTracker;
+
+/**
+ * A strip chart of the drift measured by a {@link DriftTracker} over time, in microns on the sample: horizontal in
+ * blue and vertical in red, on a symmetric scale about zero that grows to fit
+ */
+public class DriftTrendCanvas extends Canvas {
+
+	/** The smallest full scale, so noise does not fill the chart */
+	private static final double MIN_SCALE_MICRONS = 2;
+
+	private DriftTracker tracker;
+	private double micronsPerPixelX = 1;
+	private double micronsPerPixelY = 1;
+
+	public DriftTrendCanvas(Composite parent) {
+		super(parent, SWT.DOUBLE_BUFFERED | SWT.BORDER);
+		setBackground(getDisplay().getSystemColor(SWT.COLOR_WHITE));
+		addPaintListener(this::paint);
+	}
+
+	public void setTracker(DriftTracker tracker) {
+		this.tracker = tracker;
+		redraw();
+	}
+
+	/**
+	 * Set the size of a frame pixel on the sample and redraw
+	 */
+	public void setScale(double micronsPerPixelX, double micronsPerPixelY) {
+		this.micronsPerPixelX = micronsPerPixelX;
+		this.micronsPerPixelY = micronsPerPixelY;
+		redraw();
+	}
+
+	private void paint(PaintEvent event) {
+		if (tracker == null) {
+			return;
+		}
+		final double[][] history = tracker.getHistory();
+		final int count = history[0].length;
+		final Point size = getSize();
+		if (count < 2 || size.x < 2 || size.y < 2) {
+			return;
+		}
+		double extent = MIN_SCALE_MICRONS;
+		for (int i = 0; i < count; i++) {
+			extent = Math.max(extent, Math.abs(history[1][i] * micronsPerPixelX));
+			extent = Math.max(extent, Math.abs(history[2][i] * micronsPerPixelY));
+		}
+		final GC gc = event.gc;
+		final int middle = size.y / 2;
+		gc.setForeground(getDisplay().getSystemColor(SWT.COLOR_GRAY));
+		gc.drawLine(0, middle, size.x, middle);
+		drawSeries(gc, history[0], history[1], micronsPerPixelX, extent, size, getDisplay().getSystemColor(SWT.COLOR_BLUE));
+		drawSeries(gc, history[0], history[2], micronsPerPixelY, extent, size, getDisplay().getSystemColor(SWT.COLOR_RED));
+		gc.setForeground(getDisplay().getSystemColor(SWT.COLOR_BLACK));
+		gc.drawText(String.format("\u00B1%.1f \u00B5m", extent), 2, 0, true);
+	}
+
+	private static void drawSeries(GC gc, double[] times, double[] drift, double micronsPerPixel, double extent,
+			Point size, Color colour) {
+		final double start = times[0];
+		final double span = Math.max(1, times[times.length - 1] - start);
+		final int[] points = new int[2 * times.length];
+		for (int i = 0; i < times.length; i++) {
+			points[2 * i] = (int) ((times[i] - start) / span * (size.x - 1));
+			points[2 * i + 1] = size.y / 2 - (int) (drift[i] * micronsPerPixel / extent * (size.y / 2 - 1));
+		}
+		gc.setForeground(colour);
+		gc.drawPolyline(points);
+	}
+}
@@ -18,6 +18,8 @@
 
 package uk.ac.diamond.daq.tomography.datacollection.ui.adviewer;
 
+import java.util.function.Consumer;
+
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -32,7 +34,6 @@ import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.widgets.Combo;
 import org.eclipse.swt.widgets.Composite;
-import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Group;
 import org.eclipse.swt.widgets.MessageBox;
 import org.slf4j.Logger;
@@ -41,13 +42,15 @@ import org.slf4j.LoggerFactory;
 import gda.device.DeviceException;
 import gda.device.EnumPositioner;
 import gda.jython.InterfaceProvider;
-import gda.observable.IObserver;
+import uk.ac.diamond.daq.tomography.datacollection.ui.motion.CachedPosition;
+import uk.ac.diamond.daq.tomography.datacollection.ui.motion.PositionCache;
 import uk.ac.gda.common.rcp.util.GridUtils;
 
 public class EnumPositionerComposite extends Composite {
 	private static final Logger logger = LoggerFactory.getLogger(EnumPositionerComposite.class);
 	private EnumPositioner positioner;
-	private IObserver observer;
+	private PositionCache positionCache;
+	private Consumer<CachedPosition> observer;
 	private Group group;
 	private Combo pcom;
 	private String currentPos;
@@ -111,17 +114,15 @@ public class EnumPositionerComposite extends Composite {
 			@Override
 			public void widgetDisposed(DisposeEvent e) {
 				if (positioner != null && observer != null)
-					positioner.deleteIObserver(observer);
+					positionCache.removeListener(positioner, observer);
+				DisplayUpdateScheduler.forDisplay(getDisplay()).cancel(EnumPositionerComposite.this);
 			}
 		});
 	}
 
-	private void updateDisplay() {
-		observer.update(positioner, null);
-	}
-
-	public void setEnumPositioner(EnumPositioner s) {
+	public void setEnumPositioner(EnumPositioner s, PositionCache cache) {
 		positioner = s;
+		positionCache = cache;
 		try {
 			pcom.removeAll();
 			for (String pos : positioner.getPositions()) {
@@ -131,25 +132,19 @@ public class EnumPositionerComposite extends Composite {
 			logger.error("Error getting positions from " + positioner.getName(), e1);
 		}
 
-		observer = new IObserver() {
-			@Override
-			public void update(Object source, final Object arg) {
-				Display.getDefault().asyncExec(new Runnable() {
+		// The cache reads the position off the UI thread and calls back with it. Bursts of changes are merged into
+		// one update of this widget with the latest position.
+		final DisplayUpdateScheduler scheduler = DisplayUpdateScheduler.forDisplay(getDisplay());
+		observer = position -> scheduler.post(this, () -> showPosition(String.valueOf(position.getPosition())));
+		positionCache.addListener(positioner, observer);
+	}
 
-					@Override
-					public void run() {
-						try {
-							currentPos = (String) positioner.getPosition();
-							pcom.setText(currentPos);
-							GridUtils.layout(group);
-						} catch (DeviceException e) {
-							logger.error("Error reading position of " + positioner.getName(), e);
-						}
-					}
-				});
-			}
-		};
-		positioner.addIObserver(observer);
-		updateDisplay();
+	private void showPosition(String position) {
+		if (pcom.isDisposed() || position.equals(currentPos)) {
+			return;
+		}
+		currentPos = position;
+		pcom.setText(currentPos);
+		GridUtils.layout(group);
 	}
 }
@@ -0,0 +1,83 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.adviewer;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.PaintEvent;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.widgets.Canvas;
+import org.eclipse.swt.widgets.Composite;
+
+import uk.ac.diamond.daq.tomography.datacollection.ui.analysis.FocusMetric;
+
+/**
+ * A strip chart of the recent values of a {@link FocusMetric}, scaled to fit, with the highest value marked so the
+ * best focus seen is easy to get back to by eye
+ */
+public class FocusTrendCanvas extends Canvas {
+
+	private FocusMetric metric;
+
+	public FocusTrendCanvas(Composite parent) {
+		super(parent, SWT.DOUBLE_BUFFERED | SWT.BORDER);
+		setBackground(getDisplay().getSystemColor(SWT.COLOR_WHITE));
+		addPaintListener(this::paint);
+	}
+
+	public void setMetric(FocusMetric metric) {
+		this.metric = metric;
+		redraw();
+	}
+
+	private void paint(PaintEvent event) {
+		if (metric == null) {
+			return;
+		}
+		final double[] values = metric.getHistory();
+		final Point size = getSize();
+		if (values.length < 2 || size.x < 2 || size.y < 2) {
+			return;
+		}
+		double min = Double.MAX_VALUE;
+		double max = -Double.MAX_VALUE;
+		int best = 0;
+		for (int i = 0; i < values.length; i++) {
+			min = Math.min(min, values[i]);
+			if (values[i] > max) {
+				max = values[i];
+				best = i;
+			}
+		}
+		final double scale = max > min ? (size.y - 3) / (max - min) : 0;
+		final int[] points = new int[2 * values.length];
+		for (int i = 0; i < values.length; i++) {
+			points[2 * i] = i * (size.x - 1) / (values.length - 1);
+			points[2 * i + 1] = size.y - 2 - (int) ((values[i] - min) * scale);
+		}
+		final GC gc = event.gc;
+		gc.setForeground(getDisplay().getSystemColor(SWT.COLOR_DARK_GREEN));
+		gc.drawPolyline(points);
+		gc.setForeground(getDisplay().getSystemColor(SWT.COLOR_RED));
+		gc.drawLine(points[2 * best], 0, points[2 * best], size.y);
+		gc.setForeground(getDisplay().getSystemColor(SWT.COLOR_BLACK));
+		gc.drawText(String.format("%.0f", values[values.length - 1]), 2, 0, true);
+	}
+}
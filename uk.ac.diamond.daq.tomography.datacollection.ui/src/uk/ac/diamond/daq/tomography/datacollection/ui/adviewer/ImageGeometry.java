@@ -0,0 +1,221 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.adviewer;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * The mapping between points on the displayed MJPEG frame, the camera image fed into the ffmpeg plugin and movements
+ * of the sample centring motors.
+ * <p>
+ * Camera image coordinates are those used by the rotation axis and camera XY scannables: the image is reflected
+ * left to right relative to the display and measured from the bottom up, and any binning or region of interest is
+ * already reflected in the camera image size. Displayed frames may be scaled relative to the camera image.
+ * <p>
+ * The mapping is an axis-aligned affine transform, so all the factors are worked out once when the geometry is
+ * created and each mapping is a multiply and add with no allocation. Instances are immutable; create a new one when
+ * the frame size, camera image size or scale changes.
+ */
+public final class ImageGeometry {
+
+	private final int displayWidth;
+	private final int displayHeight;
+	private final int imageWidth;
+	private final int imageHeight;
+	private final double pixelsPerMMInX;
+	private final double pixelsPerMMInY;
+
+	/** Camera image pixels per display pixel */
+	private final double scaleX;
+	private final double scaleY;
+	/** Sample motor units (microns) per pixel: the scale provider gives pixels per mm */
+	private final double unitsPerPixelX;
+	private final double unitsPerPixelY;
+
+	/**
+	 * @param displayWidth
+	 *            width of the displayed frame
+	 * @param displayHeight
+	 *            height of the displayed frame
+	 * @param imageWidth
+	 *            width of the camera image fed into the ffmpeg plugin
+	 * @param imageHeight
+	 *            height of the camera image fed into the ffmpeg plugin
+	 * @param pixelsPerMMInX
+	 *            horizontal camera scale
+	 * @param pixelsPerMMInY
+	 *            vertical camera scale
+	 */
+	public ImageGeometry(int displayWidth, int displayHeight, int imageWidth, int imageHeight, double pixelsPerMMInX,
+			double pixelsPerMMInY) {
+		if (displayWidth <= 0 || displayHeight <= 0 || imageWidth <= 0 || imageHeight <= 0) {
+			throw new IllegalArgumentException(String.format("Invalid frame size %dx%d or camera image size %dx%d",
+					displayWidth, displayHeight, imageWidth, imageHeight));
+		}
+		this.displayWidth = displayWidth;
+		this.displayHeight = displayHeight;
+		this.imageWidth = imageWidth;
+		this.imageHeight = imageHeight;
+		this.pixelsPerMMInX = pixelsPerMMInX;
+		this.pixelsPerMMInY = pixelsPerMMInY;
+		scaleX = (double) imageWidth / displayWidth;
+		scaleY = (double) imageHeight / displayHeight;
+		unitsPerPixelX = 1000. / pixelsPerMMInX;
+		unitsPerPixelY = 1000. / pixelsPerMMInY;
+	}
+
+	/**
+	 * @return true if this geometry was created for a displayed frame of the given size
+	 */
+	public boolean isForDisplaySize(int displayWidth, int displayHeight) {
+		return this.displayWidth == displayWidth && this.displayHeight == displayHeight;
+	}
+
+	/**
+	 * @param displayX
+	 *            horizontal position on the displayed frame, from the left
+	 * @return the horizontal position in the camera image, reflected so it is measured from the right
+	 */
+	public double toImageX(double displayX) {
+		return imageWidth - displayX * scaleX;
+	}
+
+	/**
+	 * @param displayY
+	 *            vertical position on the displayed frame, from the top
+	 * @return the vertical position in the camera image, measured from the bottom
+	 */
+	public double toImageY(double displayY) {
+		return imageHeight - displayY * scaleY;
+	}
+
+	public double toDisplayX(double imageX) {
+		return (imageWidth - imageX) / scaleX;
+	}
+
+	public double toDisplayY(double imageY) {
+		return (imageHeight - imageY) / scaleY;
+	}
+
+	/**
+	 * Map a region of the displayed frame into the camera image. The result is normalised so its origin is the
+	 * top left corner (lowest x and y) in camera image coordinates.
+	 *
+	 * @param display
+	 *            region on the displayed frame
+	 * @return region in the camera image
+	 */
+	public Rectangle toImage(Rectangle display) {
+		final double x1 = toImageX(display.x);
+		final double x2 = toImageX(display.x + display.width);
+		final double y1 = toImageY(display.y);
+		final double y2 = toImageY(display.y + display.height);
+		return new Rectangle((int) Math.round(Math.min(x1, x2)), (int) Math.round(Math.min(y1, y2)),
+				(int) Math.round(Math.abs(x2 - x1)), (int) Math.round(Math.abs(y2 - y1)));
+	}
+
+	/**
+	 * @param displayX
+	 *            horizontal position clicked on the displayed frame
+	 * @param rotationAxisX
+	 *            current position of the rotation axis in the camera image
+	 * @return the relative move of the horizontal centring motor that brings the clicked point onto the rotation axis,
+	 *         the same as dragging it there
+	 */
+	public double toCentringMoveX(double displayX, double rotationAxisX) {
+		return dragToCentringMoveX(toDisplayX(rotationAxisX) - displayX);
+	}
+
+	/**
+	 * @param displayY
+	 *            vertical position clicked on the displayed frame
+	 * @return the relative move of the vertical centring motor that brings the clicked point to the middle of the
+	 *         camera image, the same as dragging it there
+	 */
+	public double toCentringMoveY(double displayY) {
+		return dragToCentringMoveY(toDisplayY(imageHeight / 2.0) - displayY);
+	}
+
+	/**
+	 * Every move of the centring motors is worked out from a distance on the displayed frame by this and
+	 * {@link #dragToCentringMoveY(double)}.
+	 *
+	 * @param dragX
+	 *            horizontal distance dragged on the displayed frame
+	 * @return the relative move of the horizontal centring motor
+	 */
+	public double dragToCentringMoveX(double dragX) {
+		return dragX * getMicronsPerDisplayPixelX();
+	}
+
+	/**
+	 * @param dragY
+	 *            vertical distance dragged on the displayed frame, positive downwards
+	 * @return the relative move of the vertical centring motor, positive upwards
+	 */
+	public double dragToCentringMoveY(double dragY) {
+		return -dragY * getMicronsPerDisplayPixelY();
+	}
+
+	/**
+	 * @return the distance on the sample, in microns, of one pixel across the displayed frame
+	 */
+	public double getMicronsPerDisplayPixelX() {
+		return scaleX * unitsPerPixelX;
+	}
+
+	/**
+	 * @return the distance on the sample, in microns, of one pixel down the displayed frame
+	 */
+	public double getMicronsPerDisplayPixelY() {
+		return scaleY * unitsPerPixelY;
+	}
+
+	/**
+	 * @param driftX
+	 *            distance the sample has drifted to the right on the displayed frame
+	 * @return the relative move of the horizontal centring motor that brings it back, the same as dragging it back
+	 */
+	public double driftToCentringMoveX(double driftX) {
+		return dragToCentringMoveX(-driftX);
+	}
+
+	/**
+	 * @param driftY
+	 *            distance the sample has drifted down the displayed frame
+	 * @return the relative move of the vertical centring motor that brings it back, the same as dragging it back
+	 */
+	public double driftToCentringMoveY(double driftY) {
+		return dragToCentringMoveY(-driftY);
+	}
+
+	public int getImageWidth() {
+		return imageWidth;
+	}
+
+	public int getImageHeight() {
+		return imageHeight;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("ImageGeometry(display %dx%d, image %dx%d, %.1fx%.1f pixels/mm)", displayWidth,
+				displayHeight, imageWidth, imageHeight, pixelsPerMMInX, pixelsPerMMInY);
+	}
+}
@@ -0,0 +1,140 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.adviewer;
+
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.Graphics;
+import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.widgets.Display;
+
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.FramePyramid;
+
+/**
+ * Shows processed live frames over the camera image, e.g. normalised frames or frames from another source.
+ * <p>
+ * Each frame shown is copied into image data the figure keeps while the frame size is unchanged, or for pyramid levels,
+ * which never change, held as it is. It is only turned into a native image when the figure is painted, so frames
+ * replaced before the next paint never become one. The native image is kept until a newer frame is painted, and
+ * repainting for any other reason reuses it.
+ */
+public class LiveImageFigure extends Figure {
+
+	private final Display display;
+	private final Dimension frameSize = new Dimension();
+	private ImageData latest;
+	/** Whether latest is the figure's own copy, which can be written over with the next frame */
+	private boolean latestOwned;
+	private boolean latestPainted = true;
+	private Image image;
+
+	public LiveImageFigure(Display display) {
+		super();
+		this.display = display;
+		setOpaque(true);
+	}
+
+	/**
+	 * Show a new frame at the size of its image. The image data is copied so can be reused straight away. Must be
+	 * called on the UI thread.
+	 */
+	public void show(ImageData imageData) {
+		show(imageData, imageData.width, imageData.height);
+	}
+
+	/**
+	 * Show a new frame from the level of its pyramid nearest the size it is drawn on screen, taking in any zoom, so a
+	 * region zoomed in on is drawn from a finer level than the whole frame. Must be called on the UI thread.
+	 *
+	 * @param width
+	 *            width of the full frame
+	 * @param height
+	 *            height of the full frame
+	 */
+	public void showFrom(FramePyramid pyramid, int width, int height) {
+		final Rectangle drawn = new Rectangle(0, 0, width, height);
+		translateToAbsolute(drawn);
+		latest = pyramid.getLevel(pyramid.getLevelFor(drawn.width, drawn.height));
+		latestOwned = false;
+		shown(width, height);
+	}
+
+	/**
+	 * Show a new frame stretched to the given size, e.g. a frame scaled down for display drawn at the size of the
+	 * full frame. The image data is copied so can be reused straight away. Must be called on the UI thread.
+	 */
+	public void show(ImageData imageData, int width, int height) {
+		if (latestOwned && hasSameLayout(latest, imageData)) {
+			System.arraycopy(imageData.data, 0, latest.data, 0, imageData.data.length);
+		} else {
+			latest = (ImageData) imageData.clone();
+			latestOwned = true;
+		}
+		shown(width, height);
+	}
+
+	private void shown(int width, int height) {
+		latestPainted = false;
+		if (frameSize.width != width || frameSize.height != height) {
+			frameSize.setSize(width, height);
+			revalidate();
+		}
+		repaint();
+	}
+
+	private static boolean hasSameLayout(ImageData a, ImageData b) {
+		return a.width == b.width && a.height == b.height && a.depth == b.depth && a.bytesPerLine == b.bytesPerLine
+				&& a.palette == b.palette && a.data.length == b.data.length && a.alphaData == null && b.alphaData == null
+				&& a.maskData == null && b.maskData == null;
+	}
+
+	@Override
+	public Dimension getPreferredSize(int wHint, int hHint) {
+		return frameSize.getCopy();
+	}
+
+	@Override
+	protected void paintFigure(Graphics graphics) {
+		if (!latestPainted) {
+			latestPainted = true;
+			if (image != null) {
+				image.dispose();
+			}
+			image = new Image(display, latest);
+		}
+		if (image == null) {
+			return;
+		}
+		final org.eclipse.swt.graphics.Rectangle source = image.getBounds();
+		final Rectangle area = getClientArea();
+		graphics.drawImage(image, 0, 0, source.width, source.height, area.x, area.y, frameSize.width, frameSize.height);
+	}
+
+	public void dispose() {
+		if (image != null) {
+			image.dispose();
+			image = null;
+		}
+		latest = null;
+		latestOwned = false;
+		latestPainted = true;
+	}
+}
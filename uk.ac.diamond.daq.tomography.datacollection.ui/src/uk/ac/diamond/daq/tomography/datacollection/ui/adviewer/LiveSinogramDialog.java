@@ -0,0 +1,218 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.adviewer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jface.dialogs.Dialog;
+import org.eclipse.jface.dialogs.IDialogConstants;
+import org.eclipse.jface.layout.GridDataFactory;
+import org.eclipse.jface.layout.GridLayoutFactory;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.PaintEvent;
+import org.eclipse.swt.events.SelectionListener;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Canvas;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Spinner;
+
+import uk.ac.diamond.daq.tomography.datacollection.ui.analysis.LiveSinogram;
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.Greyscale;
+
+/**
+ * Shows a {@link LiveSinogram} growing as the scan runs. The sinogram is drawn from tiles of rows so a new projection
+ * only updates the last tile, however long the scan.
+ */
+public class LiveSinogramDialog extends Dialog {
+
+	private static final int TILE_ROWS = 256;
+	private static final int MAX_DETECTOR_ROW = 65535;
+
+	private final LiveSinogram sinogram;
+	private final Runnable sinogramListener = this::sinogramChanged;
+
+	private Display display;
+	private Canvas canvas;
+	private Label projectionsLabel;
+
+	/** Rendered rows, TILE_ROWS to an image. Only the last tile is ever partly filled. */
+	private final List<Image> tiles = new ArrayList<>();
+	private ImageData openTile;
+	private int renderedRows;
+	private int renderedWidth;
+
+	public LiveSinogramDialog(Shell parentShell, LiveSinogram sinogram) {
+		super(parentShell);
+		this.sinogram = sinogram;
+		setShellStyle((getShellStyle() & ~SWT.APPLICATION_MODAL) | SWT.MODELESS);
+		setBlockOnOpen(false);
+	}
+
+	@Override
+	protected void configureShell(Shell newShell) {
+		super.configureShell(newShell);
+		newShell.setText("Live Sinogram");
+	}
+
+	@Override
+	protected boolean isResizable() {
+		return true;
+	}
+
+	@Override
+	protected Point getInitialSize() {
+		return new Point(600, 700);
+	}
+
+	@Override
+	protected Control createDialogArea(Composite parent) {
+		final Composite area = (Composite) super.createDialogArea(parent);
+
+		final Composite controls = new Composite(area, SWT.NONE);
+		GridLayoutFactory.fillDefaults().numColumns(4).applyTo(controls);
+		GridDataFactory.fillDefaults().grab(true, false).applyTo(controls);
+
+		new Label(controls, SWT.NONE).setText("Detector row");
+		final Spinner detectorRow = new Spinner(controls, SWT.BORDER);
+		final int frameHeight = sinogram.getFrameHeight();
+		detectorRow.setValues(sinogram.getDetectorRow(), 0, frameHeight > 0 ? frameHeight - 1 : MAX_DETECTOR_ROW, 0, 1, 10);
+		detectorRow.setToolTipText("The row of the camera image to take for each projection");
+		detectorRow.addSelectionListener(SelectionListener.widgetSelectedAdapter(
+				e -> sinogram.setDetectorRow(detectorRow.getSelection())));
+
+		final Button clear = new Button(controls, SWT.PUSH);
+		clear.setText("Clear");
+		clear.addSelectionListener(SelectionListener.widgetSelectedAdapter(e -> sinogram.clear()));
+
+		projectionsLabel = new Label(controls, SWT.NONE);
+		GridDataFactory.fillDefaults().grab(true, false).applyTo(projectionsLabel);
+
+		display = area.getDisplay();
+		canvas = new Canvas(area, SWT.BORDER | SWT.DOUBLE_BUFFERED);
+		GridDataFactory.fillDefaults().grab(true, true).applyTo(canvas);
+		canvas.addPaintListener(this::paint);
+		canvas.addDisposeListener(e -> {
+			sinogram.removeListener(sinogramListener);
+			DisplayUpdateScheduler.forDisplay(display).cancel(this);
+			disposeTiles();
+		});
+
+		sinogram.addListener(sinogramListener);
+		renderNewRows();
+		return area;
+	}
+
+	@Override
+	protected void createButtonsForButtonBar(Composite parent) {
+		createButton(parent, IDialogConstants.CLOSE_ID, IDialogConstants.CLOSE_LABEL, true);
+	}
+
+	@Override
+	protected void buttonPressed(int buttonId) {
+		if (buttonId == IDialogConstants.CLOSE_ID) {
+			close();
+		} else {
+			super.buttonPressed(buttonId);
+		}
+	}
+
+	private void sinogramChanged() {
+		if (!canvas.isDisposed()) {
+			DisplayUpdateScheduler.forDisplay(display).post(this, this::renderNewRows);
+		}
+	}
+
+	/**
+	 * Copy the rows added since the last update into the open tile and recreate only that image
+	 */
+	private void renderNewRows() {
+		if (canvas.isDisposed()) {
+			return;
+		}
+		final int rows = sinogram.getRowCount();
+		final int width = sinogram.getWidth();
+		if (rows < renderedRows || width != renderedWidth) {
+			disposeTiles();
+			renderedWidth = width;
+		}
+		while (renderedRows < rows) {
+			final int tile = renderedRows / TILE_ROWS;
+			final int tileRow = renderedRows % TILE_ROWS;
+			if (tileRow == 0) {
+				openTile = new ImageData(width, TILE_ROWS, 8, Greyscale.PALETTE);
+			}
+			final int copied = sinogram.copyRows(renderedRows, Math.min(rows - renderedRows, TILE_ROWS - tileRow), width,
+					openTile.data, tileRow * openTile.bytesPerLine, openTile.bytesPerLine);
+			if (copied == 0) {
+				// Cleared while copying, the next update starts again
+				break;
+			}
+			renderedRows += copied;
+			final Image image = new Image(display, openTile);
+			if (tile < tiles.size()) {
+				tiles.set(tile, image).dispose();
+			} else {
+				tiles.add(image);
+			}
+		}
+		final int repeated = sinogram.getRepeatedRowCount();
+		projectionsLabel.setText(repeated == 0 ? String.format("%d projections", renderedRows)
+				: String.format("%d projections, %d repeated with no new frame", renderedRows, repeated));
+		canvas.redraw();
+	}
+
+	/**
+	 * Draw the sinogram across the width of the canvas, one pixel per projection until it is taller than the
+	 * canvas and then squeezed to fit
+	 */
+	private void paint(PaintEvent event) {
+		if (renderedRows == 0) {
+			return;
+		}
+		final GC gc = event.gc;
+		final Rectangle area = canvas.getClientArea();
+		final double scaleY = Math.min(1.0, (double) area.height / renderedRows);
+		for (int i = 0; i < tiles.size(); i++) {
+			final int firstRow = i * TILE_ROWS;
+			final int tileRows = Math.min(TILE_ROWS, renderedRows - firstRow);
+			final int top = (int) Math.round(firstRow * scaleY);
+			final int bottom = (int) Math.round((firstRow + tileRows) * scaleY);
+			if (bottom > top && bottom > event.y && top < event.y + event.height) {
+				gc.drawImage(tiles.get(i), 0, 0, renderedWidth, tileRows, 0, top, area.width, bottom - top);
+			}
+		}
+	}
+
+	private void disposeTiles() {
+		tiles.forEach(Image::dispose);
+		tiles.clear();
+		openTile = null;
+		renderedRows = 0;
+	}
+}
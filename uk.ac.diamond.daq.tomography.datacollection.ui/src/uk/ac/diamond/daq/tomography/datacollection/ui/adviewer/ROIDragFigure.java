@@ -39,9 +39,11 @@ public class ROIDragFigure extends RectangleFigure implements KeyListener, Mouse
 	private RectangleFigure topLeft;//, topRight, bottomLeft, bottomRight;
 
 	private Point location;
+	private final String name;
 
-	public ROIDragFigure(final DataCollectionMJPegViewInitialiser mjPegViewInitialiser, Canvas canvas) {
+	public ROIDragFigure(String name, final DataCollectionMJPegViewInitialiser mjPegViewInitialiser, Canvas canvas) {
 		super();
+		this.name = name;
 		this.mjPegViewInitialiser = mjPegViewInitialiser;
 		this.canvas = canvas;
 		addMouseListener(this);
@@ -71,6 +73,10 @@ public class ROIDragFigure extends RectangleFigure implements KeyListener, Mouse
 		}
 	}
 
+	public String getName() {
+		return name;
+	}
+
 	public void stop() {
 		removeMouseListener(this);
 		removeMouseMotionListener(this);
@@ -113,6 +119,7 @@ public class ROIDragFigure extends RectangleFigure implements KeyListener, Mouse
 		layoutMgr.setConstraint(this, bounds);
 		ROIDragFigure.this.translate(offset.width, offset.height);
 		updateMgr.addDirtyRegion(getParent(), bounds);
+		mjPegViewInitialiser.handleROIMoved(this);
 		me.consume();
 	}
 
@@ -151,5 +158,6 @@ public class ROIDragFigure extends RectangleFigure implements KeyListener, Mouse
 		this.translate(offset.width, offset.height);
 		this.setSize(bounds.getSize());
 		updateMgr.addDirtyRegion(getParent(), bounds);
+		mjPegViewInitialiser.handleROIMoved(this);
 	}
 }
@@ -0,0 +1,113 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.adviewer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.InitializingBean;
+
+import gda.factory.FindableBase;
+
+/**
+ * The cameras shown by the tiled camera view, and the limits on the work done for them. Defined once in the client
+ * Spring configuration, e.g.
+ *
+ * <pre>
+ * &lt;bean id="tiledCameraView" class="uk.ac.diamond.daq.tomography.datacollection.ui.adviewer.TiledCameraViewConfiguration"&gt;
+ *     &lt;property name="adControllers"&gt;
+ *         &lt;list&gt;
+ *             &lt;ref bean="pcoADController" /&gt;
+ *             &lt;ref bean="sideCameraADController" /&gt;
+ *         &lt;/list&gt;
+ *     &lt;/property&gt;
+ *     &lt;property name="workerThreads" value="2" /&gt;
+ *     &lt;property name="maxFrameRatePerTile" value="10" /&gt;
+ * &lt;/bean&gt;
+ * </pre>
+ */
+public class TiledCameraViewConfiguration extends FindableBase implements InitializingBean {
+
+	private List<DataCollectionADControllerImpl> adControllers = new ArrayList<>();
+	private int workerThreads = 2;
+	private double maxFrameRatePerTile = 10;
+	private int columns;
+
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		if (adControllers == null || adControllers.isEmpty())
+			throw new IllegalArgumentException("adControllers is empty");
+		if (workerThreads < 1)
+			throw new IllegalArgumentException("workerThreads < 1");
+		if (maxFrameRatePerTile <= 0)
+			throw new IllegalArgumentException("maxFrameRatePerTile <= 0");
+	}
+
+	public List<DataCollectionADControllerImpl> getAdControllers() {
+		return adControllers;
+	}
+
+	public void setAdControllers(List<DataCollectionADControllerImpl> adControllers) {
+		this.adControllers = adControllers;
+	}
+
+	/**
+	 * @return the number of threads shared by every tile to decode and reduce frames
+	 */
+	public int getWorkerThreads() {
+		return workerThreads;
+	}
+
+	public void setWorkerThreads(int workerThreads) {
+		this.workerThreads = workerThreads;
+	}
+
+	/**
+	 * @return the highest frame rate processed for each tile, in frames per second
+	 */
+	public double getMaxFrameRatePerTile() {
+		return maxFrameRatePerTile;
+	}
+
+	public void setMaxFrameRatePerTile(double maxFrameRatePerTile) {
+		this.maxFrameRatePerTile = maxFrameRatePerTile;
+	}
+
+	/**
+	 * @return the number of columns of tiles, or 0 to make the grid as near square as possible
+	 */
+	public int getColumns() {
+		return columns;
+	}
+
+	public void setColumns(int columns) {
+		this.columns = columns;
+	}
+
+	/**
+	 * @return the number of columns to lay the tiles out in, as configured or else enough for a square grid
+	 */
+	public int getColumnCount() {
+		if (columns > 0) {
+			return columns;
+		}
+		return Math.max(1, (int) Math.ceil(Math.sqrt(adControllers.size())));
+	}
+}
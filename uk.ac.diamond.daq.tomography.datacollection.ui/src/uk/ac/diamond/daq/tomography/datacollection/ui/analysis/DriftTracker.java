@@ -0,0 +1,402 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.analysis;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import org.eclipse.swt.graphics.Rectangle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.Frame;
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.FrameListener;
+
+/**
+ * Follows a feature of the sample across the frames of the live camera stream, so drift during a long scan is seen
+ * as it happens.
+ * <p>
+ * The feature is a template region taken from the frame after {@link #lock(Rectangle)}. Each frame it is looked for
+ * by normalised cross-correlation in a window around where it was last found: first over the window reduced by a
+ * factor of 4, then at full resolution around the best match, with the peak refined to a fraction of a pixel. Each
+ * pass is computed in parallel over rows of offsets. If the best match correlates too poorly the feature is reported
+ * lost and looked for again around the same place on the next frame.
+ * <p>
+ * Drift is the distance the feature has moved since it was locked, in pixels of the frames from the stream.
+ */
+public class DriftTracker implements FrameListener {
+	private static final Logger logger = LoggerFactory.getLogger(DriftTracker.class);
+
+	/**
+	 * Where the feature was found in one frame
+	 */
+	public static final class Sample {
+		private final long timeMillis;
+		private final double driftX;
+		private final double driftY;
+		private final double score;
+		private final boolean lost;
+
+		Sample(long timeMillis, double driftX, double driftY, double score, boolean lost) {
+			this.timeMillis = timeMillis;
+			this.driftX = driftX;
+			this.driftY = driftY;
+			this.score = score;
+			this.lost = lost;
+		}
+
+		public long getTimeMillis() {
+			return timeMillis;
+		}
+
+		/**
+		 * @return the movement since the feature was locked, in pixels to the right
+		 */
+		public double getDriftX() {
+			return driftX;
+		}
+
+		/**
+		 * @return the movement since the feature was locked, in pixels down
+		 */
+		public double getDriftY() {
+			return driftY;
+		}
+
+		/**
+		 * @return the correlation of the best match, 1 for a perfect match
+		 */
+		public double getScore() {
+			return score;
+		}
+
+		/**
+		 * @return true if no match was good enough, when the drift is that of the last frame it was found in
+		 */
+		public boolean isLost() {
+			return lost;
+		}
+	}
+
+	/** Distance the feature may move between frames, in full resolution pixels */
+	private static final int SEARCH_MARGIN = 48;
+	private static final int COARSE_FACTOR = 4;
+	private static final double MIN_SCORE = 0.5;
+	private static final int MIN_TEMPLATE_SIZE = 4 * COARSE_FACTOR;
+	private static final int HISTORY_LENGTH = 600;
+
+	private final List<Consumer<Sample>> listeners = new CopyOnWriteArrayList<>();
+	private volatile Rectangle pendingLock;
+	private volatile boolean locked;
+
+	// Template and search state, only used by the frame processing thread
+	private Template fine;
+	private Template coarse;
+	private int frameWidth;
+	private int frameHeight;
+	private int lockX;
+	private int lockY;
+	private double foundX;
+	private double foundY;
+
+	// Drift over time, guarded by this
+	private final long[] historyTimes = new long[HISTORY_LENGTH];
+	private final double[] historyX = new double[HISTORY_LENGTH];
+	private final double[] historyY = new double[HISTORY_LENGTH];
+	private int historyCount;
+	private int historyNext;
+
+	/**
+	 * A template with its mean taken off, ready to correlate
+	 */
+	private static final class Template {
+		final float[] values;
+		final int width;
+		final int height;
+		final double norm;
+
+		Template(float[] pixels, int width, int height) {
+			double mean = 0;
+			for (float value : pixels) {
+				mean += value;
+			}
+			mean /= pixels.length;
+			double sumSquares = 0;
+			values = new float[pixels.length];
+			for (int i = 0; i < pixels.length; i++) {
+				values[i] = (float) (pixels[i] - mean);
+				sumSquares += values[i] * values[i];
+			}
+			this.width = width;
+			this.height = height;
+			norm = Math.sqrt(sumSquares);
+		}
+	}
+
+	/**
+	 * Track the feature in a region of the next frame, dropping any feature being tracked
+	 *
+	 * @param region
+	 *            in pixels of the frames from the stream
+	 */
+	public void lock(Rectangle region) {
+		pendingLock = new Rectangle(region.x, region.y, region.width, region.height);
+	}
+
+	/**
+	 * Stop tracking
+	 */
+	public void unlock() {
+		pendingLock = null;
+		locked = false;
+	}
+
+	/**
+	 * @return true once a feature has been locked on, until {@link #unlock()}
+	 */
+	public boolean isLocked() {
+		return locked || pendingLock != null;
+	}
+
+	@Override
+	public void handleFrame(Frame frame) {
+		final Rectangle region = pendingLock;
+		if (region != null) {
+			pendingLock = null;
+			capture(frame, region);
+		} else if (locked) {
+			if (frame.getWidth() != frameWidth || frame.getHeight() != frameHeight) {
+				logger.info("Frame size changed, drift tracking stopped");
+				locked = false;
+				return;
+			}
+			track(frame);
+		}
+	}
+
+	private void capture(Frame frame, Rectangle region) {
+		final Rectangle bounds = region.intersection(new Rectangle(0, 0, frame.getWidth(), frame.getHeight()));
+		if (bounds.width < MIN_TEMPLATE_SIZE || bounds.height < MIN_TEMPLATE_SIZE) {
+			logger.warn("Region {} too small to track", region);
+			locked = false;
+			return;
+		}
+		frameWidth = frame.getWidth();
+		frameHeight = frame.getHeight();
+		final byte[] pixels = frame.getLuminance();
+		fine = new Template(extract(pixels, frameWidth, bounds.x, bounds.y, bounds.width, bounds.height), bounds.width,
+				bounds.height);
+		final int coarseWidth = bounds.width / COARSE_FACTOR;
+		final int coarseHeight = bounds.height / COARSE_FACTOR;
+		coarse = new Template(reduce(pixels, frameWidth, bounds.x, bounds.y, coarseWidth, coarseHeight), coarseWidth,
+				coarseHeight);
+		lockX = bounds.x;
+		lockY = bounds.y;
+		foundX = lockX;
+		foundY = lockY;
+		clearHistory();
+		locked = true;
+		logger.info("Tracking drift of {}", bounds);
+	}
+
+	private void track(Frame frame) {
+		final byte[] pixels = frame.getLuminance();
+
+		// Coarse pass over the search window reduced in size
+		final int windowX = Math.max(0, (int) Math.round(foundX) - SEARCH_MARGIN);
+		final int windowY = Math.max(0, (int) Math.round(foundY) - SEARCH_MARGIN);
+		final int windowWidth = Math.min(frameWidth, (int) Math.round(foundX) + fine.width + SEARCH_MARGIN) - windowX;
+		final int windowHeight = Math.min(frameHeight, (int) Math.round(foundY) + fine.height + SEARCH_MARGIN) - windowY;
+		final int reducedWidth = windowWidth / COARSE_FACTOR;
+		final int reducedHeight = windowHeight / COARSE_FACTOR;
+		final float[] reduced = reduce(pixels, frameWidth, windowX, windowY, reducedWidth, reducedHeight);
+		final double[] coarseScores = correlate(coarse, reduced, reducedWidth, 0, 0,
+				reducedWidth - coarse.width + 1, reducedHeight - coarse.height + 1);
+		final int coarseBest = argMax(coarseScores);
+		if (coarseBest < 0) {
+			report(foundX, foundY, 0, true);
+			return;
+		}
+		final int coarseColumns = reducedWidth - coarse.width + 1;
+		final int roughX = windowX + (coarseBest % coarseColumns) * COARSE_FACTOR;
+		final int roughY = windowY + (coarseBest / coarseColumns) * COARSE_FACTOR;
+
+		// Full resolution pass around the coarse match
+		final int fromX = Math.max(0, roughX - COARSE_FACTOR);
+		final int fromY = Math.max(0, roughY - COARSE_FACTOR);
+		final int columns = Math.min(frameWidth - fine.width, roughX + COARSE_FACTOR) - fromX + 1;
+		final int rows = Math.min(frameHeight - fine.height, roughY + COARSE_FACTOR) - fromY + 1;
+		final int blockWidth = columns + fine.width - 1;
+		final float[] block = extract(pixels, frameWidth, fromX, fromY, blockWidth, rows + fine.height - 1);
+		final double[] scores = correlate(fine, block, blockWidth, 0, 0, columns, rows);
+		final int best = argMax(scores);
+		if (best < 0 || scores[best] < MIN_SCORE) {
+			report(foundX, foundY, best < 0 ? 0 : scores[best], true);
+			return;
+		}
+		final int bestColumn = best % columns;
+		final int bestRow = best / columns;
+		final double subX = bestColumn > 0 && bestColumn < columns - 1
+				? peakOffset(scores[best - 1], scores[best], scores[best + 1]) : 0;
+		final double subY = bestRow > 0 && bestRow < rows - 1
+				? peakOffset(scores[best - columns], scores[best], scores[best + columns]) : 0;
+		foundX = fromX + bestColumn + subX;
+		foundY = fromY + bestRow + subY;
+		report(foundX, foundY, scores[best], false);
+	}
+
+	private void report(double x, double y, double score, boolean lost) {
+		final Sample sample = new Sample(System.currentTimeMillis(), x - lockX, y - lockY, score, lost);
+		synchronized (this) {
+			historyTimes[historyNext] = sample.timeMillis;
+			historyX[historyNext] = sample.driftX;
+			historyY[historyNext] = sample.driftY;
+			historyNext = (historyNext + 1) % HISTORY_LENGTH;
+			historyCount = Math.min(historyCount + 1, HISTORY_LENGTH);
+		}
+		listeners.forEach(listener -> listener.accept(sample));
+	}
+
+	/**
+	 * Normalised cross-correlation of a template at each offset in a block of the image
+	 *
+	 * @return the score at each offset, row by row, or NaN where the image is flat
+	 */
+	private static double[] correlate(Template template, float[] image, int imageWidth, int fromX, int fromY,
+			int columns, int rows) {
+		if (columns <= 0 || rows <= 0) {
+			return new double[0];
+		}
+		final double[] scores = new double[columns * rows];
+		final int count = template.width * template.height;
+		IntStream.range(0, rows).parallel().forEach(row -> {
+			for (int column = 0; column < columns; column++) {
+				double product = 0;
+				double sum = 0;
+				double sumSquares = 0;
+				for (int ty = 0; ty < template.height; ty++) {
+					final int in = (fromY + row + ty) * imageWidth + fromX + column;
+					final int t = ty * template.width;
+					for (int tx = 0; tx < template.width; tx++) {
+						final float value = image[in + tx];
+						product += template.values[t + tx] * value;
+						sum += value;
+						sumSquares += value * value;
+					}
+				}
+				final double variance = sumSquares - sum * sum / count;
+				scores[row * columns + column] = variance > 0 ? product / (template.norm * Math.sqrt(variance))
+						: Double.NaN;
+			}
+		});
+		return scores;
+	}
+
+	/**
+	 * @return the index of the highest score, or -1 if there is none
+	 */
+	private static int argMax(double[] scores) {
+		int best = -1;
+		for (int i = 0; i < scores.length; i++) {
+			if (!Double.isNaN(scores[i]) && (best < 0 || scores[i] > scores[best])) {
+				best = i;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * @return the offset of the peak of the parabola through three equally spaced values, from -0.5 to 0.5
+	 */
+	private static double peakOffset(double before, double peak, double after) {
+		final double curvature = before - 2 * peak + after;
+		if (Double.isNaN(curvature) || curvature >= 0) {
+			return 0;
+		}
+		return Math.max(-0.5, Math.min(0.5, (before - after) / (2 * curvature)));
+	}
+
+	/**
+	 * @return the mean of each block of the factor squared pixels of a region
+	 */
+	private static float[] reduce(byte[] pixels, int width, int x0, int y0, int reducedWidth, int reducedHeight) {
+		final float[] reduced = new float[reducedWidth * reducedHeight];
+		final float scale = 1f / (COARSE_FACTOR * COARSE_FACTOR);
+		IntStream.range(0, reducedHeight).parallel().forEach(y -> {
+			for (int x = 0; x < reducedWidth; x++) {
+				int sum = 0;
+				for (int dy = 0; dy < COARSE_FACTOR; dy++) {
+					final int row = (y0 + y * COARSE_FACTOR + dy) * width + x0 + x * COARSE_FACTOR;
+					for (int dx = 0; dx < COARSE_FACTOR; dx++) {
+						sum += pixels[row + dx] & 0xff;
+					}
+				}
+				reduced[y * reducedWidth + x] = sum * scale;
+			}
+		});
+		return reduced;
+	}
+
+	private static float[] extract(byte[] pixels, int width, int x0, int y0, int blockWidth, int blockHeight) {
+		if (blockWidth <= 0 || blockHeight <= 0) {
+			return new float[0];
+		}
+		final float[] block = new float[blockWidth * blockHeight];
+		for (int y = 0; y < blockHeight; y++) {
+			final int row = (y0 + y) * width + x0;
+			for (int x = 0; x < blockWidth; x++) {
+				block[y * blockWidth + x] = pixels[row + x] & 0xff;
+			}
+		}
+		return block;
+	}
+
+	/**
+	 * @return the recent drift, oldest first, as the time in ms, the drift right and the drift down in pixels
+	 */
+	public synchronized double[][] getHistory() {
+		final double[][] values = new double[3][historyCount];
+		for (int i = 0; i < historyCount; i++) {
+			final int index = (historyNext - historyCount + i + HISTORY_LENGTH) % HISTORY_LENGTH;
+			values[0][i] = historyTimes[index];
+			values[1][i] = historyX[index];
+			values[2][i] = historyY[index];
+		}
+		return values;
+	}
+
+	private synchronized void clearHistory() {
+		historyCount = 0;
+		historyNext = 0;
+	}
+
+	/**
+	 * Be told where the feature is in each frame, on a frame processing thread
+	 */
+	public void addListener(Consumer<Sample> listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(Consumer<Sample> listener) {
+		listeners.remove(listener);
+	}
+}
@@ -0,0 +1,95 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.analysis;
+
+/**
+ * In-place radix-2 complex FFT
+ */
+final class Fft {
+
+	private Fft() {
+		// static methods only
+	}
+
+	/**
+	 * @return the smallest power of two not less than n
+	 */
+	static int size(int n) {
+		return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+	}
+
+	/**
+	 * Transform in place. The inverse is scaled by 1/n so a forward then inverse transform gives back the input.
+	 *
+	 * @param re
+	 *            real parts, length a power of two
+	 * @param im
+	 *            imaginary parts, same length
+	 * @param inverse
+	 *            true for the inverse transform
+	 */
+	static void transform(double[] re, double[] im, boolean inverse) {
+		final int n = re.length;
+		// Bit reversal permutation
+		for (int i = 1, j = 0; i < n; i++) {
+			int bit = n >> 1;
+			for (; (j & bit) != 0; bit >>= 1) {
+				j ^= bit;
+			}
+			j ^= bit;
+			if (i < j) {
+				double t = re[i];
+				re[i] = re[j];
+				re[j] = t;
+				t = im[i];
+				im[i] = im[j];
+				im[j] = t;
+			}
+		}
+		for (int length = 2; length <= n; length <<= 1) {
+			final double angle = 2 * Math.PI / length * (inverse ? 1 : -1);
+			final double stepRe = Math.cos(angle);
+			final double stepIm = Math.sin(angle);
+			final int half = length >> 1;
+			for (int start = 0; start < n; start += length) {
+				double wRe = 1;
+				double wIm = 0;
+				for (int k = 0; k < half; k++) {
+					final int a = start + k;
+					final int b = a + half;
+					final double bRe = re[b] * wRe - im[b] * wIm;
+					final double bIm = re[b] * wIm + im[b] * wRe;
+					re[b] = re[a] - bRe;
+					im[b] = im[a] - bIm;
+					re[a] += bRe;
+					im[a] += bIm;
+					final double nextRe = wRe * stepRe - wIm * stepIm;
+					wIm = wRe * stepIm + wIm * stepRe;
+					wRe = nextRe;
+				}
+			}
+		}
+		if (inverse) {
+			for (int i = 0; i < n; i++) {
+				re[i] /= n;
+				im[i] /= n;
+			}
+		}
+	}
+}
@@ -0,0 +1,214 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.analysis;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import org.eclipse.swt.graphics.Rectangle;
+
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.Frame;
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.FrameListener;
+
+/**
+ * A measure of how sharp each frame of the live camera stream is, higher when better focused. Computed over the
+ * focus region, or the whole frame if there is none, in row stripes in parallel, but only while something is
+ * listening for it.
+ * <p>
+ * {@link Method#TENENGRAD} is the mean squared Sobel gradient and {@link Method#LAPLACIAN_VARIANCE} the variance of
+ * the Laplacian. Both only compare frames of the same scene, so the values are kept for a trend.
+ */
+public class FocusMetric implements FrameListener {
+
+	public enum Method {
+		TENENGRAD, LAPLACIAN_VARIANCE
+	}
+
+	/**
+	 * The focus metric of one frame
+	 */
+	public static final class Sample {
+		private final long sequence;
+		private final long arrivalNanos;
+		private final double value;
+
+		Sample(long sequence, long arrivalNanos, double value) {
+			this.sequence = sequence;
+			this.arrivalNanos = arrivalNanos;
+			this.value = value;
+		}
+
+		public long getSequence() {
+			return sequence;
+		}
+
+		/**
+		 * @return the {@link System#nanoTime()} at which the frame was received
+		 */
+		public long getArrivalNanos() {
+			return arrivalNanos;
+		}
+
+		public double getValue() {
+			return value;
+		}
+	}
+
+	/** Values kept for the trend */
+	private static final int HISTORY_LENGTH = 256;
+
+	private static final int STRIPE_ROWS = 64;
+
+	private final List<Consumer<Sample>> listeners = new CopyOnWriteArrayList<>();
+	private volatile Method method = Method.TENENGRAD;
+	private volatile Rectangle region;
+
+	// Trend, guarded by this
+	private final double[] history = new double[HISTORY_LENGTH];
+	private int historyCount;
+	private int historyNext;
+
+	@Override
+	public void handleFrame(Frame frame) {
+		if (listeners.isEmpty()) {
+			return;
+		}
+		final Rectangle bounds = clip(region, frame.getWidth(), frame.getHeight());
+		if (bounds.width < 3 || bounds.height < 3) {
+			return;
+		}
+		final double value = method == Method.TENENGRAD
+				? tenengrad(frame.getLuminance(), frame.getWidth(), bounds)
+				: laplacianVariance(frame.getLuminance(), frame.getWidth(), bounds);
+		synchronized (this) {
+			history[historyNext] = value;
+			historyNext = (historyNext + 1) % HISTORY_LENGTH;
+			historyCount = Math.min(historyCount + 1, HISTORY_LENGTH);
+		}
+		final Sample sample = new Sample(frame.getSequence(), frame.getArrivalNanos(), value);
+		listeners.forEach(listener -> listener.accept(sample));
+	}
+
+	/**
+	 * @return the region inside the frame, less a border of one pixel for the kernels
+	 */
+	private static Rectangle clip(Rectangle region, int width, int height) {
+		final Rectangle frame = new Rectangle(1, 1, width - 2, height - 2);
+		return region == null ? frame : frame.intersection(region);
+	}
+
+	private static double tenengrad(byte[] pixels, int width, Rectangle bounds) {
+		final double sum = stripes(bounds).mapToDouble(stripe -> {
+			final int endRow = Math.min(bounds.y + bounds.height, bounds.y + (stripe + 1) * STRIPE_ROWS);
+			double stripeSum = 0;
+			for (int y = bounds.y + stripe * STRIPE_ROWS; y < endRow; y++) {
+				for (int x = bounds.x; x < bounds.x + bounds.width; x++) {
+					final int i = y * width + x;
+					final int topLeft = pixels[i - width - 1] & 0xff;
+					final int top = pixels[i - width] & 0xff;
+					final int topRight = pixels[i - width + 1] & 0xff;
+					final int left = pixels[i - 1] & 0xff;
+					final int right = pixels[i + 1] & 0xff;
+					final int bottomLeft = pixels[i + width - 1] & 0xff;
+					final int bottom = pixels[i + width] & 0xff;
+					final int bottomRight = pixels[i + width + 1] & 0xff;
+					final int gx = topRight + 2 * right + bottomRight - topLeft - 2 * left - bottomLeft;
+					final int gy = bottomLeft + 2 * bottom + bottomRight - topLeft - 2 * top - topRight;
+					stripeSum += gx * gx + gy * gy;
+				}
+			}
+			return stripeSum;
+		}).sum();
+		return sum / ((double) bounds.width * bounds.height);
+	}
+
+	private static double laplacianVariance(byte[] pixels, int width, Rectangle bounds) {
+		final double[] sums = stripes(bounds).mapToObj(stripe -> {
+			final int endRow = Math.min(bounds.y + bounds.height, bounds.y + (stripe + 1) * STRIPE_ROWS);
+			final double[] stripeSums = new double[2];
+			for (int y = bounds.y + stripe * STRIPE_ROWS; y < endRow; y++) {
+				for (int x = bounds.x; x < bounds.x + bounds.width; x++) {
+					final int i = y * width + x;
+					final int laplacian = (pixels[i - width] & 0xff) + (pixels[i - 1] & 0xff) + (pixels[i + 1] & 0xff)
+							+ (pixels[i + width] & 0xff) - 4 * (pixels[i] & 0xff);
+					stripeSums[0] += laplacian;
+					stripeSums[1] += (double) laplacian * laplacian;
+				}
+			}
+			return stripeSums;
+		}).reduce(new double[2], (a, b) -> new double[] { a[0] + b[0], a[1] + b[1] });
+		final double count = (double) bounds.width * bounds.height;
+		final double mean = sums[0] / count;
+		return sums[1] / count - mean * mean;
+	}
+
+	private static IntStream stripes(Rectangle bounds) {
+		return IntStream.range(0, (bounds.height + STRIPE_ROWS - 1) / STRIPE_ROWS).parallel();
+	}
+
+	public void setMethod(Method method) {
+		this.method = method;
+		clearHistory();
+	}
+
+	public Method getMethod() {
+		return method;
+	}
+
+	/**
+	 * Measure only part of the frame, e.g. a region of interest on the sample
+	 *
+	 * @param region
+	 *            in pixels of the frames from the stream, or null for the whole frame
+	 */
+	public void setRegion(Rectangle region) {
+		this.region = region == null ? null : new Rectangle(region.x, region.y, region.width, region.height);
+		clearHistory();
+	}
+
+	/**
+	 * @return the recent values, oldest first
+	 */
+	public synchronized double[] getHistory() {
+		final double[] values = new double[historyCount];
+		for (int i = 0; i < historyCount; i++) {
+			values[i] = history[(historyNext - historyCount + i + HISTORY_LENGTH) % HISTORY_LENGTH];
+		}
+		return values;
+	}
+
+	public synchronized void clearHistory() {
+		historyCount = 0;
+		historyNext = 0;
+	}
+
+	/**
+	 * Be given the metric of each frame, on a frame processing thread
+	 */
+	public void addListener(Consumer<Sample> listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(Consumer<Sample> listener) {
+		listeners.remove(listener);
+	}
+}
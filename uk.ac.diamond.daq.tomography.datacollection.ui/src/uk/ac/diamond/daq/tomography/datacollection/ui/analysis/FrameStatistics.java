@@ -0,0 +1,114 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.analysis;
+
+/**
+ * Histogram and summary statistics of one frame
+ */
+public final class FrameStatistics {
+
+	private final long sequence;
+	private final int[] histogram;
+	private final long count;
+	private final int min;
+	private final int max;
+	private final double mean;
+	private final double standardDeviation;
+	private final long saturated;
+
+	FrameStatistics(long sequence, int[] histogram, int saturationLevel) {
+		this.sequence = sequence;
+		this.histogram = histogram;
+		long total = 0;
+		double sum = 0;
+		double sumOfSquares = 0;
+		int lowest = -1;
+		int highest = -1;
+		long atOrAboveSaturation = 0;
+		for (int level = 0; level < histogram.length; level++) {
+			final long n = histogram[level];
+			if (n == 0) {
+				continue;
+			}
+			if (lowest < 0) {
+				lowest = level;
+			}
+			highest = level;
+			total += n;
+			sum += n * (double) level;
+			sumOfSquares += n * (double) level * level;
+			if (level >= saturationLevel) {
+				atOrAboveSaturation += n;
+			}
+		}
+		count = total;
+		min = Math.max(lowest, 0);
+		max = Math.max(highest, 0);
+		mean = total > 0 ? sum / total : 0;
+		standardDeviation = total > 0 ? Math.sqrt(Math.max(0, sumOfSquares / total - mean * mean)) : 0;
+		saturated = atOrAboveSaturation;
+	}
+
+	/**
+	 * @return the sequence number of the frame these are the statistics of
+	 */
+	public long getSequence() {
+		return sequence;
+	}
+
+	/**
+	 * @return the number of pixels at each level, which must not be modified
+	 */
+	public int[] getHistogram() {
+		return histogram;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public int getMin() {
+		return min;
+	}
+
+	public int getMax() {
+		return max;
+	}
+
+	public double getMean() {
+		return mean;
+	}
+
+	public double getStandardDeviation() {
+		return standardDeviation;
+	}
+
+	/**
+	 * @return the number of pixels at or above the saturation level
+	 */
+	public long getSaturated() {
+		return saturated;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("FrameStatistics(frame %d, min=%d, max=%d, mean=%.2f, std=%.2f, saturated=%d)", sequence, min,
+				max, mean, standardDeviation, saturated);
+	}
+}
@@ -0,0 +1,110 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.analysis;
+
+/**
+ * Summed-area tables of an 8 bit frame and of its squares, so the sum and the sum of squares of any rectangle are
+ * found from four entries each. The tables are rebuilt in place for each frame of the same size.
+ */
+final class IntegralImage {
+
+	private long[] sums = new long[0];
+	private long[] squares = new long[0];
+	private byte[] pixels;
+	private int width;
+	private int height;
+	private long sequence;
+
+	/**
+	 * Build the tables for a frame
+	 *
+	 * @param pixels
+	 *            one unsigned byte per pixel, row by row, which is kept for {@link #min} and {@link #max}
+	 */
+	void build(long sequence, byte[] pixels, int width, int height) {
+		final int stride = width + 1;
+		final int size = stride * (height + 1);
+		if (sums.length != size || width != this.width) {
+			// The first row and column are zero and stay that way while the width does, even if the size matches
+			sums = new long[size];
+			squares = new long[size];
+		}
+		for (int y = 0; y < height; y++) {
+			long rowSum = 0;
+			long rowSquares = 0;
+			final int in = y * width;
+			final int above = y * stride + 1;
+			final int out = above + stride;
+			for (int x = 0; x < width; x++) {
+				final int value = pixels[in + x] & 0xff;
+				rowSum += value;
+				rowSquares += value * value;
+				sums[out + x] = sums[above + x] + rowSum;
+				squares[out + x] = squares[above + x] + rowSquares;
+			}
+		}
+		this.pixels = pixels;
+		this.width = width;
+		this.height = height;
+		this.sequence = sequence;
+	}
+
+	boolean isEmpty() {
+		return pixels == null;
+	}
+
+	/**
+	 * @return the statistics of a rectangle, clipped to the frame, with zero area if the width or height is negative
+	 */
+	RoiValues measure(String name, int x, int y, int regionWidth, int regionHeight) {
+		final int x0 = clamp(x, width);
+		final int y0 = clamp(y, height);
+		final int x1 = Math.max(x0, clamp(x + regionWidth, width));
+		final int y1 = Math.max(y0, clamp(y + regionHeight, height));
+		final long count = (long) (x1 - x0) * (y1 - y0);
+		if (count == 0) {
+			return new RoiValues(name, sequence, x0, y0, 0, 0, 0, 0, 0, 0, 0);
+		}
+		final long sum = area(sums, x0, y0, x1, y1);
+		final long sumOfSquares = area(squares, x0, y0, x1, y1);
+		final double mean = (double) sum / count;
+		final double std = Math.sqrt(Math.max(0, (double) sumOfSquares / count - mean * mean));
+		// Extremes cannot come from the tables so scan the region
+		int min = 255;
+		int max = 0;
+		for (int row = y0; row < y1; row++) {
+			final int offset = row * width;
+			for (int i = offset + x0; i < offset + x1; i++) {
+				final int value = pixels[i] & 0xff;
+				min = Math.min(min, value);
+				max = Math.max(max, value);
+			}
+		}
+		return new RoiValues(name, sequence, x0, y0, x1 - x0, y1 - y0, sum, mean, std, min, max);
+	}
+
+	private long area(long[] table, int x0, int y0, int x1, int y1) {
+		final int stride = width + 1;
+		return table[y1 * stride + x1] - table[y0 * stride + x1] - table[y1 * stride + x0] + table[y0 * stride + x0];
+	}
+
+	private static int clamp(int value, int limit) {
+		return Math.max(0, Math.min(value, limit));
+	}
+}
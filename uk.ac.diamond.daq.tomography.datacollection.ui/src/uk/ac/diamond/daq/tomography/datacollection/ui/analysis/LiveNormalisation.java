@@ -0,0 +1,298 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.analysis;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.stream.IntStream;
+
+import org.eclipse.swt.graphics.ImageData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.Frame;
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.FrameListener;
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.Greyscale;
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.LatestFrameMailbox;
+
+/**
+ * Flat and dark field normalisation of the live camera stream, {@code (I - D) / (F - D)}, shown with automatic
+ * contrast.
+ * <p>
+ * The dark and flat references are each the average of several frames captured on request and kept until captured
+ * again. When both are known the reciprocal of {@code F - D} is computed once, so each frame costs a subtraction and
+ * a multiplication per pixel, done in row stripes in parallel. The contrast is stretched between the 0.5 and 99.5
+ * percentiles of the normalised values.
+ * <p>
+ * The results are written into a small pool of 8 bit images. The newest is taken with {@link #takeLatest()} and must
+ * be given back with {@link #release(ImageData)} once it has been drawn; frames are skipped if none is free.
+ */
+public class LiveNormalisation implements FrameListener {
+	private static final Logger logger = LoggerFactory.getLogger(LiveNormalisation.class);
+
+	public enum Reference {
+		DARK, FLAT
+	}
+
+	/** Frames averaged for each reference */
+	private static final int REFERENCE_FRAMES = 10;
+
+	/** Output images in circulation: one being drawn, one waiting and one being written */
+	private static final int OUTPUT_IMAGES = 3;
+
+	/** Flat minus dark at or below this is treated as no beam */
+	private static final float MIN_BEAM = 1;
+
+	private static final int CONTRAST_BINS = 1024;
+	private static final float CONTRAST_RANGE = 2;
+	private static final double LOW_PERCENTILE = 0.005;
+	private static final double HIGH_PERCENTILE = 0.995;
+
+	private static final int STRIPE_ROWS = 64;
+
+	private volatile boolean enabled;
+
+	// Reference capture, guarded by this
+	private Reference capturing;
+	private int captured;
+	private float[] accumulator;
+	private float[] dark;
+	private float[] flat;
+	private int referenceWidth;
+	private int referenceHeight;
+
+	// Frame processing, only used by the frame processing thread
+	private float[] offset;
+	private float[] reciprocal;
+	private float[] normalised;
+	private int[][] stripeCounts = new int[0][];
+
+	private final BlockingQueue<ImageData> free = new ArrayBlockingQueue<>(OUTPUT_IMAGES);
+	private final LatestFrameMailbox<ImageData> output = new LatestFrameMailbox<>();
+	private volatile int outputWidth;
+	private volatile int outputHeight;
+
+	/**
+	 * Average the next frames into a reference, replacing any held
+	 */
+	public synchronized void capture(Reference reference) {
+		capturing = reference;
+		captured = 0;
+		accumulator = null;
+	}
+
+	/**
+	 * @return true while frames are being averaged into a reference
+	 */
+	public synchronized boolean isCapturing() {
+		return capturing != null;
+	}
+
+	public synchronized boolean hasReferences() {
+		return dark != null && flat != null;
+	}
+
+	/**
+	 * Start or stop normalising frames
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+		if (!enabled) {
+			release(output.take());
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	@Override
+	public void handleFrame(Frame frame) {
+		if (isCapturing()) {
+			accumulate(frame);
+		}
+		if (enabled) {
+			normalise(frame);
+		}
+	}
+
+	private synchronized void accumulate(Frame frame) {
+		final byte[] pixels = frame.getLuminance();
+		if (accumulator == null || accumulator.length != pixels.length) {
+			accumulator = new float[pixels.length];
+			captured = 0;
+		}
+		for (int i = 0; i < pixels.length; i++) {
+			accumulator[i] += pixels[i] & 0xff;
+		}
+		if (++captured < REFERENCE_FRAMES) {
+			return;
+		}
+		for (int i = 0; i < accumulator.length; i++) {
+			accumulator[i] /= captured;
+		}
+		if (capturing == Reference.DARK) {
+			dark = accumulator;
+		} else {
+			flat = accumulator;
+		}
+		if (referenceWidth != frame.getWidth() || referenceHeight != frame.getHeight()) {
+			// The other reference no longer fits
+			if (capturing == Reference.DARK) {
+				flat = null;
+			} else {
+				dark = null;
+			}
+			referenceWidth = frame.getWidth();
+			referenceHeight = frame.getHeight();
+		}
+		logger.info("Captured {} reference from {} frames", capturing, captured);
+		capturing = null;
+		accumulator = null;
+		// Recomputed from the new references by the next frame
+		reciprocal = null;
+	}
+
+	private void normalise(Frame frame) {
+		final int width = frame.getWidth();
+		final int height = frame.getHeight();
+		if (!prepare(width, height)) {
+			return;
+		}
+		final ImageData image = takeFreeImage(width, height);
+		if (image == null) {
+			// Every image is still in use
+			return;
+		}
+		final byte[] pixels = frame.getLuminance();
+		final int stripes = (height + STRIPE_ROWS - 1) / STRIPE_ROWS;
+		if (stripeCounts.length < stripes) {
+			stripeCounts = new int[stripes][CONTRAST_BINS];
+		}
+
+		// Normalise and histogram each stripe
+		IntStream.range(0, stripes).parallel().forEach(stripe -> {
+			final int[] counts = stripeCounts[stripe];
+			Arrays.fill(counts, 0);
+			final int end = Math.min(height, (stripe + 1) * STRIPE_ROWS) * width;
+			for (int i = stripe * STRIPE_ROWS * width; i < end; i++) {
+				final float value = ((pixels[i] & 0xff) - offset[i]) * reciprocal[i];
+				normalised[i] = value;
+				counts[bin(value)]++;
+			}
+		});
+
+		// Contrast limits from the combined histogram
+		final int[] histogram = new int[CONTRAST_BINS];
+		for (int stripe = 0; stripe < stripes; stripe++) {
+			for (int bin = 0; bin < CONTRAST_BINS; bin++) {
+				histogram[bin] += stripeCounts[stripe][bin];
+			}
+		}
+		final float low = percentile(histogram, (long) width * height, LOW_PERCENTILE);
+		final float high = Math.max(percentile(histogram, (long) width * height, HIGH_PERCENTILE),
+				low + CONTRAST_RANGE / CONTRAST_BINS);
+		final float scale = 255 / (high - low);
+
+		// Stretch into the output image
+		final byte[] data = image.data;
+		final int bytesPerLine = image.bytesPerLine;
+		IntStream.range(0, stripes).parallel().forEach(stripe -> {
+			final int endRow = Math.min(height, (stripe + 1) * STRIPE_ROWS);
+			for (int y = stripe * STRIPE_ROWS; y < endRow; y++) {
+				final int in = y * width;
+				final int out = y * bytesPerLine;
+				for (int x = 0; x < width; x++) {
+					final float level = (normalised[in + x] - low) * scale;
+					data[out + x] = (byte) (level <= 0 ? 0 : level >= 255 ? 255 : (int) level);
+				}
+			}
+		});
+		release(output.offer(image));
+	}
+
+	/**
+	 * Compute what does not change from frame to frame
+	 *
+	 * @return false if the frame cannot be normalised
+	 */
+	private synchronized boolean prepare(int width, int height) {
+		if (dark == null || flat == null || width != referenceWidth || height != referenceHeight) {
+			return false;
+		}
+		if (reciprocal == null) {
+			final int size = width * height;
+			offset = dark.clone();
+			reciprocal = new float[size];
+			for (int i = 0; i < size; i++) {
+				final float beam = flat[i] - dark[i];
+				reciprocal[i] = beam > MIN_BEAM ? 1 / beam : 0;
+			}
+			normalised = new float[size];
+		}
+		return true;
+	}
+
+	private ImageData takeFreeImage(int width, int height) {
+		if (width != outputWidth || height != outputHeight) {
+			free.clear();
+			outputWidth = width;
+			outputHeight = height;
+			for (int i = 0; i < OUTPUT_IMAGES; i++) {
+				free.offer(new ImageData(width, height, 8, Greyscale.PALETTE));
+			}
+		}
+		return free.poll();
+	}
+
+	/**
+	 * @return the newest normalised frame, or null if there is none since the last call. It must be passed to
+	 *         {@link #release(ImageData)} when no longer needed.
+	 */
+	public ImageData takeLatest() {
+		return output.take();
+	}
+
+	/**
+	 * Give back an image from {@link #takeLatest()} to be written again
+	 */
+	public void release(ImageData image) {
+		if (image != null && image.width == outputWidth && image.height == outputHeight) {
+			free.offer(image);
+		}
+	}
+
+	private static int bin(float value) {
+		final int bin = (int) (value * (CONTRAST_BINS / CONTRAST_RANGE));
+		return bin < 0 ? 0 : bin >= CONTRAST_BINS ? CONTRAST_BINS - 1 : bin;
+	}
+
+	private static float percentile(int[] histogram, long total, double fraction) {
+		final long target = (long) (total * fraction);
+		long seen = 0;
+		for (int bin = 0; bin < histogram.length; bin++) {
+			seen += histogram[bin];
+			if (seen > target) {
+				return bin * (CONTRAST_RANGE / CONTRAST_BINS);
+			}
+		}
+		return CONTRAST_RANGE;
+	}
+}
@@ -0,0 +1,212 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.analysis;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import gda.jython.InterfaceProvider;
+import gda.scan.IScanDataPoint;
+import gda.scan.IScanDataPointObserver;
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.Frame;
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.FrameListener;
+
+/**
+ * A sinogram built up on the client while a scan runs. Each scan point takes the chosen detector row of the newest
+ * camera frame as the row for that projection, so a sample that has drifted or left the field of view shows up long
+ * before the scan finishes. The rows are held off the heap and grow without copying, so scans of many thousands of
+ * projections are fine.
+ * <p>
+ * If no frame newer than the one used for the previous projection has been processed, e.g. while the view is paused,
+ * the row is repeated so rows stay in step with projections, and it is flagged as repeated.
+ * <p>
+ * Added to a {@link uk.ac.diamond.daq.tomography.datacollection.ui.frames.FramePipeline}, it only follows frames
+ * and scans while something is listening.
+ */
+public class LiveSinogram implements FrameListener {
+
+	private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+	private final IScanDataPointObserver scanObserver = this::scanUpdate;
+
+	private int detectorRow;
+	private int frameHeight;
+	private int latestWidth;
+	private byte[] latestRow;
+	private long latestSequence;
+	/** Sequence number of the frame the last row appended came from */
+	private long appendedSequence = -1;
+	private int lastPointNumber = -1;
+	private SinogramBuffer buffer;
+	private final BitSet repeatedRows = new BitSet();
+
+	@Override
+	public void handleFrame(Frame frame) {
+		if (listeners.isEmpty()) {
+			return;
+		}
+		final byte[] luminance = frame.getLuminance();
+		final int width = frame.getWidth();
+		synchronized (this) {
+			frameHeight = frame.getHeight();
+			if (latestRow == null || latestRow.length != width) {
+				latestRow = new byte[width];
+			}
+			latestWidth = width;
+			latestSequence = frame.getSequence();
+			final int row = Math.min(detectorRow, frameHeight - 1);
+			System.arraycopy(luminance, row * width, latestRow, 0, width);
+		}
+	}
+
+	private void scanUpdate(Object source, Object arg) {
+		if (arg instanceof IScanDataPoint) {
+			addProjection(((IScanDataPoint) arg).getCurrentPointNumber());
+			listeners.forEach(Runnable::run);
+		}
+	}
+
+	private synchronized void addProjection(int pointNumber) {
+		if (pointNumber <= lastPointNumber) {
+			// A new scan
+			reset();
+		}
+		lastPointNumber = pointNumber;
+		if (latestRow == null) {
+			return;
+		}
+		if (buffer == null || buffer.getWidth() != latestWidth) {
+			reset();
+			buffer = new SinogramBuffer(latestWidth);
+		}
+		if (latestSequence <= appendedSequence) {
+			repeatedRows.set(buffer.getRows());
+		}
+		appendedSequence = latestSequence;
+		buffer.append(latestRow);
+	}
+
+	private void reset() {
+		buffer = null;
+		repeatedRows.clear();
+	}
+
+	/**
+	 * Be told when a projection is added or the sinogram is cleared, on the thread delivering scan points. While
+	 * there are listeners the sinogram follows the scans run on the server.
+	 */
+	public void addListener(Runnable listener) {
+		if (listeners.isEmpty()) {
+			InterfaceProvider.getScanDataPointProvider().addIScanDataPointObserver(scanObserver);
+		}
+		listeners.add(listener);
+	}
+
+	public void removeListener(Runnable listener) {
+		listeners.remove(listener);
+		if (listeners.isEmpty()) {
+			InterfaceProvider.getScanDataPointProvider().deleteIScanDataPointObserver(scanObserver);
+		}
+	}
+
+	/**
+	 * Choose the detector row to take from each frame. The rows collected so far come from a different slice so are
+	 * cleared.
+	 */
+	public void setDetectorRow(int detectorRow) {
+		synchronized (this) {
+			this.detectorRow = Math.max(0, detectorRow);
+			reset();
+		}
+		listeners.forEach(Runnable::run);
+	}
+
+	public synchronized int getDetectorRow() {
+		return detectorRow;
+	}
+
+	/**
+	 * @return the height of the frames from the camera, or 0 if none has been seen yet
+	 */
+	public synchronized int getFrameHeight() {
+		return frameHeight;
+	}
+
+	public void clear() {
+		synchronized (this) {
+			reset();
+		}
+		listeners.forEach(Runnable::run);
+	}
+
+	/**
+	 * @return the number of projections in the sinogram
+	 */
+	public synchronized int getRowCount() {
+		return buffer == null ? 0 : buffer.getRows();
+	}
+
+	/**
+	 * @return the number of projections whose row repeats the previous one as no newer frame had been processed
+	 */
+	public synchronized int getRepeatedRowCount() {
+		return repeatedRows.cardinality();
+	}
+
+	/**
+	 * @return true if the row repeats the previous one as no newer frame had been processed
+	 */
+	public synchronized boolean isRepeatedRow(int row) {
+		return repeatedRows.get(row);
+	}
+
+	/**
+	 * @return the width of the sinogram, or 0 if it is empty
+	 */
+	public synchronized int getWidth() {
+		return buffer == null ? 0 : buffer.getWidth();
+	}
+
+	/**
+	 * Copy rows of the sinogram
+	 *
+	 * @param from
+	 *            the first row to copy
+	 * @param count
+	 *            the number of rows wanted
+	 * @param width
+	 *            the width the rows are expected to have
+	 * @param destination
+	 *            receives the rows one after the other
+	 * @param offset
+	 *            index in the destination of the first row
+	 * @param stride
+	 *            distance in the destination from the start of one row to the next
+	 * @return the number of rows copied, fewer than wanted if the sinogram has been cleared or changed width since its
+	 *         size was read
+	 */
+	public synchronized int copyRows(int from, int count, int width, byte[] destination, int offset, int stride) {
+		if (buffer == null || buffer.getWidth() != width) {
+			return 0;
+		}
+		final int available = Math.max(0, Math.min(count, buffer.getRows() - from));
+		buffer.copyRows(from, available, destination, offset, stride);
+		return available;
+	}
+}
@@ -0,0 +1,71 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.analysis;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.Frame;
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.FrameListener;
+
+/**
+ * Statistics of the live camera stream computed on the client, as an alternative to the areaDetector statistics
+ * plugin. Added to a {@link uk.ac.diamond.daq.tomography.datacollection.ui.frames.FramePipeline} it computes the
+ * statistics of each processed frame, but only while something is listening for them.
+ */
+public class LiveStatistics implements FrameListener {
+
+	/** The stream frames are 8 bit so only the top level is saturated */
+	private static final int SATURATION_LEVEL = StatisticsEngine.LEVELS - 1;
+
+	private final StatisticsEngine engine = new StatisticsEngine(ForkJoinPool.commonPool(), SATURATION_LEVEL);
+	private final List<Consumer<FrameStatistics>> listeners = new CopyOnWriteArrayList<>();
+	private volatile FrameStatistics latest;
+
+	@Override
+	public void handleFrame(Frame frame) {
+		if (listeners.isEmpty()) {
+			return;
+		}
+		final FrameStatistics statistics = engine.compute(frame.getSequence(), frame.getLuminance(), frame.getWidth(),
+				frame.getHeight());
+		latest = statistics;
+		listeners.forEach(listener -> listener.accept(statistics));
+	}
+
+	/**
+	 * Be given the statistics of each frame, on a frame processing thread
+	 */
+	public void addListener(Consumer<FrameStatistics> listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(Consumer<FrameStatistics> listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * @return the statistics of the last frame computed, or null if none has been
+	 */
+	public FrameStatistics getLatest() {
+		return latest;
+	}
+}
@@ -0,0 +1,142 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.analysis;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.eclipse.swt.graphics.Rectangle;
+
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.Frame;
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.FrameListener;
+
+/**
+ * Statistics of named regions of interest of the live camera stream.
+ * <p>
+ * For each frame processed while there is at least one region, summed-area tables of the frame are built once on
+ * the frame processing thread. Every region is then measured from them, and {@link #measure(String, Rectangle)} can
+ * measure any other rectangle, e.g. one being dragged, without waiting for the next frame. Regions are in pixels of
+ * the frames from the stream.
+ * <p>
+ * Two sets of tables are kept: one being built and one being read. They are swapped when a frame is finished.
+ */
+public class RoiStatistics implements FrameListener {
+
+	private final Map<String, Rectangle> regions = new ConcurrentHashMap<>();
+	private final List<Consumer<Map<String, RoiValues>>> listeners = new CopyOnWriteArrayList<>();
+	private IntegralImage back = new IntegralImage();
+	private IntegralImage front = new IntegralImage();
+	private volatile Map<String, RoiValues> latest = Collections.emptyMap();
+
+	@Override
+	public void handleFrame(Frame frame) {
+		if (regions.isEmpty()) {
+			return;
+		}
+		final IntegralImage building;
+		synchronized (this) {
+			building = back;
+		}
+		building.build(frame.getSequence(), frame.getLuminance(), frame.getWidth(), frame.getHeight());
+		synchronized (this) {
+			if (building != back) {
+				// Cleared while building
+				return;
+			}
+			back = front;
+			front = building;
+		}
+		final Map<String, RoiValues> values = new LinkedHashMap<>();
+		regions.forEach((name, region) -> values.put(name, measure(name, region)));
+		latest = Collections.unmodifiableMap(values);
+		listeners.forEach(listener -> listener.accept(latest));
+	}
+
+	/**
+	 * Add or move a region measured on every frame
+	 */
+	public void setRoi(String name, Rectangle region) {
+		regions.put(name, new Rectangle(region.x, region.y, region.width, region.height));
+	}
+
+	/**
+	 * @return a copy of the regions measured, by name
+	 */
+	public Map<String, Rectangle> getRois() {
+		final Map<String, Rectangle> copy = new LinkedHashMap<>();
+		regions.forEach((name, region) -> copy.put(name, new Rectangle(region.x, region.y, region.width, region.height)));
+		return copy;
+	}
+
+	public void removeRoi(String name) {
+		regions.remove(name);
+	}
+
+	/**
+	 * Remove every region and free the tables
+	 */
+	public synchronized void clearRois() {
+		regions.clear();
+		latest = Collections.emptyMap();
+		back = new IntegralImage();
+		front = new IntegralImage();
+	}
+
+	/**
+	 * Measure a rectangle on the last frame processed. Takes constant time apart from finding the extremes.
+	 *
+	 * @return the values, or null if no frame has been processed since there were regions
+	 */
+	public synchronized RoiValues measure(String name, Rectangle region) {
+		if (front.isEmpty()) {
+			return null;
+		}
+		return front.measure(name, region.x, region.y, region.width, region.height);
+	}
+
+	/**
+	 * @return the values of every region for the last frame processed, by name
+	 */
+	public Map<String, RoiValues> getLatest() {
+		return latest;
+	}
+
+	/**
+	 * @return the values of a region for the last frame processed, or null if there is no such region
+	 */
+	public RoiValues getLatest(String name) {
+		return latest.get(name);
+	}
+
+	/**
+	 * Be given the values of all regions after each frame, on a frame processing thread
+	 */
+	public void addListener(Consumer<Map<String, RoiValues>> listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(Consumer<Map<String, RoiValues>> listener) {
+		listeners.remove(listener);
+	}
+}
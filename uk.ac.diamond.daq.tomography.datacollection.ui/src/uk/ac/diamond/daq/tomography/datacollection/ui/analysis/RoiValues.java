@@ -0,0 +1,105 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.analysis;
+
+/**
+ * Statistics of a region of interest of one frame, in frame pixels
+ */
+public final class RoiValues {
+
+	private final String name;
+	private final long sequence;
+	private final int x;
+	private final int y;
+	private final int width;
+	private final int height;
+	private final long sum;
+	private final double mean;
+	private final double standardDeviation;
+	private final int min;
+	private final int max;
+
+	RoiValues(String name, long sequence, int x, int y, int width, int height, long sum, double mean,
+			double standardDeviation, int min, int max) {
+		this.name = name;
+		this.sequence = sequence;
+		this.x = x;
+		this.y = y;
+		this.width = width;
+		this.height = height;
+		this.sum = sum;
+		this.mean = mean;
+		this.standardDeviation = standardDeviation;
+		this.min = min;
+		this.max = max;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the sequence number of the frame measured
+	 */
+	public long getSequence() {
+		return sequence;
+	}
+
+	public int getX() {
+		return x;
+	}
+
+	public int getY() {
+		return y;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	public long getSum() {
+		return sum;
+	}
+
+	public double getMean() {
+		return mean;
+	}
+
+	public double getStandardDeviation() {
+		return standardDeviation;
+	}
+
+	public int getMin() {
+		return min;
+	}
+
+	public int getMax() {
+		return max;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s %dx%d: sum %d mean %.1f std %.1f min %d max %d", name, width, height, sum, mean,
+				standardDeviation, min, max);
+	}
+}
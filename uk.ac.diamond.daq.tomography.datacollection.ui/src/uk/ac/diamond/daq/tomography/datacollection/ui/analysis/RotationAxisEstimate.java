@@ -0,0 +1,68 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.analysis;
+
+/**
+ * The rotation axis found from a pair of projections 180° apart
+ */
+public final class RotationAxisEstimate {
+
+	private final double axisX;
+	private final double shift;
+	private final double confidence;
+	private final long elapsedNanos;
+
+	RotationAxisEstimate(double axisX, double shift, double confidence, long elapsedNanos) {
+		this.axisX = axisX;
+		this.shift = shift;
+		this.confidence = confidence;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * @return the column of the rotation axis in frame pixels, from the left
+	 */
+	public double getAxisX() {
+		return axisX;
+	}
+
+	/**
+	 * @return the shift in pixels between the 0° projection and the mirrored 180° projection
+	 */
+	public double getShift() {
+		return shift;
+	}
+
+	/**
+	 * @return the height of the correlation peak from 0 (no match) to 1 (identical apart from the shift)
+	 */
+	public double getConfidence() {
+		return confidence;
+	}
+
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("RotationAxisEstimate(x=%.2f, shift=%.2f, confidence=%.2f, %d ms)", axisX, shift, confidence,
+				elapsedNanos / 1_000_000);
+	}
+}
@@ -0,0 +1,225 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.analysis;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.ejml.simple.SimpleMatrix;
+
+/**
+ * Finds the rotation axis from two projections 180° apart by phase correlation.
+ * <p>
+ * Mirroring the 180° projection left to right makes it the 0° projection shifted by twice the distance of the axis
+ * from the centre. Each row of the pair is windowed and transformed, and the normalised cross-power spectra of all
+ * rows are added up, so the shift is found from the whole image without transforming it in two dimensions. Row bands
+ * are transformed in parallel on a fork/join pool. The peak of the inverse transform gives the shift to a pixel and a
+ * least squares parabola through the points around it refines that to a fraction of a pixel.
+ */
+public class RotationAxisFinder {
+
+	/** Rows per band transformed by one task */
+	private static final int BAND_ROWS = 32;
+
+	/** Points either side of the peak used to refine it */
+	private static final int PEAK_HALF_WIDTH = 2;
+
+	/** Cross-power below this is treated as no signal */
+	private static final double MIN_POWER = 1e-12;
+
+	private final ForkJoinPool pool;
+
+	public RotationAxisFinder(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * @param at0
+	 *            the 0° projection, one unsigned byte per pixel, row by row
+	 * @param at180
+	 *            the 180° projection, the same size
+	 * @param width
+	 *            projection width
+	 * @param height
+	 *            projection height
+	 * @return the rotation axis position
+	 */
+	public RotationAxisEstimate find(byte[] at0, byte[] at180, int width, int height) {
+		if (at0.length != width * height || at180.length != width * height) {
+			throw new IllegalArgumentException("Projections must both be " + width + "x" + height);
+		}
+		final long start = System.nanoTime();
+		final int n = Fft.size(width);
+		final double[] window = hann(width);
+
+		final Spectrum spectrum = pool.invoke(new CrossPower(at0, at180, width, n, window, 0, height));
+		Fft.transform(spectrum.re, spectrum.im, true);
+		final double[] correlation = spectrum.re;
+
+		int peak = 0;
+		for (int i = 1; i < n; i++) {
+			if (correlation[i] > correlation[peak]) {
+				peak = i;
+			}
+		}
+		final double confidence = spectrum.rows > 0 ? Math.max(0, Math.min(1, correlation[peak] / spectrum.rows)) : 0;
+		double shift = peak + refine(correlation, peak);
+		if (shift > n / 2.0) {
+			shift -= n;
+		}
+		// A point at x in the 0° projection is at x + shift in the mirrored 180° one, and at 2 * axis - x unmirrored
+		final double axisX = (width - 1 - shift) / 2;
+		return new RotationAxisEstimate(axisX, shift, confidence, System.nanoTime() - start);
+	}
+
+	/**
+	 * Fit a parabola to the points around the peak by least squares
+	 *
+	 * @return the offset of its vertex from the peak, between -1 and 1
+	 */
+	private static double refine(double[] correlation, int peak) {
+		final int n = correlation.length;
+		final int points = 2 * PEAK_HALF_WIDTH + 1;
+		if (n < points) {
+			return 0;
+		}
+		final SimpleMatrix design = new SimpleMatrix(points, 3);
+		final SimpleMatrix values = new SimpleMatrix(points, 1);
+		for (int i = 0; i < points; i++) {
+			final int offset = i - PEAK_HALF_WIDTH;
+			design.set(i, 0, 1);
+			design.set(i, 1, offset);
+			design.set(i, 2, (double) offset * offset);
+			values.set(i, 0, correlation[Math.floorMod(peak + offset, n)]);
+		}
+		final SimpleMatrix coefficients = design.solve(values);
+		final double curvature = coefficients.get(2, 0);
+		if (curvature >= 0) {
+			// Not a maximum
+			return 0;
+		}
+		return Math.max(-1, Math.min(1, -coefficients.get(1, 0) / (2 * curvature)));
+	}
+
+	private static double[] hann(int width) {
+		final double[] window = new double[width];
+		for (int i = 0; i < width; i++) {
+			window[i] = width > 1 ? 0.5 - 0.5 * Math.cos(2 * Math.PI * i / (width - 1)) : 1;
+		}
+		return window;
+	}
+
+	private static final class Spectrum {
+		private final double[] re;
+		private final double[] im;
+		private int rows;
+
+		Spectrum(int n) {
+			re = new double[n];
+			im = new double[n];
+		}
+
+		Spectrum add(Spectrum other) {
+			for (int i = 0; i < re.length; i++) {
+				re[i] += other.re[i];
+				im[i] += other.im[i];
+			}
+			rows += other.rows;
+			return this;
+		}
+	}
+
+	/** Sums the normalised cross-power spectra of a range of rows */
+	private static final class CrossPower extends RecursiveTask<Spectrum> {
+		private static final long serialVersionUID = 1L;
+
+		private final byte[] at0;
+		private final byte[] at180;
+		private final int width;
+		private final int n;
+		private final double[] window;
+		private final int from;
+		private final int to;
+
+		CrossPower(byte[] at0, byte[] at180, int width, int n, double[] window, int from, int to) {
+			this.at0 = at0;
+			this.at180 = at180;
+			this.width = width;
+			this.n = n;
+			this.window = window;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected Spectrum compute() {
+			if (to - from > BAND_ROWS) {
+				final int middle = (from + to) >>> 1;
+				final CrossPower top = new CrossPower(at0, at180, width, n, window, from, middle);
+				top.fork();
+				final Spectrum bottom = new CrossPower(at0, at180, width, n, window, middle, to).compute();
+				return bottom.add(top.join());
+			}
+			final Spectrum sum = new Spectrum(n);
+			final double[] aRe = new double[n];
+			final double[] aIm = new double[n];
+			final double[] bRe = new double[n];
+			final double[] bIm = new double[n];
+			for (int row = from; row < to; row++) {
+				load(at0, row, false, aRe, aIm);
+				load(at180, row, true, bRe, bIm);
+				Fft.transform(aRe, aIm, false);
+				Fft.transform(bRe, bIm, false);
+				boolean signal = false;
+				for (int k = 0; k < n; k++) {
+					// conj(A) * B, normalised to unit magnitude
+					final double re = aRe[k] * bRe[k] + aIm[k] * bIm[k];
+					final double im = aRe[k] * bIm[k] - aIm[k] * bRe[k];
+					final double magnitude = Math.hypot(re, im);
+					if (magnitude > MIN_POWER) {
+						sum.re[k] += re / magnitude;
+						sum.im[k] += im / magnitude;
+						signal = true;
+					}
+				}
+				if (signal) {
+					sum.rows++;
+				}
+			}
+			return sum;
+		}
+
+		/** Copy a row, less its mean, windowed and zero padded, optionally mirrored */
+		private void load(byte[] pixels, int row, boolean mirror, double[] re, double[] im) {
+			final int offset = row * width;
+			long total = 0;
+			for (int x = 0; x < width; x++) {
+				total += pixels[offset + x] & 0xff;
+			}
+			final double mean = (double) total / width;
+			for (int x = 0; x < width; x++) {
+				final int source = mirror ? offset + width - 1 - x : offset + x;
+				re[x] = ((pixels[source] & 0xff) - mean) * window[x];
+			}
+			Arrays.fill(re, width, n, 0);
+			Arrays.fill(im, 0);
+		}
+	}
+}
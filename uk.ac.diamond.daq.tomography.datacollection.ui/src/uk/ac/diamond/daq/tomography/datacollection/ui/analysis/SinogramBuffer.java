@@ -0,0 +1,85 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.analysis;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The rows of a sinogram held outside the Java heap. The buffer grows a chunk at a time so appending never copies the
+ * rows already held, and a long scan does not put pressure on the garbage collector.
+ * <p>
+ * Not thread safe: {@link LiveSinogram} synchronises access.
+ */
+class SinogramBuffer {
+
+	/** Rows per off-heap chunk */
+	static final int CHUNK_ROWS = 256;
+
+	private final int width;
+	private final List<ByteBuffer> chunks = new ArrayList<>();
+	private int rows;
+
+	SinogramBuffer(int width) {
+		this.width = width;
+	}
+
+	int getWidth() {
+		return width;
+	}
+
+	int getRows() {
+		return rows;
+	}
+
+	void append(byte[] row) {
+		final int chunk = rows / CHUNK_ROWS;
+		if (chunk == chunks.size()) {
+			chunks.add(ByteBuffer.allocateDirect(CHUNK_ROWS * width));
+		}
+		final ByteBuffer target = chunks.get(chunk).duplicate();
+		target.position((rows % CHUNK_ROWS) * width);
+		target.put(row, 0, width);
+		rows++;
+	}
+
+	/**
+	 * Copy rows out of the buffer
+	 *
+	 * @param from
+	 *            the first row to copy
+	 * @param count
+	 *            the number of rows
+	 * @param destination
+	 *            receives the rows one after the other
+	 * @param offset
+	 *            index in the destination of the first row
+	 * @param stride
+	 *            distance in the destination from the start of one row to the next
+	 */
+	void copyRows(int from, int count, byte[] destination, int offset, int stride) {
+		for (int i = 0; i < count; i++) {
+			final int row = from + i;
+			final ByteBuffer chunk = chunks.get(row / CHUNK_ROWS).duplicate();
+			chunk.position((row % CHUNK_ROWS) * width);
+			chunk.get(destination, offset + i * stride, width);
+		}
+	}
+}
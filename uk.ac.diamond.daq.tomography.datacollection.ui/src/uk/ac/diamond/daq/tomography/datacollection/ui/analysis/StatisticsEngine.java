@@ -0,0 +1,124 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.analysis;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes the histogram of 8 bit frames, splitting each frame into horizontal stripes counted in parallel on a
+ * fork/join pool. Each stripe has its own count array, kept between frames, and the stripes are added up at the end
+ * so the counting loops share nothing. Everything else is derived from the histogram.
+ * <p>
+ * One frame is computed at a time.
+ */
+public class StatisticsEngine {
+
+	public static final int LEVELS = 256;
+
+	/** Stripes smaller than this cost more to schedule than they save */
+	private static final int MIN_STRIPE_PIXELS = 64 * 1024;
+
+	private final ForkJoinPool pool;
+	private final int saturationLevel;
+	private int[][] stripeCounts = new int[0][];
+
+	/**
+	 * @param pool
+	 *            the pool to count on, unless called from a fork/join worker, when its own pool is used
+	 * @param saturationLevel
+	 *            pixels at or above this level are counted as saturated
+	 */
+	public StatisticsEngine(ForkJoinPool pool, int saturationLevel) {
+		this.pool = pool;
+		this.saturationLevel = saturationLevel;
+	}
+
+	/**
+	 * @param sequence
+	 *            the frame number, returned with the result
+	 * @param pixels
+	 *            one unsigned byte per pixel, row by row
+	 * @param width
+	 *            the frame width
+	 * @param height
+	 *            the frame height
+	 * @return the statistics of the frame
+	 */
+	public synchronized FrameStatistics compute(long sequence, byte[] pixels, int width, int height) {
+		final ForkJoinPool pool = ForkJoinTask.inForkJoinPool() ? ForkJoinTask.getPool() : this.pool;
+		final int stripes = Math.max(1, Math.min(pool.getParallelism() * 4, width * height / MIN_STRIPE_PIXELS));
+		if (stripeCounts.length < stripes) {
+			stripeCounts = new int[stripes][LEVELS];
+		}
+		if (stripes == 1) {
+			new CountStripes(pixels, width, height, stripes, 0, 1).compute();
+		} else {
+			pool.invoke(new CountStripes(pixels, width, height, stripes, 0, stripes));
+		}
+
+		final int[] histogram = new int[LEVELS];
+		for (int stripe = 0; stripe < stripes; stripe++) {
+			final int[] counts = stripeCounts[stripe];
+			for (int level = 0; level < LEVELS; level++) {
+				histogram[level] += counts[level];
+			}
+		}
+		return new FrameStatistics(sequence, histogram, saturationLevel);
+	}
+
+	private class CountStripes extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final byte[] pixels;
+		private final int width;
+		private final int height;
+		private final int stripes;
+		private final int from;
+		private final int to;
+
+		CountStripes(byte[] pixels, int width, int height, int stripes, int from, int to) {
+			this.pixels = pixels;
+			this.width = width;
+			this.height = height;
+			this.stripes = stripes;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > 1) {
+				final int middle = (from + to) >>> 1;
+				invokeAll(new CountStripes(pixels, width, height, stripes, from, middle),
+						new CountStripes(pixels, width, height, stripes, middle, to));
+				return;
+			}
+			final int[] counts = stripeCounts[from];
+			Arrays.fill(counts, 0);
+			final int start = (int) ((long) height * from / stripes) * width;
+			final int end = (int) ((long) height * (from + 1) / stripes) * width;
+			for (int i = start; i < end; i++) {
+				counts[pixels[i] & 0xff]++;
+			}
+		}
+	}
+}
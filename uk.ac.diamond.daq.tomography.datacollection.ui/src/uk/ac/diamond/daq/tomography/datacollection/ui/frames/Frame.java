@@ -0,0 +1,194 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.frames;
+
+import java.util.function.Consumer;
+
+import org.eclipse.swt.graphics.ImageData;
+
+/**
+ * A camera frame passing through a {@link FramePipeline}. The image data is shared between every listener and must
+ * be treated as read only.
+ */
+public final class Frame {
+
+	private final long sequence;
+	private final long arrivalNanos;
+	private final ImageData image;
+	private final Consumer<ImageData> recycler;
+	private FramePyramid pyramid;
+	private int displayWidth;
+	private int displayHeight;
+	private long queuedNanos;
+	private long processingNanos;
+	private long processedNanos;
+	private byte[] luminance;
+
+	/**
+	 * @param recycler
+	 *            given the image back if the frame is dropped before it is processed, or null
+	 */
+	Frame(long sequence, long arrivalNanos, ImageData image, Consumer<ImageData> recycler) {
+		this.sequence = sequence;
+		this.arrivalNanos = arrivalNanos;
+		this.image = image;
+		this.recycler = recycler;
+	}
+
+	/**
+	 * Give the image back to where it came from, to be written over with a later frame. Only for frames no listener
+	 * has seen, as listeners may keep the frames they are given.
+	 */
+	void recycle() {
+		if (recycler != null) {
+			recycler.accept(image);
+		}
+	}
+
+	/**
+	 * @return the number of this frame, increasing by one for each frame received including those dropped
+	 */
+	public long getSequence() {
+		return sequence;
+	}
+
+	/**
+	 * @return the {@link System#nanoTime()} at which the frame was received from the camera, before it was decoded if
+	 *         the pipeline was told when that was
+	 */
+	public long getArrivalNanos() {
+		return arrivalNanos;
+	}
+
+	/**
+	 * @return the frame at the resolution it was received
+	 */
+	public ImageData getImage() {
+		return image;
+	}
+
+	/**
+	 * Get the frame at display resolution without building the pyramid, so it can be called on the UI thread
+	 *
+	 * @return the frame in greyscale reduced to the pyramid level nearest the display size, which is no smaller than
+	 *         the display, or null if the pyramid has not been built
+	 */
+	public synchronized ImageData getDisplayImage() {
+		return pyramid != null ? pyramid.getSmallest() : null;
+	}
+
+	/**
+	 * The frame at each resolution from the full frame down to the display size, built the first time it is asked for
+	 * and shared by every listener, so frames nothing draws from cost nothing. Building it takes time in proportion to
+	 * the frame size, so this is for worker listeners and background jobs; the UI thread uses
+	 * {@link #getBuiltPyramid()}.
+	 *
+	 * @return the pyramid of the frame
+	 */
+	public synchronized FramePyramid getPyramid() {
+		if (pyramid == null) {
+			pyramid = FramePyramid.build(getLuminance(), getWidth(), getHeight(), displayWidth, displayHeight);
+		}
+		return pyramid;
+	}
+
+	/**
+	 * Get the pyramid without building it, for the UI thread, which should not spend time building one. The pipeline
+	 * builds the pyramid of every frame on its workers while told to (see {@link FramePipeline#setBuildPyramids}).
+	 *
+	 * @return the pyramid of the frame, or null if it has not been built
+	 */
+	public synchronized FramePyramid getBuiltPyramid() {
+		return pyramid;
+	}
+
+	/**
+	 * Set the size the frame is displayed at, which is as far as its pyramid is built
+	 */
+	synchronized void setDisplaySize(int width, int height) {
+		displayWidth = width;
+		displayHeight = height;
+	}
+
+	/**
+	 * @return the {@link System#nanoTime()} at which the frame was queued for the workers
+	 */
+	long getQueuedNanos() {
+		return queuedNanos;
+	}
+
+	void setQueuedNanos(long queuedNanos) {
+		this.queuedNanos = queuedNanos;
+	}
+
+	/**
+	 * @return the {@link System#nanoTime()} at which the workers finished with the frame
+	 */
+	long getProcessedNanos() {
+		return processedNanos;
+	}
+
+	void setProcessedNanos(long processedNanos) {
+		this.processedNanos = processedNanos;
+	}
+
+	/**
+	 * @return the time spent on the frame by the pipeline workers
+	 */
+	public long getProcessingNanos() {
+		return processingNanos;
+	}
+
+	void setProcessingNanos(long processingNanos) {
+		this.processingNanos = processingNanos;
+	}
+
+	/**
+	 * The luminance of each pixel of the full resolution frame, computed the first time it is asked for and shared by
+	 * every listener. The frames from the camera stream are 8 bit so this is the full range of the data. Frames that
+	 * are already 8 bit greyscale with no row padding are used as they are, others are converted, so like
+	 * {@link #getPyramid()} this is not for the UI thread.
+	 *
+	 * @return one unsigned byte per pixel, row by row, which must not be modified
+	 */
+	public synchronized byte[] getLuminance() {
+		if (luminance == null) {
+			luminance = isPlainGreyscale(image) ? image.data : Luminance.of(image);
+		}
+		return luminance;
+	}
+
+	private static boolean isPlainGreyscale(ImageData image) {
+		return image.depth == 8 && image.palette == Greyscale.PALETTE && image.bytesPerLine == image.width
+				&& image.data.length == image.width * image.height;
+	}
+
+	public int getWidth() {
+		return image.width;
+	}
+
+	public int getHeight() {
+		return image.height;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Frame(%d, %dx%d)", sequence, image.width, image.height);
+	}
+}
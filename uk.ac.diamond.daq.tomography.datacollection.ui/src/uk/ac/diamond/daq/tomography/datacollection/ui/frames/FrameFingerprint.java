@@ -0,0 +1,84 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.frames;
+
+import org.eclipse.swt.graphics.ImageData;
+
+/**
+ * A cheap summary of a frame for telling whether anything in view has changed: the mean of the raw bytes of small
+ * blocks on a grid across the frame. Averaging over each block keeps camera noise and JPEG artefacts from counting
+ * as change.
+ */
+final class FrameFingerprint {
+
+	private static final int GRID = 32;
+	private static final int BLOCK_ROWS = 4;
+	private static final int BLOCK_BYTES = 16;
+
+	private final int width;
+	private final int height;
+	private final float[] blocks;
+
+	private FrameFingerprint(int width, int height, float[] blocks) {
+		this.width = width;
+		this.height = height;
+		this.blocks = blocks;
+	}
+
+	static FrameFingerprint of(ImageData image) {
+		final byte[] data = image.data;
+		final int stride = image.bytesPerLine;
+		final int blockRows = Math.min(BLOCK_ROWS, image.height);
+		final int blockBytes = Math.min(BLOCK_BYTES, stride);
+		final float[] blocks = new float[GRID * GRID];
+		for (int gy = 0; gy < GRID; gy++) {
+			final int top = Math.min((2 * gy + 1) * image.height / (2 * GRID), image.height - blockRows);
+			for (int gx = 0; gx < GRID; gx++) {
+				final int left = Math.min((2 * gx + 1) * stride / (2 * GRID), stride - blockBytes);
+				int sum = 0;
+				for (int y = top; y < top + blockRows; y++) {
+					final int row = y * stride + left;
+					for (int x = 0; x < blockBytes; x++) {
+						sum += data[row + x] & 0xff;
+					}
+				}
+				blocks[gy * GRID + gx] = (float) sum / (blockRows * blockBytes);
+			}
+		}
+		return new FrameFingerprint(image.width, image.height, blocks);
+	}
+
+	/**
+	 * The largest change of any one block, so a change confined to a small part of the view, e.g. a sample moving
+	 * in a few blocks, counts as much as one across the whole frame
+	 *
+	 * @return the largest absolute difference between corresponding blocks of the two frames, in levels of the raw
+	 *         bytes, or infinity if the frames are different sizes
+	 */
+	double differenceFrom(FrameFingerprint other) {
+		if (width != other.width || height != other.height) {
+			return Double.POSITIVE_INFINITY;
+		}
+		double max = 0;
+		for (int i = 0; i < blocks.length; i++) {
+			max = Math.max(max, Math.abs(blocks[i] - other.blocks[i]));
+		}
+		return max;
+	}
+}
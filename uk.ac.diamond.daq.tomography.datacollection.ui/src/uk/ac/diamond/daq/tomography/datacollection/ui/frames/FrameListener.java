@@ -0,0 +1,38 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.frames;
+
+/**
+ * Receives frames from a {@link FramePipeline}
+ */
+@FunctionalInterface
+public interface FrameListener {
+
+	/**
+	 * Called for each frame that is not superseded before it can be delivered. Listeners added with
+	 * {@link FramePipeline#addListener(FrameListener)} are called on a pipeline worker thread and those added with
+	 * {@link FramePipeline#addUIListener(FrameListener)} on the UI thread.
+	 *
+	 * @param frame
+	 *            the newest frame
+	 * @throws Exception
+	 *             logged by the pipeline, which carries on with the next frame
+	 */
+	void handleFrame(Frame frame) throws Exception;
+}
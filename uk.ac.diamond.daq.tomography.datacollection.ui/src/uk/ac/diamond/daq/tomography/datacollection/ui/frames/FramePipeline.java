@@ -0,0 +1,487 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.frames;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.widgets.Display;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.FrameTimings.Stage;
+
+/**
+ * Takes frames from the camera stream off the UI thread. Frames are handed over with {@link #submit(ImageData)},
+ * which returns immediately; any per-frame analysis then runs on a worker thread and the result is passed to the UI
+ * thread through a {@link LatestFrameMailbox}. A frame is only reduced to a {@link FramePyramid} if something asks
+ * for it, or on the worker for every frame if the UI draws from it (see {@link #setBuildPyramids(boolean)}).
+ * <p>
+ * Both hand-overs keep only the newest frame, so when the camera is faster than the workers or the UI, frames are
+ * dropped rather than queued and what is on screen is never more than one frame behind the camera. Frames of one
+ * pipeline are processed one at a time and in order; the worker pool can be shared between pipelines, which then
+ * take turns a frame at a time (see {@link FrameWorkers}).
+ * <p>
+ * A {@link FrameRateGovernor} drops frames on arrival while the pipeline is paused or when the cost of processing
+ * and displaying them means the rate has to be reduced.
+ * <p>
+ * Frames that are unchanged from the last one processed, judged on the worker by a {@link FrameFingerprint} within
+ * a tolerance, are dropped too, apart from one a second. After a run of unchanged frames the pipeline reports that
+ * the view is static.
+ * <p>
+ * The time each frame spends at each step, and the frames coalesced by the hand-overs, are kept in
+ * {@link FrameTimings}.
+ */
+public class FramePipeline {
+	private static final Logger logger = LoggerFactory.getLogger(FramePipeline.class);
+
+	private static final double MIN_FRAME_RATE = 1;
+	private static final double DEFAULT_MAX_FRAME_RATE = 30;
+	private static final double DEFAULT_UNCHANGED_TOLERANCE = 5;
+	private static final int STATIC_AFTER_FRAMES = 10;
+	private static final long UNCHANGED_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	private final Display display;
+	private final Executor workers;
+
+	private final LatestFrameMailbox<Frame> inbox = new LatestFrameMailbox<>();
+	private final LatestFrameMailbox<Frame> outbox = new LatestFrameMailbox<>();
+	private final AtomicBoolean processing = new AtomicBoolean();
+	private final AtomicBoolean uiUpdatePending = new AtomicBoolean();
+	private final AtomicLong sequence = new AtomicLong();
+	private final AtomicLong throttled = new AtomicLong();
+	private final AtomicLong unchanged = new AtomicLong();
+	private volatile FrameRateGovernor governor = new FrameRateGovernor(MIN_FRAME_RATE, DEFAULT_MAX_FRAME_RATE);
+	private final FrameTimings timings = new FrameTimings();
+
+	// Whether a frame given to the UI listeners has not been painted yet, only used by the UI thread
+	private boolean paintPending;
+	private long paintPendingSinceNanos;
+	private long paintPendingArrivalNanos;
+
+	private final List<FrameListener> listeners = new CopyOnWriteArrayList<>();
+	private final List<FrameListener> uiListeners = new CopyOnWriteArrayList<>();
+	private final List<Consumer<Boolean>> staticListeners = new CopyOnWriteArrayList<>();
+
+	// Unchanged frame detection, guarded by this
+	private FrameFingerprint lastFingerprint;
+	private long lastPassedNanos;
+	private int unchangedRun;
+	private boolean isStatic;
+	private final AtomicInteger everyFrameHolds = new AtomicInteger();
+	private volatile double unchangedTolerance = DEFAULT_UNCHANGED_TOLERANCE;
+
+	private volatile int displayWidth;
+	private volatile int displayHeight;
+	private volatile boolean buildPyramids;
+	private volatile boolean disposed;
+
+	/**
+	 * @param display
+	 *            the display whose thread UI listeners are called on
+	 * @param workers
+	 *            the threads to process frames on
+	 */
+	public FramePipeline(Display display, Executor workers) {
+		this.display = display;
+		this.workers = workers;
+	}
+
+	/**
+	 * Queue a frame for processing, replacing any frame still waiting. May be called from any thread.
+	 *
+	 * @param image
+	 *            the decoded frame, which must not be modified afterwards
+	 */
+	public void submit(ImageData image) {
+		if (image == null) {
+			return;
+		}
+		final long now = System.nanoTime();
+		final long frameNumber = arrive(now);
+		if (frameNumber > 0) {
+			queue(frameNumber, image, now, null);
+		}
+	}
+
+	/**
+	 * Count a frame that has still to be decoded and decide whether it is wanted, so frames the pipeline would drop
+	 * cost nothing to decode. Frames that are wanted are then passed to
+	 * {@link #submit(long, ImageData, long, Consumer)}.
+	 *
+	 * @param receivedNanos
+	 *            the {@link System#nanoTime()} at which the frame was received
+	 * @return the frame number, or 0 if the frame is not wanted
+	 */
+	long arrive(long receivedNanos) {
+		if (disposed) {
+			return 0;
+		}
+		final long frameNumber = sequence.incrementAndGet();
+		timings.frameArrived(receivedNanos);
+		if (!governor.admit(System.nanoTime())) {
+			throttled.incrementAndGet();
+			return 0;
+		}
+		return frameNumber;
+	}
+
+	/**
+	 * Queue a frame accepted by {@link #arrive(long)} once it has been decoded, so the time taken is included in its
+	 * timings
+	 *
+	 * @param receivedNanos
+	 *            the {@link System#nanoTime()} at which the frame was received, before decoding
+	 * @param unused
+	 *            given the image back if the frame is dropped before any listener has seen it, so it can be reused,
+	 *            or null
+	 */
+	void submit(long frameNumber, ImageData image, long receivedNanos, Consumer<ImageData> unused) {
+		if (disposed) {
+			if (unused != null) {
+				unused.accept(image);
+			}
+			return;
+		}
+		timings.record(Stage.DECODE, System.nanoTime() - receivedNanos);
+		queue(frameNumber, image, receivedNanos, unused);
+	}
+
+	private void queue(long frameNumber, ImageData image, long arrivalNanos, Consumer<ImageData> unused) {
+		final Frame frame = new Frame(frameNumber, arrivalNanos, image, unused);
+		frame.setQueuedNanos(System.nanoTime());
+		final Frame displaced = inbox.offer(frame);
+		if (displaced != null) {
+			timings.frameCoalesced();
+			displaced.recycle();
+		}
+		scheduleProcessing();
+	}
+
+	/**
+	 * @return true if the frame can be dropped as it is the same as the last one processed
+	 */
+	private boolean isUnchanged(ImageData image, long now) {
+		final FrameFingerprint fingerprint = FrameFingerprint.of(image);
+		final boolean skip;
+		final Boolean nowStatic;
+		synchronized (this) {
+			final boolean changed = lastFingerprint == null
+					|| fingerprint.differenceFrom(lastFingerprint) > unchangedTolerance;
+			unchangedRun = changed ? 0 : unchangedRun + 1;
+			skip = !changed && now - lastPassedNanos < UNCHANGED_REFRESH_NANOS;
+			if (!skip) {
+				lastFingerprint = fingerprint;
+				lastPassedNanos = now;
+			}
+			nowStatic = updateStatic(unchangedRun >= STATIC_AFTER_FRAMES);
+		}
+		notifyStatic(nowStatic);
+		return skip;
+	}
+
+	/**
+	 * @return the new state if it has changed, otherwise null
+	 */
+	private synchronized Boolean updateStatic(boolean staticView) {
+		if (staticView == isStatic) {
+			return null;
+		}
+		isStatic = staticView;
+		return staticView;
+	}
+
+	private void notifyStatic(Boolean staticView) {
+		if (staticView != null) {
+			staticListeners.forEach(listener -> listener.accept(staticView));
+		}
+	}
+
+	private void scheduleProcessing() {
+		if (processing.compareAndSet(false, true)) {
+			try {
+				workers.execute(this::processFrames);
+			} catch (RejectedExecutionException e) {
+				processing.set(false);
+				logger.debug("Frame pipeline workers have shut down", e);
+			}
+		}
+	}
+
+	private void processFrames() {
+		try {
+			final Frame frame = inbox.take();
+			if (!disposed && frame != null) {
+				process(frame);
+			}
+		} finally {
+			processing.set(false);
+		}
+		// One frame per task, so pipelines sharing the workers take turns. A newer frame, or one that arrived after
+		// the take but before processing was cleared, goes to the back of the queue.
+		if (!disposed && !inbox.isEmpty()) {
+			scheduleProcessing();
+		}
+	}
+
+	private void process(Frame frame) {
+		final long start = System.nanoTime();
+		timings.record(Stage.QUEUE, start - frame.getQueuedNanos());
+		// Judged here rather than on arrival so the thread submitting frames, e.g. the stream decoder, is not held up
+		if (everyFrameHolds.get() == 0 && isUnchanged(frame.getImage(), start)) {
+			unchanged.incrementAndGet();
+			frame.recycle();
+			return;
+		}
+		frame.setDisplaySize(displayWidth, displayHeight);
+		if (buildPyramids) {
+			frame.getPyramid();
+		}
+		notify(listeners, frame);
+		final long end = System.nanoTime();
+		frame.setProcessingNanos(end - start);
+		frame.setProcessedNanos(end);
+		timings.record(Stage.PROCESS, end - start);
+		if (outbox.offer(frame) != null) {
+			timings.frameCoalesced();
+		}
+		if (uiUpdatePending.compareAndSet(false, true) && !display.isDisposed()) {
+			display.asyncExec(this::updateUI);
+		}
+	}
+
+	private void updateUI() {
+		uiUpdatePending.set(false);
+		final Frame frame = outbox.take();
+		if (frame != null && !disposed) {
+			final long start = System.nanoTime();
+			notify(uiListeners, frame);
+			final long end = System.nanoTime();
+			governor.recordCost(frame.getProcessingNanos() + end - start, end);
+			timings.record(Stage.UI_WAIT, start - frame.getProcessedNanos());
+			timings.record(Stage.UI, end - start);
+			paintPending = true;
+			paintPendingSinceNanos = end;
+			paintPendingArrivalNanos = frame.getArrivalNanos();
+		}
+	}
+
+	/**
+	 * Tell the pipeline the view showing its frames has been painted, so the time from the newest frame being given
+	 * to the UI listeners to it reaching the screen, and from it arriving, is known. Must be called on the UI thread,
+	 * e.g. from a paint listener. Frames replaced by a newer one before a paint are not counted as displayed.
+	 */
+	public void viewPainted() {
+		if (paintPending) {
+			final long now = System.nanoTime();
+			timings.record(Stage.PAINT, now - paintPendingSinceNanos);
+			timings.framePainted(paintPendingArrivalNanos, now);
+			paintPending = false;
+		}
+	}
+
+	private void notify(List<FrameListener> frameListeners, Frame frame) {
+		for (FrameListener listener : frameListeners) {
+			try {
+				listener.handleFrame(frame);
+			} catch (Exception e) {
+				logger.error("Error handling {}", frame, e);
+			}
+		}
+	}
+
+	/**
+	 * Set the size frames are displayed at, which is as far as their pyramids are built. Frames smaller than this are
+	 * not scaled up.
+	 *
+	 * @param width
+	 *            display width in pixels, or 0 for no scaling
+	 * @param height
+	 *            display height in pixels, or 0 for no scaling
+	 */
+	public void setDisplaySize(int width, int height) {
+		displayWidth = width;
+		displayHeight = height;
+	}
+
+	/**
+	 * Choose whether the pyramid of every frame is built on the workers before the UI listeners are called. Turn this
+	 * on while a UI listener draws frames from their pyramids, so they are not built on the UI thread. Otherwise a
+	 * pyramid is only built when a listener asks for it.
+	 */
+	public void setBuildPyramids(boolean buildPyramids) {
+		this.buildPyramids = buildPyramids;
+	}
+
+	/**
+	 * Stop or restart processing frames, e.g. while the view showing them is hidden
+	 */
+	public void setPaused(boolean paused) {
+		governor.setPaused(paused);
+	}
+
+	/**
+	 * Set the highest frame rate processed. The rate actually processed is lowered automatically when frames cost
+	 * more than this allows.
+	 *
+	 * @param maxFrameRate
+	 *            frames per second
+	 */
+	public void setMaxFrameRate(double maxFrameRate) {
+		final FrameRateGovernor newGovernor = new FrameRateGovernor(Math.min(MIN_FRAME_RATE, maxFrameRate), maxFrameRate);
+		newGovernor.setPaused(governor.isPaused());
+		governor = newGovernor;
+	}
+
+	/**
+	 * Have every frame processed, unchanged or not, until the returned hold is released. Listeners that need every
+	 * frame, e.g. to average several, hold it while they do. Holds are counted, so unchanged frames are only dropped
+	 * again once every holder has released theirs.
+	 *
+	 * @return releases the hold when run; running it again does nothing
+	 */
+	public Runnable holdEveryFrame() {
+		if (everyFrameHolds.getAndIncrement() == 0) {
+			synchronized (this) {
+				lastFingerprint = null;
+				unchangedRun = 0;
+			}
+			notifyStatic(updateStatic(false));
+		}
+		final AtomicBoolean released = new AtomicBoolean();
+		return () -> {
+			if (released.compareAndSet(false, true)) {
+				everyFrameHolds.decrementAndGet();
+			}
+		};
+	}
+
+	/**
+	 * @param unchangedTolerance
+	 *            the change of the mean of any one block of the {@link FrameFingerprint}, in 8 bit levels, at or
+	 *            below which a frame counts as unchanged
+	 */
+	public void setUnchangedTolerance(double unchangedTolerance) {
+		this.unchangedTolerance = unchangedTolerance;
+	}
+
+	/**
+	 * Be told when the view becomes static, when frames stop changing, and when it changes again. Called on a worker
+	 * thread.
+	 */
+	public void addStaticListener(Consumer<Boolean> listener) {
+		staticListeners.add(listener);
+	}
+
+	public void removeStaticListener(Consumer<Boolean> listener) {
+		staticListeners.remove(listener);
+	}
+
+	/**
+	 * @return true if the recent frames have all been unchanged
+	 */
+	public synchronized boolean isStatic() {
+		return isStatic;
+	}
+
+	/**
+	 * @return where the time goes for each frame, and how many are coalesced
+	 */
+	public FrameTimings getTimings() {
+		return timings;
+	}
+
+	public FrameRateGovernor getGovernor() {
+		return governor;
+	}
+
+	/**
+	 * Add a listener called on a worker thread for every processed frame. Listeners should not block as they delay
+	 * the next frame.
+	 */
+	public void addListener(FrameListener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(FrameListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Add a listener called on the UI thread with the newest processed frame
+	 */
+	public void addUIListener(FrameListener listener) {
+		uiListeners.add(listener);
+	}
+
+	public void removeUIListener(FrameListener listener) {
+		uiListeners.remove(listener);
+	}
+
+	/**
+	 * @return the number of frames received
+	 */
+	public long getFramesReceived() {
+		return sequence.get();
+	}
+
+	/**
+	 * @return the number of frames dropped because a newer frame arrived before they were processed or displayed
+	 */
+	public long getFramesDropped() {
+		return inbox.getDropped() + outbox.getDropped();
+	}
+
+	/**
+	 * @return the number of frames not processed because the pipeline was paused or throttled
+	 */
+	public long getFramesThrottled() {
+		return throttled.get();
+	}
+
+	/**
+	 * @return the number of frames not processed because they were unchanged from the last one
+	 */
+	public long getFramesUnchanged() {
+		return unchanged.get();
+	}
+
+	/**
+	 * Stop processing frames. Frames already being processed are finished but not delivered to the UI.
+	 */
+	public void dispose() {
+		disposed = true;
+		listeners.clear();
+		uiListeners.clear();
+		staticListeners.clear();
+		final Frame waiting = inbox.take();
+		if (waiting != null) {
+			waiting.recycle();
+		}
+		outbox.take();
+	}
+}
@@ -0,0 +1,132 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.frames;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.eclipse.swt.graphics.ImageData;
+
+/**
+ * A frame reduced to a pyramid of 8 bit greyscale images, each half the width and height of the one before, so
+ * whatever draws the frame can take the level nearest the resolution it draws at instead of scaling the whole frame.
+ * Level 0 is the full frame. Levels are only built down to the display size, as smaller ones are never needed.
+ * <p>
+ * Each level is a 2×2 box filter of the one above, computed in parallel stripes of rows on the {@link FrameWorkers}
+ * pool building the pyramid.
+ */
+public final class FramePyramid {
+
+	private static final int STRIPE_ROWS = 64;
+
+	private final List<ImageData> levels;
+
+	private FramePyramid(List<ImageData> levels) {
+		this.levels = Collections.unmodifiableList(levels);
+	}
+
+	/**
+	 * Build the pyramid of a frame
+	 *
+	 * @param luminance
+	 *            one unsigned byte per pixel, shared with level 0 so must not be modified afterwards
+	 * @param width
+	 *            width of the frame
+	 * @param height
+	 *            height of the frame
+	 * @param displayWidth
+	 *            the width the frame is displayed at, or 0 to build only level 0
+	 * @param displayHeight
+	 *            the height the frame is displayed at, or 0 to build only level 0
+	 */
+	static FramePyramid build(byte[] luminance, int width, int height, int displayWidth, int displayHeight) {
+		final List<ImageData> levels = new ArrayList<>();
+		ImageData level = new ImageData(width, height, 8, Greyscale.PALETTE, 1, luminance);
+		levels.add(level);
+		while (displayWidth > 0 && displayHeight > 0 && level.width / 2 >= displayWidth && level.height / 2 >= displayHeight) {
+			level = halve(level);
+			levels.add(level);
+		}
+		return new FramePyramid(levels);
+	}
+
+	private static ImageData halve(ImageData source) {
+		final int width = source.width / 2;
+		final int height = source.height / 2;
+		final byte[] in = source.data;
+		final int inStride = source.bytesPerLine;
+		final byte[] out = new byte[width * height];
+		final int stripes = (height + STRIPE_ROWS - 1) / STRIPE_ROWS;
+		IntStream.range(0, stripes).parallel().forEach(stripe -> {
+			final int endRow = Math.min(height, (stripe + 1) * STRIPE_ROWS);
+			for (int y = stripe * STRIPE_ROWS; y < endRow; y++) {
+				final int top = 2 * y * inStride;
+				final int bottom = top + inStride;
+				final int row = y * width;
+				for (int x = 0; x < width; x++) {
+					final int i = 2 * x;
+					final int sum = (in[top + i] & 0xff) + (in[top + i + 1] & 0xff) + (in[bottom + i] & 0xff)
+							+ (in[bottom + i + 1] & 0xff);
+					out[row + x] = (byte) ((sum + 2) >> 2);
+				}
+			}
+		});
+		return new ImageData(width, height, 8, Greyscale.PALETTE, 1, out);
+	}
+
+	public int getLevelCount() {
+		return levels.size();
+	}
+
+	/**
+	 * @param level
+	 *            0 for the full frame
+	 * @return the image at that level, which must be treated as read only
+	 */
+	public ImageData getLevel(int level) {
+		return levels.get(level);
+	}
+
+	/**
+	 * The smallest level at least as big as the area it is to be drawn in, so it is only ever scaled down. A region
+	 * zoomed in on should ask for the size the whole frame would be drawn at.
+	 *
+	 * @param width
+	 *            width the whole frame is drawn at
+	 * @param height
+	 *            height the whole frame is drawn at
+	 * @return the level number
+	 */
+	public int getLevelFor(int width, int height) {
+		int level = 0;
+		while (level + 1 < levels.size() && levels.get(level + 1).width >= width && levels.get(level + 1).height >= height) {
+			level++;
+		}
+		return level;
+	}
+
+	/**
+	 * @return the smallest level built, the one nearest the display size when not zoomed
+	 */
+	public ImageData getSmallest() {
+		return levels.get(levels.size() - 1);
+	}
+}
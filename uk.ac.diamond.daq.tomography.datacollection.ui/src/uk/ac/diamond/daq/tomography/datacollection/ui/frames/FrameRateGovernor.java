@@ -0,0 +1,133 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.frames;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Decides which frames a {@link FramePipeline} processes, so that a view costs nothing while it is hidden and no
+ * more than it can afford while it is shown.
+ * <p>
+ * The cost of each frame (worker processing plus UI update) is averaged, and every adjustment period the admitted
+ * rate is compared with it: if a frame takes longer than the time between frames at the current rate, the rate is
+ * cut by a quarter; if it takes less than half that time, the rate is raised by one frame per second, up to the
+ * maximum. Frames arriving sooner than the current rate allows are dropped before any work is done on them.
+ */
+public class FrameRateGovernor {
+
+	private static final long ADJUSTMENT_PERIOD_NANOS = MILLISECONDS.toNanos(500);
+	private static final double DECREASE_FACTOR = 0.75;
+	private static final double INCREASE_STEP = 1.0;
+	/** Weight of each new sample in the average frame cost */
+	private static final double COST_SMOOTHING = 0.2;
+
+	private final double minRate;
+	private final double maxRate;
+
+	private volatile boolean paused;
+	private volatile double rate;
+	private volatile long minIntervalNanos;
+
+	/** Only meaningful once a frame has been admitted, as {@link System#nanoTime()} may be negative */
+	private long lastAdmittedNanos;
+	private boolean admittedAny;
+	private long lastAdjustmentNanos = System.nanoTime();
+	private double averageCostNanos;
+
+	/**
+	 * @param minRate
+	 *            the lowest rate, in frames per second, the governor will throttle down to
+	 * @param maxRate
+	 *            the highest rate, in frames per second, the governor will admit
+	 */
+	public FrameRateGovernor(double minRate, double maxRate) {
+		if (minRate <= 0 || maxRate < minRate) {
+			throw new IllegalArgumentException(String.format("Invalid frame rate range %.1f to %.1f", minRate, maxRate));
+		}
+		this.minRate = minRate;
+		this.maxRate = maxRate;
+		setRate(maxRate);
+	}
+
+	/**
+	 * @param nowNanos
+	 *            the {@link System#nanoTime()} the frame arrived
+	 * @return true if the frame should be processed
+	 */
+	public synchronized boolean admit(long nowNanos) {
+		if (paused || admittedAny && nowNanos - lastAdmittedNanos < minIntervalNanos) {
+			return false;
+		}
+		admittedAny = true;
+		lastAdmittedNanos = nowNanos;
+		return true;
+	}
+
+	/**
+	 * Record how long a frame took to process and display
+	 *
+	 * @param costNanos
+	 *            the time spent on the frame
+	 * @param nowNanos
+	 *            the current {@link System#nanoTime()}
+	 */
+	public synchronized void recordCost(long costNanos, long nowNanos) {
+		averageCostNanos = averageCostNanos == 0 ? costNanos
+				: averageCostNanos + COST_SMOOTHING * (costNanos - averageCostNanos);
+		if (nowNanos - lastAdjustmentNanos >= ADJUSTMENT_PERIOD_NANOS) {
+			lastAdjustmentNanos = nowNanos;
+			if (averageCostNanos > minIntervalNanos) {
+				setRate(Math.max(minRate, rate * DECREASE_FACTOR));
+			} else if (averageCostNanos < minIntervalNanos / 2.0) {
+				setRate(Math.min(maxRate, rate + INCREASE_STEP));
+			}
+		}
+	}
+
+	private void setRate(double rate) {
+		this.rate = rate;
+		minIntervalNanos = (long) (SECONDS.toNanos(1) / rate);
+	}
+
+	/**
+	 * Stop admitting frames, e.g. while the view is hidden. The rate is kept for when it is resumed.
+	 */
+	public void setPaused(boolean paused) {
+		this.paused = paused;
+	}
+
+	public boolean isPaused() {
+		return paused;
+	}
+
+	/**
+	 * @return the rate, in frames per second, currently admitted
+	 */
+	public double getRate() {
+		return rate;
+	}
+
+	/**
+	 * @return the average time in milliseconds spent on each admitted frame
+	 */
+	public synchronized double getAverageCostMillis() {
+		return averageCostNanos / MILLISECONDS.toNanos(1);
+	}
+}
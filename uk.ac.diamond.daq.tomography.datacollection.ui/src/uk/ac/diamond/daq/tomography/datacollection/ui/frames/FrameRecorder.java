@@ -0,0 +1,309 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.frames;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.SWTException;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+
+/**
+ * Keeps the last few seconds of the camera view so they can be looked back through after something has gone wrong.
+ * Added to a {@link FramePipeline}, it records each frame as displayed, i.e. the pyramid level nearest the display
+ * size, until it is paused.
+ * <p>
+ * Frames are held in a single direct buffer used as a ring, together with an index of fixed size, so memory use is
+ * fixed and recording does not allocate. The oldest frames are overwritten when the buffer is full, when there are
+ * more than the maximum number of frames or when they are older than the maximum age. Compressed storage deflates each
+ * frame at the fastest level, usually fitting two or three times as many frames in the buffer; frames that do not
+ * compress are stored raw.
+ * <p>
+ * The buffer is only allocated when the first frame is recorded and is let go by {@link #release()} when the view
+ * closes, so a view that never records costs nothing.
+ * <p>
+ * Frames are numbered from 0 for the oldest held.
+ */
+public class FrameRecorder implements FrameListener {
+
+	private final int bufferBytes;
+	/** Null until the first frame is recorded and after {@link #release()}, guarded by this */
+	private ByteBuffer buffer;
+	private final int maxFrames;
+	private final long maxAgeNanos;
+	private final boolean compressed;
+
+	// The index, a ring of maxFrames entries starting at oldest, all guarded by this
+	private final int[] offsets;
+	private final int[] lengths;
+	private final int[] widths;
+	private final int[] heights;
+	private final boolean[] deflated;
+	private final long[] arrivalNanos;
+	private final long[] timestamps;
+	private int oldest;
+	private int count;
+	private int writePosition;
+
+	private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+	private byte[] scratch = new byte[0];
+	private volatile boolean paused;
+
+	/**
+	 * @param bufferBytes
+	 *            the size of the buffer to keep the frames in
+	 * @param maxFrames
+	 *            the most frames to keep
+	 * @param maxAgeMillis
+	 *            how long to keep frames for
+	 * @param compressed
+	 *            true to deflate frames so more fit in the buffer, at some cost per frame
+	 */
+	public FrameRecorder(int bufferBytes, int maxFrames, long maxAgeMillis, boolean compressed) {
+		this.bufferBytes = bufferBytes;
+		this.maxFrames = maxFrames;
+		this.maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxAgeMillis);
+		this.compressed = compressed;
+		offsets = new int[maxFrames];
+		lengths = new int[maxFrames];
+		widths = new int[maxFrames];
+		heights = new int[maxFrames];
+		deflated = new boolean[maxFrames];
+		arrivalNanos = new long[maxFrames];
+		timestamps = new long[maxFrames];
+	}
+
+	@Override
+	public void handleFrame(Frame frame) {
+		if (paused) {
+			return;
+		}
+		final ImageData image = frame.getPyramid().getSmallest();
+		final int size = image.width * image.height;
+		if (size > bufferBytes) {
+			return;
+		}
+		synchronized (this) {
+			if (buffer == null) {
+				buffer = ByteBuffer.allocateDirect(bufferBytes);
+			}
+			record(image, size, frame.getArrivalNanos());
+		}
+	}
+
+	private void record(ImageData image, int size, long arrival) {
+		byte[] data = image.data;
+		int length = size;
+		boolean isDeflated = false;
+		if (compressed) {
+			if (scratch.length < size) {
+				// Only when the frame size grows
+				scratch = new byte[size];
+			}
+			deflater.reset();
+			deflater.setInput(image.data, 0, size);
+			deflater.finish();
+			final int deflatedLength = deflater.deflate(scratch, 0, size);
+			if (deflater.finished() && deflatedLength < size) {
+				data = scratch;
+				length = deflatedLength;
+				isDeflated = true;
+			}
+		}
+
+		evictOlderThan(arrival - maxAgeNanos);
+		if (count == maxFrames) {
+			evictOldest();
+		}
+		final int offset = reserve(length);
+		final ByteBuffer target = buffer.duplicate();
+		target.position(offset);
+		target.put(data, 0, length);
+		writePosition = offset + length;
+
+		final int entry = (oldest + count) % maxFrames;
+		offsets[entry] = offset;
+		lengths[entry] = length;
+		widths[entry] = image.width;
+		heights[entry] = image.height;
+		deflated[entry] = isDeflated;
+		arrivalNanos[entry] = arrival;
+		timestamps[entry] = System.currentTimeMillis();
+		count++;
+	}
+
+	/**
+	 * Make room in the ring for a frame, evicting the oldest frames as needed
+	 *
+	 * @return where to write the frame
+	 */
+	private int reserve(int length) {
+		while (count > 0) {
+			final int tail = offsets[oldest];
+			if (writePosition > tail) {
+				// Free from the write position to the end and from the start to the oldest frame
+				if (bufferBytes - writePosition >= length) {
+					return writePosition;
+				}
+				if (tail >= length) {
+					return 0;
+				}
+			} else if (tail - writePosition >= length) {
+				return writePosition;
+			}
+			evictOldest();
+		}
+		return 0;
+	}
+
+	private void evictOlderThan(long arrival) {
+		while (count > 0 && arrivalNanos[oldest] < arrival) {
+			evictOldest();
+		}
+	}
+
+	private void evictOldest() {
+		oldest = (oldest + 1) % maxFrames;
+		count--;
+	}
+
+	/**
+	 * Stop recording, e.g. while looking back through the frames, or start again
+	 */
+	public void setPaused(boolean paused) {
+		this.paused = paused;
+	}
+
+	public boolean isPaused() {
+		return paused;
+	}
+
+	/**
+	 * @return the number of frames held
+	 */
+	public synchronized int getFrameCount() {
+		return count;
+	}
+
+	/**
+	 * @return the time the frame was recorded, in milliseconds since the epoch
+	 */
+	public synchronized long getTimestamp(int index) {
+		return timestamps[entry(index)];
+	}
+
+	/**
+	 * @return a copy of a recorded frame as an 8 bit greyscale image
+	 */
+	public synchronized ImageData getFrame(int index) {
+		final int entry = entry(index);
+		final int width = widths[entry];
+		final int height = heights[entry];
+		final byte[] pixels = new byte[width * height];
+		final ByteBuffer source = buffer.duplicate();
+		source.position(offsets[entry]);
+		source.limit(offsets[entry] + lengths[entry]);
+		if (deflated[entry]) {
+			final byte[] stored = new byte[lengths[entry]];
+			source.get(stored);
+			final Inflater inflater = new Inflater();
+			try {
+				inflater.setInput(stored);
+				inflater.inflate(pixels);
+			} catch (DataFormatException e) {
+				throw new IllegalStateException("Recorded frame " + index + " is corrupt", e);
+			} finally {
+				inflater.end();
+			}
+		} else {
+			source.get(pixels);
+		}
+		return new ImageData(width, height, 8, Greyscale.PALETTE, 1, pixels);
+	}
+
+	/**
+	 * Write recorded frames to PNG files named by frame number and time recorded
+	 *
+	 * @param from
+	 *            the first frame to write
+	 * @param to
+	 *            the frame after the last to write
+	 * @param directory
+	 *            where to write the files
+	 * @return the number of files written
+	 * @throws IOException
+	 *             if a file cannot be written
+	 */
+	public int export(int from, int to, File directory) throws IOException {
+		final ImageLoader loader = new ImageLoader();
+		int written = 0;
+		for (int index = from; index < to; index++) {
+			final ImageData image;
+			final long timestamp;
+			synchronized (this) {
+				// Frames may have gone if recording carried on
+				if (index >= count) {
+					break;
+				}
+				image = getFrame(index);
+				timestamp = getTimestamp(index);
+			}
+			loader.data = new ImageData[] { image };
+			final File file = new File(directory, String.format("frame_%05d_%d.png", written, timestamp));
+			try {
+				loader.save(file.getPath(), SWT.IMAGE_PNG);
+			} catch (SWTException e) {
+				throw new IOException("Cannot write " + file, e);
+			}
+			written++;
+		}
+		return written;
+	}
+
+	/**
+	 * Forget all recorded frames
+	 */
+	public synchronized void clear() {
+		count = 0;
+		oldest = 0;
+		writePosition = 0;
+	}
+
+	/**
+	 * Forget all recorded frames and let go of the buffer, which is allocated again if another frame is recorded
+	 */
+	public synchronized void release() {
+		clear();
+		buffer = null;
+	}
+
+	private int entry(int index) {
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException("Frame " + index + " of " + count);
+		}
+		return (oldest + index) % maxFrames;
+	}
+}
@@ -0,0 +1,251 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.frames;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Where the time goes between a frame arriving at a {@link FramePipeline} and it being shown, and how many frames
+ * are dropped on the way, so lag can be put down to the camera and network, decoding, the workers or SWT.
+ * <p>
+ * Each {@link Stage} has a {@link LatencyHistogram}. Values are collected for an interval, which is ended by
+ * {@link #takeInterval()}, e.g. once a second for a status line, and added to totals kept since the pipeline was
+ * created or {@link #reset()}.
+ */
+public class FrameTimings {
+
+	public enum Stage {
+		/** From one frame arriving to the next, whether or not it is processed */
+		ARRIVAL_INTERVAL("arrival interval"),
+		/** From a PVA frame being received to it being an image, including waiting for a worker */
+		DECODE("decode"),
+		/** Waiting for a worker to take the frame */
+		QUEUE("queue"),
+		/** Running the worker listeners, and building the pyramid when the UI draws from it */
+		PROCESS("process"),
+		/** Waiting for the UI thread to take the frame */
+		UI_WAIT("UI wait"),
+		/** Running the UI listeners */
+		UI("UI"),
+		/** From the UI listeners finishing to the next paint of the camera view */
+		PAINT("paint"),
+		/** From arrival to the view being painted with the frame */
+		LATENCY("latency");
+
+		private final String label;
+
+		Stage(String label) {
+			this.label = label;
+		}
+
+		@Override
+		public String toString() {
+			return label;
+		}
+	}
+
+	/**
+	 * Timings and frame counts over a period
+	 */
+	public static final class Summary {
+		private final double seconds;
+		private final long received;
+		private final long displayed;
+		private final long coalesced;
+		private final Map<Stage, LatencyHistogram> histograms;
+
+		private Summary(double seconds, long received, long displayed, long coalesced,
+				Map<Stage, LatencyHistogram> histograms) {
+			this.seconds = seconds;
+			this.received = received;
+			this.displayed = displayed;
+			this.coalesced = coalesced;
+			this.histograms = histograms;
+		}
+
+		public double getSeconds() {
+			return seconds;
+		}
+
+		public long getFramesReceived() {
+			return received;
+		}
+
+		public long getFramesDisplayed() {
+			return displayed;
+		}
+
+		/**
+		 * @return frames replaced by a newer one while waiting for a worker or the UI thread
+		 */
+		public long getFramesCoalesced() {
+			return coalesced;
+		}
+
+		public double getReceivedRate() {
+			return seconds > 0 ? received / seconds : 0;
+		}
+
+		/**
+		 * @return the rate frames reached the screen, not counting those replaced before the view was painted
+		 */
+		public double getDisplayedRate() {
+			return seconds > 0 ? displayed / seconds : 0;
+		}
+
+		public LatencyHistogram getHistogram(Stage stage) {
+			return histograms.get(stage);
+		}
+
+		/**
+		 * @return a one line summary of the end to end latency and frame rate
+		 */
+		public String toStatus() {
+			final LatencyHistogram latency = histograms.get(Stage.LATENCY);
+			return String.format("p50 %.0f ms  p99 %.0f ms  %.1f fps", latency.getPercentileMillis(50),
+					latency.getPercentileMillis(99), getDisplayedRate());
+		}
+
+		/**
+		 * @return every stage on a line of its own, for the log
+		 */
+		@Override
+		public String toString() {
+			final StringBuilder text = new StringBuilder(String.format(
+					"%.1f s: %d frames received (%.1f fps), %d displayed (%.1f fps), %d coalesced", seconds, received,
+					getReceivedRate(), displayed, getDisplayedRate(), coalesced));
+			histograms.forEach((stage, histogram) -> {
+				if (histogram.getCount() > 0) {
+					text.append(String.format("%n  %-16s n=%-6d mean %7.2f  p50 %7.2f  p90 %7.2f  p99 %7.2f  max %7.2f ms",
+							stage, histogram.getCount(), histogram.getMeanMillis(), histogram.getPercentileMillis(50),
+							histogram.getPercentileMillis(90), histogram.getPercentileMillis(99),
+							histogram.getMaxMillis()));
+				}
+			});
+			return text.toString();
+		}
+	}
+
+	private final Map<Stage, LatencyHistogram> interval = new EnumMap<>(Stage.class);
+	private final Map<Stage, LatencyHistogram> total = new EnumMap<>(Stage.class);
+	private long intervalStartNanos;
+	private long totalStartNanos;
+	private long intervalReceived;
+	private long intervalDisplayed;
+	private long intervalCoalesced;
+	private long totalReceived;
+	private long totalDisplayed;
+	private long totalCoalesced;
+	private long lastArrivalNanos;
+
+	FrameTimings() {
+		for (Stage stage : Stage.values()) {
+			interval.put(stage, new LatencyHistogram());
+			total.put(stage, new LatencyHistogram());
+		}
+		reset();
+	}
+
+	synchronized void record(Stage stage, long nanos) {
+		interval.get(stage).record(nanos);
+	}
+
+	synchronized void frameArrived(long arrivalNanos) {
+		if (lastArrivalNanos != 0) {
+			interval.get(Stage.ARRIVAL_INTERVAL).record(arrivalNanos - lastArrivalNanos);
+		}
+		lastArrivalNanos = arrivalNanos;
+		intervalReceived++;
+	}
+
+	synchronized void frameCoalesced() {
+		intervalCoalesced++;
+	}
+
+	/**
+	 * Record a frame having been painted in the view
+	 *
+	 * @param arrivalNanos
+	 *            when the frame arrived at the pipeline
+	 * @param paintedNanos
+	 *            when the view was painted
+	 */
+	synchronized void framePainted(long arrivalNanos, long paintedNanos) {
+		interval.get(Stage.LATENCY).record(paintedNanos - arrivalNanos);
+		intervalDisplayed++;
+	}
+
+	/**
+	 * End the current interval, adding it to the totals
+	 *
+	 * @return the timings since the last call
+	 */
+	public synchronized Summary takeInterval() {
+		final long now = System.nanoTime();
+		final Map<Stage, LatencyHistogram> histograms = new EnumMap<>(Stage.class);
+		interval.forEach((stage, histogram) -> {
+			histograms.put(stage, histogram.copy());
+			total.get(stage).add(histogram);
+			histogram.reset();
+		});
+		final Summary summary = new Summary((now - intervalStartNanos) / 1e9, intervalReceived, intervalDisplayed,
+				intervalCoalesced, histograms);
+		totalReceived += intervalReceived;
+		totalDisplayed += intervalDisplayed;
+		totalCoalesced += intervalCoalesced;
+		intervalReceived = 0;
+		intervalDisplayed = 0;
+		intervalCoalesced = 0;
+		intervalStartNanos = now;
+		return summary;
+	}
+
+	/**
+	 * @return the timings since the pipeline was created or the timings were reset, including the current interval
+	 */
+	public synchronized Summary getTotal() {
+		final Map<Stage, LatencyHistogram> histograms = new EnumMap<>(Stage.class);
+		total.forEach((stage, histogram) -> {
+			final LatencyHistogram sum = histogram.copy();
+			sum.add(interval.get(stage));
+			histograms.put(stage, sum);
+		});
+		return new Summary((System.nanoTime() - totalStartNanos) / 1e9, totalReceived + intervalReceived,
+				totalDisplayed + intervalDisplayed, totalCoalesced + intervalCoalesced, histograms);
+	}
+
+	/**
+	 * Discard every timing and count, e.g. before comparing a change to the pipeline
+	 */
+	public synchronized void reset() {
+		interval.values().forEach(LatencyHistogram::reset);
+		total.values().forEach(LatencyHistogram::reset);
+		intervalReceived = 0;
+		intervalDisplayed = 0;
+		intervalCoalesced = 0;
+		totalReceived = 0;
+		totalDisplayed = 0;
+		totalCoalesced = 0;
+		lastArrivalNanos = 0;
+		intervalStartNanos = System.nanoTime();
+		totalStartNanos = intervalStartNanos;
+	}
+}
@@ -0,0 +1,56 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.frames;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Worker threads for {@link FramePipeline}s and {@link PvaImageSource}s.
+ * <p>
+ * The pool is a {@link ForkJoinPool} with a fixed parallelism. Pipelines and sources only ever have one task waiting
+ * and do one frame per task, so when several share a pool they take turns. Work a task splits into stripes with a
+ * parallel stream or a fork/join task, e.g. building a {@link FramePyramid} or computing the focus metric, runs on
+ * the pool of the worker that started it rather than the common pool, so the CPU used for frames is bounded by the
+ * parallelism however many cameras there are. This does not cover what a widget does with the frames it decodes
+ * itself, such as the MJPEG stream.
+ */
+public final class FrameWorkers {
+
+	private FrameWorkers() {
+	}
+
+	/**
+	 * @param name
+	 *            prefix of the thread names
+	 * @param threads
+	 *            the number of threads working at once
+	 */
+	public static ForkJoinPool newPool(String name, int threads) {
+		final AtomicInteger count = new AtomicInteger();
+		return new ForkJoinPool(threads, pool -> {
+			final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			thread.setName(name + "-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}, null, true);
+	}
+}
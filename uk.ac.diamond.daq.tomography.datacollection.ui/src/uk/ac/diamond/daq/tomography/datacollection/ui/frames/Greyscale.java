@@ -0,0 +1,41 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.frames;
+
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+
+/**
+ * The palette of the 8 bit greyscale images made from camera frames
+ */
+public final class Greyscale {
+
+	public static final PaletteData PALETTE;
+	static {
+		final RGB[] greys = new RGB[256];
+		for (int i = 0; i < greys.length; i++) {
+			greys[i] = new RGB(i, i, i);
+		}
+		PALETTE = new PaletteData(greys);
+	}
+
+	private Greyscale() {
+		// Constants only
+	}
+}
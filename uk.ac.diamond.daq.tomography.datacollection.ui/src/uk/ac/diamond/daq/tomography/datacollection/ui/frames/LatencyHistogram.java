@@ -0,0 +1,140 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.frames;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A histogram of durations with a fixed relative precision, in the manner of an HDR histogram. Durations are kept in
+ * microseconds: below 64 µs each has its own bucket, and above that each power of two is split into 32 buckets, so a
+ * value read back is within about 3% of those recorded. Recording takes constant time and never allocates.
+ * <p>
+ * Not thread safe; {@link FrameTimings} guards its histograms.
+ */
+public class LatencyHistogram {
+
+	private static final int LINEAR_BUCKETS = 64;
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	/** Highest power of two of microseconds tracked, about 67 s; longer durations count as the longest */
+	private static final int MAX_EXPONENT = 25;
+	private static final int BUCKETS = LINEAR_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	private final long[] counts = new long[BUCKETS];
+	private long count;
+	private long sumMicros;
+	private long maxMicros;
+
+	public void record(long nanos) {
+		final long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+		counts[bucket(micros)]++;
+		count++;
+		sumMicros += micros;
+		maxMicros = Math.max(maxMicros, micros);
+	}
+
+	/**
+	 * Add the values recorded in another histogram to this one
+	 */
+	public void add(LatencyHistogram other) {
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] += other.counts[i];
+		}
+		count += other.count;
+		sumMicros += other.sumMicros;
+		maxMicros = Math.max(maxMicros, other.maxMicros);
+	}
+
+	public void reset() {
+		Arrays.fill(counts, 0);
+		count = 0;
+		sumMicros = 0;
+		maxMicros = 0;
+	}
+
+	public LatencyHistogram copy() {
+		final LatencyHistogram copy = new LatencyHistogram();
+		copy.add(this);
+		return copy;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * @param percentile
+	 *            from 0 to 100
+	 * @return the value in milliseconds below which the given percentage of values lie, or 0 if nothing has been
+	 *         recorded
+	 */
+	public double getPercentileMillis(double percentile) {
+		if (count == 0) {
+			return 0;
+		}
+		final long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return Math.min(upperBound(i), maxMicros) / 1000.0;
+			}
+		}
+		return maxMicros / 1000.0;
+	}
+
+	public double getMeanMillis() {
+		return count == 0 ? 0 : sumMicros / 1000.0 / count;
+	}
+
+	public double getMaxMillis() {
+		return maxMicros / 1000.0;
+	}
+
+	static int bucket(long micros) {
+		if (micros < LINEAR_BUCKETS) {
+			return (int) micros;
+		}
+		final int exponent = 63 - Long.numberOfLeadingZeros(micros);
+		if (exponent > MAX_EXPONENT) {
+			return BUCKETS - 1;
+		}
+		final int shift = exponent - SUB_BUCKET_BITS;
+		final int subBucket = (int) (micros >> shift) - SUB_BUCKETS;
+		return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * @return the largest value in microseconds that falls in a bucket, unbounded for the last as it also holds the
+	 *         durations too long to track
+	 */
+	static long upperBound(int bucket) {
+		if (bucket < LINEAR_BUCKETS) {
+			return bucket;
+		}
+		if (bucket == BUCKETS - 1) {
+			return Long.MAX_VALUE;
+		}
+		final int shift = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + 1;
+		final long subBucket = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+		return ((subBucket + 1) << shift) - 1;
+	}
+}
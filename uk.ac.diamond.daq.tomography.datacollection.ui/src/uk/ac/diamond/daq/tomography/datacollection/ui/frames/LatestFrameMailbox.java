@@ -0,0 +1,68 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.frames;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A single slot holding the newest item offered to it. Offering replaces whatever is waiting, so a slow consumer
+ * only ever sees the latest frame and never works through a backlog of stale ones.
+ *
+ * @param <T>
+ *            the type of item held
+ */
+public class LatestFrameMailbox<T> {
+
+	private final AtomicReference<T> slot = new AtomicReference<>();
+	private final AtomicLong dropped = new AtomicLong();
+
+	/**
+	 * Put an item in the mailbox, replacing any item not yet taken
+	 *
+	 * @param item
+	 *            the new item
+	 * @return the item that was replaced, or null if the mailbox was empty
+	 */
+	public T offer(T item) {
+		final T replaced = slot.getAndSet(item);
+		if (replaced != null) {
+			dropped.incrementAndGet();
+		}
+		return replaced;
+	}
+
+	/**
+	 * @return the waiting item, removing it from the mailbox, or null if there is none
+	 */
+	public T take() {
+		return slot.getAndSet(null);
+	}
+
+	public boolean isEmpty() {
+		return slot.get() == null;
+	}
+
+	/**
+	 * @return the number of items replaced before they were taken
+	 */
+	public long getDropped() {
+		return dropped.get();
+	}
+}
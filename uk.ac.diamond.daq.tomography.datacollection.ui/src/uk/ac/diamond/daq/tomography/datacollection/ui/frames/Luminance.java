@@ -0,0 +1,81 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.frames;
+
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+
+/**
+ * Converts decoded frames to one unsigned byte of luminance per pixel for analysis
+ */
+final class Luminance {
+
+	private Luminance() {
+		// static methods only
+	}
+
+	/**
+	 * @return the luminance of each pixel, row by row, to be read as unsigned bytes
+	 */
+	static byte[] of(ImageData image) {
+		final int width = image.width;
+		final int height = image.height;
+		final byte[] luminance = new byte[width * height];
+		final int[] row = new int[width];
+		final PaletteData palette = image.palette;
+		if (palette.isDirect) {
+			for (int y = 0, offset = 0; y < height; y++, offset += width) {
+				image.getPixels(0, y, width, row, 0);
+				for (int x = 0; x < width; x++) {
+					final int pixel = row[x];
+					final int red = shift(pixel & palette.redMask, palette.redShift);
+					final int green = shift(pixel & palette.greenMask, palette.greenShift);
+					final int blue = shift(pixel & palette.blueMask, palette.blueShift);
+					luminance[offset + x] = (byte) weigh(red, green, blue);
+				}
+			}
+		} else {
+			// Indexed, usually greyscale, so look each index up once
+			final RGB[] colours = palette.getRGBs();
+			final byte[] lookup = new byte[colours.length];
+			for (int i = 0; i < colours.length; i++) {
+				lookup[i] = (byte) weigh(colours[i].red, colours[i].green, colours[i].blue);
+			}
+			for (int y = 0, offset = 0; y < height; y++, offset += width) {
+				image.getPixels(0, y, width, row, 0);
+				for (int x = 0; x < width; x++) {
+					final int index = row[x];
+					luminance[offset + x] = index < lookup.length ? lookup[index] : 0;
+				}
+			}
+		}
+		return luminance;
+	}
+
+	/** Rec. 601 weights in fixed point */
+	private static int weigh(int red, int green, int blue) {
+		return (77 * red + 150 * green + 29 * blue) >> 8;
+	}
+
+	/** As {@link PaletteData#getRGB(int)}: a negative shift is to the right */
+	private static int shift(int value, int shift) {
+		return shift < 0 ? value >>> -shift : value << shift;
+	}
+}
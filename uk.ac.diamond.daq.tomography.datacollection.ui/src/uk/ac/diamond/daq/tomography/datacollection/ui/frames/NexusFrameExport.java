@@ -0,0 +1,409 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.frames;
+
+import static hdf.hdf5lib.HDF5Constants.H5F_ACC_TRUNC;
+import static hdf.hdf5lib.HDF5Constants.H5P_DATASET_CREATE;
+import static hdf.hdf5lib.HDF5Constants.H5P_DEFAULT;
+import static hdf.hdf5lib.HDF5Constants.H5S_ALL;
+import static hdf.hdf5lib.HDF5Constants.H5S_SCALAR;
+import static hdf.hdf5lib.HDF5Constants.H5S_SELECT_SET;
+import static hdf.hdf5lib.HDF5Constants.H5S_UNLIMITED;
+import static hdf.hdf5lib.HDF5Constants.H5T_C_S1;
+import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_DOUBLE;
+import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_INT32;
+import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_INT64;
+import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_UINT8;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.Rectangle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import hdf.hdf5lib.H5;
+import hdf.hdf5lib.exceptions.HDF5Exception;
+
+/**
+ * Writes frames from a {@link FrameRecorder} to a NeXus file: the frames with the time each was recorded, the
+ * positions of the motors and the regions of interest marked on the view.
+ * <p>
+ * Frames are read from the recorder in batches on the calling thread and written behind on a thread of their own,
+ * which does all the HDF5 calls. The frames dataset is chunked one frame to a chunk, optionally deflated, and each
+ * batch goes to the file in one write. Two batches are in use at a time so memory use does not depend on the number
+ * of frames.
+ * <p>
+ * Only frames the size of the first one are written, in case the view was resized while recording. The positions are
+ * a single reading taken when they are set, not one per frame, and are marked with the time they were read. If the
+ * export fails the partly written file is deleted.
+ */
+public class NexusFrameExport {
+	private static final Logger logger = LoggerFactory.getLogger(NexusFrameExport.class);
+
+	private static final int BATCH_FRAMES = 32;
+	private static final int BATCHES = 2;
+
+	private final File file;
+	private final int deflateLevel;
+	private Map<String, Object> positions = Collections.emptyMap();
+	private Instant positionsTime;
+	private Map<String, Rectangle> regions = Collections.emptyMap();
+	private int regionFrameWidth;
+
+	// Used only on the writer thread
+	private long fileId = -1;
+	private long framesId = -1;
+	private long timestampsId = -1;
+	private long written;
+	private int exportWidth;
+
+	/**
+	 * @param file
+	 *            the file to write, replaced if it exists
+	 * @param deflateLevel
+	 *            1 to 9 to compress the frames, 0 to store them raw
+	 */
+	public NexusFrameExport(File file, int deflateLevel) {
+		this.file = file;
+		this.deflateLevel = deflateLevel;
+	}
+
+	/**
+	 * @param positions
+	 *            the positions to save by scannable name, as double[] or for non-numeric positions their text, read
+	 *            now
+	 */
+	public void setPositions(Map<String, Object> positions) {
+		this.positions = new LinkedHashMap<>(positions);
+		positionsTime = Instant.now();
+	}
+
+	/**
+	 * @param regions
+	 *            regions of interest by name, in the pixels of the full camera frame
+	 * @param frameWidth
+	 *            the width of the full camera frame, to scale the regions to the recorded frames
+	 */
+	public void setRegions(Map<String, Rectangle> regions, int frameWidth) {
+		this.regions = new LinkedHashMap<>(regions);
+		this.regionFrameWidth = frameWidth;
+	}
+
+	/**
+	 * Write the frames, returning when they are all in the file
+	 *
+	 * @param recorder
+	 *            the recorder, which should be paused so the frames do not move
+	 * @param from
+	 *            the first frame to write
+	 * @param to
+	 *            the frame after the last to write
+	 * @return the number of frames written
+	 * @throws IOException
+	 *             if the file cannot be written
+	 */
+	public int write(FrameRecorder recorder, int from, int to) throws IOException {
+		if (from >= to || from >= recorder.getFrameCount()) {
+			throw new IOException("No recorded frames to export");
+		}
+		final ImageData first = recorder.getFrame(from);
+		final int width = first.width;
+		final int height = first.height;
+		final int frameBytes = width * height;
+
+		final BlockingQueue<Batch> free = new ArrayBlockingQueue<>(BATCHES);
+		for (int i = 0; i < BATCHES; i++) {
+			free.add(new Batch(BATCH_FRAMES * frameBytes));
+		}
+		final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "nexus-frame-export");
+			thread.setDaemon(true);
+			return thread;
+		});
+		Future<?> last = writer.submit(() -> create(width, height));
+		boolean complete = false;
+		try {
+			int index = from;
+			while (index < to && index < recorder.getFrameCount()) {
+				final Batch batch = free.take();
+				batch.count = 0;
+				for (; index < to && batch.count < BATCH_FRAMES && index < recorder.getFrameCount(); index++) {
+					final ImageData frame = recorder.getFrame(index);
+					if (frame.width != width || frame.height != height) {
+						logger.debug("Not exporting frame {} as it is {}x{}", index, frame.width, frame.height);
+						continue;
+					}
+					System.arraycopy(frame.data, 0, batch.pixels, batch.count * frameBytes, frameBytes);
+					batch.timestamps[batch.count++] = recorder.getTimestamp(index);
+				}
+				last.get();
+				last = writer.submit(() -> {
+					append(batch, width, height);
+					free.add(batch);
+					return null;
+				});
+			}
+			last.get();
+			writer.submit(this::writeMetadata).get();
+			complete = true;
+			return (int) written;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted exporting to " + file, e);
+		} catch (ExecutionException e) {
+			throw new IOException("Cannot write " + file, e.getCause());
+		} finally {
+			final Future<?> closed = writer.submit(this::close);
+			writer.shutdown();
+			if (!complete) {
+				deleteIncomplete(closed);
+			}
+		}
+	}
+
+	/**
+	 * Delete the partly written file once the writer has closed it, even if interrupted
+	 */
+	private void deleteIncomplete(Future<?> closed) {
+		final boolean interrupted = Thread.interrupted();
+		try {
+			closed.get();
+			Files.deleteIfExists(file.toPath());
+		} catch (InterruptedException | ExecutionException | IOException e) {
+			logger.warn("Cannot delete incomplete export {}", file, e);
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private Void create(int width, int height) throws HDF5Exception {
+		exportWidth = width;
+		fileId = H5.H5Fcreate(file.getPath(), H5F_ACC_TRUNC, H5P_DEFAULT, H5P_DEFAULT);
+		final long entry = createGroup(fileId, "entry", "NXentry");
+		try {
+			final long data = createGroup(entry, "data", "NXdata");
+			try {
+				writeAttribute(data, "signal", "data");
+				framesId = createExtendable(data, "data", H5T_NATIVE_UINT8, new long[] { 0, height, width },
+						new long[] { 1, height, width }, deflateLevel);
+				timestampsId = createExtendable(data, "timestamp", H5T_NATIVE_INT64, new long[] { 0 },
+						new long[] { BATCH_FRAMES }, 0);
+				writeAttribute(timestampsId, "units", "ms");
+			} finally {
+				H5.H5Gclose(data);
+			}
+		} finally {
+			H5.H5Gclose(entry);
+		}
+		return null;
+	}
+
+	private void append(Batch batch, int width, int height) throws HDF5Exception {
+		if (batch.count == 0) {
+			return;
+		}
+		final byte[] pixels = batch.count == BATCH_FRAMES ? batch.pixels
+				: Arrays.copyOf(batch.pixels, batch.count * width * height);
+		final long[] timestamps = batch.count == BATCH_FRAMES ? batch.timestamps
+				: Arrays.copyOf(batch.timestamps, batch.count);
+		appendRows(framesId, H5T_NATIVE_UINT8, new long[] { written, 0, 0 }, new long[] { batch.count, height, width },
+				pixels);
+		appendRows(timestampsId, H5T_NATIVE_INT64, new long[] { written }, new long[] { batch.count }, timestamps);
+		written += batch.count;
+	}
+
+	private static void appendRows(long dataset, long type, long[] start, long[] count, Object values)
+			throws HDF5Exception {
+		final long[] extent = count.clone();
+		extent[0] = start[0] + count[0];
+		H5.H5Dset_extent(dataset, extent);
+		final long fileSpace = H5.H5Dget_space(dataset);
+		final long memorySpace = H5.H5Screate_simple(count.length, count, null);
+		try {
+			H5.H5Sselect_hyperslab(fileSpace, H5S_SELECT_SET, start, null, count, null);
+			H5.H5Dwrite(dataset, type, memorySpace, fileSpace, H5P_DEFAULT, values);
+		} finally {
+			H5.H5Sclose(memorySpace);
+			H5.H5Sclose(fileSpace);
+		}
+	}
+
+	private Void writeMetadata() throws HDF5Exception {
+		final long entry = H5.H5Gopen(fileId, "entry", H5P_DEFAULT);
+		try {
+			writePositions(entry);
+			writeRegions(entry);
+		} finally {
+			H5.H5Gclose(entry);
+		}
+		return null;
+	}
+
+	private void writePositions(long entry) throws HDF5Exception {
+		final long instrument = createGroup(entry, "instrument", "NXinstrument");
+		try {
+			if (positionsTime != null) {
+				writeAttribute(instrument, "positions_time", positionsTime.toString());
+				writeAttribute(instrument, "note", "Positions read once at export, not with each frame");
+			}
+			for (Map.Entry<String, Object> position : positions.entrySet()) {
+				final long positioner = createGroup(instrument, position.getKey(), "NXpositioner");
+				try {
+					if (position.getValue() instanceof double[]) {
+						final double[] values = (double[]) position.getValue();
+						H5.H5Dclose(writeDataset(positioner, "value", H5T_NATIVE_DOUBLE, values.length, values));
+					} else {
+						writeAttribute(positioner, "value", String.valueOf(position.getValue()));
+					}
+				} finally {
+					H5.H5Gclose(positioner);
+				}
+			}
+		} finally {
+			H5.H5Gclose(instrument);
+		}
+	}
+
+	private void writeRegions(long entry) throws HDF5Exception {
+		final long regionsGroup = createGroup(entry, "regions_of_interest", "NXcollection");
+		try {
+			final double scale = regionFrameWidth > 0 ? (double) exportWidth / regionFrameWidth : 1;
+			for (Map.Entry<String, Rectangle> region : regions.entrySet()) {
+				final Rectangle r = region.getValue();
+				final int[] bounds = { (int) (r.x * scale), (int) (r.y * scale), (int) (r.width * scale),
+						(int) (r.height * scale) };
+				H5.H5Dclose(writeDataset(regionsGroup, region.getKey(), H5T_NATIVE_INT32, bounds.length, bounds));
+			}
+		} finally {
+			H5.H5Gclose(regionsGroup);
+		}
+	}
+
+	private Void close() {
+		try {
+			if (timestampsId >= 0) {
+				H5.H5Dclose(timestampsId);
+			}
+			if (framesId >= 0) {
+				H5.H5Dclose(framesId);
+			}
+			if (fileId >= 0) {
+				H5.H5Fclose(fileId);
+			}
+		} catch (HDF5Exception e) {
+			logger.error("Error closing {}", file, e);
+		}
+		return null;
+	}
+
+	private static long createGroup(long parent, String name, String nxClass) throws HDF5Exception {
+		final long group = H5.H5Gcreate(parent, name, H5P_DEFAULT, H5P_DEFAULT, H5P_DEFAULT);
+		try {
+			writeAttribute(group, "NX_class", nxClass);
+		} catch (HDF5Exception | RuntimeException e) {
+			H5.H5Gclose(group);
+			throw e;
+		}
+		return group;
+	}
+
+	private static long createExtendable(long parent, String name, long type, long[] dimensions, long[] chunk,
+			int deflate) throws HDF5Exception {
+		final long[] maxDimensions = dimensions.clone();
+		maxDimensions[0] = H5S_UNLIMITED;
+		final long space = H5.H5Screate_simple(dimensions.length, dimensions, maxDimensions);
+		final long properties = H5.H5Pcreate(H5P_DATASET_CREATE);
+		try {
+			H5.H5Pset_chunk(properties, chunk.length, chunk);
+			if (deflate > 0) {
+				H5.H5Pset_deflate(properties, deflate);
+			}
+			return H5.H5Dcreate(parent, name, type, space, H5P_DEFAULT, properties, H5P_DEFAULT);
+		} finally {
+			H5.H5Pclose(properties);
+			H5.H5Sclose(space);
+		}
+	}
+
+	/**
+	 * @return the dataset, to be closed by the caller
+	 */
+	private static long writeDataset(long parent, String name, long type, int length, Object values)
+			throws HDF5Exception {
+		final long space = H5.H5Screate_simple(1, new long[] { length }, null);
+		try {
+			final long dataset = H5.H5Dcreate(parent, name, type, space, H5P_DEFAULT, H5P_DEFAULT, H5P_DEFAULT);
+			try {
+				H5.H5Dwrite(dataset, type, H5S_ALL, H5S_ALL, H5P_DEFAULT, values);
+			} catch (HDF5Exception | RuntimeException e) {
+				H5.H5Dclose(dataset);
+				throw e;
+			}
+			return dataset;
+		} finally {
+			H5.H5Sclose(space);
+		}
+	}
+
+	private static void writeAttribute(long parent, String name, String value) throws HDF5Exception {
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		final long type = H5.H5Tcopy(H5T_C_S1);
+		final long space = H5.H5Screate(H5S_SCALAR);
+		try {
+			H5.H5Tset_size(type, Math.max(1, bytes.length));
+			final long attribute = H5.H5Acreate(parent, name, type, space, H5P_DEFAULT, H5P_DEFAULT);
+			try {
+				H5.H5Awrite(attribute, type, bytes);
+			} finally {
+				H5.H5Aclose(attribute);
+			}
+		} finally {
+			H5.H5Sclose(space);
+			H5.H5Tclose(type);
+		}
+	}
+
+	/** Frames and their timestamps passed from the reading thread to the writer */
+	private static final class Batch {
+		private final byte[] pixels;
+		private final long[] timestamps = new long[BATCH_FRAMES];
+		private int count;
+
+		private Batch(int bytes) {
+			pixels = new byte[bytes];
+		}
+	}
+}
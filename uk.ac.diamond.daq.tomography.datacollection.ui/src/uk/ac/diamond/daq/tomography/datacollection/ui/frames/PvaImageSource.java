@@ -0,0 +1,412 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.frames;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.swt.graphics.ImageData;
+import org.epics.pvaccess.ClientFactory;
+import org.epics.pvaccess.client.Channel;
+import org.epics.pvaccess.client.Channel.ConnectionState;
+import org.epics.pvaccess.client.ChannelProvider;
+import org.epics.pvaccess.client.ChannelProviderRegistryFactory;
+import org.epics.pvaccess.client.ChannelRequester;
+import org.epics.pvdata.copy.CreateRequest;
+import org.epics.pvdata.monitor.Monitor;
+import org.epics.pvdata.monitor.MonitorElement;
+import org.epics.pvdata.monitor.MonitorRequester;
+import org.epics.pvdata.pv.ByteArrayData;
+import org.epics.pvdata.pv.MessageType;
+import org.epics.pvdata.pv.PVByteArray;
+import org.epics.pvdata.pv.PVField;
+import org.epics.pvdata.pv.PVInt;
+import org.epics.pvdata.pv.PVScalarArray;
+import org.epics.pvdata.pv.PVShortArray;
+import org.epics.pvdata.pv.PVStructure;
+import org.epics.pvdata.pv.PVStructureArray;
+import org.epics.pvdata.pv.PVUnion;
+import org.epics.pvdata.pv.ScalarType;
+import org.epics.pvdata.pv.ShortArrayData;
+import org.epics.pvdata.pv.Status;
+import org.epics.pvdata.pv.Structure;
+import org.epics.pvdata.pv.StructureArrayData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Feeds a {@link FramePipeline} from the areaDetector PVA plugin instead of the ffmpeg MJPEG stream, so frames arrive
+ * at the full size of the detector and are scaled to 8 bits by a fixed window rather than by the JPEG encoder. The
+ * MJPEG stream itself is not stopped: the widget showing it goes on decoding it underneath.
+ * <p>
+ * The monitor thread only copies each NTNDArray payload into a pooled direct buffer, reading the pvData arrays in
+ * place, and gives the element straight back. Conversion for display runs on the pipeline workers, only for frames
+ * the pipeline will take, and only the newest frame is converted when they fall behind. It goes through a lookup
+ * table from raw values to display levels. The image a frame is converted into is reused only if the pipeline drops
+ * the frame before any listener sees it: when a newer frame replaces it in the queue for the workers, when it is
+ * unchanged from the last frame, or when the pipeline is disposed. Listeners may keep the frames they see, e.g. as a
+ * reference or as the last frame shown, and frames with a plain greyscale image share it as their luminance, so
+ * images of frames that reach the listeners are left to the garbage collector.
+ * <p>
+ * Every frame is scaled through the same window, set with {@link #setDisplayRange(int, int)} and by default the full
+ * range of the data type, so frames can be compared with each other and with dark and flat references.
+ * <p>
+ * Monochrome 8 and 16 bit arrays are supported.
+ */
+public class PvaImageSource implements ChannelRequester, MonitorRequester {
+	private static final Logger logger = LoggerFactory.getLogger(PvaImageSource.class);
+
+	private static final String REQUEST = "field(value,dimension)";
+	private static final int POOLED_FRAMES = 3;
+
+	private final String pvName;
+	private final FramePipeline pipeline;
+	private final Executor workers;
+
+	private final BlockingQueue<RawFrame> free = new ArrayBlockingQueue<>(POOLED_FRAMES);
+	private final BlockingQueue<ImageData> freeImages = new ArrayBlockingQueue<>(POOLED_FRAMES);
+	private final LatestFrameMailbox<RawFrame> received = new LatestFrameMailbox<>();
+	private final AtomicBoolean converting = new AtomicBoolean();
+	private final ByteArrayData byteData = new ByteArrayData();
+	private final ShortArrayData shortData = new ShortArrayData();
+	private final StructureArrayData dimensionData = new StructureArrayData();
+
+	private Channel channel;
+	private Monitor monitor;
+	private volatile boolean connected;
+	private volatile boolean stopped;
+	private volatile int[] displayRange;
+
+	// The lookup table for the last frame converted, only used by the converting thread
+	private byte[] levels;
+	private int levelsBytesPerPixel;
+	private boolean levelsSigned;
+	private int[] levelsRange;
+
+	/**
+	 * @param pvName
+	 *            the NTNDArray PV of the PVA plugin
+	 * @param pipeline
+	 *            where the frames are sent
+	 * @param workers
+	 *            the threads to convert frames on
+	 */
+	public PvaImageSource(String pvName, FramePipeline pipeline, Executor workers) {
+		this.pvName = pvName;
+		this.pipeline = pipeline;
+		this.workers = workers;
+		for (int i = 0; i < POOLED_FRAMES; i++) {
+			free.offer(new RawFrame(0));
+		}
+	}
+
+	/**
+	 * Connect to the PV and start sending frames to the pipeline once connected
+	 */
+	public synchronized void start() {
+		if (channel != null) {
+			return;
+		}
+		stopped = false;
+		ClientFactory.start();
+		final ChannelProvider provider = ChannelProviderRegistryFactory.getChannelProviderRegistry()
+				.getProvider(ClientFactory.PROVIDER_NAME);
+		channel = provider.createChannel(pvName, this, ChannelProvider.PRIORITY_DEFAULT);
+	}
+
+	/**
+	 * Stop sending frames and disconnect
+	 */
+	public synchronized void stop() {
+		stopped = true;
+		connected = false;
+		if (monitor != null) {
+			monitor.stop();
+			monitor.destroy();
+			monitor = null;
+		}
+		if (channel != null) {
+			channel.destroy();
+			channel = null;
+		}
+		recycle(received.take());
+	}
+
+	/**
+	 * Set the raw values shown as black and white. Values outside are clipped.
+	 */
+	public void setDisplayRange(int low, int high) {
+		if (high <= low) {
+			throw new IllegalArgumentException(String.format("Invalid display range %d to %d", low, high));
+		}
+		displayRange = new int[] { low, high };
+	}
+
+	/**
+	 * Show the full range of the data type, the default
+	 */
+	public void setFullDisplayRange() {
+		displayRange = null;
+	}
+
+	/**
+	 * @return true while frames are being received from the PV
+	 */
+	public boolean isConnected() {
+		return connected;
+	}
+
+	@Override
+	public String getRequesterName() {
+		return getClass().getSimpleName() + ":" + pvName;
+	}
+
+	@Override
+	public void message(String message, MessageType messageType) {
+		logger.info("{}: {} {}", pvName, messageType, message);
+	}
+
+	@Override
+	public void channelCreated(Status status, Channel createdChannel) {
+		if (!status.isSuccess()) {
+			logger.error("Cannot create channel for {}: {}", pvName, status.getMessage());
+		}
+	}
+
+	@Override
+	public synchronized void channelStateChange(Channel changedChannel, ConnectionState connectionState) {
+		logger.debug("{} is {}", pvName, connectionState);
+		if (stopped || changedChannel != channel) {
+			return;
+		}
+		if (connectionState == ConnectionState.CONNECTED) {
+			if (monitor == null) {
+				final PVStructure request = CreateRequest.create().createRequest(REQUEST);
+				monitor = changedChannel.createMonitor(this, request);
+			}
+		} else {
+			connected = false;
+		}
+	}
+
+	@Override
+	public void monitorConnect(Status status, Monitor connectedMonitor, Structure structure) {
+		if (!status.isSuccess()) {
+			logger.error("Cannot monitor {}: {}", pvName, status.getMessage());
+			return;
+		}
+		connectedMonitor.start();
+		connected = true;
+	}
+
+	@Override
+	public void monitorEvent(Monitor eventMonitor) {
+		MonitorElement element;
+		while ((element = eventMonitor.poll()) != null) {
+			try {
+				if (!stopped) {
+					receive(element.getPVStructure());
+				}
+			} catch (RuntimeException e) {
+				logger.error("Error reading frame from {}", pvName, e);
+			} finally {
+				eventMonitor.release(element);
+			}
+		}
+	}
+
+	@Override
+	public void unlisten(Monitor unlistenedMonitor) {
+		connected = false;
+	}
+
+	/**
+	 * Copy the frame out of the monitor element into a pooled buffer. Called on the monitor thread so kept to the
+	 * copy itself.
+	 */
+	void receive(PVStructure ntndArray) {
+		final PVStructureArray dimensions = ntndArray.getSubField(PVStructureArray.class, "dimension");
+		final PVUnion value = ntndArray.getSubField(PVUnion.class, "value");
+		if (dimensions == null || value == null || dimensions.getLength() != 2) {
+			logger.debug("{} is not a monochrome NTNDArray", pvName);
+			return;
+		}
+		dimensions.get(0, 2, dimensionData);
+		final int width = dimensionData.data[0].getSubField(PVInt.class, "size").get();
+		final int height = dimensionData.data[1].getSubField(PVInt.class, "size").get();
+		final int pixels = width * height;
+
+		final PVField array = value.get();
+		final int bytesPerPixel;
+		if (array instanceof PVByteArray) {
+			bytesPerPixel = 1;
+		} else if (array instanceof PVShortArray) {
+			bytesPerPixel = 2;
+		} else {
+			logger.debug("Unsupported data type {} from {}", array == null ? null : array.getField(), pvName);
+			return;
+		}
+
+		RawFrame frame = free.poll();
+		if (frame == null) {
+			// All pooled frames are waiting to be converted
+			return;
+		}
+		if (frame.capacity() < pixels * bytesPerPixel) {
+			frame = new RawFrame(pixels * bytesPerPixel);
+		}
+		final boolean signed = !isUnsigned(array);
+		final ByteBuffer buffer = frame.reset(width, height, bytesPerPixel, signed);
+		if (bytesPerPixel == 1) {
+			final int length = ((PVByteArray) array).get(0, pixels, byteData);
+			buffer.put(byteData.data, byteData.offset, length);
+		} else {
+			final int length = ((PVShortArray) array).get(0, pixels, shortData);
+			buffer.asShortBuffer().put(shortData.data, shortData.offset, length);
+		}
+		recycle(received.offer(frame));
+		scheduleConversion();
+	}
+
+	private static boolean isUnsigned(PVField array) {
+		final ScalarType type = ((PVScalarArray) array).getScalarArray().getElementType();
+		return type == ScalarType.pvUByte || type == ScalarType.pvUShort;
+	}
+
+	private void scheduleConversion() {
+		if (converting.compareAndSet(false, true)) {
+			try {
+				workers.execute(this::convertFrames);
+			} catch (RejectedExecutionException e) {
+				converting.set(false);
+				logger.debug("Workers have shut down", e);
+			}
+		}
+	}
+
+	private void convertFrames() {
+		try {
+			final RawFrame frame = received.take();
+			if (frame != null) {
+				try {
+					convert(frame);
+				} finally {
+					recycle(frame);
+				}
+			}
+		} finally {
+			converting.set(false);
+		}
+		// One frame per task, as for the pipeline, so sources sharing the workers take turns
+		if (!stopped && !received.isEmpty()) {
+			scheduleConversion();
+		}
+	}
+
+	private void convert(RawFrame frame) {
+		if (stopped) {
+			return;
+		}
+		final long frameNumber = pipeline.arrive(frame.getReceivedNanos());
+		if (frameNumber == 0) {
+			return;
+		}
+		final ImageData image = takeFreeImage(frame.getWidth(), frame.getHeight());
+		frame.convert(levelsFor(frame), image.data);
+		pipeline.submit(frameNumber, image, frame.getReceivedNanos(), this::releaseImage);
+	}
+
+	private byte[] levelsFor(RawFrame frame) {
+		final int[] range = displayRange;
+		if (levels == null || levelsBytesPerPixel != frame.getBytesPerPixel() || levelsSigned != frame.isSigned()
+				|| levelsRange != range) {
+			levelsBytesPerPixel = frame.getBytesPerPixel();
+			levelsSigned = frame.isSigned();
+			levelsRange = range;
+			levels = range == null ? levels(levelsBytesPerPixel, levelsSigned)
+					: levels(levelsBytesPerPixel, levelsSigned, range[0], range[1]);
+		}
+		return levels;
+	}
+
+	/**
+	 * @return the display level of every raw value over the full range of the data type
+	 */
+	static byte[] levels(int bytesPerPixel, boolean signed) {
+		final int bits = 8 * bytesPerPixel;
+		final int low = signed ? -(1 << (bits - 1)) : 0;
+		return levels(bytesPerPixel, signed, low, low + (1 << bits) - 1);
+	}
+
+	/**
+	 * @return the display level of every raw value, indexed by the bits of the value read as unsigned, with low shown
+	 *         as black and high as white
+	 */
+	static byte[] levels(int bytesPerPixel, boolean signed, int low, int high) {
+		final int count = 1 << (8 * bytesPerPixel);
+		final byte[] table = new byte[count];
+		final double scale = 255.0 / (high - low);
+		for (int bits = 0; bits < count; bits++) {
+			final int value = !signed ? bits : bytesPerPixel == 1 ? (byte) bits : (short) bits;
+			final double level = (value - low) * scale;
+			table[bits] = (byte) (level <= 0 ? 0 : level >= 255 ? 255 : (int) Math.round(level));
+		}
+		return table;
+	}
+
+	/**
+	 * @return an image given back by the pipeline for a frame it dropped, if there is one of the right size, otherwise
+	 *         a new one
+	 */
+	private ImageData takeFreeImage(int width, int height) {
+		ImageData image;
+		while ((image = freeImages.poll()) != null) {
+			if (image.width == width && image.height == height) {
+				return image;
+			}
+		}
+		return new ImageData(width, height, 8, Greyscale.PALETTE, 1, new byte[width * height]);
+	}
+
+	private void releaseImage(ImageData image) {
+		freeImages.offer(image);
+	}
+
+	/**
+	 * @return the number of pooled frames free to receive into
+	 */
+	int getFreeFrames() {
+		return free.size();
+	}
+
+	private void recycle(RawFrame frame) {
+		if (frame != null) {
+			free.offer(frame);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "PvaImageSource(" + pvName + ")";
+	}
+}
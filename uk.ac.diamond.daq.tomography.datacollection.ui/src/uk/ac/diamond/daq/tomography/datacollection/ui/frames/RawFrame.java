@@ -0,0 +1,103 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.frames;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A monochrome frame at the bit depth of the detector, held in a direct buffer from the pool of a
+ * {@link PvaImageSource}
+ */
+class RawFrame {
+
+	private final ByteBuffer buffer;
+	private int width;
+	private int height;
+	private int bytesPerPixel;
+	private boolean signed;
+	private long receivedNanos;
+
+	RawFrame(int capacity) {
+		buffer = ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+	}
+
+	int capacity() {
+		return buffer.capacity();
+	}
+
+	/**
+	 * Prepare to receive a frame
+	 *
+	 * @return the buffer, cleared, to copy the pixels into
+	 */
+	ByteBuffer reset(int width, int height, int bytesPerPixel, boolean signed) {
+		this.width = width;
+		this.height = height;
+		this.bytesPerPixel = bytesPerPixel;
+		this.signed = signed;
+		receivedNanos = System.nanoTime();
+		buffer.clear();
+		return buffer;
+	}
+
+	/**
+	 * @return the {@link System#nanoTime()} at which the frame was received
+	 */
+	long getReceivedNanos() {
+		return receivedNanos;
+	}
+
+	int getWidth() {
+		return width;
+	}
+
+	int getHeight() {
+		return height;
+	}
+
+	int getBytesPerPixel() {
+		return bytesPerPixel;
+	}
+
+	boolean isSigned() {
+		return signed;
+	}
+
+	/**
+	 * Convert to 8 bits through a lookup table, so every frame is scaled the same way
+	 *
+	 * @param levels
+	 *            the display level of every raw value, indexed by the bits of the value read as unsigned
+	 * @param data
+	 *            where the pixels are written, row by row with no padding
+	 */
+	void convert(byte[] levels, byte[] data) {
+		final int size = width * height;
+		if (bytesPerPixel == 1) {
+			for (int i = 0; i < size; i++) {
+				data[i] = levels[buffer.get(i) & 0xff];
+			}
+		} else {
+			for (int i = 0; i < size; i++) {
+				data[i] = levels[buffer.getShort(i * 2) & 0xffff];
+			}
+		}
+	}
+}
@@ -0,0 +1,250 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.motion;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import gda.device.DeviceException;
+import gda.device.Scannable;
+import gda.device.scannable.ScannableUtils;
+import uk.ac.diamond.daq.tomography.datacollection.ui.analysis.FocusMetric;
+
+/**
+ * Finds the best focus by stepping a focus motor through a range around its position and measuring the
+ * {@link FocusMetric} of the live stream at each step, with no scan on the server.
+ * <p>
+ * A coarse pass over the whole range is followed by a fine pass over two coarse steps either side of its peak. The
+ * peak of each pass is found by fitting a parabola to the points around the highest value. The motor is left at the
+ * peak of the fine pass, or moved back to where it started if the routine is cancelled or fails.
+ */
+public class AutoFocus {
+	private static final Logger logger = LoggerFactory.getLogger(AutoFocus.class);
+
+	/** Frames ignored after each move as they may have been exposed while moving */
+	private static final int SETTLE_FRAMES = 1;
+	private static final int FRAMES_PER_POINT = 2;
+	private static final long FRAME_TIMEOUT_MS = 5000;
+	private static final int FIT_POINTS = 5;
+
+	/**
+	 * The best focus found by a pass
+	 */
+	public static final class Result {
+		private final double position;
+		private final double value;
+		private final boolean atEdge;
+
+		Result(double position, double value, boolean atEdge) {
+			this.position = position;
+			this.value = value;
+			this.atEdge = atEdge;
+		}
+
+		public double getPosition() {
+			return position;
+		}
+
+		public double getValue() {
+			return value;
+		}
+
+		/**
+		 * @return true if the metric was highest at one end of the range, so the best focus may lie beyond it
+		 */
+		public boolean isAtEdge() {
+			return atEdge;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("Result(position %.4f, metric %.1f%s)", position, value, atEdge ? ", at edge" : "");
+		}
+	}
+
+	private final Scannable focus;
+	private final FocusMetric metric;
+	private final double range;
+	private final int steps;
+	private final BlockingQueue<FocusMetric.Sample> samples = new LinkedBlockingQueue<>();
+	private final Consumer<FocusMetric.Sample> sampleListener = samples::offer;
+
+	/**
+	 * @param focus
+	 *            the motor that moves the focus
+	 * @param metric
+	 *            the focus metric of the live stream
+	 * @param range
+	 *            the full width of the coarse pass, centred on the current position, in the motor's units
+	 * @param steps
+	 *            the number of points in each pass, at least 3
+	 */
+	public AutoFocus(Scannable focus, FocusMetric metric, double range, int steps) {
+		if (steps < 3) {
+			throw new IllegalArgumentException("Auto-focus needs at least 3 steps, not " + steps);
+		}
+		this.focus = focus;
+		this.metric = metric;
+		this.range = range;
+		this.steps = steps;
+	}
+
+	/**
+	 * Find and move to the best focus, blocking until done
+	 *
+	 * @return the best focus of the fine pass, or of the coarse pass if it was at the edge of the range
+	 * @throws InterruptedException
+	 *             if cancelled, after moving back to the start
+	 * @throws DeviceException
+	 *             if the motor fails or no frames arrive, after trying to move back to the start
+	 */
+	public Result run(IProgressMonitor monitor) throws DeviceException, InterruptedException {
+		final double start = ScannableUtils.getCurrentPositionArray(focus)[0];
+		monitor.beginTask("Auto-focus " + focus.getName(), 2 * steps);
+		metric.addListener(sampleListener);
+		try {
+			final Result coarse = scan(start - range / 2, start + range / 2, monitor);
+			logger.debug("Auto-focus coarse pass found {}", coarse);
+			Result best = coarse;
+			if (!coarse.isAtEdge()) {
+				final double fineRange = 4 * range / (steps - 1);
+				best = scan(coarse.getPosition() - fineRange / 2, coarse.getPosition() + fineRange / 2, monitor);
+				logger.debug("Auto-focus fine pass found {}", best);
+			}
+			focus.moveTo(best.getPosition());
+			return best;
+		} catch (DeviceException | InterruptedException | RuntimeException e) {
+			moveBack(start);
+			throw e;
+		} finally {
+			metric.removeListener(sampleListener);
+			monitor.done();
+		}
+	}
+
+	private Result scan(double from, double to, IProgressMonitor monitor) throws DeviceException, InterruptedException {
+		final double[] positions = new double[steps];
+		final double[] values = new double[steps];
+		for (int i = 0; i < steps; i++) {
+			if (monitor.isCanceled()) {
+				throw new InterruptedException("Auto-focus cancelled");
+			}
+			positions[i] = from + (to - from) * i / (steps - 1);
+			monitor.subTask(String.format("Measuring at %.4f", positions[i]));
+			focus.moveTo(positions[i]);
+			values[i] = measure();
+			monitor.worked(1);
+		}
+		return fitPeak(positions, values);
+	}
+
+	/**
+	 * @return the mean metric of the frames received once the motor has stopped
+	 */
+	private double measure() throws DeviceException, InterruptedException {
+		final long stoppedNanos = System.nanoTime();
+		samples.clear();
+		int skipped = 0;
+		int measured = 0;
+		double sum = 0;
+		while (measured < FRAMES_PER_POINT) {
+			final FocusMetric.Sample sample = samples.poll(FRAME_TIMEOUT_MS, MILLISECONDS);
+			if (sample == null) {
+				throw new DeviceException("No frames from the camera while focusing");
+			}
+			if (sample.getArrivalNanos() < stoppedNanos || skipped++ < SETTLE_FRAMES) {
+				continue;
+			}
+			sum += sample.getValue();
+			measured++;
+		}
+		return sum / measured;
+	}
+
+	private void moveBack(double start) {
+		try {
+			focus.moveTo(start);
+		} catch (DeviceException | RuntimeException e) {
+			logger.error("Error moving {} back to {} after auto-focus", focus.getName(), start, e);
+		}
+	}
+
+	/**
+	 * Fit a parabola to the points around the highest value
+	 *
+	 * @return the peak of the parabola, or the highest point if it is at an end or the points do not curve down
+	 */
+	static Result fitPeak(double[] positions, double[] values) {
+		final int n = values.length;
+		int best = 0;
+		for (int i = 1; i < n; i++) {
+			if (values[i] > values[best]) {
+				best = i;
+			}
+		}
+		if (best == 0 || best == n - 1) {
+			return new Result(positions[best], values[best], true);
+		}
+		final int end = Math.min(n, Math.max(best - FIT_POINTS / 2, 0) + FIT_POINTS);
+		final int begin = Math.max(0, end - FIT_POINTS);
+
+		// Least squares y = a x^2 + b x + c, with x relative to the highest point
+		final double origin = positions[best];
+		double s1 = 0, s2 = 0, s3 = 0, s4 = 0, sy = 0, sxy = 0, sx2y = 0;
+		for (int i = begin; i < end; i++) {
+			final double x = positions[i] - origin;
+			final double x2 = x * x;
+			s1 += x;
+			s2 += x2;
+			s3 += x2 * x;
+			s4 += x2 * x2;
+			sy += values[i];
+			sxy += x * values[i];
+			sx2y += x2 * values[i];
+		}
+		final double count = end - begin;
+		final double det = determinant(s4, s3, s2, s3, s2, s1, s2, s1, count);
+		if (det == 0) {
+			return new Result(origin, values[best], false);
+		}
+		final double a = determinant(sx2y, s3, s2, sxy, s2, s1, sy, s1, count) / det;
+		final double b = determinant(s4, sx2y, s2, s3, sxy, s1, s2, sy, count) / det;
+		final double c = determinant(s4, s3, sx2y, s3, s2, sxy, s2, s1, sy) / det;
+		if (a >= 0) {
+			return new Result(origin, values[best], false);
+		}
+		final double low = Math.min(positions[begin], positions[end - 1]) - origin;
+		final double high = Math.max(positions[begin], positions[end - 1]) - origin;
+		final double peak = Math.max(low, Math.min(high, -b / (2 * a)));
+		return new Result(origin + peak, (a * peak + b) * peak + c, false);
+	}
+
+	private static double determinant(double a, double b, double c, double d, double e, double f, double g, double h,
+			double i) {
+		return a * (e * i - f * h) - b * (d * i - f * g) + c * (d * h - e * g);
+	}
+}
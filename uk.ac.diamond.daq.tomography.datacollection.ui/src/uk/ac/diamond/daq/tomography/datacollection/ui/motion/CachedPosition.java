@@ -0,0 +1,77 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.motion;
+
+/**
+ * The last known position of a scannable and when it was known
+ */
+public final class CachedPosition {
+
+	private final Object position;
+	private final long timestampMillis;
+
+	CachedPosition(Object position, long timestampMillis) {
+		this.position = position;
+		this.timestampMillis = timestampMillis;
+	}
+
+	public Object getPosition() {
+		return position;
+	}
+
+	/**
+	 * @return the time the position was received, from {@link System#currentTimeMillis()}
+	 */
+	public long getTimestampMillis() {
+		return timestampMillis;
+	}
+
+	public long getAgeMillis() {
+		return System.currentTimeMillis() - timestampMillis;
+	}
+
+	/**
+	 * @return the position as numbers, or null if it is not numeric
+	 */
+	public double[] asDoubles() {
+		if (position instanceof double[]) {
+			return ((double[]) position).clone();
+		}
+		if (position instanceof Number) {
+			return new double[] { ((Number) position).doubleValue() };
+		}
+		if (position instanceof Object[]) {
+			final Object[] elements = (Object[]) position;
+			final double[] values = new double[elements.length];
+			for (int i = 0; i < elements.length; i++) {
+				if (!(elements[i] instanceof Number)) {
+					return null;
+				}
+				values[i] = ((Number) elements[i]).doubleValue();
+			}
+			return values;
+		}
+		return null;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("CachedPosition(%s, %d ms old)", position, getAgeMillis());
+	}
+}
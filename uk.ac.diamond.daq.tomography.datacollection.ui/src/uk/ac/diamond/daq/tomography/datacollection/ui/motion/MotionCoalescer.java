@@ -0,0 +1,171 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.motion;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import gda.device.DeviceException;
+import gda.device.Scannable;
+import gda.device.scannable.ScannableUtils;
+
+/**
+ * Sends relative moves to a motor from the UI without blocking it and without queueing one move per click or drag
+ * event.
+ * <p>
+ * Offsets passed to {@link #moveBy(double)} are added up and sent as a single absolute move at most once per
+ * interval, and never while the motor is still busy. The target of the last move sent is remembered, so offsets
+ * requested while it is in flight are relative to where the motor is going rather than to a readback that has not
+ * caught up yet. Once the motor has been idle for a while the position is read again so moves made elsewhere are
+ * picked up.
+ * <p>
+ * All reads and moves are made on the executor passed in, which should have a single thread.
+ */
+public class MotionCoalescer {
+	private static final Logger logger = LoggerFactory.getLogger(MotionCoalescer.class);
+
+	/** How long after the last move sent the motor position is trusted less than the target */
+	private static final long REBASE_AFTER_MS = 2000;
+
+	private final Scannable motor;
+	private final ScheduledExecutorService executor;
+	private final long intervalMillis;
+	private final LongSupplier clock;
+
+	private double pendingOffset;
+	private Double inFlightTarget;
+	private long lastSentMillis;
+	private ScheduledFuture<?> scheduled;
+	private int coalesced;
+
+	/**
+	 * @param motor
+	 *            the motor to move
+	 * @param executor
+	 *            a single thread executor used for every read and move of the motor
+	 * @param intervalMillis
+	 *            the minimum time between two moves
+	 */
+	public MotionCoalescer(Scannable motor, ScheduledExecutorService executor, long intervalMillis) {
+		this(motor, executor, intervalMillis, System::currentTimeMillis);
+	}
+
+	/**
+	 * @param clock
+	 *            the time in milliseconds, for tests to control
+	 */
+	MotionCoalescer(Scannable motor, ScheduledExecutorService executor, long intervalMillis, LongSupplier clock) {
+		this.motor = motor;
+		this.executor = executor;
+		this.intervalMillis = intervalMillis;
+		this.clock = clock;
+	}
+
+	/**
+	 * Request a relative move. Returns straight away; the move is merged with any others requested before the next
+	 * one is sent.
+	 *
+	 * @param offset
+	 *            the distance to move in the motor's units
+	 */
+	public synchronized void moveBy(double offset) {
+		if (offset == 0 || Double.isNaN(offset)) {
+			return;
+		}
+		pendingOffset += offset;
+		if (scheduled != null) {
+			coalesced++;
+			return;
+		}
+		final long wait = Math.max(0, lastSentMillis + intervalMillis - clock.getAsLong());
+		scheduled = executor.schedule(this::flush, wait, MILLISECONDS);
+	}
+
+	/**
+	 * Drop any offset that has not been sent yet. A move already sent is not stopped.
+	 */
+	public synchronized void cancelPending() {
+		pendingOffset = 0;
+		if (scheduled != null) {
+			scheduled.cancel(false);
+			scheduled = null;
+		}
+	}
+
+	/**
+	 * @return the target of the last move sent, or null if none has been sent or it has been superseded by a
+	 *         readback
+	 */
+	public synchronized Double getTarget() {
+		return inFlightTarget;
+	}
+
+	/**
+	 * @return the number of requests merged into a move with an earlier one
+	 */
+	public synchronized int getCoalesced() {
+		return coalesced;
+	}
+
+	public Scannable getMotor() {
+		return motor;
+	}
+
+	private void flush() {
+		final double offset;
+		final Double target;
+		try {
+			if (motor.isBusy()) {
+				// Let the current move finish rather than redirect the motor part way
+				reschedule();
+				return;
+			}
+			synchronized (this) {
+				offset = pendingOffset;
+				target = clock.getAsLong() - lastSentMillis < REBASE_AFTER_MS ? inFlightTarget : null;
+				pendingOffset = 0;
+				scheduled = null;
+			}
+			final double base = target != null ? target : ScannableUtils.getCurrentPositionArray(motor)[0];
+			final double destination = base + offset;
+			synchronized (this) {
+				inFlightTarget = destination;
+				lastSentMillis = clock.getAsLong();
+			}
+			logger.debug("Moving {} by {} to {}", motor.getName(), offset, destination);
+			motor.asynchronousMoveTo(destination);
+		} catch (DeviceException | RuntimeException e) {
+			logger.error("Error moving {}", motor.getName(), e);
+			synchronized (this) {
+				inFlightTarget = null;
+				scheduled = null;
+			}
+		}
+	}
+
+	private synchronized void reschedule() {
+		scheduled = executor.schedule(this::flush, intervalMillis, MILLISECONDS);
+	}
+}
@@ -0,0 +1,221 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.motion;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import gda.device.DeviceException;
+import gda.device.Scannable;
+import gda.device.scannable.ScannablePositionChangeEvent;
+import gda.observable.IObserver;
+
+/**
+ * Last known positions of scannables, so the UI can show and use them without waiting on a read.
+ * <p>
+ * Positions are taken from the scannables' {@link ScannablePositionChangeEvent}s. Any other event, and any position
+ * older than the maximum age, causes a read on a background thread; callers always get the value already held. Each
+ * scannable has at most one read waiting or in progress, and scannables are read independently of each other, so one
+ * slow to answer does not hold up the rest. The cache reads until it is {@link #dispose() disposed}.
+ */
+public class PositionCache {
+	private static final Logger logger = LoggerFactory.getLogger(PositionCache.class);
+
+	private final long maxAgeMillis;
+	private final ScheduledExecutorService refresher;
+	/** Threads are only started for reads in progress, so there are never more than scannables tracked */
+	private final ExecutorService readers;
+	private final Map<Scannable, Tracked> tracked = new ConcurrentHashMap<>();
+
+	/**
+	 * @param maxAgeMillis
+	 *            the age after which a position is read again
+	 */
+	public PositionCache(long maxAgeMillis) {
+		this.maxAgeMillis = maxAgeMillis;
+		refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "position-cache");
+			thread.setDaemon(true);
+			return thread;
+		});
+		final AtomicInteger readerCount = new AtomicInteger();
+		readers = Executors.newCachedThreadPool(runnable -> {
+			final Thread thread = new Thread(runnable, "position-cache-read-" + readerCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		refresher.scheduleWithFixedDelay(this::refreshStale, maxAgeMillis, maxAgeMillis, MILLISECONDS);
+	}
+
+	/**
+	 * Start keeping the position of a scannable. Does nothing if it is null or already tracked.
+	 */
+	public void track(Scannable scannable) {
+		if (scannable != null) {
+			tracked.computeIfAbsent(scannable, this::startTracking);
+		}
+	}
+
+	private Tracked startTracking(Scannable scannable) {
+		final Tracked entry = new Tracked(scannable);
+		scannable.addIObserver(entry);
+		entry.requestRead();
+		return entry;
+	}
+
+	/**
+	 * @return the last known position, or null if the scannable is not tracked or has not been read yet
+	 */
+	public CachedPosition get(Scannable scannable) {
+		final Tracked entry = tracked.get(scannable);
+		if (entry == null) {
+			return null;
+		}
+		final CachedPosition position = entry.latest;
+		if (position == null || position.getAgeMillis() > maxAgeMillis) {
+			entry.requestRead();
+		}
+		return position;
+	}
+
+	/**
+	 * @return the last known position as numbers, read from the scannable on the calling thread if there is none yet,
+	 *         e.g. just after the view opens
+	 * @throws DeviceException
+	 *             if the position cannot be read or is not numeric
+	 */
+	public double[] getPositionArray(Scannable scannable) throws DeviceException {
+		CachedPosition position = get(scannable);
+		if (position == null) {
+			position = readNow(scannable);
+		}
+		final double[] values = position.asDoubles();
+		if (values == null) {
+			throw new DeviceException(
+					"Position of " + scannable.getName() + " is not numeric: " + position.getPosition());
+		}
+		return values;
+	}
+
+	private CachedPosition readNow(Scannable scannable) throws DeviceException {
+		final Object position = scannable.getPosition();
+		final Tracked entry = tracked.get(scannable);
+		return entry != null ? entry.set(position) : new CachedPosition(position, System.currentTimeMillis());
+	}
+
+	/**
+	 * Be told each time the position of a scannable changes. The listener is called straight away with the current
+	 * position if there is one, and afterwards on a background thread.
+	 */
+	public void addListener(Scannable scannable, Consumer<CachedPosition> listener) {
+		track(scannable);
+		final Tracked entry = tracked.get(scannable);
+		entry.listeners.add(listener);
+		final CachedPosition position = entry.latest;
+		if (position != null) {
+			listener.accept(position);
+		}
+	}
+
+	public void removeListener(Scannable scannable, Consumer<CachedPosition> listener) {
+		final Tracked entry = tracked.get(scannable);
+		if (entry != null) {
+			entry.listeners.remove(listener);
+		}
+	}
+
+	private void refreshStale() {
+		for (Tracked entry : tracked.values()) {
+			final CachedPosition position = entry.latest;
+			if (position == null || position.getAgeMillis() > maxAgeMillis) {
+				entry.requestRead();
+			}
+		}
+	}
+
+	/**
+	 * Stop reading positions and observing the scannables
+	 */
+	public void dispose() {
+		refresher.shutdownNow();
+		readers.shutdownNow();
+		tracked.forEach((scannable, entry) -> scannable.deleteIObserver(entry));
+		tracked.clear();
+	}
+
+	private class Tracked implements IObserver {
+		private final Scannable scannable;
+		private final AtomicBoolean readPending = new AtomicBoolean();
+		private final Set<Consumer<CachedPosition>> listeners = new CopyOnWriteArraySet<>();
+		private volatile CachedPosition latest;
+
+		Tracked(Scannable scannable) {
+			this.scannable = scannable;
+		}
+
+		@Override
+		public void update(Object source, Object arg) {
+			if (arg instanceof ScannablePositionChangeEvent) {
+				set(((ScannablePositionChangeEvent) arg).newPosition);
+			} else {
+				requestRead();
+			}
+		}
+
+		void requestRead() {
+			if (readPending.compareAndSet(false, true)) {
+				try {
+					readers.execute(this::read);
+				} catch (RuntimeException e) {
+					// Rejected once disposed
+					readPending.set(false);
+				}
+			}
+		}
+
+		private void read() {
+			readPending.set(false);
+			try {
+				set(scannable.getPosition());
+			} catch (DeviceException | RuntimeException e) {
+				logger.warn("Error reading position of {}", scannable.getName(), e);
+			}
+		}
+
+		private CachedPosition set(Object position) {
+			final CachedPosition cached = new CachedPosition(position, System.currentTimeMillis());
+			latest = cached;
+			listeners.forEach(listener -> listener.accept(cached));
+			return cached;
+		}
+	}
+}
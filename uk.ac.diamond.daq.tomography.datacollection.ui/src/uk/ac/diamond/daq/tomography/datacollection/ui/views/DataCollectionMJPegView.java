@@ -20,6 +20,7 @@ package uk.ac.diamond.daq.tomography.datacollection.ui.views;
 
 import org.eclipse.jface.action.IToolBarManager;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.ui.IPartListener2;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,6 +35,15 @@ public class DataCollectionMJPegView extends MJPegView {
 	private static final Logger logger = LoggerFactory.getLogger(DataCollectionMJPegView.class);
 	public static final String ID = "uk.ac.diamond.daq.tomography.datacollection.ui.views.DataCollectionMJPegView";
 
+	private DataCollectionMJPEGViewComposite mJPEGViewComposite;
+
+	/** Stop processing frames while this view is hidden behind another view or minimised */
+	private final IPartListener2 visibilityListener = new PauseWhileHidden(this, paused -> {
+		if (mJPEGViewComposite != null && !mJPEGViewComposite.isDisposed()) {
+			mJPEGViewComposite.getFramePipeline().setPaused(paused);
+		}
+	});
+
 	public DataCollectionMJPegView() {
 		super(ADViewerConstants.AD_CONTROLLER_SERVICE_NAME);
 	}
@@ -42,8 +52,9 @@ public class DataCollectionMJPegView extends MJPegView {
 	protected MJPeg createPartControlEx(Composite parent) {
 		try {
 			DataCollectionADControllerImpl adControllerImpl = (DataCollectionADControllerImpl) getAdController();
-			DataCollectionMJPEGViewComposite mJPEGViewComposite = new DataCollectionMJPEGViewComposite(parent, adControllerImpl.getStagesCompositeFactory());
+			mJPEGViewComposite = new DataCollectionMJPEGViewComposite(parent, adControllerImpl.getStagesCompositeFactory());
 			mJPEGViewComposite.setADController(adControllerImpl, this);
+			getSite().getPage().addPartListener(visibilityListener);
 			return mJPEGViewComposite.getMJPeg();
 		} catch (Exception e) {
 			logger.error("Cannot create Data Collection MJPEG View Composite", e);
@@ -51,6 +62,12 @@ public class DataCollectionMJPegView extends MJPegView {
 		return null;
 	}
 
+	@Override
+	public void dispose() {
+		getSite().getPage().removePartListener(visibilityListener);
+		super.dispose();
+	}
+
 	@Override
 	protected void createShowViewAction() {
 		final IToolBarManager toolbarMgr = getViewSite().getActionBars().getToolBarManager();
@@ -18,13 +18,23 @@
 
 package uk.ac.diamond.daq.tomography.datacollection.ui.views;
 
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.action.IAction;
 import org.eclipse.jface.action.IToolBarManager;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.StackLayout;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Composite;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import uk.ac.diamond.daq.tomography.datacollection.ui.adviewer.ADViewerConstants;
+import uk.ac.diamond.daq.tomography.datacollection.ui.adviewer.DataCollectionADControllerImpl;
 import uk.ac.gda.epics.adviewer.views.ADActionUtils;
 import uk.ac.gda.epics.adviewer.views.HistogramView;
 
 public class DataCollectionPCOHistogramView extends HistogramView {
+	private static final Logger logger = LoggerFactory.getLogger(DataCollectionPCOHistogramView.class);
 
 	public static final String ID = "uk.ac.diamond.daq.tomography.datacollection.ui.views.DataCollectionPCOHistogramView";
 
@@ -32,6 +42,40 @@ public class DataCollectionPCOHistogramView extends HistogramView {
 		super(ADViewerConstants.AD_CONTROLLER_SERVICE_NAME);
 	}
 
+	/**
+	 * Shows either the statistics from the areaDetector plugin or those computed on the client from the MJPEG
+	 * stream. The client statistics do not need the plugin, which can then be switched off on the IOC.
+	 */
+	@Override
+	public void createPartControl(Composite parent) {
+		final Composite stack = new Composite(parent, SWT.NONE);
+		final StackLayout stackLayout = new StackLayout();
+		stack.setLayout(stackLayout);
+
+		final Composite iocStatistics = new Composite(stack, SWT.NONE);
+		iocStatistics.setLayout(new FillLayout());
+		super.createPartControl(iocStatistics);
+		final LiveHistogramComposite clientStatistics = new LiveHistogramComposite(stack, SWT.NONE);
+		stackLayout.topControl = iocStatistics;
+
+		final IAction clientStatisticsAction = new Action("Client statistics", IAction.AS_CHECK_BOX) {
+			@Override
+			public void run() {
+				try {
+					final DataCollectionADControllerImpl adControllerImpl = (DataCollectionADControllerImpl) getAdController();
+					clientStatistics.setSource(isChecked() ? adControllerImpl.getLiveStatistics() : null);
+					stackLayout.topControl = isChecked() ? clientStatistics : iocStatistics;
+					stack.layout();
+				} catch (Exception e) {
+					logger.error("Cannot switch to client statistics", e);
+				}
+			}
+		};
+		clientStatisticsAction.setToolTipText("Compute the statistics from the frames shown in the MJPEG view instead of on the IOC");
+		getViewSite().getActionBars().getToolBarManager().add(clientStatisticsAction);
+		getViewSite().getActionBars().updateActionBars();
+	}
+
 	@Override
 	protected void createShowViewAction() {
 		final IToolBarManager toolBarManager = getViewSite().getActionBars().getToolBarManager(); 
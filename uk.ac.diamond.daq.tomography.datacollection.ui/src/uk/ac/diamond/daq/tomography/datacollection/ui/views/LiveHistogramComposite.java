@@ -0,0 +1,124 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.views;
+
+import java.util.function.Consumer;
+
+import org.eclipse.jface.layout.GridDataFactory;
+import org.eclipse.jface.layout.GridLayoutFactory;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.PaintEvent;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.widgets.Canvas;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Label;
+
+import uk.ac.diamond.daq.tomography.datacollection.ui.adviewer.DisplayUpdateScheduler;
+import uk.ac.diamond.daq.tomography.datacollection.ui.analysis.FrameStatistics;
+import uk.ac.diamond.daq.tomography.datacollection.ui.analysis.LiveStatistics;
+
+/**
+ * Shows the histogram, on a log scale, and summary statistics of the live camera stream as computed on the client
+ */
+public class LiveHistogramComposite extends Composite {
+
+	private final Display display;
+	private final Canvas canvas;
+	private final Label summary;
+	private final Consumer<FrameStatistics> listener = this::statisticsReceived;
+	private LiveStatistics source;
+	private FrameStatistics shown;
+
+	public LiveHistogramComposite(Composite parent, int style) {
+		super(parent, style);
+		display = parent.getDisplay();
+		GridLayoutFactory.fillDefaults().applyTo(this);
+
+		canvas = new Canvas(this, SWT.DOUBLE_BUFFERED);
+		canvas.setBackground(display.getSystemColor(SWT.COLOR_WHITE));
+		canvas.addPaintListener(this::paintHistogram);
+		GridDataFactory.fillDefaults().grab(true, true).applyTo(canvas);
+
+		summary = new Label(this, SWT.NONE);
+		summary.setText("Waiting for frames from the MJPEG view");
+		GridDataFactory.fillDefaults().grab(true, false).applyTo(summary);
+
+		addDisposeListener(e -> setSource(null));
+	}
+
+	/**
+	 * @param statistics
+	 *            where to get statistics from, or null to stop
+	 */
+	public void setSource(LiveStatistics statistics) {
+		if (source != null) {
+			source.removeListener(listener);
+			DisplayUpdateScheduler.forDisplay(display).cancel(this);
+		}
+		source = statistics;
+		if (source != null) {
+			source.addListener(listener);
+		}
+	}
+
+	private void statisticsReceived(FrameStatistics statistics) {
+		DisplayUpdateScheduler.forDisplay(display).post(this, () -> show(statistics));
+	}
+
+	private void show(FrameStatistics statistics) {
+		if (isDisposed()) {
+			return;
+		}
+		shown = statistics;
+		summary.setText(String.format("Min %d   Max %d   Mean %.1f   Std %.1f   Saturated %d (%.2f%%)", statistics.getMin(),
+				statistics.getMax(), statistics.getMean(), statistics.getStandardDeviation(), statistics.getSaturated(),
+				statistics.getCount() > 0 ? 100.0 * statistics.getSaturated() / statistics.getCount() : 0));
+		canvas.redraw();
+	}
+
+	private void paintHistogram(PaintEvent event) {
+		if (shown == null) {
+			return;
+		}
+		final int[] histogram = shown.getHistogram();
+		int peak = 0;
+		for (int count : histogram) {
+			peak = Math.max(peak, count);
+		}
+		if (peak == 0) {
+			return;
+		}
+		final GC gc = event.gc;
+		final Rectangle area = canvas.getClientArea();
+		final double logPeak = Math.log1p(peak);
+		final int last = histogram.length - 1;
+		for (int level = 0; level <= last; level++) {
+			if (histogram[level] == 0) {
+				continue;
+			}
+			final int x = area.x + level * area.width / histogram.length;
+			final int width = Math.max(1, area.x + (level + 1) * area.width / histogram.length - x);
+			final int height = (int) Math.round(area.height * Math.log1p(histogram[level]) / logPeak);
+			gc.setBackground(display.getSystemColor(level == last ? SWT.COLOR_RED : SWT.COLOR_DARK_BLUE));
+			gc.fillRectangle(x, area.y + area.height - height, width, height);
+		}
+	}
+}
@@ -0,0 +1,86 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.views;
+
+import java.util.function.Consumer;
+
+import org.eclipse.ui.IPartListener2;
+import org.eclipse.ui.IWorkbenchPart;
+import org.eclipse.ui.IWorkbenchPartReference;
+
+/**
+ * Pauses a view's frame processing while it is hidden behind another view or minimised, and restarts it when the view
+ * is shown again. Other parts on the page are ignored.
+ */
+class PauseWhileHidden implements IPartListener2 {
+
+	private final IWorkbenchPart part;
+	private final Consumer<Boolean> setPaused;
+
+	/**
+	 * @param part
+	 *            the view to follow
+	 * @param setPaused
+	 *            called with true when the view is hidden and false when it is shown
+	 */
+	PauseWhileHidden(IWorkbenchPart part, Consumer<Boolean> setPaused) {
+		this.part = part;
+		this.setPaused = setPaused;
+	}
+
+	@Override
+	public void partVisible(IWorkbenchPartReference partRef) {
+		setVisible(partRef, true);
+	}
+
+	@Override
+	public void partHidden(IWorkbenchPartReference partRef) {
+		setVisible(partRef, false);
+	}
+
+	@Override
+	public void partOpened(IWorkbenchPartReference partRef) {
+	}
+
+	@Override
+	public void partInputChanged(IWorkbenchPartReference partRef) {
+	}
+
+	@Override
+	public void partDeactivated(IWorkbenchPartReference partRef) {
+	}
+
+	@Override
+	public void partClosed(IWorkbenchPartReference partRef) {
+	}
+
+	@Override
+	public void partBroughtToTop(IWorkbenchPartReference partRef) {
+	}
+
+	@Override
+	public void partActivated(IWorkbenchPartReference partRef) {
+	}
+
+	private void setVisible(IWorkbenchPartReference partRef, boolean visible) {
+		if (partRef.getPart(false) == part) {
+			setPaused.accept(!visible);
+		}
+	}
+}
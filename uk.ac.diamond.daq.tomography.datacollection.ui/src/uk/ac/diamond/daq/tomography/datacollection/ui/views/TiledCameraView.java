@@ -0,0 +1,108 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package uk.ac.diamond.daq.tomography.datacollection.ui.views;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import org.eclipse.jface.layout.GridDataFactory;
+import org.eclipse.jface.layout.GridLayoutFactory;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.ui.IPartListener2;
+import org.eclipse.ui.part.ViewPart;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import gda.factory.Finder;
+import uk.ac.diamond.daq.tomography.datacollection.ui.adviewer.CameraTile;
+import uk.ac.diamond.daq.tomography.datacollection.ui.adviewer.DataCollectionADControllerImpl;
+import uk.ac.diamond.daq.tomography.datacollection.ui.adviewer.TiledCameraViewConfiguration;
+import uk.ac.diamond.daq.tomography.datacollection.ui.frames.FrameWorkers;
+
+/**
+ * Several cameras side by side, configured by the {@link TiledCameraViewConfiguration} in the client Spring
+ * configuration.
+ * <p>
+ * Every tile processes its frames on one pool of worker threads owned by the view and each task handles a single
+ * frame, so the tiles take turns and the CPU used for frames from PVA image PVs stays within the number of workers
+ * however many cameras are shown. Each tile is also limited to a maximum frame rate. A tile showing an MJPEG stream
+ * is not bound by either: the widget decodes and paints every frame at the rate the camera sends them, and the
+ * workers only measure it (see {@link CameraTile}).
+ */
+public class TiledCameraView extends ViewPart {
+	private static final Logger logger = LoggerFactory.getLogger(TiledCameraView.class);
+	public static final String ID = "uk.ac.diamond.daq.tomography.datacollection.ui.views.TiledCameraView";
+
+	private final List<CameraTile> tiles = new ArrayList<>();
+	private ExecutorService frameWorkers;
+	private Composite grid;
+
+	/** Stop processing frames while this view is hidden behind another view or minimised */
+	private final IPartListener2 visibilityListener = new PauseWhileHidden(this,
+			paused -> tiles.stream().filter(tile -> !tile.isDisposed()).forEach(tile -> tile.setPaused(paused)));
+
+	@Override
+	public void createPartControl(Composite parent) {
+		grid = new Composite(parent, SWT.NONE);
+		final TiledCameraViewConfiguration configuration = Finder
+				.findOptionalSingleton(TiledCameraViewConfiguration.class).orElse(null);
+		if (configuration == null) {
+			GridLayoutFactory.fillDefaults().applyTo(grid);
+			new Label(grid, SWT.NONE).setText("No cameras are configured for this view");
+			return;
+		}
+
+		GridLayoutFactory.fillDefaults().numColumns(configuration.getColumnCount()).equalWidth(true).spacing(2, 2)
+				.applyTo(grid);
+
+		frameWorkers = FrameWorkers.newPool("camera-tiles", configuration.getWorkerThreads());
+		for (DataCollectionADControllerImpl adController : configuration.getAdControllers()) {
+			try {
+				final CameraTile tile = new CameraTile(grid, adController, frameWorkers,
+						configuration.getMaxFrameRatePerTile());
+				GridDataFactory.fillDefaults().grab(true, true).applyTo(tile);
+				tiles.add(tile);
+			} catch (Exception e) {
+				logger.error("Cannot create tile for {}", adController.getDetectorName(), e);
+			}
+		}
+		getSite().getPage().addPartListener(visibilityListener);
+	}
+
+	@Override
+	public void setFocus() {
+		grid.setFocus();
+	}
+
+	@Override
+	public void dispose() {
+		getSite().getPage().removePartListener(visibilityListener);
+		// The tiles dispose their pipelines with the widgets, before the workers go
+		tiles.stream().filter(tile -> !tile.isDisposed()).forEach(tile -> tile.dispose());
+		tiles.clear();
+		if (frameWorkers != null) {
+			frameWorkers.shutdownNow();
+		}
+		super.dispose();
+	}
+}